@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import org.jboss.weld.benchmarks.contexts.ContextualReferenceBenchmark;
+import org.jboss.weld.benchmarks.event.EventFireBenchmark;
+import org.jboss.weld.benchmarks.inject.InstanceSelectBenchmark;
+import org.jboss.weld.benchmarks.interceptor.InterceptorChainBenchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of the per-request hot paths, i.e. client proxy dispatch, context lookup, event notification, programmatic lookup and interception. The
+ * throughput is measured and the allocation rate is tracked by the GC profiler.
+ *
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar org.jboss.weld.benchmarks.RuntimeBenchmarks [JMH options]}
+ * </p>
+ */
+public final class RuntimeBenchmarks {
+
+    private static final Class<?>[] BENCHMARKS = { ContextualReferenceBenchmark.class, EventFireBenchmark.class, InstanceSelectBenchmark.class,
+            InterceptorChainBenchmark.class };
+
+    private RuntimeBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(new CommandLineOptions(args));
+        for (Class<?> benchmark : BENCHMARKS) {
+            builder.include(benchmark.getName());
+        }
+        Options options = builder.mode(Mode.Throughput).addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+
+}
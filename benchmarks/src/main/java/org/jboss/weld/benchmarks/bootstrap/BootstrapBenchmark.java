@@ -0,0 +1,266 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.bootstrap;
+
+import static org.jboss.weld.config.ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE;
+import static org.jboss.weld.executor.ExecutorServicesFactory.ThreadPoolType.COMMON;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.bootstrap.WeldBootstrap;
+import org.jboss.weld.bootstrap.api.CDI11Bootstrap;
+import org.jboss.weld.bootstrap.api.Environments;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.configuration.spi.ExternalConfiguration;
+import org.jboss.weld.configuration.spi.helpers.ExternalConfigurationBuilder;
+import org.jboss.weld.environment.deployment.WeldResourceLoader;
+import org.jboss.weld.environment.se.Weld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the bootstrap of a synthetic deployment depending on the number of beans, see also {@link SyntheticDeploymentExtension}.
+ *
+ * <p>
+ * Apart from the whole bootstrap ({@code Tracker.OP_BOOTSTRAP}), each phase of {@link WeldBootstrap} is measured separately. The phases map to the tracker
+ * operations as follows:
+ * </p>
+ * <ul>
+ * <li>{@link #startContainer(BeforeStartContainer)} - {@code OP_START_CONTAINER}, i.e. services, contexts and deployment reading</li>
+ * <li>{@link #startInitialization(BeforeStartInitialization)} - {@code OP_START_INIT}, i.e. {@code BeforeBeanDiscovery}, type discovery and
+ * {@code AfterTypeDiscovery}</li>
+ * <li>{@link #deployBeans(BeforeDeployBeans)} - {@code OP_DEPLOY_BEANS}, i.e. bean creation and {@code AfterBeanDiscovery}</li>
+ * <li>{@link #validateBeans(BeforeValidateBeans)} - {@code OP_VALIDATE_BEANS}, i.e. validation and {@code AfterDeploymentValidation}</li>
+ * <li>{@link #endInitialization(BeforeEndInitialization)} - {@code OP_END_INIT}</li>
+ * </ul>
+ *
+ * <p>
+ * If {@link ConfigurationKey#CONCURRENT_DEPLOYMENT} is enabled, beans are deployed by {@code ConcurrentBeanDeployer} and validated by
+ * {@code ConcurrentValidator}.
+ * </p>
+ *
+ * <p>
+ * A fresh container is bootstrapped up to the measured phase before each invocation. The remaining phases are completed and the container is shut down after
+ * the invocation.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BootstrapBenchmark {
+
+    @Benchmark
+    public void bootstrap(BeforeStartContainer state) {
+        state.complete();
+    }
+
+    @Benchmark
+    public void startContainer(BeforeStartContainer state) {
+        state.run(Phase.START_CONTAINER);
+    }
+
+    @Benchmark
+    public void startInitialization(BeforeStartInitialization state) {
+        state.run(Phase.START_INITIALIZATION);
+    }
+
+    @Benchmark
+    public void deployBeans(BeforeDeployBeans state) {
+        state.run(Phase.DEPLOY_BEANS);
+    }
+
+    @Benchmark
+    public void validateBeans(BeforeValidateBeans state) {
+        state.run(Phase.VALIDATE_BEANS);
+    }
+
+    @Benchmark
+    public void endInitialization(BeforeEndInitialization state) {
+        state.run(Phase.END_INITIALIZATION);
+    }
+
+    enum Phase {
+
+        START_CONTAINER {
+            @Override
+            void run(BootstrapState state) {
+                state.bootstrap.startContainer(UUID.randomUUID().toString(), Environments.SE, state.deployment);
+            }
+        },
+        START_INITIALIZATION {
+            @Override
+            void run(BootstrapState state) {
+                state.bootstrap.startInitialization();
+            }
+        },
+        DEPLOY_BEANS {
+            @Override
+            void run(BootstrapState state) {
+                state.bootstrap.deployBeans();
+            }
+        },
+        VALIDATE_BEANS {
+            @Override
+            void run(BootstrapState state) {
+                state.bootstrap.validateBeans();
+            }
+        },
+        END_INITIALIZATION {
+            @Override
+            void run(BootstrapState state) {
+                state.bootstrap.endInitialization();
+            }
+        };
+
+        abstract void run(BootstrapState state);
+
+    }
+
+    public abstract static class BootstrapState {
+
+        @Param({ "1000", "10000", "50000" })
+        private int beanCount;
+
+        @Param({ "true", "false" })
+        private boolean concurrentDeployment;
+
+        private final Phase measuredPhase;
+
+        private WeldBootstrap bootstrap;
+
+        private Deployment deployment;
+
+        private int completedPhases;
+
+        BootstrapState(Phase measuredPhase) {
+            this.measuredPhase = measuredPhase;
+        }
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            bootstrap = new WeldBootstrap();
+            deployment = new SyntheticWeld(beanCount, concurrentDeployment).createDeployment(bootstrap);
+            completedPhases = 0;
+            advance(measuredPhase.ordinal());
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            // Complete the bootstrap so that the container can be shut down cleanly
+            complete();
+            bootstrap.shutdown();
+        }
+
+        void run(Phase phase) {
+            if (phase.ordinal() != completedPhases) {
+                throw new IllegalStateException("Unexpected phase " + phase + ", " + completedPhases + " phases completed");
+            }
+            advance(phase.ordinal() + 1);
+        }
+
+        void complete() {
+            advance(Phase.values().length);
+        }
+
+        private void advance(int phases) {
+            Phase[] values = Phase.values();
+            while (completedPhases < phases) {
+                values[completedPhases++].run(this);
+            }
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class BeforeStartContainer extends BootstrapState {
+
+        public BeforeStartContainer() {
+            super(Phase.START_CONTAINER);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BeforeStartInitialization extends BootstrapState {
+
+        public BeforeStartInitialization() {
+            super(Phase.START_INITIALIZATION);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BeforeDeployBeans extends BootstrapState {
+
+        public BeforeDeployBeans() {
+            super(Phase.DEPLOY_BEANS);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BeforeValidateBeans extends BootstrapState {
+
+        public BeforeValidateBeans() {
+            super(Phase.VALIDATE_BEANS);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BeforeEndInitialization extends BootstrapState {
+
+        public BeforeEndInitialization() {
+            super(Phase.END_INITIALIZATION);
+        }
+    }
+
+    /**
+     * Creates the same deployment and configuration as {@link Weld#initialize()} but leaves the bootstrap phases up to the benchmark.
+     */
+    static class SyntheticWeld extends Weld {
+
+        private final boolean concurrentDeployment;
+
+        SyntheticWeld(int beanCount, boolean concurrentDeployment) {
+            this.concurrentDeployment = concurrentDeployment;
+            disableDiscovery();
+            addExtension(new SyntheticDeploymentExtension(beanCount));
+        }
+
+        Deployment createDeployment(CDI11Bootstrap bootstrap) {
+            Deployment deployment = createDeployment(new WeldResourceLoader(), bootstrap);
+            deployment.getServices().add(ExternalConfiguration.class,
+                    new ExternalConfigurationBuilder().add(EXECUTOR_THREAD_POOL_TYPE.get(), COMMON.toString())
+                            .add(ConfigurationKey.RELAXED_CONSTRUCTION.get(), true).add(ConfigurationKey.ALLOW_OPTIMIZED_CLEANUP.get(), true)
+                            .add(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), concurrentDeployment).build());
+            return deployment;
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.bootstrap;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.annotation.Priority;
+import javax.decorator.Decorator;
+import javax.decorator.Delegate;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+/**
+ * Registers a synthetic deployment consisting of the given number of beans. The beans are created from a small set of template classes, each added under a
+ * distinct annotated type id, so that no class generation is needed. The templates cover an intercepted bean, a decorated bean, a bean declaring an observer
+ * method and a bean declaring a producer method. All the beans have an injection point.
+ */
+public class SyntheticDeploymentExtension implements Extension {
+
+    private static final Class<?>[] TEMPLATES = { InterceptedBean.class, DecoratedBean.class, ObserverBean.class, ProducerBean.class };
+
+    private static final Class<?>[] SUPPORT_CLASSES = { MeasuredInterceptor.class, ServiceDecorator.class, Dependency.class };
+
+    private final int beanCount;
+
+    public SyntheticDeploymentExtension(int beanCount) {
+        this.beanCount = beanCount;
+    }
+
+    void registerBeans(@Observes BeforeBeanDiscovery event, BeanManager beanManager) {
+        for (Class<?> clazz : SUPPORT_CLASSES) {
+            event.addAnnotatedType(beanManager.createAnnotatedType(clazz), clazz.getName());
+        }
+        for (int i = 0; i < beanCount; i++) {
+            Class<?> template = TEMPLATES[i % TEMPLATES.length];
+            event.addAnnotatedType(beanManager.createAnnotatedType(template), template.getSimpleName() + i);
+        }
+    }
+
+    public interface Service {
+
+        String ping();
+
+    }
+
+    public static class Ping {
+    }
+
+    public static class Product {
+    }
+
+    @InterceptorBinding
+    @Retention(RUNTIME)
+    @Target({ TYPE, METHOD })
+    public @interface Measured {
+    }
+
+    @Measured
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class MeasuredInterceptor {
+
+        @AroundInvoke
+        Object measure(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Decorator
+    @Priority(Interceptor.Priority.APPLICATION)
+    public abstract static class ServiceDecorator implements Service {
+
+        @Inject
+        @Delegate
+        @Any
+        Service delegate;
+
+        @Override
+        public String ping() {
+            return delegate.ping();
+        }
+    }
+
+    @Dependent
+    public static class Dependency {
+    }
+
+    @Measured
+    @ApplicationScoped
+    public static class InterceptedBean {
+
+        @Inject
+        Dependency dependency;
+
+        public String ping() {
+            return "pong";
+        }
+    }
+
+    @RequestScoped
+    public static class DecoratedBean implements Service {
+
+        @Inject
+        Event<Ping> event;
+
+        @Override
+        public String ping() {
+            return "pong";
+        }
+    }
+
+    @ApplicationScoped
+    public static class ObserverBean {
+
+        @Inject
+        Dependency dependency;
+
+        void observe(@Observes Ping ping) {
+        }
+    }
+
+    @Dependent
+    public static class ProducerBean {
+
+        @Inject
+        Dependency dependency;
+
+        @Produces
+        Product produce() {
+            return new Product();
+        }
+    }
+
+}
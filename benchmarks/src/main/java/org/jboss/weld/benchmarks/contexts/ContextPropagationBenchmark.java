@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.contexts;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.control.RequestContextController;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.benchmarks.contexts.ContextualReferenceBenchmark.Counter;
+import org.jboss.weld.benchmarks.contexts.ContextualReferenceBenchmark.Filler;
+import org.jboss.weld.benchmarks.contexts.ContextualReferenceBenchmark.FillerExtension;
+import org.jboss.weld.benchmarks.contexts.ContextualReferenceBenchmark.RequestCounter;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.contexts.snapshot.ContextPropagatingExecutorService;
+import org.jboss.weld.contexts.snapshot.ContextSnapshot;
+import org.jboss.weld.contexts.snapshot.ContextSnapshot.Restoration;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the propagation of the request and session contexts to another thread using {@link ContextSnapshot}, depending on the number of instances present
+ * in the request context.
+ *
+ * <p>
+ * The request and session contexts are activated on the benchmark thread. {@link #restore()} restores a snapshot captured on a helper thread, i.e. the
+ * contexts of the benchmark thread are swapped and then restored. {@link #plainExecutor()} serves as a baseline for {@link #propagatingExecutor()}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ContextPropagationBenchmark {
+
+    @Param({ "10", "1000" })
+    private int instanceCount;
+
+    private WeldContainer container;
+
+    private BeanManager beanManager;
+
+    private BoundSessionContext sessionContext;
+
+    private RequestContextController requestContextController;
+
+    private RequestContextController helperRequestContextController;
+
+    private ExecutorService helper;
+
+    private ExecutorService plainExecutor;
+
+    private ExecutorService propagatingExecutor;
+
+    private ContextSnapshot helperSnapshot;
+
+    private Counter counter;
+
+    private int argument;
+
+    @Setup
+    public void setup() throws InterruptedException, ExecutionException {
+        container = new Weld().disableDiscovery().addBeanClasses(RequestCounter.class)
+                .addExtension(new FillerExtension(RequestScoped.Literal.INSTANCE, instanceCount)).initialize();
+        beanManager = container.getBeanManager();
+        sessionContext = container.select(BoundSessionContext.class).get();
+        counter = container.select(Counter.class).get();
+
+        requestContextController = activateAndPopulate();
+        helper = Executors.newSingleThreadExecutor();
+        helperSnapshot = helper.submit(() -> {
+            helperRequestContextController = activateAndPopulate();
+            return ContextSnapshot.capture(beanManager);
+        }).get();
+        plainExecutor = Executors.newSingleThreadExecutor();
+        propagatingExecutor = new ContextPropagatingExecutorService(Executors.newSingleThreadExecutor(), beanManager);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, ExecutionException {
+        helper.submit(() -> deactivate(helperRequestContextController)).get();
+        deactivate(requestContextController);
+        helper.shutdown();
+        plainExecutor.shutdown();
+        propagatingExecutor.shutdown();
+        container.shutdown();
+    }
+
+    @Benchmark
+    public ContextSnapshot capture() {
+        return ContextSnapshot.capture(beanManager);
+    }
+
+    @Benchmark
+    public int restore() {
+        try (Restoration restoration = helperSnapshot.restore()) {
+            return counter.next(argument++);
+        }
+    }
+
+    @Benchmark
+    public boolean plainExecutor() throws InterruptedException, ExecutionException {
+        return plainExecutor.submit(this::isRequestContextActive).get();
+    }
+
+    @Benchmark
+    public boolean propagatingExecutor() throws InterruptedException, ExecutionException {
+        return propagatingExecutor.submit(this::isRequestContextActive).get();
+    }
+
+    private boolean isRequestContextActive() {
+        return beanManager.isContextActive(RequestScoped.class);
+    }
+
+    /**
+     * The request context controller keeps track of the activation, hence a separate controller is used on each thread.
+     */
+    private RequestContextController activateAndPopulate() {
+        RequestContextController controller = container.select(RequestContextController.class).get();
+        controller.activate();
+        Map<String, Object> sessionStorage = new HashMap<>();
+        sessionContext.associate(sessionStorage);
+        sessionContext.activate();
+        Context context = beanManager.getContext(RequestScoped.class);
+        for (Bean<?> filler : beanManager.getBeans(Filler.class)) {
+            getContextualInstance(context, filler);
+        }
+        counter.next(argument);
+        return controller;
+    }
+
+    private void deactivate(RequestContextController controller) {
+        sessionContext.deactivate();
+        controller.deactivate();
+    }
+
+    private <T> T getContextualInstance(Context context, Bean<T> bean) {
+        return context.get(bean, beanManager.createCreationalContext(bean));
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.contexts;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.control.RequestContextController;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the access to a contextual instance of a normal-scoped bean, either through its client proxy or directly through the context, depending on the
+ * scope and the number of other instances already present in the context.
+ *
+ * <p>
+ * The request and session contexts are activated on the benchmark thread, hence the thread scope of this state.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ContextualReferenceBenchmark {
+
+    @Param({ "request", "application", "session" })
+    private String scope;
+
+    @Param({ "10", "1000" })
+    private int instanceCount;
+
+    private WeldContainer container;
+
+    private RequestContextController requestContextController;
+
+    private BoundSessionContext sessionContext;
+
+    private Counter counter;
+
+    private Context context;
+
+    private Bean<?> bean;
+
+    private int argument;
+
+    @Setup
+    public void setup() {
+        Annotation scopeLiteral = scopeLiteral(scope);
+        Class<? extends Annotation> scopeType = scopeLiteral.annotationType();
+        container = new Weld().disableDiscovery().addBeanClasses(RequestCounter.class, ApplicationCounter.class, SessionCounter.class)
+                .addExtension(new FillerExtension(scopeLiteral, instanceCount)).initialize();
+        requestContextController = container.select(RequestContextController.class).get();
+        requestContextController.activate();
+        Map<String, Object> sessionStorage = new HashMap<>();
+        sessionContext = container.select(BoundSessionContext.class).get();
+        sessionContext.associate(sessionStorage);
+        sessionContext.activate();
+
+        BeanManager beanManager = container.getBeanManager();
+        context = beanManager.getContext(scopeType);
+        // Populate the context first
+        for (Bean<?> filler : beanManager.getBeans(Filler.class)) {
+            getContextualInstance(beanManager, filler);
+        }
+        for (Bean<?> candidate : beanManager.getBeans(Counter.class)) {
+            if (candidate.getScope().equals(scopeType)) {
+                bean = candidate;
+            }
+        }
+        counter = (Counter) beanManager.getReference(bean, Counter.class, beanManager.createCreationalContext(bean));
+        counter.next(argument);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionContext.deactivate();
+        requestContextController.deactivate();
+        container.shutdown();
+    }
+
+    @Benchmark
+    public int clientProxy() {
+        return counter.next(argument++);
+    }
+
+    @Benchmark
+    public Object contextGet() {
+        return context.get(bean);
+    }
+
+    private <T> T getContextualInstance(BeanManager beanManager, Bean<T> bean) {
+        return context.get(bean, beanManager.createCreationalContext(bean));
+    }
+
+    private static Annotation scopeLiteral(String scope) {
+        switch (scope) {
+            case "request":
+                return RequestScoped.Literal.INSTANCE;
+            case "application":
+                return ApplicationScoped.Literal.INSTANCE;
+            case "session":
+                return SessionScoped.Literal.INSTANCE;
+            default:
+                throw new IllegalArgumentException("Unsupported scope: " + scope);
+        }
+    }
+
+    public interface Counter {
+
+        int next(int value);
+
+    }
+
+    @RequestScoped
+    public static class RequestCounter implements Counter {
+
+        @Override
+        public int next(int value) {
+            return value + 1;
+        }
+    }
+
+    @ApplicationScoped
+    public static class ApplicationCounter implements Counter {
+
+        @Override
+        public int next(int value) {
+            return value + 1;
+        }
+    }
+
+    @SessionScoped
+    @SuppressWarnings("serial")
+    public static class SessionCounter implements Counter, Serializable {
+
+        @Override
+        public int next(int value) {
+            return value + 1;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    public static class Filler implements Serializable {
+    }
+
+    /**
+     * Registers the given number of beans of the given scope, all backed by {@link Filler}.
+     */
+    public static class FillerExtension implements Extension {
+
+        private final Annotation scopeLiteral;
+
+        private final int count;
+
+        public FillerExtension(Annotation scopeLiteral, int count) {
+            this.scopeLiteral = scopeLiteral;
+            this.count = count;
+        }
+
+        void registerFillers(@Observes BeforeBeanDiscovery event) {
+            for (int i = 0; i < count; i++) {
+                event.addAnnotatedType(Filler.class, Filler.class.getSimpleName() + i).add(scopeLiteral);
+            }
+        }
+    }
+
+}
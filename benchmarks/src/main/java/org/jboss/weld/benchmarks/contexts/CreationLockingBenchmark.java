@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.contexts;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.contexts.beanstore.LockStore;
+import org.jboss.weld.contexts.beanstore.LockedBean;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of creation locking in a {@link LockStore} shared by all the threads, e.g. the lock store of the application context.
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#CONCURRENT_CREATION_LOCKING
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class CreationLockingBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean concurrent;
+
+    @Param({ "1024" })
+    private int beanCount;
+
+    private LockStore lockStore;
+
+    private BeanIdentifier[] ids;
+
+    @Setup
+    public void setup() {
+        lockStore = new LockStore(concurrent);
+        ids = new BeanIdentifier[beanCount];
+        for (int i = 0; i < beanCount; i++) {
+            ids[i] = new StringBeanIdentifier("bean" + i);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads1(Blackhole blackhole) {
+        lockAndUnlock(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void threads4(Blackhole blackhole) {
+        lockAndUnlock(blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void threads16(Blackhole blackhole) {
+        lockAndUnlock(blackhole);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void threads64(Blackhole blackhole) {
+        lockAndUnlock(blackhole);
+    }
+
+    private void lockAndUnlock(Blackhole blackhole) {
+        LockedBean lock = lockStore.lock(ids[ThreadLocalRandom.current().nextInt(beanCount)]);
+        try {
+            // Simulate a cheap instance creation
+            Blackhole.consumeCPU(16);
+            blackhole.consume(lock);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
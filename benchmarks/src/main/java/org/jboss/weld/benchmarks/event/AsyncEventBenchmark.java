@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.event;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.ObservesAsync;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.events.WeldNotificationOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the asynchronous delivery of events to blocking observer methods depending on the type of the Weld thread pool, see
+ * {@link ConfigurationKey#EXECUTOR_THREAD_POOL_TYPE}. The observer methods are notified in parallel and each of them blocks for a millisecond. Each
+ * invocation fires a number of events and waits until all of them are delivered.
+ *
+ * <p>
+ * The <code>VIRTUAL</code> thread pool falls back to <code>FORK_JOIN</code> on JDK versions older than 21.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class AsyncEventBenchmark {
+
+    private static final int EVENT_COUNT = 100;
+
+    @Param({ "FIXED", "FORK_JOIN", "VIRTUAL" })
+    private String threadPoolType;
+
+    @Param({ "1", "10" })
+    private int observerCount;
+
+    private WeldContainer container;
+
+    private Event<Payload> event;
+
+    @Setup
+    public void setup() {
+        container = new Weld().disableDiscovery().addExtension(new BlockingObserversExtension(observerCount))
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), threadPoolType).initialize();
+        event = container.select(new TypeLiteral<Event<Payload>>() {
+        }).get();
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Object fireAsync() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            futures[i] = event.fireAsync(new Payload(), WeldNotificationOptions.withParallelMode()).toCompletableFuture();
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    public static class Payload {
+    }
+
+    @ApplicationScoped
+    public static class BlockingListener {
+
+        void observe(@ObservesAsync Payload payload) throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Registers the given number of beans declaring a blocking asynchronous observer method, all backed by {@link BlockingListener}.
+     */
+    public static class BlockingObserversExtension implements Extension {
+
+        private final int observerCount;
+
+        public BlockingObserversExtension(int observerCount) {
+            this.observerCount = observerCount;
+        }
+
+        void registerObservers(@Observes BeforeBeanDiscovery event, BeanManager beanManager) {
+            for (int i = 0; i < observerCount; i++) {
+                event.addAnnotatedType(beanManager.createAnnotatedType(BlockingListener.class), BlockingListener.class.getSimpleName() + i);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.benchmarks.event.EventFireBenchmark.ObserversExtension;
+import org.jboss.weld.benchmarks.event.EventFireBenchmark.Payload;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.event.EventImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the synchronous notification of a batch of events through {@link EventImpl#fireAll(java.util.Collection)} with firing the same events one by one,
+ * see also {@link EventFireBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class EventBatchBenchmark {
+
+    @Param({ "1", "10" })
+    private int observerCount;
+
+    @Param({ "10", "1000" })
+    private int batchSize;
+
+    private WeldContainer container;
+
+    private EventImpl<Payload> event;
+
+    private List<Payload> payloads;
+
+    @Setup
+    public void setup() {
+        container = new Weld().disableDiscovery().addExtension(new ObserversExtension(observerCount)).initialize();
+        event = (EventImpl<Payload>) container.select(new TypeLiteral<Event<Payload>>() {
+        }).get();
+        payloads = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            payloads.add(new Payload());
+        }
+        // Resolve the observer methods before the measurement
+        event.fireAll(payloads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public List<Payload> fireEach() {
+        for (Payload payload : payloads) {
+            event.fire(payload);
+        }
+        return payloads;
+    }
+
+    @Benchmark
+    public List<Payload> fireAll() {
+        event.fireAll(payloads);
+        return payloads;
+    }
+
+}
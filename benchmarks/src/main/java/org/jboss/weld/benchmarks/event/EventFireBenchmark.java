@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.event;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the synchronous notification of observer methods through {@link Event#fire(Object)} depending on the number of observer methods. The observer
+ * methods are declared on application-scoped beans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class EventFireBenchmark {
+
+    @Param({ "0", "1", "10" })
+    private int observerCount;
+
+    private WeldContainer container;
+
+    private Event<Payload> event;
+
+    private Payload payload;
+
+    @Setup
+    public void setup() {
+        container = new Weld().disableDiscovery().addExtension(new ObserversExtension(observerCount)).initialize();
+        event = container.select(new TypeLiteral<Event<Payload>>() {
+        }).get();
+        payload = new Payload();
+        // Resolve the observer methods before the measurement
+        event.fire(payload);
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Payload fire() {
+        event.fire(payload);
+        return payload;
+    }
+
+    public static class Payload {
+
+        private int notifications;
+
+        void notified() {
+            notifications++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Listener {
+
+        void observe(@Observes Payload payload) {
+            payload.notified();
+        }
+    }
+
+    /**
+     * Registers the given number of beans declaring an observer method, all backed by {@link Listener}.
+     */
+    public static class ObserversExtension implements Extension {
+
+        private final int observerCount;
+
+        public ObserversExtension(int observerCount) {
+            this.observerCount = observerCount;
+        }
+
+        void registerObservers(@Observes BeforeBeanDiscovery event, BeanManager beanManager) {
+            for (int i = 0; i < observerCount; i++) {
+                event.addAnnotatedType(beanManager.createAnnotatedType(Listener.class), Listener.class.getSimpleName() + i);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.event;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the notification of a single observer method depending on the way the observer method is invoked. {@link #eventOnly()} notifies an observer
+ * method with the event parameter only, {@link #injectedParameter()} notifies an observer method with an additional parameter resolving to an
+ * application-scoped bean.
+ *
+ * @see ConfigurationKey#OBSERVER_DIRECT_INVOCATION
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ObserverInvocationBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean directInvocation;
+
+    private WeldContainer container;
+
+    private Event<Ping> pingEvent;
+
+    private Event<Pong> pongEvent;
+
+    private Ping ping;
+
+    private Pong pong;
+
+    @Setup
+    public void setup() {
+        container = new Weld().disableDiscovery().addBeanClasses(Listener.class, Counter.class)
+                .property(ConfigurationKey.OBSERVER_DIRECT_INVOCATION.get(), directInvocation).initialize();
+        pingEvent = container.select(new TypeLiteral<Event<Ping>>() {
+        }).get();
+        pongEvent = container.select(new TypeLiteral<Event<Pong>>() {
+        }).get();
+        ping = new Ping();
+        pong = new Pong();
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Ping eventOnly() {
+        pingEvent.fire(ping);
+        return ping;
+    }
+
+    @Benchmark
+    public Pong injectedParameter() {
+        pongEvent.fire(pong);
+        return pong;
+    }
+
+    public static class Ping {
+    }
+
+    public static class Pong {
+    }
+
+    @ApplicationScoped
+    public static class Counter {
+
+        private int count;
+
+        public void increment() {
+            count++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Listener {
+
+        private int pings;
+
+        public void observePing(@Observes Ping ping) {
+            pings++;
+        }
+
+        public void observePong(@Observes Pong pong, Counter counter) {
+            counter.increment();
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.event;
+
+import java.io.File;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.event.GlobalObserverNotifierService;
+import org.jboss.weld.event.ResolvedObservers;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.resolution.QualifierInstance;
+import org.jboss.weld.resolution.Resolvable;
+import org.jboss.weld.resolution.ResolvableBuilder;
+import org.jboss.weld.resolution.TypeSafeObserverResolver;
+import org.jboss.weld.util.reflection.HierarchyDiscovery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of an observer resolution which is not cached yet (i.e. the first event of a runtime type) depending on the number of registered
+ * observer methods.
+ *
+ * <p>
+ * Synthetic observer methods are distributed among a set of unrelated observed types. Every hundredth observer method observes {@link Object}. The
+ * resolution cache is bypassed so that each invocation performs the full matching. {@link #scanResolution()} does not use the observer index and serves as
+ * a baseline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ObserverResolutionBenchmark {
+
+    private static final Class<?>[] OBSERVED_TYPES = { String.class, Integer.class, Long.class, ArrayList.class, HashMap.class, LinkedList.class,
+            TreeMap.class, TreeSet.class, ArrayDeque.class, BitSet.class, UUID.class, URI.class, File.class, BigDecimal.class, CharSequence.class,
+            Appendable.class };
+
+    @Param({ "100", "1000", "10000" })
+    private int observerCount;
+
+    private WeldContainer container;
+
+    private TypeSafeObserverResolver indexedResolver;
+
+    private TypeSafeObserverResolver scanResolver;
+
+    private Resolvable resolvable;
+
+    @Setup
+    public void setup() {
+        container = new Weld().disableDiscovery().addExtension(new SyntheticObserversExtension(observerCount)).initialize();
+        BeanManagerImpl beanManager = BeanManagerProxy.unwrap(container.getBeanManager());
+        MetaAnnotationStore store = beanManager.getServices().get(MetaAnnotationStore.class);
+        WeldConfiguration configuration = beanManager.getServices().get(WeldConfiguration.class);
+        Iterable<ObserverMethod<?>> observers = beanManager.getServices().get(GlobalObserverNotifierService.class).getAllObserverMethods();
+        indexedResolver = new TypeSafeObserverResolver(store, observers, configuration, beanManager.getContextId());
+        scanResolver = new TypeSafeObserverResolver(store, observers, configuration);
+        resolvable = new ResolvableBuilder(store).addTypes(new HierarchyDiscovery(StringBuilder.class).getTypeClosure()).addType(Object.class)
+                .addQualifierUnchecked(QualifierInstance.ANY).create();
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public ResolvedObservers<?> indexedResolution() {
+        return indexedResolver.resolve(resolvable, false);
+    }
+
+    @Benchmark
+    public ResolvedObservers<?> scanResolution() {
+        return scanResolver.resolve(resolvable, false);
+    }
+
+    public static class SyntheticObserversExtension implements Extension {
+
+        private final int observerCount;
+
+        public SyntheticObserversExtension(int observerCount) {
+            this.observerCount = observerCount;
+        }
+
+        void registerObservers(@Observes AfterBeanDiscovery event) {
+            for (int i = 0; i < observerCount; i++) {
+                Type observedType = i % 100 == 0 ? Object.class : OBSERVED_TYPES[i % OBSERVED_TYPES.length];
+                event.addObserverMethod().observedType(observedType).notifyWith((e) -> {
+                });
+            }
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.inject;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the creation of a dependent bean with a bean constructor, twelve injected fields and an initializer method depending on whether the members are
+ * accessed through reflection or a generated injector. All the injection points resolve to application-scoped beans so that the injectable references are
+ * cheap to obtain. Dependent instances are destroyed right away so that they do not accumulate in the creational context of the {@link Instance}.
+ *
+ * @see ConfigurationKey#INJECTION_GENERATED_INJECTORS
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class DependentCreationBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean generatedInjectors;
+
+    private WeldContainer container;
+
+    private Instance<Target> instance;
+
+    @Setup
+    public void setup() {
+        container = new Weld().disableDiscovery().addBeanClasses(Target.class, Alpha.class, Beta.class, Gamma.class)
+                .property(ConfigurationKey.INJECTION_GENERATED_INJECTORS.get(), generatedInjectors).initialize();
+        instance = container.select(Target.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Target create() {
+        Target target = instance.get();
+        instance.destroy(target);
+        return target;
+    }
+
+    @ApplicationScoped
+    public static class Alpha {
+    }
+
+    @ApplicationScoped
+    public static class Beta {
+    }
+
+    @ApplicationScoped
+    public static class Gamma {
+    }
+
+    @Dependent
+    public static class Target {
+
+        @Inject
+        Alpha alpha1;
+
+        @Inject
+        Alpha alpha2;
+
+        @Inject
+        Alpha alpha3;
+
+        @Inject
+        Alpha alpha4;
+
+        @Inject
+        Beta beta1;
+
+        @Inject
+        Beta beta2;
+
+        @Inject
+        Beta beta3;
+
+        @Inject
+        Beta beta4;
+
+        @Inject
+        Gamma gamma1;
+
+        @Inject
+        Gamma gamma2;
+
+        @Inject
+        Gamma gamma3;
+
+        @Inject
+        Gamma gamma4;
+
+        private final Alpha alpha;
+
+        private Beta beta;
+
+        @Inject
+        Target(Alpha alpha) {
+            this.alpha = alpha;
+        }
+
+        @Inject
+        void init(Beta beta) {
+            this.beta = beta;
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.inject;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the programmatic lookup of a bean through {@code Instance.select().get()}. Dependent instances are destroyed right away so that they do not
+ * accumulate in the creational context of the {@link Instance}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class InstanceSelectBenchmark {
+
+    @Param({ "dependent", "application" })
+    private String scope;
+
+    private WeldContainer container;
+
+    private Instance<Object> instance;
+
+    private Class<? extends Service> beanClass;
+
+    private boolean dependent;
+
+    @Setup
+    public void setup() {
+        container = new Weld().disableDiscovery().addBeanClasses(DependentService.class, ApplicationService.class).initialize();
+        instance = container.getBeanManager().createInstance();
+        dependent = "dependent".equals(scope);
+        beanClass = dependent ? DependentService.class : ApplicationService.class;
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Service selectGet() {
+        return selectGet(beanClass);
+    }
+
+    private <T extends Service> T selectGet(Class<T> type) {
+        Instance<T> selected = instance.select(type);
+        T service = selected.get();
+        if (dependent) {
+            selected.destroy(service);
+        }
+        return service;
+    }
+
+    public interface Service {
+    }
+
+    @Dependent
+    public static class DependentService implements Service {
+    }
+
+    @ApplicationScoped
+    public static class ApplicationService implements Service {
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.interceptor;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.Dependent;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the invocation of an intercepted business method depending on the length of the interceptor chain and the way the interceptor methods are
+ * invoked.
+ *
+ * @see ConfigurationKey#INTERCEPTOR_METHOD_HANDLE_INVOCATION
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class InterceptorChainBenchmark {
+
+    private static final Class<?>[] INTERCEPTORS = { Interceptor1.class, Interceptor2.class, Interceptor3.class, Interceptor4.class, Interceptor5.class,
+            Interceptor6.class, Interceptor7.class, Interceptor8.class };
+
+    @Param({ "1", "3", "8" })
+    private int chainLength;
+
+    @Param({ "false", "true" })
+    private boolean methodHandleInvocation;
+
+    private WeldContainer container;
+
+    private InterceptedBean bean;
+
+    private int argument;
+
+    @Setup
+    public void setup() {
+        Weld weld = new Weld().disableDiscovery().addBeanClass(InterceptedBean.class)
+                .property(ConfigurationKey.INTERCEPTOR_METHOD_HANDLE_INVOCATION.get(), methodHandleInvocation);
+        for (int i = 0; i < chainLength; i++) {
+            weld.addInterceptor(INTERCEPTORS[i]);
+        }
+        container = weld.initialize();
+        bean = container.select(InterceptedBean.class).get();
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public int invoke() {
+        return bean.compute(argument++);
+    }
+
+    @Dependent
+    @Measured
+    public static class InterceptedBean {
+
+        public int compute(int value) {
+            return value + 1;
+        }
+    }
+
+    @InterceptorBinding
+    @Retention(RUNTIME)
+    @Target({ TYPE, METHOD })
+    public @interface Measured {
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor1 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor2 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor3 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor4 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor5 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor6 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor7 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Measured
+    @Interceptor
+    public static class Interceptor8 {
+
+        @AroundInvoke
+        Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+}
@@ -28,6 +28,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Priority;
 
@@ -37,7 +43,11 @@ import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
 import org.jboss.weld.environment.deployment.discovery.BeanArchiveScanner.ScanResult;
 import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.exceptions.DeploymentException;
 import org.jboss.weld.exceptions.UnsupportedOperationException;
+import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.executor.DaemonThreadFactory;
+import org.jboss.weld.resources.spi.ClassFileInfoException;
 import org.jboss.weld.resources.spi.ClassFileServices;
 import org.jboss.weld.resources.spi.ResourceLoader;
 import org.jboss.weld.util.ServiceLoader;
@@ -50,6 +60,8 @@ import org.jboss.weld.util.ServiceLoader;
  */
 public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
 
+    private static final String DISCOVERY_WORKERS = "weld-discovery";
+
     protected final ResourceLoader resourceLoader;
 
     protected final Bootstrap bootstrap;
@@ -58,8 +70,12 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
 
     protected BeanArchiveScanner scanner;
 
+    protected final BytecodeClassFileServices bytecodeClassFileServices;
+
     private final List<BeanArchiveHandler> handlers;
 
+    private int threadPoolSize = 1;
+
     /**
      *
      * @param resourceLoader
@@ -71,6 +87,7 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
         this.bootstrap = bootstrap;
         this.handlers = new LinkedList<BeanArchiveHandler>();
         this.initialBeanDefiningAnnotations = initialBeanDefiningAnnotations;
+        this.bytecodeClassFileServices = new BytecodeClassFileServices(resourceLoader);
     }
 
     @Override
@@ -78,6 +95,11 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
         this.scanner = scanner;
     }
 
+    @Override
+    public void setThreadPoolSize(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize > 0 ? threadPoolSize : Runtime.getRuntime().availableProcessors();
+    }
+
     @Override
     public Set<WeldBeanDeploymentArchive> performDiscovery() {
 
@@ -85,7 +107,7 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
             scanner = new DefaultBeanArchiveScanner(resourceLoader, bootstrap);
         }
 
-        final List<BeanArchiveBuilder> beanArchiveBuilders = new ArrayList<BeanArchiveBuilder>();
+        final List<ScanResult> scanResults = new ArrayList<ScanResult>();
         final Set<String> processedRefs = new HashSet<String>();
 
         List<BeanArchiveHandler> beanArchiveHandlers = initBeanArchiveHandlers();
@@ -95,24 +117,12 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
             if (processedRefs.contains(ref)) {
                 throw CommonLogger.LOG.invalidScanningResult(ref);
             }
-            CommonLogger.LOG.processingBeanArchiveReference(ref);
             processedRefs.add(ref);
-            BeanArchiveBuilder builder = null;
-            for (BeanArchiveHandler handler : beanArchiveHandlers) {
-                builder = handler.handle(ref);
-                if (builder != null) {
-                    CommonLogger.LOG.beanArchiveReferenceHandled(ref, handler);
-                    builder.setId(scanResult.getBeanArchiveId());
-                    builder.setBeansXml(scanResult.getBeansXml());
-                    beanArchiveBuilders.add(builder);
-                    break;
-                }
-            }
-            if (builder == null) {
-                CommonLogger.LOG.beanArchiveReferenceCannotBeHandled(ref, beanArchiveHandlers);
-            }
+            scanResults.add(scanResult);
         }
 
+        final List<BeanArchiveBuilder> beanArchiveBuilders = handle(scanResults, beanArchiveHandlers);
+
         beforeDiscovery(beanArchiveBuilders);
         Set<WeldBeanDeploymentArchive> archives = new HashSet<WeldBeanDeploymentArchive>();
 
@@ -145,12 +155,102 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
         return archives;
     }
 
+    /**
+     * Handle the scanning results, possibly in parallel. The builders are always returned in the order of the scanning results.
+     */
+    private List<BeanArchiveBuilder> handle(List<ScanResult> scanResults, final List<BeanArchiveHandler> beanArchiveHandlers) {
+        final List<BeanArchiveBuilder> beanArchiveBuilders = new ArrayList<BeanArchiveBuilder>(scanResults.size());
+        int threads = Math.min(threadPoolSize, scanResults.size());
+        if (threads <= 1) {
+            for (ScanResult scanResult : scanResults) {
+                addIfNotNull(beanArchiveBuilders, handle(scanResult, beanArchiveHandlers));
+            }
+            return beanArchiveBuilders;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory(new ThreadGroup(DISCOVERY_WORKERS), DISCOVERY_WORKERS + "-"));
+        try {
+            List<Future<BeanArchiveBuilder>> futures = new ArrayList<Future<BeanArchiveBuilder>>(scanResults.size());
+            for (final ScanResult scanResult : scanResults) {
+                futures.add(executor.submit(new Callable<BeanArchiveBuilder>() {
+                    @Override
+                    public BeanArchiveBuilder call() throws Exception {
+                        return handle(scanResult, beanArchiveHandlers);
+                    }
+                }));
+            }
+            for (Future<BeanArchiveBuilder> future : futures) {
+                addIfNotNull(beanArchiveBuilders, getResult(future));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return beanArchiveBuilders;
+    }
+
+    private BeanArchiveBuilder handle(ScanResult scanResult, List<BeanArchiveHandler> beanArchiveHandlers) {
+        final String ref = scanResult.getBeanArchiveRef();
+        CommonLogger.LOG.processingBeanArchiveReference(ref);
+        long start = System.nanoTime();
+        for (BeanArchiveHandler handler : beanArchiveHandlers) {
+            BeanArchiveBuilder builder = handler.handle(ref);
+            if (builder != null) {
+                CommonLogger.LOG.beanArchiveReferenceHandled(ref, handler);
+                CommonLogger.LOG.beanArchiveReferenceHandlingTime(ref, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                builder.setId(scanResult.getBeanArchiveId());
+                builder.setBeansXml(scanResult.getBeansXml());
+                return builder;
+            }
+        }
+        CommonLogger.LOG.beanArchiveReferenceCannotBeHandled(ref, beanArchiveHandlers);
+        return null;
+    }
+
+    private static void addIfNotNull(List<BeanArchiveBuilder> builders, BeanArchiveBuilder builder) {
+        if (builder != null) {
+            builders.add(builder);
+        }
+    }
+
+    private static BeanArchiveBuilder getResult(Future<BeanArchiveBuilder> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeploymentException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DeploymentException(cause);
+        }
+    }
+
     @Override
     public ClassFileServices getClassFileServices() {
         // By default no bytecode scanning facility available
         return null;
     }
 
+    /**
+     * The class file is read first so that the class does not need to be loaded. Reflection is only used if the class file is not available.
+     *
+     * @param className
+     * @return <code>true</code> if the class has a bean defining annotation, <code>false</code> otherwise or if the class cannot be loaded
+     */
+    protected boolean hasBeanDefiningAnnotation(String className) {
+        try {
+            return bytecodeClassFileServices.hasBeanDefiningAnnotation(className, initialBeanDefiningAnnotations);
+        } catch (ClassFileInfoException e) {
+            CommonLogger.LOG.debugv("Falling back to reflection: {0}", e.getMessage());
+        }
+        Class<?> clazz = Reflections.loadClass(resourceLoader, className);
+        return clazz != null && Reflections.hasBeanDefiningAnnotation(clazz, initialBeanDefiningAnnotations);
+    }
+
     protected void addToArchives(Set<WeldBeanDeploymentArchive> deploymentArchives, WeldBeanDeploymentArchive bda) {
         if (bda == null) {
             return;
@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import javax.enterprise.inject.Vetoed;
+
+import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+
+/**
+ * A Java class representation read directly from the bytecode, see also {@link BytecodeClassFileServices}. If a class file needed to answer a query is not
+ * found (e.g. a superclass from a different class loader), the class is loaded and reflection is used instead.
+ */
+public class BytecodeClassFileInfo implements ClassFileInfo {
+
+    private static final String OBJECT_NAME = Object.class.getName();
+
+    private static final String VETOED_NAME = Vetoed.class.getName();
+
+    private static final String PACKAGE_INFO_NAME = "package-info";
+
+    private final ClassFile classFile;
+
+    private final BytecodeClassFileServices services;
+
+    private final boolean isVetoed;
+
+    BytecodeClassFileInfo(ClassFile classFile, BytecodeClassFileServices services) {
+        this.classFile = classFile;
+        this.services = services;
+        this.isVetoed = isVetoedTypeOrPackage();
+    }
+
+    @Override
+    public String getClassName() {
+        return classFile.getName();
+    }
+
+    @Override
+    public boolean isAnnotationDeclared(Class<? extends Annotation> annotation) {
+        return classFile.getAnnotations().contains(annotation.getName());
+    }
+
+    @Override
+    public boolean containsAnnotation(Class<? extends Annotation> annotation) {
+        return containsAnnotation(classFile, annotation.getName(), annotation);
+    }
+
+    @Override
+    public int getModifiers() {
+        return classFile.getFlags();
+    }
+
+    @Override
+    public boolean hasCdiConstructor() {
+        return classFile.hasCdiConstructor();
+    }
+
+    @Override
+    public boolean isAssignableFrom(Class<?> fromClass) {
+        return isAssignableFrom(getClassName(), fromClass);
+    }
+
+    @Override
+    public boolean isAssignableTo(Class<?> toClass) {
+        return isAssignableTo(getClassName(), toClass);
+    }
+
+    @Override
+    public boolean isVetoed() {
+        return isVetoed;
+    }
+
+    @Override
+    public boolean isTopLevelClass() {
+        return NestingType.TOP_LEVEL.equals(classFile.getNestingType());
+    }
+
+    @Override
+    public NestingType getNestingType() {
+        return classFile.getNestingType();
+    }
+
+    @Override
+    public String getSuperclassName() {
+        return classFile.getSuperName();
+    }
+
+    private boolean isVetoedTypeOrPackage() {
+        if (classFile.getAnnotations().contains(VETOED_NAME)) {
+            return true;
+        }
+        int lastDot = getClassName().lastIndexOf('.');
+        ClassFile packageInfo = services.getClassFile(lastDot != -1 ? getClassName().substring(0, lastDot + 1) + PACKAGE_INFO_NAME : PACKAGE_INFO_NAME);
+        return packageInfo != null && packageInfo.getAnnotations().contains(VETOED_NAME);
+    }
+
+    private boolean isAssignableFrom(String className, Class<?> fromClass) {
+        if (className.equals(fromClass.getName())) {
+            return true;
+        }
+        if (Object.class.equals(fromClass)) {
+            return false; // there's nothing assignable from Object.class except for Object.class
+        }
+        Class<?> superClass = fromClass.getSuperclass();
+        if (superClass != null && isAssignableFrom(className, superClass)) {
+            return true;
+        }
+        for (Class<?> interfaceClass : fromClass.getInterfaces()) {
+            if (isAssignableFrom(className, interfaceClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAssignableTo(String name, Class<?> to) {
+        if (to.getName().equals(name)) {
+            return true;
+        }
+        if (OBJECT_NAME.equals(name)) {
+            return false; // there's nothing assignable from Object.class except for Object.class
+        }
+        ClassFile fromClassFile = services.getClassFile(name);
+        if (fromClassFile == null) {
+            // The class file is not available - let's use reflection
+            return to.isAssignableFrom(services.loadClass(name));
+        }
+        if (fromClassFile.getSuperName() != null && isAssignableTo(fromClassFile.getSuperName(), to)) {
+            return true;
+        }
+        for (String interfaceName : fromClassFile.getInterfaceNames()) {
+            if (isAssignableTo(interfaceName, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsAnnotation(ClassFile classFile, String requiredAnnotationName, Class<? extends Annotation> requiredAnnotation) {
+        // Type and members
+        if (classFile.getAnnotations().contains(requiredAnnotationName) || classFile.getMemberAnnotations().contains(requiredAnnotationName)) {
+            return true;
+        }
+        // Meta-annotations
+        if (containsMetaAnnotation(classFile.getAnnotations(), requiredAnnotationName)
+                || containsMetaAnnotation(classFile.getMemberAnnotations(), requiredAnnotationName)) {
+            return true;
+        }
+        // Superclass
+        final String superName = classFile.getSuperName();
+        if (superName != null && !OBJECT_NAME.equals(superName)) {
+            final ClassFile superClassFile = services.getClassFile(superName);
+            if (superClassFile == null) {
+                // The class file is not available - fallback to using reflection
+                return Reflections.containsAnnotation(services.loadClass(superName), requiredAnnotation);
+            }
+            if (containsAnnotation(superClassFile, requiredAnnotationName, requiredAnnotation)) {
+                return true;
+            }
+        }
+        // Also check default methods on interfaces
+        for (String interfaceName : classFile.getInterfaceNames()) {
+            final ClassFile interfaceClassFile = services.getClassFile(interfaceName);
+            if (interfaceClassFile == null) {
+                // The class file is not available - fallback to using reflection
+                for (Method method : services.loadClass(interfaceName).getDeclaredMethods()) {
+                    if (method.isDefault() && Reflections.containsAnnotations(method.getAnnotations(), requiredAnnotation)) {
+                        return true;
+                    }
+                }
+                continue;
+            }
+            if (interfaceClassFile.getDefaultMethodAnnotations().contains(requiredAnnotationName)
+                    || containsMetaAnnotation(interfaceClassFile.getDefaultMethodAnnotations(), requiredAnnotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsMetaAnnotation(Set<String> annotations, String requiredAnnotationName) {
+        for (String annotation : annotations) {
+            if (services.getAnnotationClassAnnotations(annotation).contains(requiredAnnotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return classFile.toString();
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jboss.logging.Logger;
+import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.environment.util.Files;
+import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileInfoException;
+import org.jboss.weld.resources.spi.ClassFileServices;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+import org.jboss.weld.util.collections.ImmutableSet;
+
+/**
+ * An implementation of {@link ClassFileServices} which reads the class files found by the {@link ResourceLoader} directly, i.e. without loading the classes.
+ * It is used if Jandex is not available. If a class file is not found, {@link ClassFileInfoException} is thrown and the caller is expected to fall back to
+ * reflection.
+ *
+ * <p>
+ * The class files read are cached until {@link #cleanupAfterBoot()} is called.
+ * </p>
+ */
+public class BytecodeClassFileServices implements ClassFileServices {
+
+    private static final Logger log = Logger.getLogger(BytecodeClassFileServices.class);
+
+    private static final String OBJECT_NAME = Object.class.getName();
+
+    private static final String INHERITED_NAME = Inherited.class.getName();
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final ResourceLoader resourceLoader;
+
+    private final ComputingCache<String, Optional<ClassFile>> classFiles;
+
+    private final ComputingCache<String, Set<String>> annotationClassAnnotations;
+
+    public BytecodeClassFileServices(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+        this.classFiles = ComputingCacheBuilder.newBuilder().build(this::readClassFile);
+        this.annotationClassAnnotations = ComputingCacheBuilder.newBuilder().build(this::readAnnotationClassAnnotations);
+    }
+
+    @Override
+    public ClassFileInfo getClassFileInfo(String className) {
+        return new BytecodeClassFileInfo(getRequiredClassFile(className), this);
+    }
+
+    /**
+     * Bean defining annotations are detected in the same way as {@link Reflections#hasBeanDefiningAnnotation(Class, Set)} does, i.e. an inherited annotation
+     * declared on a superclass is also considered.
+     *
+     * @param className
+     * @param beanDefiningAnnotations
+     * @return <code>true</code> if the class has a bean defining annotation or an annotation annotated with a bean defining meta-annotation
+     * @throws ClassFileInfoException if the class file of the class or any of its superclasses is not found
+     */
+    public boolean hasBeanDefiningAnnotation(String className, Set<Class<? extends Annotation>> beanDefiningAnnotations) {
+        Set<String> annotations = getAnnotations(getRequiredClassFile(className));
+        for (Class<? extends Annotation> beanDefiningAnnotation : beanDefiningAnnotations) {
+            if (annotations.contains(beanDefiningAnnotation.getName())) {
+                return true;
+            }
+        }
+        for (Class<? extends Annotation> metaAnnotation : Reflections.META_ANNOTATIONS) {
+            for (String annotation : annotations) {
+                if (getAnnotationClassAnnotations(annotation).contains(metaAnnotation.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void cleanupAfterBoot() {
+        classFiles.clear();
+        annotationClassAnnotations.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        cleanupAfterBoot();
+    }
+
+    /**
+     *
+     * @param className
+     * @return the class file or <code>null</code> if not found
+     */
+    ClassFile getClassFile(String className) {
+        return classFiles.getValue(className).orElse(null);
+    }
+
+    /**
+     *
+     * @param annotationName
+     * @return the names of the annotations declared on the given annotation type, or an empty set if the annotation type is not available
+     */
+    Set<String> getAnnotationClassAnnotations(String annotationName) {
+        return annotationClassAnnotations.getValue(annotationName);
+    }
+
+    Class<?> loadClass(String className) {
+        log.trace("Loading class with resource loader: " + className);
+        return Reflections.classForName(resourceLoader, className);
+    }
+
+    private ClassFile getRequiredClassFile(String className) {
+        ClassFile classFile = getClassFile(className);
+        if (classFile == null) {
+            throw CommonLogger.LOG.classFileNotFound(className);
+        }
+        return classFile;
+    }
+
+    /**
+     * The declared annotations and the inherited annotations declared on superclasses, see also {@link Class#getAnnotations()}.
+     */
+    private Set<String> getAnnotations(ClassFile classFile) {
+        if (classFile.getSuperName() == null || OBJECT_NAME.equals(classFile.getSuperName())) {
+            return classFile.getAnnotations();
+        }
+        Set<String> annotations = new HashSet<String>(classFile.getAnnotations());
+        for (String superName = classFile.getSuperName(); superName != null && !OBJECT_NAME.equals(superName);) {
+            ClassFile superClassFile = getRequiredClassFile(superName);
+            for (String annotation : superClassFile.getAnnotations()) {
+                if (getAnnotationClassAnnotations(annotation).contains(INHERITED_NAME)) {
+                    annotations.add(annotation);
+                }
+            }
+            superName = superClassFile.getSuperName();
+        }
+        return annotations;
+    }
+
+    private Optional<ClassFile> readClassFile(String className) {
+        URL url = resourceLoader.getResource(className.replace('.', '/') + Files.CLASS_FILE_EXTENSION);
+        if (url == null) {
+            return Optional.empty();
+        }
+        try (InputStream in = url.openStream()) {
+            return Optional.of(ClassFile.read(readBytes(in)));
+        } catch (IOException | RuntimeException e) {
+            log.debugv("Unable to read the class file of {0}: {1}", className, e);
+            return Optional.empty();
+        }
+    }
+
+    private Set<String> readAnnotationClassAnnotations(String annotationName) {
+        ClassFile classFile = getClassFile(annotationName);
+        if (classFile != null) {
+            return classFile.getAnnotations();
+        }
+        // The annotation type is not available as a resource - try to load it
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        try {
+            for (Annotation annotation : resourceLoader.classForName(annotationName).getDeclaredAnnotations()) {
+                builder.add(annotation.annotationType().getName());
+            }
+        } catch (Exception | LinkageError e) {
+            // Annotations which cannot be loaded are ignored, see also Class.getAnnotations()
+            log.debugv("Unable to load annotation type {0}", annotationName);
+        }
+        return builder.build();
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,374 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.weld.resources.spi.ClassFileInfo.NestingType;
+
+/**
+ * A minimal class file representation read directly from the bytecode, i.e. without loading the class. Only the information needed for bean discovery and
+ * {@link BytecodeClassFileInfo} is retained: the type hierarchy, the access flags, the nesting type, the constructors and the names of the runtime-visible
+ * annotations declared on the class and its members.
+ */
+final class ClassFile {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS = "RuntimeVisibleParameterAnnotations";
+    private static final String INNER_CLASSES = "InnerClasses";
+
+    private static final String CONSTRUCTOR_NAME = "<init>";
+    private static final String NO_ARGS_DESCRIPTOR = "()V";
+    private static final String INJECT = "javax.inject.Inject";
+
+    private final String name;
+
+    private final String superName;
+
+    private final String[] interfaceNames;
+
+    private final int flags;
+
+    private final NestingType nestingType;
+
+    private final Set<String> annotations;
+
+    private final Set<String> memberAnnotations;
+
+    private final Set<String> defaultMethodAnnotations;
+
+    private final boolean hasCdiConstructor;
+
+    private ClassFile(String name, String superName, String[] interfaceNames, int flags, NestingType nestingType, Set<String> annotations,
+            Set<String> memberAnnotations, Set<String> defaultMethodAnnotations, boolean hasCdiConstructor) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaceNames = interfaceNames;
+        this.flags = flags;
+        this.nestingType = nestingType;
+        this.annotations = annotations;
+        this.memberAnnotations = memberAnnotations;
+        this.defaultMethodAnnotations = defaultMethodAnnotations;
+        this.hasCdiConstructor = hasCdiConstructor;
+    }
+
+    /**
+     *
+     * @param bytecode
+     * @return the class file read from the given bytecode
+     * @throws IOException if the bytecode does not represent a valid class file
+     */
+    static ClassFile read(byte[] bytecode) throws IOException {
+        return new Reader(new DataInputStream(new ByteArrayInputStream(bytecode))).read();
+    }
+
+    /**
+     *
+     * @return the fully qualified class name, e.g. {@code com.acme.Foo$Bar}
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     *
+     * @return the superclass name or {@code null} for {@link Object} and interfaces without a superclass
+     */
+    String getSuperName() {
+        return superName;
+    }
+
+    String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     *
+     * @return the access flags, for a nested class the flags from the {@code InnerClasses} attribute are used
+     */
+    int getFlags() {
+        return flags;
+    }
+
+    NestingType getNestingType() {
+        return nestingType;
+    }
+
+    /**
+     *
+     * @return the names of the annotations declared on the class
+     */
+    Set<String> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     *
+     * @return the names of the annotations declared on the fields, methods, constructors and parameters
+     */
+    Set<String> getMemberAnnotations() {
+        return memberAnnotations;
+    }
+
+    /**
+     *
+     * @return the names of the annotations declared on the public non-abstract instance methods (i.e. default methods of an interface) and their parameters
+     */
+    Set<String> getDefaultMethodAnnotations() {
+        return defaultMethodAnnotations;
+    }
+
+    /**
+     *
+     * @return {@code true} if the class declares a no-args constructor or a constructor annotated with {@code @Inject}
+     */
+    boolean hasCdiConstructor() {
+        return hasCdiConstructor;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static class Reader {
+
+        private final DataInputStream in;
+
+        private String[] utf8;
+
+        private int[] classes;
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        ClassFile read() throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a class file");
+            }
+            // Minor and major version
+            skip(4);
+            readConstantPool();
+            int flags = in.readUnsignedShort();
+            String name = getClassName(in.readUnsignedShort());
+            int superIndex = in.readUnsignedShort();
+            String superName = superIndex != 0 ? getClassName(superIndex) : null;
+            String[] interfaceNames = new String[in.readUnsignedShort()];
+            for (int i = 0; i < interfaceNames.length; i++) {
+                interfaceNames[i] = getClassName(in.readUnsignedShort());
+            }
+
+            Set<String> memberAnnotations = new HashSet<String>();
+            Set<String> defaultMethodAnnotations = new HashSet<String>();
+            boolean hasCdiConstructor = false;
+
+            // Fields
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                // Access flags, name and descriptor
+                skip(6);
+                readMemberAttributes(memberAnnotations);
+            }
+            // Methods
+            Set<String> methodAnnotations = new HashSet<String>();
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                int methodFlags = in.readUnsignedShort();
+                String methodName = utf8[in.readUnsignedShort()];
+                String descriptor = utf8[in.readUnsignedShort()];
+                methodAnnotations.clear();
+                readMemberAttributes(methodAnnotations);
+                memberAnnotations.addAll(methodAnnotations);
+                if (CONSTRUCTOR_NAME.equals(methodName)) {
+                    hasCdiConstructor = hasCdiConstructor || NO_ARGS_DESCRIPTOR.equals(descriptor) || methodAnnotations.contains(INJECT);
+                } else if ((methodFlags & (Modifier.ABSTRACT | Modifier.PUBLIC | Modifier.STATIC)) == Modifier.PUBLIC) {
+                    defaultMethodAnnotations.addAll(methodAnnotations);
+                }
+            }
+
+            // Class attributes
+            Set<String> annotations = Collections.emptySet();
+            NestingType nestingType = NestingType.TOP_LEVEL;
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                String attributeName = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    annotations = new HashSet<String>();
+                    readAnnotations(annotations);
+                } else if (INNER_CLASSES.equals(attributeName)) {
+                    for (int classCount = in.readUnsignedShort(); classCount > 0; classCount--) {
+                        int innerIndex = in.readUnsignedShort();
+                        int outerIndex = in.readUnsignedShort();
+                        int innerNameIndex = in.readUnsignedShort();
+                        int innerFlags = in.readUnsignedShort();
+                        if (innerIndex != 0 && name.equals(getClassName(innerIndex))) {
+                            flags = innerFlags;
+                            if (outerIndex != 0) {
+                                nestingType = Modifier.isStatic(innerFlags) ? NestingType.NESTED_STATIC : NestingType.NESTED_INNER;
+                            } else {
+                                nestingType = innerNameIndex != 0 ? NestingType.NESTED_LOCAL : NestingType.NESTED_ANONYMOUS;
+                            }
+                        }
+                    }
+                } else {
+                    skip(length);
+                }
+            }
+            return new ClassFile(name, superName, interfaceNames, flags, nestingType, annotations, memberAnnotations, defaultMethodAnnotations,
+                    hasCdiConstructor);
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = in.readUnsignedShort();
+            utf8 = new String[count];
+            classes = new int[count];
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case CONSTANT_UTF8:
+                        utf8[i] = in.readUTF();
+                        break;
+                    case CONSTANT_CLASS:
+                        classes[i] = in.readUnsignedShort();
+                        break;
+                    case CONSTANT_STRING:
+                    case CONSTANT_METHOD_TYPE:
+                    case CONSTANT_MODULE:
+                    case CONSTANT_PACKAGE:
+                        skip(2);
+                        break;
+                    case CONSTANT_METHOD_HANDLE:
+                        skip(3);
+                        break;
+                    case CONSTANT_INTEGER:
+                    case CONSTANT_FLOAT:
+                    case CONSTANT_FIELDREF:
+                    case CONSTANT_METHODREF:
+                    case CONSTANT_INTERFACE_METHODREF:
+                    case CONSTANT_NAME_AND_TYPE:
+                    case CONSTANT_DYNAMIC:
+                    case CONSTANT_INVOKE_DYNAMIC:
+                        skip(4);
+                        break;
+                    case CONSTANT_LONG:
+                    case CONSTANT_DOUBLE:
+                        skip(8);
+                        // Takes two entries
+                        i++;
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+                }
+            }
+        }
+
+        private void readMemberAttributes(Set<String> annotations) throws IOException {
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                String attributeName = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    readAnnotations(annotations);
+                } else if (RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS.equals(attributeName)) {
+                    for (int parameters = in.readUnsignedByte(); parameters > 0; parameters--) {
+                        readAnnotations(annotations);
+                    }
+                } else {
+                    skip(length);
+                }
+            }
+        }
+
+        private void readAnnotations(Set<String> annotations) throws IOException {
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                annotations.add(readAnnotation());
+            }
+        }
+
+        private String readAnnotation() throws IOException {
+            String type = utf8[in.readUnsignedShort()];
+            for (int pairs = in.readUnsignedShort(); pairs > 0; pairs--) {
+                // Element name
+                skip(2);
+                skipElementValue();
+            }
+            return descriptorToClassName(type);
+        }
+
+        private void skipElementValue() throws IOException {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 'e':
+                    skip(4);
+                    break;
+                case '@':
+                    readAnnotation();
+                    break;
+                case '[':
+                    for (int values = in.readUnsignedShort(); values > 0; values--) {
+                        skipElementValue();
+                    }
+                    break;
+                default:
+                    // Primitive, String or Class
+                    skip(2);
+                    break;
+            }
+        }
+
+        private String getClassName(int classIndex) {
+            return utf8[classes[classIndex]].replace('/', '.');
+        }
+
+        private void skip(int length) throws IOException {
+            if (in.skipBytes(length) != length) {
+                throw new IOException("Unexpected end of class file");
+            }
+        }
+
+        private static String descriptorToClassName(String descriptor) {
+            // E.g. Ljavax/inject/Inject;
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+
+    }
+
+}
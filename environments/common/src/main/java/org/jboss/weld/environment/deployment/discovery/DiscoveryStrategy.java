@@ -29,6 +29,12 @@ import org.jboss.weld.resources.spi.ClassFileServices;
  */
 public interface DiscoveryStrategy {
 
+    /**
+     * The number of threads used to handle the bean archive references found by the scanner, i.e. to walk the archives and build the indexes. By default,
+     * the references are handled serially. If set to zero or a negative value, the number of available processors is used.
+     */
+    String THREAD_POOL_SIZE = "org.jboss.weld.discovery.threadPoolSize";
+
     /**
      * Optionally, a client may set a custom scanner implementation. If not set, the impl is allowed to use anything it considers appropriate.
      *
@@ -43,6 +49,17 @@ public interface DiscoveryStrategy {
      */
     void registerHandler(BeanArchiveHandler handler);
 
+    /**
+     * Optionally, a client may set the number of threads used to handle the bean archive references. The registered {@link BeanArchiveHandler}s must be
+     * thread-safe if more than one thread is used. The discovery results do not depend on the number of threads.
+     *
+     * @param threadPoolSize
+     * @see #THREAD_POOL_SIZE
+     */
+    default void setThreadPoolSize(int threadPoolSize) {
+        // No-op by default
+    }
+
     /**
      *
      * @return the set of discovered {@link WeldBeanDeploymentArchive}s
@@ -23,7 +23,10 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
@@ -31,10 +34,17 @@ import java.util.zip.ZipInputStream;
 import org.jboss.logging.Logger;
 import org.jboss.weld.environment.logging.CommonLogger;
 import org.jboss.weld.environment.util.Files;
+import org.jboss.weld.environment.util.MappedZipArchive;
 
 /**
  * Handles JAR files and directories.
  *
+ * <p>
+ * An archive file is memory-mapped and read in place by {@link MappedZipArchive} if possible, i.e. stored nested archives are not extracted and the content
+ * of an entry is available through {@link Entry#getContent()}. If the archive cannot be read this way, {@link ZipFile} is used instead. A compressed nested
+ * archive is always read through {@link ZipInputStream}.
+ * </p>
+ *
  * @author Pete Muir
  * @author Marko Luksa
  * @author Martin Kouba
@@ -85,6 +95,14 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
 
     protected void handleFile(File file, BeanArchiveBuilder builder) throws IOException {
         log.debugv("Handle archive file: {0}", file);
+        MappedZipArchive archive = openMapped(file);
+        if (archive != null) {
+            ZipFileEntry entry = new ZipFileEntry(PROCOTOL_JAR + ":" + file.toURI().toURL().toExternalForm() + JAR_URL_SEPARATOR);
+            for (MappedZipArchive.Entry mappedEntry : archive.getEntries()) {
+                add(entry.setEntry(mappedEntry.getName(), mappedEntry), builder);
+            }
+            return;
+        }
         try (ZipFile zip = new ZipFile(file)) {
             Enumeration<? extends ZipEntry> entries = zip.entries();
             ZipFileEntry entry = new ZipFileEntry(PROCOTOL_JAR + ":" + file.toURI().toURL().toExternalForm() + JAR_URL_SEPARATOR);
@@ -122,6 +140,14 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
             throw new IllegalArgumentException("Recursive nested archives are not supported");
         }
 
+        List<ZipFileEntry> mappedEntries = getMappedNestedEntries(file, nestedEntryName);
+        if (mappedEntries != null) {
+            for (ZipFileEntry entry : mappedEntries) {
+                add(entry, builder);
+            }
+            return;
+        }
+
         try (ZipFile zip = new ZipFile(file)) {
 
             Enumeration<? extends ZipEntry> entries = zip.entries();
@@ -148,11 +174,65 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
         }
     }
 
+    /**
+     * The nested archive is read in place if it is stored. A compressed nested archive is not inflated in memory, instead {@code null} is returned and the
+     * archive is read as a stream. All the entries are collected first so that nothing is added to the builder if the archive cannot be read in place.
+     *
+     * @return the entries or {@code null} if the archive cannot be read in place
+     */
+    private List<ZipFileEntry> getMappedNestedEntries(File file, String nestedEntryName) throws MalformedURLException {
+        MappedZipArchive archive = openMapped(file);
+        if (archive == null) {
+            return null;
+        }
+        List<ZipFileEntry> entries = new ArrayList<ZipFileEntry>();
+        try {
+            for (MappedZipArchive.Entry mappedEntry : archive.getEntries()) {
+                if (mappedEntry.getName().equals(nestedEntryName)) {
+                    // Nested jar entry
+                    if (!mappedEntry.isStored()) {
+                        CommonLogger.LOG.nestedArchiveCompressed(nestedEntryName, file);
+                        return null;
+                    }
+                    String archiveUrl = getArchiveUrl(file, mappedEntry.getName());
+                    for (MappedZipArchive.Entry nestedEntry : MappedZipArchive.of(mappedEntry.getContent()).getEntries()) {
+                        entries.add(new ZipFileEntry(archiveUrl).setEntry(nestedEntry.getName(), nestedEntry));
+                    }
+                } else if (mappedEntry.getName().startsWith(nestedEntryName)) {
+                    // Nested file entries
+                    entries.add(getZipFileEntry(file, mappedEntry.getName()).setEntry(mappedEntry.getName().substring(nestedEntryName.length() + 1),
+                            mappedEntry));
+                }
+            }
+        } catch (IOException e) {
+            CommonLogger.LOG.cannotReadArchiveInPlace(file, e);
+            return null;
+        }
+        return entries;
+    }
+
+    private MappedZipArchive openMapped(File file) {
+        try {
+            return MappedZipArchive.open(file);
+        } catch (IOException e) {
+            CommonLogger.LOG.cannotReadArchiveInPlace(file, e);
+            return null;
+        }
+    }
+
     private ZipFileEntry getZipFileEntry(File file, ZipEntry zipEntry) throws MalformedURLException {
+        return getZipFileEntry(file, zipEntry.getName());
+    }
+
+    private ZipFileEntry getZipFileEntry(File file, String zipEntryName) throws MalformedURLException {
+        return new ZipFileEntry(getArchiveUrl(file, zipEntryName));
+    }
+
+    private String getArchiveUrl(File file, String zipEntryName) throws MalformedURLException {
         // Reconstruct the archive URL. It might be like either of the following:
         // "jar:file:/home/duke/duke.jar!/classes"
         // "jar:file:/home/duke/duke.jar!/lib/foo.jar"
-        return new ZipFileEntry(PROCOTOL_JAR + ":" + file.toURI().toURL().toExternalForm() + JAR_URL_SEPARATOR + zipEntry.getName());
+        return PROCOTOL_JAR + ":" + file.toURI().toURL().toExternalForm() + JAR_URL_SEPARATOR + zipEntryName;
     }
 
     protected void add(Entry entry, BeanArchiveBuilder builder) throws MalformedURLException {
@@ -175,6 +255,15 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
          */
         URL getUrl() throws MalformedURLException;
 
+        /**
+         *
+         * @return the content of a file entry read in place, or {@code null} if not available
+         * @throws IOException
+         */
+        default ByteBuffer getContent() throws IOException {
+            return null;
+        }
+
     }
 
     private static class ZipFileEntry implements Entry {
@@ -183,6 +272,8 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
 
         private String archiveUrl;
 
+        private MappedZipArchive.Entry mappedEntry;
+
         ZipFileEntry(String archiveUrl) {
             this.archiveUrl = archiveUrl;
         }
@@ -197,8 +288,18 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
             return new URL(archiveUrl + name);
         }
 
+        @Override
+        public ByteBuffer getContent() throws IOException {
+            return mappedEntry != null ? mappedEntry.getContent() : null;
+        }
+
         ZipFileEntry setName(String name) {
+            return setEntry(name, null);
+        }
+
+        ZipFileEntry setEntry(String name, MappedZipArchive.Entry mappedEntry) {
             this.name = name;
+            this.mappedEntry = mappedEntry;
             return this;
         }
 
@@ -24,11 +24,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
 import org.jboss.weld.environment.logging.CommonLogger;
-import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.resources.spi.ClassFileServices;
 import org.jboss.weld.resources.spi.ResourceLoader;
 
 /**
- * This implementation supports bean-discovery-mode="annotated" and makes use of reflection to detect a class with a bean defining annotation.
+ * This implementation supports bean-discovery-mode="annotated" and reads the class files directly to detect a class with a bean defining annotation. Reflection
+ * is only used if a class file is not available. The class files read are also exposed as {@link ClassFileServices}.
  *
  * @author Matej Briškár
  * @author Martin Kouba
@@ -50,13 +51,16 @@ public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
         }
         Iterator<String> classIterator = builder.getClassIterator();
         while (classIterator.hasNext()) {
-            String className = classIterator.next();
-            Class<?> clazz = Reflections.loadClass(resourceLoader, className);
-            if (clazz == null || !Reflections.hasBeanDefiningAnnotation(clazz, initialBeanDefiningAnnotations)) {
+            if (!hasBeanDefiningAnnotation(classIterator.next())) {
                 classIterator.remove();
             }
         }
         return builder.build();
     }
 
+    @Override
+    public ClassFileServices getClassFileServices() {
+        return bytecodeClassFileServices;
+    }
+
 }
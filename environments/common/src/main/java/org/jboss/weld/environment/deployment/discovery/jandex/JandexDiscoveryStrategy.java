@@ -94,17 +94,20 @@ public class JandexDiscoveryStrategy extends AbstractDiscoveryStrategy {
                 if (!containsBeanDefiningAnnotation(cinfo, className)) {
                     classIterator.remove();
                 }
-            } else {
-                //if ClassInfo is not available (e.g for WEB-INF/lib/jars) then fallback to reflection
-                Class<?> clazz = Reflections.loadClass(resourceLoader, className);
-                if (clazz == null || !Reflections.hasBeanDefiningAnnotation(clazz, initialBeanDefiningAnnotations)) {
-                    classIterator.remove();
-                }
+            } else if (!hasBeanDefiningAnnotation(className)) {
+                // if ClassInfo is not available (e.g for WEB-INF/lib/jars) then read the class file, or fallback to reflection
+                classIterator.remove();
             }
         }
         return builder.build();
     }
 
+    @Override
+    protected void afterDiscovery(Set<WeldBeanDeploymentArchive> archives) {
+        // The class files read during discovery are not needed anymore
+        bytecodeClassFileServices.cleanup();
+    }
+
     private Set<DotName> buildBeanDefiningAnnotationSet(Set<Class<? extends Annotation>> initialBeanDefiningAnnotations, CompositeIndex index) {
         ImmutableSet.Builder<DotName> beanDefiningAnnotations = ImmutableSet.builder();
         for (Class<? extends Annotation> annotation : initialBeanDefiningAnnotations) {
@@ -20,47 +20,69 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 
 import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
 import org.jboss.weld.environment.deployment.discovery.BeanArchiveBuilder;
 import org.jboss.weld.environment.deployment.discovery.FileSystemBeanArchiveHandler;
 import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.environment.util.ByteBufferInputStream;
 import org.jboss.weld.environment.util.Files;
 
 /**
- * Builds and attaches a jandex index to each bean archive.
+ * Builds and attaches a jandex index to each bean archive. Each bean archive is indexed by a separate {@link Indexer} so that the archives may be handled
+ * concurrently.
  *
  * @author Matej Briškár
  * @author Martin Kouba
  */
 public class JandexFileSystemBeanArchiveHandler extends FileSystemBeanArchiveHandler {
 
-    private final Indexer indexer = new Indexer();
+    private final ThreadLocal<Indexer> indexer = new ThreadLocal<Indexer>();
 
     @Override
     public BeanArchiveBuilder handle(String path) {
-        BeanArchiveBuilder builder = super.handle(path);
-        if (builder == null) {
-            return null;
+        indexer.set(new Indexer());
+        try {
+            BeanArchiveBuilder builder = super.handle(path);
+            if (builder == null) {
+                return null;
+            }
+            builder.setAttribute(Jandex.INDEX_ATTRIBUTE_NAME, buildIndex());
+            return builder;
+        } finally {
+            indexer.remove();
         }
-        builder.setAttribute(Jandex.INDEX_ATTRIBUTE_NAME, buildIndex());
-        return builder;
     }
 
     @Override
     protected void add(Entry entry, BeanArchiveBuilder builder) throws MalformedURLException {
         super.add(entry, builder);
-        if (Files.isClass(entry.getName())) {
+        if (Files.isClass(entry.getName()) && !addToIndex(entry)) {
             addToIndex(entry.getUrl());
         }
     }
 
+    private boolean addToIndex(Entry entry) {
+        try {
+            // The content is read in place if available
+            ByteBuffer content = entry.getContent();
+            if (content != null) {
+                indexer.get().index(new ByteBufferInputStream(content));
+                return true;
+            }
+        } catch (IOException ignored) {
+            // Fall back to the entry URL
+        }
+        return false;
+    }
+
     private void addToIndex(URL url) {
         InputStream fs = null;
         try {
             fs = url.openStream();
-            indexer.index(fs);
+            indexer.get().index(fs);
         } catch (IOException ex) {
             CommonLogger.LOG.couldNotOpenStreamForURL(url, ex);
         } finally {
@@ -75,6 +97,6 @@ public class JandexFileSystemBeanArchiveHandler extends FileSystemBeanArchiveHan
     }
 
     private Index buildIndex() {
-        return indexer.complete();
+        return indexer.get().complete();
     }
 }
@@ -78,7 +78,7 @@ public interface CommonLogger extends WeldEnvironmentLogger {
     IllegalStateException undefinedBeanDiscoveryValue(Object param1);
 
     @LogMessage(level = Level.INFO)
-    @Message(id = 14, value = "Falling back to Java Reflection for bean-discovery-mode=\"annotated\" discovery. Add org.jboss:jandex to the classpath to speed-up startup.", format = Format.MESSAGE_FORMAT)
+    @Message(id = 14, value = "Jandex not found, reading the bytecode directly for bean-discovery-mode=\"annotated\" discovery. Add org.jboss:jandex to the classpath to speed-up startup.", format = Format.MESSAGE_FORMAT)
     void reflectionFallback();
 
     @Message(id = 15, value = "Unable to load annotation: {0}", format = Format.MESSAGE_FORMAT)
@@ -159,4 +159,19 @@ public interface CommonLogger extends WeldEnvironmentLogger {
     @Message(id = 40, value = "Jandex discovery strategy was disabled.", format = Format.MESSAGE_FORMAT)
     void jandexDiscoveryStrategyDisabled();
 
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 41, value = "Bean archive reference {0} handled in {1} ms", format = Format.MESSAGE_FORMAT)
+    void beanArchiveReferenceHandlingTime(Object beanArchiveRef, Object time);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 42, value = "Archive {0} cannot be read in place, java.util.zip is used instead", format = Format.MESSAGE_FORMAT)
+    void cannotReadArchiveInPlace(Object file, @Cause Throwable cause);
+
+    @Message(id = 43, value = "Class file not found for: {0}", format = Format.MESSAGE_FORMAT)
+    ClassFileInfoException classFileNotFound(Object className);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 44, value = "Nested archive {0} in {1} is compressed and is read as a stream", format = Format.MESSAGE_FORMAT)
+    void nestedArchiveCompressed(Object entry, Object file);
+
 }
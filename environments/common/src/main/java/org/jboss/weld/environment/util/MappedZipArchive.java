@@ -0,0 +1,301 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * A read-only zip archive backed by a {@link ByteBuffer}. A file is memory-mapped and the central directory is parsed directly. The content of a stored
+ * entry is a slice of the underlying buffer, i.e. no data is copied. Therefore, a nested archive which is stored (as is usual for fat jars) is read in
+ * place. A deflated entry is inflated into a heap buffer of the uncompressed size, so a compressed nested archive should rather be read as a stream, see
+ * {@link Entry#isStored()}.
+ *
+ * <p>
+ * Only a subset of the zip format is supported, e.g. ZIP64 archives are not. A {@link ZipException} is thrown for an unsupported archive so that the caller
+ * may fall back to {@link java.util.zip}.
+ * </p>
+ *
+ * <p>
+ * The mapping is released once the archive is garbage collected. This class is thread-safe.
+ * </p>
+ */
+public final class MappedZipArchive {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_LENGTH = 30;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_LENGTH = 46;
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_LENGTH = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xffff;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private static final int FLAG_ENCRYPTED = 0x1;
+
+    private static final long ZIP64_MAGIC = 0xffffffffL;
+
+    private static final int INFLATER_INPUT_LENGTH = 8192;
+
+    private final ByteBuffer buffer;
+
+    private final List<Entry> entries;
+
+    private MappedZipArchive(ByteBuffer buffer) throws ZipException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.entries = Collections.unmodifiableList(readCentralDirectory());
+    }
+
+    /**
+     *
+     * @param file
+     * @return the memory-mapped archive
+     * @throws IOException if the file cannot be mapped or the archive is not supported
+     */
+    public static MappedZipArchive open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException("Archive too large to be mapped: " + file);
+            }
+            return new MappedZipArchive(channel.map(MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     *
+     * @param buffer the archive content, e.g. the content of a nested archive entry
+     * @return the archive
+     * @throws ZipException if the archive is not supported
+     */
+    public static MappedZipArchive of(ByteBuffer buffer) throws ZipException {
+        return new MappedZipArchive(buffer.slice());
+    }
+
+    /**
+     *
+     * @return the entries in the order of the central directory
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    private List<Entry> readCentralDirectory() throws ZipException {
+        int end = findEnd();
+        int count = getUnsignedShort(end + 10);
+        long size = getUnsignedInt(end + 12);
+        long offset = getUnsignedInt(end + 16);
+        if (count == 0xffff || size == ZIP64_MAGIC || offset == ZIP64_MAGIC) {
+            throw new ZipException("ZIP64 archives are not supported");
+        }
+        // Any data prepended to the archive (e.g. a launch script) shifts all the offsets
+        long base = end - size - offset;
+        if (base < 0) {
+            throw new ZipException("Invalid central directory offset: " + offset);
+        }
+        List<Entry> entries = new ArrayList<Entry>(count);
+        int position = (int) (base + offset);
+        for (int i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_LENGTH > end || buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header at " + position);
+            }
+            int flags = getUnsignedShort(position + 8);
+            int method = getUnsignedShort(position + 10);
+            long compressedSize = getUnsignedInt(position + 20);
+            long uncompressedSize = getUnsignedInt(position + 24);
+            int nameLength = getUnsignedShort(position + 28);
+            int extraLength = getUnsignedShort(position + 30);
+            int commentLength = getUnsignedShort(position + 32);
+            long localHeaderOffset = getUnsignedInt(position + 42);
+            if (compressedSize == ZIP64_MAGIC || uncompressedSize == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                throw new ZipException("ZIP64 archives are not supported");
+            }
+            entries.add(new Entry(getName(position + CENTRAL_HEADER_LENGTH, nameLength), flags, method, (int) compressedSize, (int) uncompressedSize,
+                    (int) (base + localHeaderOffset)));
+            position += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private int findEnd() throws ZipException {
+        int min = Math.max(0, buffer.limit() - END_LENGTH - MAX_COMMENT_LENGTH);
+        for (int position = buffer.limit() - END_LENGTH; position >= min; position--) {
+            if (buffer.getInt(position) == END_SIGNATURE) {
+                return position;
+            }
+        }
+        throw new ZipException("End of central directory record not found");
+    }
+
+    private String getName(int position, int length) {
+        byte[] name = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(position);
+        source.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private int getUnsignedShort(int position) {
+        return buffer.getShort(position) & 0xffff;
+    }
+
+    private long getUnsignedInt(int position) {
+        return buffer.getInt(position) & 0xffffffffL;
+    }
+
+    private ByteBuffer slice(int position, int length) throws ZipException {
+        if (position < 0 || position + length > buffer.limit()) {
+            throw new ZipException("Entry data out of bounds: " + position);
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(position + length);
+        slice.position(position);
+        return slice.slice();
+    }
+
+    /**
+     * An archive entry.
+     */
+    public final class Entry {
+
+        private final String name;
+
+        private final int flags;
+
+        private final int method;
+
+        private final int compressedSize;
+
+        private final int uncompressedSize;
+
+        private final int localHeaderOffset;
+
+        private Entry(String name, int flags, int method, int compressedSize, int uncompressedSize, int localHeaderOffset) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.uncompressedSize = uncompressedSize;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        /**
+         *
+         * @return <code>true</code> if the entry is not compressed, i.e. {@link #getContent()} does not copy any data
+         */
+        public boolean isStored() {
+            return method == STORED;
+        }
+
+        /**
+         * The returned buffer is a slice of the archive for a stored entry. A deflated entry is inflated into a new heap buffer.
+         *
+         * @return the read-only content of the entry
+         * @throws IOException if the entry cannot be read
+         */
+        public ByteBuffer getContent() throws IOException {
+            if ((flags & FLAG_ENCRYPTED) != 0) {
+                throw new ZipException("Encrypted entries are not supported: " + name);
+            }
+            if (localHeaderOffset + LOCAL_HEADER_LENGTH > buffer.limit() || buffer.getInt(localHeaderOffset) != LOCAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid local header: " + name);
+            }
+            int dataOffset = localHeaderOffset + LOCAL_HEADER_LENGTH + getUnsignedShort(localHeaderOffset + 26) + getUnsignedShort(localHeaderOffset + 28);
+            ByteBuffer data = slice(dataOffset, compressedSize);
+            switch (method) {
+                case STORED:
+                    return data.asReadOnlyBuffer();
+                case DEFLATED:
+                    return ByteBuffer.wrap(inflate(data)).asReadOnlyBuffer();
+                default:
+                    throw new ZipException("Unsupported compression method " + method + ": " + name);
+            }
+        }
+
+        private byte[] inflate(ByteBuffer data) throws ZipException {
+            byte[] result = new byte[uncompressedSize];
+            byte[] input = new byte[Math.min(INFLATER_INPUT_LENGTH, data.remaining() + 1)];
+            Inflater inflater = new Inflater(true);
+            try {
+                int length = 0;
+                boolean eof = false;
+                while (length < result.length && !inflater.finished()) {
+                    if (inflater.needsInput()) {
+                        if (data.hasRemaining()) {
+                            int chunk = Math.min(input.length, data.remaining());
+                            data.get(input, 0, chunk);
+                            inflater.setInput(input, 0, chunk);
+                        } else if (!eof) {
+                            // With the nowrap option an extra dummy byte is required
+                            eof = true;
+                            input[0] = 0;
+                            inflater.setInput(input, 0, 1);
+                        } else {
+                            throw new ZipException("Unexpected end of deflated data: " + name);
+                        }
+                    }
+                    int inflated = inflater.inflate(result, length, result.length - length);
+                    if (inflated == 0 && inflater.needsDictionary()) {
+                        throw new ZipException("Preset dictionary not supported: " + name);
+                    }
+                    length += inflated;
+                }
+                if (length != result.length) {
+                    throw new ZipException("Invalid entry size: " + name);
+                }
+                return result;
+            } catch (DataFormatException e) {
+                ZipException exception = new ZipException("Invalid deflated data: " + name);
+                exception.initCause(e);
+                throw exception;
+            } finally {
+                inflater.end();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+}
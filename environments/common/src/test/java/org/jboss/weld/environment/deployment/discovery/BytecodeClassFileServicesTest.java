@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Stereotype;
+import javax.enterprise.inject.Vetoed;
+import javax.inject.Inject;
+
+import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.resources.ClassLoaderResourceLoader;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileInfo.NestingType;
+import org.jboss.weld.resources.spi.ClassFileInfoException;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.junit.Test;
+
+public class BytecodeClassFileServicesTest {
+
+    private static final Set<Class<? extends Annotation>> BEAN_DEFINING_ANNOTATIONS = ImmutableSet.of(ApplicationScoped.class, Dependent.class);
+
+    private final BytecodeClassFileServices services = new BytecodeClassFileServices(new ClassLoaderResourceLoader(getClass().getClassLoader()));
+
+    @Test
+    public void testBeanDefiningAnnotations() {
+        for (Class<?> clazz : new Class<?>[] { Foo.class, Bar.class, Baz.class, Qux.class, Vetoed.class }) {
+            assertEquals(clazz.getName(), Reflections.hasBeanDefiningAnnotation(clazz, BEAN_DEFINING_ANNOTATIONS),
+                    services.hasBeanDefiningAnnotation(clazz.getName(), BEAN_DEFINING_ANNOTATIONS));
+        }
+        // Inherited scope
+        assertTrue(services.hasBeanDefiningAnnotation(Bar.class.getName(), BEAN_DEFINING_ANNOTATIONS));
+        // Stereotype
+        assertTrue(services.hasBeanDefiningAnnotation(Baz.class.getName(), BEAN_DEFINING_ANNOTATIONS));
+        assertFalse(services.hasBeanDefiningAnnotation(Qux.class.getName(), BEAN_DEFINING_ANNOTATIONS));
+    }
+
+    @Test
+    public void testClassFileInfo() {
+        ClassFileInfo foo = services.getClassFileInfo(Foo.class.getName());
+        assertEquals(Foo.class.getName(), foo.getClassName());
+        assertEquals(NestingType.NESTED_STATIC, foo.getNestingType());
+        assertEquals(Foo.class.getModifiers(), foo.getModifiers() & Foo.class.getModifiers());
+        assertTrue(foo.isAnnotationDeclared(ApplicationScoped.class));
+        assertTrue(foo.hasCdiConstructor());
+        assertFalse(foo.isVetoed());
+
+        ClassFileInfo qux = services.getClassFileInfo(Qux.class.getName());
+        assertEquals(NestingType.NESTED_INNER, qux.getNestingType());
+        assertTrue(qux.hasCdiConstructor());
+        assertTrue(qux.containsAnnotation(Inject.class));
+        assertTrue(qux.isAssignableTo(Runnable.class));
+        assertTrue(qux.isVetoed());
+
+        ClassFileInfo bar = services.getClassFileInfo(Bar.class.getName());
+        assertFalse(bar.isAnnotationDeclared(ApplicationScoped.class));
+        assertTrue(bar.containsAnnotation(ApplicationScoped.class));
+        assertEquals(Foo.class.getName(), bar.getSuperclassName());
+        assertFalse(bar.hasCdiConstructor());
+        assertEquals(NestingType.NESTED_ANONYMOUS, services.getClassFileInfo(new Object() {
+        }.getClass().getName()).getNestingType());
+    }
+
+    @Test(expected = ClassFileInfoException.class)
+    public void testClassFileNotFound() {
+        services.getClassFileInfo("org.jboss.weld.NonExistent");
+    }
+
+    @ApplicationScoped
+    static class Foo {
+    }
+
+    static class Bar extends Foo {
+
+        Bar(String name) {
+        }
+
+    }
+
+    @Stereotype
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Service {
+    }
+
+    @Service
+    static class Baz {
+    }
+
+    @Vetoed
+    class Qux implements Runnable {
+
+        @Inject
+        Qux() {
+        }
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+}
@@ -19,9 +19,16 @@ package org.jboss.weld.environment.deployment.discovery;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.environment.deployment.discovery.BeanArchiveScanner.ScanResult;
 import org.jboss.weld.resources.ClassLoaderResourceLoader;
 import org.junit.Test;
 
@@ -43,6 +50,58 @@ public class DiscoveryStrategyTest {
         assertTrue(handlers.get(2) instanceof TestHandler2);
     }
 
+    @Test
+    public void testConcurrentHandlingPreservesOrder() {
+        final List<ScanResult> scanResults = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String ref = "archive" + i;
+            scanResults.add(new ScanResult(BeansXml.EMPTY_BEANS_XML, ref));
+            // Every fifth archive cannot be handled
+            if (i % 5 != 0) {
+                expected.add(ref);
+            }
+        }
+        final List<String> handled = new ArrayList<>();
+        AbstractDiscoveryStrategy strategy = new ReflectionDiscoveryStrategy(new ClassLoaderResourceLoader(getClass().getClassLoader()), null,
+                Collections.emptySet()) {
+            @Override
+            protected void beforeDiscovery(Collection<BeanArchiveBuilder> builders) {
+                for (BeanArchiveBuilder builder : builders) {
+                    handled.add(builder.getId());
+                }
+            }
+        };
+        strategy.setScanner(new BeanArchiveScanner() {
+            @Override
+            public List<ScanResult> scan() {
+                return scanResults;
+            }
+        });
+        strategy.registerHandler(new SlowHandler());
+        strategy.setThreadPoolSize(8);
+        Set<?> archives = strategy.performDiscovery();
+        assertTrue(archives.isEmpty());
+        assertEquals(expected, handled);
+    }
+
+    static class SlowHandler implements BeanArchiveHandler {
+
+        @Override
+        public BeanArchiveBuilder handle(String beanArchiveReference) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (beanArchiveReference.endsWith("0") || beanArchiveReference.endsWith("5")) {
+                return null;
+            }
+            return new BeanArchiveBuilder();
+        }
+
+    }
+
     static class TestHandler2 implements BeanArchiveHandler {
 
         @Override
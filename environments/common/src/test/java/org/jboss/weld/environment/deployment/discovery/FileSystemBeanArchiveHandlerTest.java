@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileSystemBeanArchiveHandlerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStoredNestedArchiveReadInPlace() throws IOException {
+        RecordingHandler handler = new RecordingHandler();
+        BeanArchiveBuilder builder = handler.handle(createFatJar(ZipEntry.STORED).getPath() + "!/lib/nested.jar");
+        assertNotNull(builder);
+        assertEquals(new HashSet<>(Arrays.asList("org.foo.Bar", "org.foo.Baz")), builder.getClasses());
+        assertEquals(2, handler.contents.size());
+        for (ByteBuffer content : handler.contents.values()) {
+            assertNotNull(content);
+        }
+    }
+
+    @Test
+    public void testDeflatedNestedArchiveStreamed() throws IOException {
+        RecordingHandler handler = new RecordingHandler();
+        BeanArchiveBuilder builder = handler.handle(createFatJar(ZipEntry.DEFLATED).getPath() + "!/lib/nested.jar");
+        assertNotNull(builder);
+        assertEquals(new HashSet<>(Arrays.asList("org.foo.Bar", "org.foo.Baz")), builder.getClasses());
+        assertEquals(2, handler.contents.size());
+        // The nested archive is not inflated in memory
+        for (ByteBuffer content : handler.contents.values()) {
+            assertNull(content);
+        }
+    }
+
+    private File createFatJar(int nestedMethod) throws IOException {
+        byte[] nested = createArchive(ZipEntry.DEFLATED, "org/foo/Bar.class", "org/foo/Baz.class");
+        File file = folder.newFile("fat-" + nestedMethod + ".jar");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            putEntry(zip, ZipEntry.DEFLATED, "org/acme/Main.class", content("org/acme/Main.class"));
+            putEntry(zip, nestedMethod, "lib/nested.jar", nested);
+        }
+        return file;
+    }
+
+    private static byte[] content(String name) {
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] createArchive(int method, String... names) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String name : names) {
+                putEntry(zip, method, name, content(name));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void putEntry(ZipOutputStream zip, int method, String name, byte[] content) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setCrc(crc.getValue());
+            entry.setSize(content.length);
+        }
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * Records the content of each class file entry.
+     */
+    static class RecordingHandler extends FileSystemBeanArchiveHandler {
+
+        final Map<String, ByteBuffer> contents = new HashMap<>();
+
+        @Override
+        protected void add(Entry entry, BeanArchiveBuilder builder) throws MalformedURLException {
+            super.add(entry, builder);
+            try {
+                contents.put(entry.getName(), entry.getContent());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+public class MappedZipArchiveTest {
+
+    @Test
+    public void testEntries() throws IOException {
+        File file = createFile(new byte[0], createArchive(ZipEntry.DEFLATED, "META-INF/beans.xml", "org/foo/Bar.class", "org/foo/Baz.class"));
+        MappedZipArchive archive = MappedZipArchive.open(file);
+        List<String> names = new ArrayList<>();
+        for (MappedZipArchive.Entry entry : archive.getEntries()) {
+            names.add(entry.getName());
+            assertArrayEquals(content(entry.getName()), toBytes(entry.getContent()));
+        }
+        assertEquals(3, names.size());
+        assertEquals("org/foo/Bar.class", names.get(1));
+        assertTrue(archive.getEntries().get(0).getName().startsWith("META-INF"));
+    }
+
+    @Test
+    public void testPrependedData() throws IOException {
+        File file = createFile("#!/bin/sh\nexec java -jar $0\n".getBytes(StandardCharsets.UTF_8), createArchive(ZipEntry.STORED, "org/foo/Bar.class"));
+        MappedZipArchive.Entry entry = MappedZipArchive.open(file).getEntries().get(0);
+        assertEquals("org/foo/Bar.class", entry.getName());
+        assertArrayEquals(content(entry.getName()), toBytes(entry.getContent()));
+    }
+
+    @Test
+    public void testNestedArchives() throws IOException {
+        for (int method : new int[] { ZipEntry.STORED, ZipEntry.DEFLATED }) {
+            byte[] nested = createArchive(ZipEntry.DEFLATED, "org/foo/Nested.class", "org/foo/Other.class");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ZipOutputStream zip = new ZipOutputStream(out)) {
+                putEntry(zip, method, "lib/nested.jar", nested);
+            }
+            MappedZipArchive.Entry entry = MappedZipArchive.open(createFile(new byte[0], out.toByteArray())).getEntries().get(0);
+            assertEquals(method == ZipEntry.STORED, entry.isStored());
+            List<MappedZipArchive.Entry> nestedEntries = MappedZipArchive.of(entry.getContent()).getEntries();
+            assertEquals(2, nestedEntries.size());
+            for (MappedZipArchive.Entry nestedEntry : nestedEntries) {
+                assertArrayEquals(content(nestedEntry.getName()), toBytes(nestedEntry.getContent()));
+            }
+        }
+    }
+
+    @Test
+    public void testByteBufferInputStream() throws IOException {
+        byte[] bytes = content("foo");
+        try (InputStream in = new ByteBufferInputStream(ByteBuffer.wrap(bytes))) {
+            assertEquals(bytes[0], in.read());
+            assertEquals(bytes.length - 1, in.available());
+            assertEquals(1, in.skip(1));
+            byte[] rest = new byte[bytes.length];
+            assertEquals(bytes.length - 2, in.read(rest, 0, rest.length));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidArchive() throws IOException {
+        MappedZipArchive.open(createFile(new byte[0], "not an archive".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] content(String name) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append(name).append(i);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] createArchive(int method, String... names) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String name : names) {
+                putEntry(zip, method, name, content(name));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void putEntry(ZipOutputStream zip, int method, String name, byte[] content) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setCrc(crc.getValue());
+            entry.setSize(content.length);
+        }
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static File createFile(byte[] prefix, byte[] archive) throws IOException {
+        File file = File.createTempFile("weld-mapped", ".jar");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(prefix);
+            out.write(archive);
+        }
+        return file;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se;
+
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.logging.WeldSELogger;
+
+/**
+ * Pre-generates the proxy classes of a Weld SE application and writes them to a proxy class archive, see also {@link ConfigurationKey#PROXY_ARCHIVE_EXPORT}.
+ * Something like:
+ * <code>
+ * java -cp weld-se-shaded.jar:my-app.jar org.jboss.weld.environment.se.ProxyArchiveMain target/weld-proxies.jar
+ * </code>
+ *
+ * <p>
+ * The container is started once, the client proxy of every normal scoped bean is created and the container is shut down again. Enhanced subclasses of
+ * intercepted and decorated beans are generated during bootstrap. The resulting archive can be used at runtime via {@link ConfigurationKey#PROXY_ARCHIVE}.
+ * </p>
+ */
+@Vetoed
+public class ProxyArchiveMain {
+
+    private final Weld weld;
+
+    public ProxyArchiveMain(String target) {
+        weld = new Weld().property(ConfigurationKey.PROXY_ARCHIVE_EXPORT.get(), target);
+    }
+
+    /**
+     * Starts the container, creates all client proxies and shuts the container down so that the archive is written.
+     *
+     * @return the number of client proxies created
+     */
+    public int generate() {
+        int count = 0;
+        try (WeldContainer container = weld.initialize()) {
+            BeanManager beanManager = container.getBeanManager();
+            for (Bean<?> bean : beanManager.getBeans(Object.class, Any.Literal.INSTANCE)) {
+                if (beanManager.isNormalScope(bean.getScope())) {
+                    try {
+                        // Creating a client proxy does not depend on the requested bean type
+                        beanManager.getReference(bean, Object.class, beanManager.createCreationalContext(bean));
+                        count++;
+                    } catch (RuntimeException e) {
+                        WeldSELogger.LOG.unableToPregenerateClientProxy(bean, e);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The main method called from the command line.
+     *
+     * @param args the path of the proxy class archive; if the path ends with <code>.jar</code> a jar file is created, otherwise a directory
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: " + ProxyArchiveMain.class.getName() + " <directory or jar file>");
+            System.exit(1);
+        }
+        try {
+            new ProxyArchiveMain(args[0]).generate();
+        } catch (Throwable t) {
+            WeldSELogger.LOG.error("Proxy class archive generation failed with an exception", t);
+            System.exit(1);
+        }
+    }
+
+}
@@ -786,7 +786,8 @@ public class Weld extends SeContainerInitializer implements ContainerInstanceFac
         for (Entry<String, Object> property : properties.entrySet()) {
             String key = property.getKey();
             if (SHUTDOWN_HOOK_SYSTEM_PROPERTY.equals(key) || ARCHIVE_ISOLATION_SYSTEM_PROPERTY.equals(key) || DEV_MODE_SYSTEM_PROPERTY.equals(key)
-                    || SCAN_CLASSPATH_ENTRIES_SYSTEM_PROPERTY.equals(key) || JAVAX_ENTERPRISE_INJECT_SCAN_IMPLICIT.equals(key)) {
+                    || SCAN_CLASSPATH_ENTRIES_SYSTEM_PROPERTY.equals(key) || JAVAX_ENTERPRISE_INJECT_SCAN_IMPLICIT.equals(key)
+                    || DiscoveryStrategy.THREAD_POOL_SIZE.equals(key)) {
                 continue;
             }
             configurationBuilder.add(key, property.getValue());
@@ -952,6 +953,7 @@ public class Weld extends SeContainerInitializer implements ContainerInstanceFac
             if (isImplicitScanEnabled()) {
                 strategy.setScanner(new ClassPathBeanArchiveScanner(bootstrap));
             }
+            strategy.setThreadPoolSize(getIntProperty(DiscoveryStrategy.THREAD_POOL_SIZE, 1));
             beanDeploymentArchives.addAll(strategy.performDiscovery());
             ClassFileServices classFileServices = strategy.getClassFileServices();
             if (classFileServices != null) {
@@ -1206,6 +1208,17 @@ public class Weld extends SeContainerInitializer implements ContainerInstanceFac
         return defaultValue;
     }
 
+    private int getIntProperty(String key, int defaultValue) {
+        Object value = properties.get(key);
+        if (value == null) {
+            value = AccessController.doPrivileged(new GetSystemPropertyAction(key));
+        }
+        if (value == null) {
+            return defaultValue;
+        }
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+    }
+
     protected Object getPropertyValue(String key, Object defaultValue) {
         Object value = properties.get(key);
         if (value != null) {
@@ -2,6 +2,7 @@ package org.jboss.weld.environment.se.logging;
 
 import org.jboss.logging.Logger;
 import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.Message.Format;
@@ -81,4 +82,8 @@ public interface WeldSELogger extends WeldEnvironmentLogger {
 
     @Message(id = 2016, value = "Zero or more than one container is running - WeldContainer.current() cannot determine the current container.", format = Format.MESSAGE_FORMAT)
     IllegalStateException zeroOrMoreThanOneContainerRunning();
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 2017, value = "Unable to pre-generate the client proxy for {0}", format = Format.MESSAGE_FORMAT)
+    void unableToPregenerateClientProxy(Object bean, @Cause Throwable cause);
 }
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.bootstrap;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BootstrapProfileTest {
+
+    private static final String PAT_OBSERVER = ProfiledExtension.class.getName() + ".processAnnotatedType(ProcessAnnotatedType<Profiled>)";
+
+    private static final String ABD_OBSERVER = ProfiledExtension.class.getName() + ".afterBeanDiscovery(AfterBeanDiscovery)";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testJsonProfile() throws IOException {
+        File profile = new File(folder.getRoot(), "profile.json");
+        start(profile);
+        String json = new String(Files.readAllBytes(profile.toPath()), StandardCharsets.UTF_8);
+        // Phases
+        for (String operation : new String[] { "bootstrap", "startContainer", "startInitialization", "deployBeans", "validateBeans", "endInitialization",
+                "AfterBeanDiscovery" }) {
+            assertTrue(operation, json.contains("{\"name\": \"" + operation + "\", \"wallTime\": "));
+        }
+        // Extension observer methods
+        assertTrue(json, json.contains("{\"observer\": \"" + PAT_OBSERVER + "\", \"notifications\": 1, \"wallTime\": "));
+        assertTrue(json, json.contains("{\"observer\": \"" + ABD_OBSERVER + "\", \"notifications\": 1, \"wallTime\": "));
+    }
+
+    @Test
+    public void testFoldedProfile() throws IOException {
+        File profile = new File(folder.getRoot(), "profile.folded");
+        start(profile);
+        List<String> lines = Files.readAllLines(profile.toPath(), StandardCharsets.UTF_8);
+        assertTrue(lines.toString(), contains(lines, "bootstrap;deployBeans "));
+        assertTrue(lines.toString(), contains(lines, "bootstrap;validateBeans "));
+        assertTrue(lines.toString(), contains(lines, "extensions;" + PAT_OBSERVER + " "));
+        assertTrue(lines.toString(), contains(lines, "extensions;" + ABD_OBSERVER + " "));
+    }
+
+    private static void start(File profile) {
+        new Weld().disableDiscovery().beanClasses(Profiled.class).addExtension(new ProfiledExtension())
+                .property(ConfigurationKey.BOOTSTRAP_PROFILE.get(), profile.getPath()).initialize().shutdown();
+    }
+
+    private static boolean contains(List<String> lines, String prefix) {
+        for (String line : lines) {
+            if (line.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Dependent
+    public static class Profiled {
+    }
+
+    public static class ProfiledExtension implements Extension {
+
+        void processAnnotatedType(@Observes ProcessAnnotatedType<Profiled> event) {
+        }
+
+        void afterBeanDiscovery(@Observes AfterBeanDiscovery event) {
+        }
+
+    }
+
+}
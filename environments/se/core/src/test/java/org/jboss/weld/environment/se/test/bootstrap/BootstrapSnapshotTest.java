@@ -0,0 +1,428 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.bootstrap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.DeploymentException;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.ProcessInjectionPoint;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Inject;
+import javax.inject.Qualifier;
+
+import org.jboss.weld.bootstrap.Validator;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.deployment.WeldResourceLoader;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.environment.se.test.bootstrap.snapshot.Foo;
+import org.jboss.weld.environment.se.test.bootstrap.snapshot.Ignored;
+import org.jboss.weld.environment.se.test.bootstrap.snapshot.Unavailable;
+import org.jboss.weld.environment.se.test.bootstrap.snapshot.library.SealedBase;
+import org.jboss.weld.environment.se.test.bootstrap.snapshot.library.Widget;
+import org.jboss.weld.environment.se.test.bootstrap.snapshot.library.WidgetBase;
+import org.jboss.weld.environment.se.test.bootstrap.snapshot.library.WidgetConsumer;
+import org.jboss.weld.injection.ForwardingInjectionPoint;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoadingException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BootstrapSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void reset() {
+        GreetingInjectionPointExtension.qualifier = null;
+        GreetingInjectionPointExtension.validated = false;
+    }
+
+    @Test
+    public void testSnapshotReused() throws IOException {
+        File snapshot = new File(folder.getRoot(), "weld.snapshot");
+
+        start(snapshot, Greeting.class, Greeter.class);
+        assertTrue(snapshot.isFile());
+        byte[] first = Files.readAllBytes(snapshot.toPath());
+
+        // The deployment did not change - the snapshot is up-to-date
+        start(snapshot, Greeting.class, Greeter.class);
+        assertArrayEquals(first, Files.readAllBytes(snapshot.toPath()));
+
+        // The deployment changed - the snapshot is replaced
+        start(snapshot, Greeting.class, Greeter.class, Other.class);
+        assertFalse(Arrays.equals(first, Files.readAllBytes(snapshot.toPath())));
+    }
+
+    @Test
+    public void testValidationSkipped() {
+        File snapshot = new File(folder.getRoot(), "weld.snapshot");
+
+        startWithExtension(snapshot);
+        assertTrue(GreetingInjectionPointExtension.validated);
+
+        GreetingInjectionPointExtension.validated = false;
+        startWithExtension(snapshot);
+        assertFalse(GreetingInjectionPointExtension.validated);
+    }
+
+    @Test
+    public void testValidationNotSkippedIfInjectionPointModified() {
+        File snapshot = new File(folder.getRoot(), "weld.snapshot");
+
+        startWithExtension(snapshot);
+
+        // The deployment did not change but the extension modifies the injection point - there is no bean with the qualifier
+        GreetingInjectionPointExtension.qualifier = Missing.Literal.INSTANCE;
+        try {
+            startWithExtension(snapshot);
+            fail("The deployment validation was skipped");
+        } catch (DeploymentException expected) {
+        }
+        assertTrue(GreetingInjectionPointExtension.validated);
+    }
+
+    @Test
+    public void testClassesSkipped() {
+        File snapshot = new File(folder.getRoot(), "weld.snapshot");
+
+        RecordingResourceLoader resourceLoader = new RecordingResourceLoader(null);
+        startPackage(snapshot, resourceLoader).shutdown();
+        assertTrue(resourceLoader.loaded.contains(Ignored.class.getName()));
+
+        // The vetoed class did not yield an annotated type and is not loaded again
+        resourceLoader = new RecordingResourceLoader(null);
+        startPackage(snapshot, resourceLoader).shutdown();
+        assertTrue(resourceLoader.loaded.contains(Foo.class.getName()));
+        assertFalse(resourceLoader.loaded.contains(Ignored.class.getName()));
+    }
+
+    @Test
+    public void testClassWithMissingDependencyNotSkipped() {
+        File snapshot = new File(folder.getRoot(), "weld.snapshot");
+
+        try (WeldContainer container = startPackage(snapshot, new RecordingResourceLoader(Unavailable.class.getName()))) {
+            assertTrue(container.select(Foo.class).isResolvable());
+            assertFalse(container.select(Unavailable.class).isResolvable());
+        }
+
+        // The missing dependency was added
+        RecordingResourceLoader resourceLoader = new RecordingResourceLoader(null);
+        try (WeldContainer container = startPackage(snapshot, resourceLoader)) {
+            assertTrue(resourceLoader.loaded.contains(Unavailable.class.getName()));
+            assertTrue(container.select(Unavailable.class).isResolvable());
+        }
+    }
+
+    @Test
+    public void testValidationNotSkippedIfLibraryClassChanged() throws ClassNotFoundException {
+        File snapshot = new File(folder.getRoot(), "weld.snapshot");
+
+        startWithLibrary(snapshot, new LibraryClassLoader(false)).shutdown();
+
+        // The bean classes did not change but the library superclass of Widget declares a final method now
+        try {
+            startWithLibrary(snapshot, new LibraryClassLoader(true)).shutdown();
+            fail("The deployment validation was skipped");
+        } catch (DeploymentException expected) {
+        }
+    }
+
+    private void start(File snapshot, Class<?>... beanClasses) {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(beanClasses)
+                .property(ConfigurationKey.BOOTSTRAP_SNAPSHOT.get(), snapshot.getPath()).initialize()) {
+            assertEquals("Hello", container.select(Greeter.class).get().greet());
+        }
+    }
+
+    private void startWithExtension(File snapshot) {
+        new Weld().disableDiscovery().beanClasses(Greeting.class, Greeter.class).addExtension(new GreetingInjectionPointExtension())
+                .property(ConfigurationKey.BOOTSTRAP_SNAPSHOT.get(), snapshot.getPath()).initialize().shutdown();
+    }
+
+    private WeldContainer startPackage(File snapshot, ResourceLoader resourceLoader) {
+        return new Weld().disableDiscovery().setResourceLoader(resourceLoader).addPackage(false, Foo.class)
+                .property(ConfigurationKey.BOOTSTRAP_SNAPSHOT.get(), snapshot.getPath()).initialize();
+    }
+
+    private WeldContainer startWithLibrary(File snapshot, LibraryClassLoader loader) throws ClassNotFoundException {
+        return new Weld().disableDiscovery().setClassLoader(loader)
+                .beanClasses(loader.loadClass(Widget.class.getName()), loader.loadClass(WidgetConsumer.class.getName()))
+                .property(ConfigurationKey.BOOTSTRAP_SNAPSHOT.get(), snapshot.getPath()).initialize();
+    }
+
+    @Dependent
+    public static class Greeting {
+
+        String get() {
+            return "Hello";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Greeter {
+
+        @Inject
+        Greeting greeting;
+
+        String greet() {
+            return greeting.get();
+        }
+    }
+
+    @Dependent
+    public static class Other {
+    }
+
+    public static class GreetingInjectionPointExtension implements Extension {
+
+        static volatile Annotation qualifier;
+
+        static volatile boolean validated;
+
+        void processInjectionPoint(@Observes ProcessInjectionPoint<Greeter, Greeting> event) {
+            event.setInjectionPoint(new ValidatedInjectionPoint(event.getInjectionPoint(), qualifier));
+        }
+
+    }
+
+    static class ValidatedInjectionPoint extends ForwardingInjectionPoint {
+
+        private final InjectionPoint delegate;
+
+        private final Set<Annotation> qualifiers;
+
+        ValidatedInjectionPoint(InjectionPoint delegate, Annotation qualifier) {
+            this.delegate = delegate;
+            this.qualifiers = qualifier != null ? Collections.singleton(qualifier) : delegate.getQualifiers();
+        }
+
+        @Override
+        protected InjectionPoint delegate() {
+            return delegate;
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers() {
+            return qualifiers;
+        }
+
+        @Override
+        public Annotated getAnnotated() {
+            for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+                if (element.getClassName().equals(Validator.class.getName())) {
+                    GreetingInjectionPointExtension.validated = true;
+                }
+            }
+            return super.getAnnotated();
+        }
+
+    }
+
+    @Qualifier
+    @Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE, ElementType.METHOD })
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Missing {
+
+        @SuppressWarnings("all")
+        class Literal extends AnnotationLiteral<Missing> implements Missing {
+
+            private static final long serialVersionUID = 1L;
+
+            static final Literal INSTANCE = new Literal();
+
+        }
+
+    }
+
+    /**
+     * Records the classes loaded by name, the given class fails to load as if a dependency was missing.
+     */
+    static class RecordingResourceLoader implements ResourceLoader {
+
+        private final ResourceLoader delegate = new WeldResourceLoader();
+
+        private final String unavailable;
+
+        final Set<String> loaded = new CopyOnWriteArraySet<>();
+
+        RecordingResourceLoader(String unavailable) {
+            this.unavailable = unavailable;
+        }
+
+        @Override
+        public Class<?> classForName(String name) {
+            loaded.add(name);
+            if (name.equals(unavailable)) {
+                throw new ResourceLoadingException("Error loading class " + name, new NoClassDefFoundError("com/acme/Missing"));
+            }
+            return delegate.classForName(name);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return delegate.getResource(name);
+        }
+
+        @Override
+        public Collection<URL> getResources(String name) {
+            return delegate.getResources(name);
+        }
+
+        @Override
+        public void cleanup() {
+            delegate.cleanup();
+        }
+
+    }
+
+    /**
+     * Defines the classes of the library package child-first. If sealed, {@link WidgetBase} is defined from the bytes of {@link SealedBase}.
+     */
+    static class LibraryClassLoader extends ClassLoader {
+
+        private static final String PACKAGE = Widget.class.getPackage().getName() + ".";
+
+        private final boolean sealed;
+
+        LibraryClassLoader(boolean sealed) {
+            super(BootstrapSnapshotTest.class.getClassLoader());
+            this.sealed = sealed;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    byte[] bytecode;
+                    try {
+                        bytecode = readClass(name);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                    if (bytecode == null) {
+                        throw new ClassNotFoundException(name);
+                    }
+                    clazz = defineClass(name, bytecode, 0, bytecode.length);
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            if (sealed && name.equals(resourceName(WidgetBase.class.getName()))) {
+                try {
+                    return new ByteArrayInputStream(readClass(WidgetBase.class.getName()));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return super.getResourceAsStream(name);
+        }
+
+        private byte[] readClass(String name) throws IOException {
+            boolean patched = sealed && name.equals(WidgetBase.class.getName());
+            try (InputStream in = getParent().getResourceAsStream(resourceName(patched ? SealedBase.class.getName() : name))) {
+                if (in == null) {
+                    return null;
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                byte[] bytecode = out.toByteArray();
+                return patched ? replace(bytecode, internalName(SealedBase.class.getName()), internalName(WidgetBase.class.getName())) : bytecode;
+            }
+        }
+
+        private static String resourceName(String className) {
+            return internalName(className) + ".class";
+        }
+
+        private static String internalName(String className) {
+            return className.replace('.', '/');
+        }
+
+        private static byte[] replace(byte[] bytecode, String original, String replacement) {
+            byte[] from = original.getBytes(StandardCharsets.UTF_8);
+            byte[] to = replacement.getBytes(StandardCharsets.UTF_8);
+            assertEquals(from.length, to.length);
+            byte[] result = bytecode.clone();
+            boolean replaced = false;
+            for (int i = 0; i <= result.length - from.length; i++) {
+                boolean match = true;
+                for (int j = 0; j < from.length; j++) {
+                    if (result[i + j] != from[j]) {
+                        match = false;
+                        break;
+                    }
+                }
+                if (match) {
+                    System.arraycopy(to, 0, result, i, to.length);
+                    replaced = true;
+                }
+            }
+            assertTrue(replaced);
+            return result;
+        }
+
+    }
+
+}
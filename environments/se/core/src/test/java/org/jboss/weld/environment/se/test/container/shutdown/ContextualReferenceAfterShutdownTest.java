@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.container.shutdown;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+public class ContextualReferenceAfterShutdownTest {
+
+    private static final String CONTAINER_ID = "reused";
+
+    @Test
+    public void testClientProxyNotValidAfterShutdown() {
+        Counter counter;
+        try (WeldContainer container = startContainer()) {
+            counter = container.select(Counter.class).get();
+            assertEquals(1, counter.increment());
+        }
+        try {
+            counter.increment();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testClientProxyNotValidIfContainerIdReused() {
+        Counter counter;
+        try (WeldContainer container = startContainer()) {
+            counter = container.select(Counter.class).get();
+            assertEquals(1, counter.increment());
+        }
+        // A new container is registered under the same id
+        try (WeldContainer container = startContainer()) {
+            try {
+                counter.increment();
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+            // The proxy of the new container uses its own instance
+            assertEquals(1, container.select(Counter.class).get().increment());
+        }
+    }
+
+    private WeldContainer startContainer() {
+        return new Weld(CONTAINER_ID).disableDiscovery().beanClasses(Counter.class).initialize();
+    }
+
+}
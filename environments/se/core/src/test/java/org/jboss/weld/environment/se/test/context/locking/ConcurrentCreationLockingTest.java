@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.locking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.contexts.beanstore.LockStore;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+/**
+ * Creates the same and different contextual instances concurrently with {@link ConfigurationKey#CONCURRENT_CREATION_LOCKING} enabled.
+ */
+public class ConcurrentCreationLockingTest {
+
+    private static final int THREADS = 16;
+
+    private static final String LOCK_STORE_KEY = "org.jboss.weld.context.beanstore.LockStore";
+
+    @Test
+    public void testConcurrentCreation() throws Exception {
+        Counters.reset();
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Clock.class, Catalog.class, Registry.class, Cart.class)
+                .property(ConfigurationKey.CONCURRENT_CREATION_LOCKING.get(), true).initialize()) {
+            BoundSessionContext sessionContext = container.select(BoundSessionContext.class).get();
+            Map<String, Object> session = new ConcurrentHashMap<>();
+            Set<Clock> clocks = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    boolean even = i % 2 == 0;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        // Registry creates Catalog while its own creation lock is held, other threads create Catalog directly
+                        if (even) {
+                            container.select(Registry.class).get().ping();
+                        } else {
+                            container.select(Catalog.class).get().ping();
+                        }
+                        clocks.add(container.select(Clock.class).get());
+                        sessionContext.associate(session);
+                        sessionContext.activate();
+                        try {
+                            container.select(Cart.class).get().ping();
+                        } finally {
+                            sessionContext.deactivate();
+                            sessionContext.dissociate(session);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    try {
+                        future.get(30, TimeUnit.SECONDS);
+                    } catch (TimeoutException e) {
+                        fail("Possible deadlock");
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            // Exactly one instance per normal-scoped contextual
+            assertEquals(1, Counters.get(Registry.class));
+            assertEquals(1, Counters.get(Catalog.class));
+            assertEquals(1, Counters.get(Cart.class));
+            // A dependent instance for each injection point of the normal-scoped instances and for each lookup
+            assertEquals(THREADS, clocks.size());
+            assertEquals(2 + THREADS, Counters.get(Clock.class));
+
+            LockStore lockStore = (LockStore) session.get(LOCK_STORE_KEY);
+            assertTrue(lockStore.isConcurrent());
+        }
+    }
+
+}
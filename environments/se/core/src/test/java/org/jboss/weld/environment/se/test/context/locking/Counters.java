@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.locking;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class Counters {
+
+    private static final Map<Class<?>, AtomicInteger> CREATED = new ConcurrentHashMap<>();
+
+    private Counters() {
+    }
+
+    static void created(Class<?> beanClass) {
+        CREATED.computeIfAbsent(beanClass, (key) -> new AtomicInteger()).incrementAndGet();
+        try {
+            // A slow creation makes a race more likely
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static int get(Class<?> beanClass) {
+        AtomicInteger count = CREATED.get(beanClass);
+        return count != null ? count.get() : 0;
+    }
+
+    static void reset() {
+        CREATED.clear();
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.contexts.snapshot.ContextPropagatingExecutor;
+import org.jboss.weld.contexts.snapshot.ContextPropagatingExecutorService;
+import org.jboss.weld.contexts.snapshot.ContextPropagatingThreadFactory;
+import org.jboss.weld.contexts.snapshot.ContextSnapshot;
+import org.jboss.weld.contexts.snapshot.ContextSnapshot.Restoration;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContextSnapshotTest {
+
+    private WeldContainer container;
+
+    private ExecutorService executor;
+
+    private BoundRequestContext requestContext;
+
+    private BoundSessionContext sessionContext;
+
+    private RequestData requestData;
+
+    private SessionData sessionData;
+
+    private Map<String, Object> storage;
+
+    @Before
+    public void init() {
+        container = new Weld().disableDiscovery().beanClasses(RequestData.class, SessionData.class).initialize();
+        executor = Executors.newSingleThreadExecutor();
+        requestContext = container.select(BoundRequestContext.class).get();
+        sessionContext = container.select(BoundSessionContext.class).get();
+        requestData = container.select(RequestData.class).get();
+        sessionData = container.select(SessionData.class).get();
+        // Only the request context is active on the original thread
+        storage = new HashMap<>();
+        requestContext.associate(storage);
+        requestContext.activate();
+    }
+
+    @After
+    public void cleanup() {
+        executor.shutdownNow();
+        requestContext.invalidate();
+        requestContext.deactivate();
+        requestContext.dissociate(storage);
+        container.shutdown();
+    }
+
+    @Test
+    public void testRestoreAndClose() throws Exception {
+        Object requestId = requestData.getId();
+        ContextSnapshot snapshot = ContextSnapshot.capture(container.getBeanManager());
+        assertTrue(snapshot.hasActiveContexts());
+
+        Map<String, Object> requestStorage = new HashMap<>();
+        Map<String, Object> sessionStorage = new HashMap<>();
+        executor.submit(() -> {
+            // The worker thread has its own contexts
+            Object workerRequestId = activateContexts(requestStorage, sessionStorage);
+            Object workerSessionId = sessionData.getId();
+            try {
+                try (Restoration restoration = snapshot.restore()) {
+                    assertSame(requestId, requestData.getId());
+                    // The session context was not active when the snapshot was captured
+                    assertFalse(sessionContext.isActive());
+                }
+                assertTrue(sessionContext.isActive());
+                assertSame(workerRequestId, requestData.getId());
+                assertSame(workerSessionId, sessionData.getId());
+            } finally {
+                deactivateContexts(requestStorage, sessionStorage);
+            }
+            return null;
+        }).get();
+
+        // The original thread is not affected
+        assertTrue(requestContext.isActive());
+        assertFalse(sessionContext.isActive());
+        assertSame(requestId, requestData.getId());
+    }
+
+    @Test
+    public void testRestoreOnOriginalThread() {
+        Object requestId = requestData.getId();
+        ContextSnapshot snapshot = ContextSnapshot.capture(container.getBeanManager());
+        try (Restoration restoration = snapshot.restore()) {
+            assertSame(requestId, requestData.getId());
+        }
+        // Closing the restoration does not unbind the contexts of the original thread
+        assertTrue(requestContext.isActive());
+        assertSame(requestId, requestData.getId());
+    }
+
+    @Test
+    public void testSnapshotWithoutActiveContexts() throws Exception {
+        ContextSnapshot snapshot = executor.submit(() -> ContextSnapshot.capture(container.getBeanManager())).get();
+        assertFalse(snapshot.hasActiveContexts());
+        Object requestId = requestData.getId();
+
+        try (Restoration restoration = snapshot.restore()) {
+            // The contexts inactive when the snapshot was captured are unbound
+            assertFalse(requestContext.isActive());
+        }
+        assertTrue(requestContext.isActive());
+        assertSame(requestId, requestData.getId());
+    }
+
+    @Test
+    public void testConcurrentRestoreFails() throws Exception {
+        ContextSnapshot snapshot = ContextSnapshot.capture(container.getBeanManager());
+        CountDownLatch restored = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(snapshot.wrap(() -> {
+            restored.countDown();
+            try {
+                done.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(restored.await(5, TimeUnit.SECONDS));
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            other.submit(snapshot.wrap(() -> requestData.getId())).get();
+            fail("The snapshot must not be restored concurrently");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        } finally {
+            done.countDown();
+            other.shutdownNow();
+        }
+        // The snapshot is released once the restoration is closed
+        Object requestId = requestData.getId();
+        assertSame(requestId, executor.submit(snapshot.wrap(() -> requestData.getId())).get());
+    }
+
+    @Test
+    public void testExecutorService() throws Exception {
+        Object requestId = requestData.getId();
+        ExecutorService propagating = new ContextPropagatingExecutorService(executor, container.getBeanManager());
+        assertSame(requestId, propagating.submit(() -> requestData.getId()).get());
+        assertFalse(executor.submit(() -> requestContext.isActive()).get());
+
+        // The submitted tasks are returned, not the wrappers
+        CountDownLatch latch = new CountDownLatch(1);
+        propagating.execute(() -> {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runnable pending = () -> {
+        };
+        propagating.execute(pending);
+        List<Runnable> tasks = propagating.shutdownNow();
+        latch.countDown();
+        assertEquals(1, tasks.size());
+        assertSame(pending, tasks.get(0));
+    }
+
+    @Test
+    public void testExecutor() {
+        Object requestId = requestData.getId();
+        ContextPropagatingExecutor propagating = new ContextPropagatingExecutor(executor, container.getBeanManager());
+        assertSame(requestId, CompletableFuture.supplyAsync(() -> requestData.getId(), propagating).join());
+
+        ContextSnapshot snapshot = ContextSnapshot.capture(container.getBeanManager());
+        ContextPropagatingExecutor snapshotExecutor = new ContextPropagatingExecutor(executor, snapshot);
+        assertSame(requestId, CompletableFuture.supplyAsync(() -> requestData.getId(), snapshotExecutor)
+                .thenApplyAsync(id -> id == requestData.getId() ? id : null, snapshotExecutor).join());
+    }
+
+    @Test
+    public void testThreadFactory() throws InterruptedException {
+        Object requestId = requestData.getId();
+        AtomicReference<Object> result = new AtomicReference<>();
+        Thread thread = new ContextPropagatingThreadFactory(Executors.defaultThreadFactory(), container.getBeanManager())
+                .newThread(() -> result.set(requestData.getId()));
+        thread.start();
+        thread.join(5000);
+        assertSame(requestId, result.get());
+    }
+
+    private Object activateContexts(Map<String, Object> requestStorage, Map<String, Object> sessionStorage) {
+        requestContext.associate(requestStorage);
+        requestContext.activate();
+        sessionContext.associate(sessionStorage);
+        sessionContext.activate();
+        return requestData.getId();
+    }
+
+    private void deactivateContexts(Map<String, Object> requestStorage, Map<String, Object> sessionStorage) {
+        sessionContext.invalidate();
+        sessionContext.deactivate();
+        sessionContext.dissociate(sessionStorage);
+        requestContext.invalidate();
+        requestContext.deactivate();
+        requestContext.dissociate(requestStorage);
+    }
+
+    @RequestScoped
+    public static class RequestData {
+
+        private final Object id = new Object();
+
+        Object getId() {
+            return id;
+        }
+
+    }
+
+    @SessionScoped
+    public static class SessionData implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String id = UUID.randomUUID().toString();
+
+        String getId() {
+            return id;
+        }
+
+    }
+
+}
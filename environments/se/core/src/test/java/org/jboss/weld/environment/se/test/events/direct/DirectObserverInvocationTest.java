@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.direct;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import javax.enterprise.event.ObserverException;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+public class DirectObserverInvocationTest {
+
+    @Test
+    public void testObserverInvokedDirectly() {
+        try (WeldContainer container = startContainer()) {
+            int created = Stamp.CREATED.get();
+            int destroyed = Stamp.DESTROYED.get();
+            container.event().select(Payment.class).fire(new Payment());
+            assertTrue(PaymentObserver.invokedDirectly);
+            container.event().select(Payment.class).fire(new Payment());
+            assertTrue(PaymentObserver.invokedDirectly);
+            // The normal-scoped parameter is shared, the dependent parameter is resolved and destroyed for each notification
+            assertEquals(Arrays.asList("payment" + (created + 1), "payment" + (created + 2)), container.select(Ledger.class).get().getEntries());
+            assertEquals(created + 2, Stamp.CREATED.get());
+            assertEquals(destroyed + 2, Stamp.DESTROYED.get());
+        }
+    }
+
+    @Test
+    public void testExceptionsWrappedAsInReflectiveInvocation() {
+        try (WeldContainer container = startContainer()) {
+            // Checked exceptions are wrapped in ObserverException
+            ObserverException direct = fireAndExpect(ObserverException.class, () -> container.event().select(Refund.class).fire(new Refund(true)));
+            assertTrue(PaymentObserver.invokedDirectly);
+            ObserverException reflective = fireAndExpect(ObserverException.class,
+                    () -> container.event().select(LegacyRefund.class).fire(new LegacyRefund(true)));
+            assertFalse(PaymentObserver.invokedDirectly);
+            assertTrue(direct.getCause() instanceof RefundException);
+            assertTrue(reflective.getCause() instanceof RefundException);
+
+            // Unchecked exceptions are rethrown as is
+            fireAndExpect(IllegalStateException.class, () -> container.event().select(Refund.class).fire(new Refund(false)));
+            assertTrue(PaymentObserver.invokedDirectly);
+            fireAndExpect(IllegalStateException.class, () -> container.event().select(LegacyRefund.class).fire(new LegacyRefund(false)));
+            assertFalse(PaymentObserver.invokedDirectly);
+        }
+    }
+
+    private static <E extends RuntimeException> E fireAndExpect(Class<E> exceptionType, Runnable action) {
+        try {
+            action.run();
+            fail();
+            return null;
+        } catch (RuntimeException e) {
+            assertEquals(exceptionType, e.getClass());
+            return exceptionType.cast(e);
+        }
+    }
+
+    private WeldContainer startContainer() {
+        return new Weld().disableDiscovery()
+                .beanClasses(PaymentObserver.class, LegacyRefundObserver.class, Ledger.class, Stamp.class)
+                .property(ConfigurationKey.OBSERVER_DIRECT_INVOCATION.get(), true).initialize();
+    }
+
+}
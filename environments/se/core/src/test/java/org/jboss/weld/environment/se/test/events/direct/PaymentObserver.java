@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.direct;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+@ApplicationScoped
+public class PaymentObserver {
+
+    static volatile boolean invokedDirectly;
+
+    public void onPayment(@Observes Payment payment, Ledger ledger, Stamp stamp) {
+        invokedDirectly = isInvokedDirectly();
+        ledger.record("payment" + stamp.getId());
+    }
+
+    public void onRefund(@Observes Refund refund) throws RefundException {
+        invokedDirectly = isInvokedDirectly();
+        fail(refund.isChecked());
+    }
+
+    static void fail(boolean checked) throws RefundException {
+        if (checked) {
+            throw new RefundException();
+        }
+        throw new IllegalStateException();
+    }
+
+    static boolean isInvokedDirectly() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (element.getClassName().startsWith("org.jboss.weld.injection.DirectMethodInvoker")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
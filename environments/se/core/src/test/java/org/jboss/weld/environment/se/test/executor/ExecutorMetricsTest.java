@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.ObservesAsync;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.executor.ExecutorServicesFactory.ThreadPoolType;
+import org.jboss.weld.executor.ForkJoinPoolExecutorServices;
+import org.jboss.weld.executor.MeasuringExecutorServices;
+import org.jboss.weld.executor.VirtualThreadExecutorServices;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.junit.Test;
+
+public class ExecutorMetricsTest {
+
+    @Test
+    public void testAsyncObserversMeasured() throws InterruptedException, ExecutionException, TimeoutException {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Listener.class)
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), ThreadPoolType.FORK_JOIN.toString())
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_METRICS.get(), true).initialize()) {
+            ExecutorServices executorServices = container.select(BeanManagerImpl.class).get().getServices().get(ExecutorServices.class);
+            assertTrue(executorServices instanceof MeasuringExecutorServices);
+            MeasuringExecutorServices metrics = (MeasuringExecutorServices) executorServices;
+            assertTrue(metrics.getDelegate() instanceof ForkJoinPoolExecutorServices);
+
+            long completed = metrics.getCompletedTaskCount();
+            Event<Ping> event = container.select(new TypeLiteral<Event<Ping>>() {
+            }).get();
+            for (int i = 0; i < 10; i++) {
+                event.fireAsync(new Ping()).toCompletableFuture().get(2, TimeUnit.SECONDS);
+            }
+            // The stage may complete before the measured task returns
+            long timeout = System.currentTimeMillis() + 2000;
+            while (metrics.getCompletedTaskCount() < completed + 10 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertEquals(completed + 10, metrics.getCompletedTaskCount());
+            assertEquals(0, metrics.getQueueDepth());
+            assertTrue(metrics.getMaxQueueLatency(TimeUnit.NANOSECONDS) >= metrics.getAverageQueueLatency(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    @Test
+    public void testInvokeAnyAndTimedInvokeAllMeasured() throws Exception {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Listener.class)
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), ThreadPoolType.FORK_JOIN.toString())
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_SIZE.get(), 2)
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_METRICS.get(), true).initialize()) {
+            MeasuringExecutorServices metrics = (MeasuringExecutorServices) container.select(BeanManagerImpl.class).get().getServices()
+                    .get(ExecutorServices.class);
+            ExecutorService executor = metrics.getTaskExecutor();
+
+            List<Callable<String>> tasks = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                tasks.add(() -> {
+                    Thread.sleep(10);
+                    return "ping";
+                });
+            }
+            long completed = metrics.getCompletedTaskCount();
+            assertEquals("ping", executor.invokeAny(tasks));
+            assertEquals("ping", executor.invokeAny(tasks, 2, TimeUnit.SECONDS));
+            // Tasks that never started are not counted
+            assertEquals(0, metrics.getQueueDepth());
+            awaitIdle(metrics);
+            assertTrue(metrics.getCompletedTaskCount() >= completed + 2);
+
+            completed = metrics.getCompletedTaskCount();
+            for (Future<String> future : executor.invokeAll(tasks.subList(0, 3), 2, TimeUnit.SECONDS)) {
+                assertEquals("ping", future.get());
+            }
+            awaitIdle(metrics);
+            assertEquals(completed + 3, metrics.getCompletedTaskCount());
+
+            // Most of the tasks do not start before the timeout and are cancelled
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Callable<String>> blocking = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                blocking.add(() -> {
+                    latch.await();
+                    return "pong";
+                });
+            }
+            executor.invokeAll(blocking, 100, TimeUnit.MILLISECONDS);
+            assertEquals(0, metrics.getQueueDepth());
+            latch.countDown();
+            awaitIdle(metrics);
+            assertEquals(0, metrics.getQueueDepth());
+        }
+    }
+
+    @Test
+    public void testVirtualThreadPoolFallback() throws Exception {
+        assumeFalse(VirtualThreadExecutorServices.isSupported());
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Listener.class)
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), ThreadPoolType.VIRTUAL.toString())
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_METRICS.get(), true).initialize()) {
+            ExecutorServices executorServices = container.select(BeanManagerImpl.class).get().getServices().get(ExecutorServices.class);
+            assertTrue(executorServices instanceof MeasuringExecutorServices);
+            MeasuringExecutorServices metrics = (MeasuringExecutorServices) executorServices;
+            // Virtual threads are not supported by this JDK
+            assertTrue(metrics.getDelegate() instanceof ForkJoinPoolExecutorServices);
+
+            long completed = metrics.getCompletedTaskCount();
+            container.select(new TypeLiteral<Event<Ping>>() {
+            }).get().fireAsync(new Ping()).toCompletableFuture().get(2, TimeUnit.SECONDS);
+            awaitIdle(metrics);
+            assertEquals(completed + 1, metrics.getCompletedTaskCount());
+        }
+    }
+
+    private static void awaitIdle(MeasuringExecutorServices metrics) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 2000;
+        while ((metrics.getActiveCount() > 0 || metrics.getQueueDepth() > 0) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, metrics.getActiveCount());
+    }
+
+    public static class Ping {
+    }
+
+    @Dependent
+    public static class Listener {
+
+        void observe(@ObservesAsync Ping ping) {
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.injectionPoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+
+import javax.decorator.Decorator;
+import javax.decorator.Delegate;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.proxy.WeldClientProxy;
+import org.junit.Test;
+
+/**
+ * Verifies that a cacheable injection point of a normal scoped bean holds the client proxy, i.e. the injection does not go through
+ * {@code BeanManagerImpl.getInjectableReference()}, whereas {@link Dependent} and delegate injection points still do.
+ */
+public class ConstantInjectableReferenceTest {
+
+    @Test
+    public void testNormalScopedInjectionUsesConstantReference() throws Exception {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Service.class, Helper.class, Consumer.class).initialize()) {
+            Consumer first = container.select(Consumer.class).get();
+            Consumer second = container.select(Consumer.class).get();
+            assertTrue(first.field instanceof WeldClientProxy);
+            assertSame(first.field, second.field);
+            assertSame(first.field, first.constructorParameter);
+            assertSame(first.field, first.initializerParameter);
+            assertSame(first.field, second.initializerParameter);
+            assertEquals("pong", first.field.ping());
+            // Dependent instances are still created for each injection
+            assertFalse(first.helper == second.helper);
+
+            Bean<?> bean = resolve(container.getBeanManager(), Consumer.class);
+            int normalScoped = 0;
+            int dependent = 0;
+            for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+                Object resolvedReference = getFieldValue(injectionPoint, "resolvedReference");
+                assertNotNull(injectionPoint.toString(), resolvedReference);
+                Object constantReference = getFieldValue(resolvedReference, "constantReference");
+                if (injectionPoint.getType().equals(Service.class)) {
+                    assertSame(first.field, constantReference);
+                    normalScoped++;
+                } else {
+                    assertNull(constantReference);
+                    dependent++;
+                }
+            }
+            assertEquals(3, normalScoped);
+            assertEquals(2, dependent);
+        }
+    }
+
+    @Test
+    public void testDelegateInjectionPointNotCached() throws Exception {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Service.class, ServicePinger.class, PingerDecorator.class)
+                .enableDecorators(PingerDecorator.class).initialize()) {
+            assertEquals("decorated pong", container.select(Pinger.class).get().ping());
+            assertEquals("decorated pong", container.select(Pinger.class).get().ping());
+            BeanManager beanManager = container.getBeanManager();
+            Bean<?> decorator = beanManager.resolveDecorators(resolve(beanManager, Pinger.class).getTypes()).get(0);
+            for (InjectionPoint injectionPoint : decorator.getInjectionPoints()) {
+                assertTrue(injectionPoint.isDelegate());
+                assertNull(getFieldValue(injectionPoint, "resolvedReference"));
+            }
+        }
+    }
+
+    private static Bean<?> resolve(BeanManager beanManager, Class<?> beanClass) {
+        return beanManager.resolve(beanManager.getBeans(beanClass));
+    }
+
+    private static Object getFieldValue(Object instance, String name) throws Exception {
+        for (Class<?> clazz = instance.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                Field field = clazz.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(instance);
+            } catch (NoSuchFieldException ignored) {
+                // Try the superclass
+            }
+        }
+        throw new AssertionError("No field " + name + " declared by " + instance.getClass());
+    }
+
+    @ApplicationScoped
+    public static class Service {
+
+        String ping() {
+            return "pong";
+        }
+    }
+
+    @Dependent
+    public static class Helper {
+    }
+
+    @Dependent
+    public static class Consumer {
+
+        @Inject
+        Service field;
+
+        @Inject
+        Helper helper;
+
+        final Service constructorParameter;
+
+        Service initializerParameter;
+
+        @Inject
+        public Consumer(Service constructorParameter) {
+            this.constructorParameter = constructorParameter;
+        }
+
+        @Inject
+        void init(Service initializerParameter, Helper helper) {
+            this.initializerParameter = initializerParameter;
+        }
+    }
+
+    public interface Pinger {
+
+        String ping();
+
+    }
+
+    @ApplicationScoped
+    public static class ServicePinger implements Pinger {
+
+        @Inject
+        Service service;
+
+        @Override
+        public String ping() {
+            return service.ping();
+        }
+    }
+
+    @Decorator
+    public abstract static class PingerDecorator implements Pinger {
+
+        @Inject
+        @Delegate
+        Pinger delegate;
+
+        @Override
+        public String ping() {
+            return "decorated " + delegate.ping();
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.injectionPoint.generated;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+@Dependent
+class Client {
+
+    @Inject
+    Service service;
+
+    @Inject
+    int number;
+
+    @Inject
+    private Service privateService;
+
+    final Service constructorService;
+
+    final int constructorNumber;
+
+    final boolean constructorGenerated;
+
+    Service initializerService;
+
+    long initializerNumber;
+
+    boolean initializerGenerated;
+
+    Service privateInitializerService;
+
+    boolean privateInitializerGenerated;
+
+    @Inject
+    Client(Service service, int number) {
+        this.constructorService = service;
+        this.constructorNumber = number;
+        this.constructorGenerated = GeneratedInjectorsTest.isCalledByGeneratedInjector();
+    }
+
+    @Inject
+    final void init(Service service, long number) {
+        this.initializerService = service;
+        this.initializerNumber = number;
+        this.initializerGenerated = GeneratedInjectorsTest.isCalledByGeneratedInjector();
+    }
+
+    @Inject
+    private void privateInit(Service service) {
+        this.privateInitializerService = service;
+        this.privateInitializerGenerated = GeneratedInjectorsTest.isCalledByGeneratedInjector();
+    }
+
+    Service getPrivateService() {
+        return privateService;
+    }
+
+}
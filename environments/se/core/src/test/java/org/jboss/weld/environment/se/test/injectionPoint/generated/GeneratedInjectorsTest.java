@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.injectionPoint.generated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+/**
+ * Tests {@link ConfigurationKey#INJECTION_GENERATED_INJECTORS}. A member is accessed by a generated injector if the generated class is found on the stack
+ * (methods and constructors) or bound to the injection point (fields).
+ */
+public class GeneratedInjectorsTest {
+
+    private static final String INJECTOR_CLASS_NAME_PART = "$$_WeldInjector_";
+
+    @Test
+    public void testPackagePrivateMembers() throws Exception {
+        try (WeldContainer container = start(true, Service.class, NumberProducer.class, Client.class)) {
+            Client client = container.select(Client.class).get();
+            assertNotNull(client.service);
+            assertNotNull(client.constructorService);
+            assertNotNull(client.initializerService);
+            assertTrue(client.constructorGenerated);
+            assertTrue(client.initializerGenerated);
+            assertTrue(hasGeneratedInjector(container.getBeanManager(), Client.class, "service"));
+        }
+    }
+
+    @Test
+    public void testPrivateMembersUseReflection() throws Exception {
+        try (WeldContainer container = start(true, Service.class, NumberProducer.class, Client.class, PrivateConstructorClient.class)) {
+            Client client = container.select(Client.class).get();
+            assertNotNull(client.getPrivateService());
+            assertFalse(hasGeneratedInjector(container.getBeanManager(), Client.class, "privateService"));
+            assertNotNull(client.privateInitializerService);
+            assertFalse(client.privateInitializerGenerated);
+            // The final initializer method is invoked by the generated injector, final fields may not be injected at all
+            assertTrue(client.initializerGenerated);
+
+            PrivateConstructorClient privateConstructorClient = container.select(PrivateConstructorClient.class).get();
+            assertNotNull(privateConstructorClient.service);
+            assertFalse(privateConstructorClient.constructorGenerated);
+        }
+    }
+
+    @Test
+    public void testPrimitives() throws Exception {
+        try (WeldContainer container = start(true, Service.class, NumberProducer.class, Client.class)) {
+            Client client = container.select(Client.class).get();
+            assertEquals(NumberProducer.NUMBER, client.number);
+            assertEquals(NumberProducer.NUMBER, client.constructorNumber);
+            assertEquals(NumberProducer.BIG_NUMBER, client.initializerNumber);
+            assertTrue(hasGeneratedInjector(container.getBeanManager(), Client.class, "number"));
+        }
+    }
+
+    @Test
+    public void testCheckedExceptionsWrappedAsWithReflection() {
+        RuntimeException reflective = getFailure(false, FailingInitializer.class);
+        assertFalse(FailingInitializer.generated);
+        RuntimeException generated = getFailure(true, FailingInitializer.class);
+        assertTrue(FailingInitializer.generated);
+        assertSameFailure(reflective, generated);
+
+        reflective = getFailure(false, FailingConstructor.class);
+        assertFalse(FailingConstructor.generated);
+        generated = getFailure(true, FailingConstructor.class);
+        assertTrue(FailingConstructor.generated);
+        assertSameFailure(reflective, generated);
+    }
+
+    @Test
+    public void testSuperclassInAnotherPackage() throws Exception {
+        try (WeldContainer container = start(true, Service.class, Derived.class)) {
+            Derived derived = container.select(Derived.class).get();
+            assertNotNull(derived.publicService);
+            assertNotNull(derived.getPackagePrivateService());
+            assertNotNull(derived.initializerService);
+            assertNotNull(derived.getPackagePrivateInitializerService());
+            // Only the public members of the superclass are accessible from the package of the bean class
+            assertTrue(hasGeneratedInjector(container.getBeanManager(), Derived.class, "publicService"));
+            assertFalse(hasGeneratedInjector(container.getBeanManager(), Derived.class, "packagePrivateService"));
+            assertTrue(derived.initializerGenerated);
+            assertFalse(derived.isPackagePrivateInitializerGenerated());
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Service.class, NumberProducer.class, Client.class).initialize()) {
+            Client client = container.select(Client.class).get();
+            assertNotNull(client.service);
+            assertFalse(client.constructorGenerated);
+            assertFalse(client.initializerGenerated);
+            assertFalse(hasGeneratedInjector(container.getBeanManager(), Client.class, "service"));
+        }
+    }
+
+    public static boolean isCalledByGeneratedInjector() {
+        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+            if (element.getClassName().contains(INJECTOR_CLASS_NAME_PART)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static WeldContainer start(boolean generatedInjectors, Class<?>... beanClasses) {
+        return new Weld().disableDiscovery().beanClasses(beanClasses).property(ConfigurationKey.INJECTION_GENERATED_INJECTORS.get(), generatedInjectors)
+                .initialize();
+    }
+
+    private static RuntimeException getFailure(boolean generatedInjectors, Class<?> beanClass) {
+        try (WeldContainer container = start(generatedInjectors, Service.class, beanClass)) {
+            container.select(beanClass).get();
+        } catch (RuntimeException expected) {
+            return expected;
+        }
+        fail("Creating " + beanClass.getSimpleName() + " did not fail");
+        return null;
+    }
+
+    private static void assertSameFailure(RuntimeException expected, RuntimeException actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertNotNull(actual.getCause());
+        assertEquals(expected.getCause().getClass(), actual.getCause().getClass());
+        assertEquals(expected.getCause().getMessage(), actual.getCause().getMessage());
+    }
+
+    private static boolean hasGeneratedInjector(BeanManager beanManager, Class<?> beanClass, String fieldName) throws Exception {
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(beanClass));
+        for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+            if (injectionPoint.getMember() instanceof Field && injectionPoint.getMember().getName().equals(fieldName)) {
+                return getFieldValue(injectionPoint, "generatedInjector") != null;
+            }
+        }
+        throw new AssertionError("No injection point found for " + fieldName);
+    }
+
+    private static Object getFieldValue(Object instance, String name) throws Exception {
+        for (Class<?> clazz = instance.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                Field field = clazz.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(instance);
+            } catch (NoSuchFieldException ignored) {
+                // Try the superclass
+            }
+        }
+        throw new AssertionError("No field " + name + " declared by " + instance.getClass());
+    }
+
+}
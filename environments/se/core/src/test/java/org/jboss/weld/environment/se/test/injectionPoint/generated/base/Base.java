@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.injectionPoint.generated.base;
+
+import javax.inject.Inject;
+
+import org.jboss.weld.environment.se.test.injectionPoint.generated.GeneratedInjectorsTest;
+import org.jboss.weld.environment.se.test.injectionPoint.generated.Service;
+
+/**
+ * The superclass of a bean in another package - only the public members may be accessed by the generated injector.
+ */
+public class Base {
+
+    @Inject
+    public Service publicService;
+
+    @Inject
+    Service packagePrivateService;
+
+    public Service initializerService;
+
+    public boolean initializerGenerated;
+
+    Service packagePrivateInitializerService;
+
+    boolean packagePrivateInitializerGenerated;
+
+    @Inject
+    public void init(Service service) {
+        this.initializerService = service;
+        this.initializerGenerated = GeneratedInjectorsTest.isCalledByGeneratedInjector();
+    }
+
+    @Inject
+    void packagePrivateInit(Service service) {
+        this.packagePrivateInitializerService = service;
+        this.packagePrivateInitializerGenerated = GeneratedInjectorsTest.isCalledByGeneratedInjector();
+    }
+
+    public Service getPackagePrivateService() {
+        return packagePrivateService;
+    }
+
+    public Service getPackagePrivateInitializerService() {
+        return packagePrivateInitializerService;
+    }
+
+    public boolean isPackagePrivateInitializerGenerated() {
+        return packagePrivateInitializerGenerated;
+    }
+
+}
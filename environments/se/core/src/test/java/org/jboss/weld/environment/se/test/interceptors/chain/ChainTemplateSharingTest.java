@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.interceptors.chain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.jboss.weld.bean.AbstractClassBean;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.interceptor.proxy.InterceptionChainTemplate;
+import org.jboss.weld.interceptor.proxy.InterceptionChainTemplates;
+import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+/**
+ * Tests that the interception chain templates are shared by the beans with the same interceptor bindings.
+ */
+public class ChainTemplateSharingTest {
+
+    @Test
+    public void testChainTemplateSharing() throws Exception {
+        try (WeldContainer container = new Weld().disableDiscovery()
+                .beanClasses(Alpha.class, Bravo.class, Charlie.class, LoggingInterceptor.class, MeteringInterceptor.class).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+
+            InterceptionChainTemplate alpha = getTemplate(manager, Alpha.class, "ping");
+            InterceptionChainTemplate bravo = getTemplate(manager, Bravo.class, "pong");
+            InterceptionChainTemplate charlie = getTemplate(manager, Charlie.class, "ping");
+            assertFalse(alpha.isEmpty());
+            assertFalse(charlie.isEmpty());
+            // Same interceptor bindings
+            assertSame(alpha, bravo);
+            // Different interceptor bindings
+            assertNotSame(alpha, charlie);
+
+            // The shared template binds the interceptors of each bean correctly
+            Recorder.INVOCATIONS.clear();
+            assertEquals("ping", container.select(Alpha.class).get().ping());
+            assertEquals("pong", container.select(Bravo.class).get().pong());
+            assertEquals("ping", container.select(Charlie.class).get().ping());
+            assertEquals(Arrays.asList("logged:Alpha.ping", "logged:Bravo.pong", "metered:Charlie.ping"), Recorder.INVOCATIONS);
+        }
+    }
+
+    private static InterceptionChainTemplate getTemplate(BeanManagerImpl manager, Class<?> beanClass, String methodName) throws NoSuchMethodException {
+        AbstractClassBean<?> bean = (AbstractClassBean<?>) manager.resolve(manager.getBeans(beanClass));
+        return manager.getServices().get(InterceptionChainTemplates.class).get(bean.getInterceptors(), InterceptionType.AROUND_INVOKE,
+                beanClass.getMethod(methodName));
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.interceptors.methodhandle;
+
+import java.io.IOException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Dependent;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.InvocationContext;
+
+@Audited
+@Dependent
+public class Account {
+
+    static final String TARGET_CHECKED = "target-checked";
+
+    static final String TARGET_UNCHECKED = "target-unchecked";
+
+    static final String INTERCEPTOR_CHECKED = "interceptor-checked";
+
+    static final String INTERCEPTOR_UNCHECKED = "interceptor-unchecked";
+
+    public String deposit(String mode) throws IOException {
+        Recorder.INVOCATIONS.add("deposit");
+        if (TARGET_CHECKED.equals(mode)) {
+            throw new IOException(TARGET_CHECKED);
+        } else if (TARGET_UNCHECKED.equals(mode)) {
+            throw new IllegalArgumentException(TARGET_UNCHECKED);
+        }
+        return mode;
+    }
+
+    @AroundInvoke
+    Object aroundInvoke(InvocationContext ctx) throws Exception {
+        Recorder.record("target");
+        return "target:" + ctx.proceed();
+    }
+
+    @PostConstruct
+    void postConstruct() {
+        Recorder.record("target-postConstruct");
+    }
+
+    @PreDestroy
+    void preDestroy() {
+        Recorder.record("target-preDestroy");
+    }
+
+}
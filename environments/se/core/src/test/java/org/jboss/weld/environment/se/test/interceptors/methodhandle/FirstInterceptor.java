@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.interceptors.methodhandle;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Priority;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+
+@Audited
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 1)
+public class FirstInterceptor {
+
+    @PostConstruct
+    private void postConstruct(InvocationContext ctx) throws Exception {
+        Recorder.record("first-postConstruct");
+        ctx.proceed();
+    }
+
+    @PreDestroy
+    private void preDestroy(InvocationContext ctx) throws Exception {
+        Recorder.record("first-preDestroy");
+        ctx.proceed();
+    }
+
+    // Private interceptor methods are invoked through a method handle as well
+    @AroundInvoke
+    private Object aroundInvoke(InvocationContext ctx) throws Exception {
+        Recorder.record("first");
+        return ctx.proceed();
+    }
+
+}
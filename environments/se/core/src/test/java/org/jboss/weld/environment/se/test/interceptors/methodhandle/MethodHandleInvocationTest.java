@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.interceptors.methodhandle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.enterprise.inject.Instance;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MethodHandleInvocationTest {
+
+    @Before
+    public void reset() {
+        Recorder.reset();
+    }
+
+    @Test
+    public void testAroundInvokeChain() throws IOException {
+        testAroundInvokeChain(true);
+    }
+
+    @Test
+    public void testAroundInvokeChainReflection() throws IOException {
+        testAroundInvokeChain(false);
+    }
+
+    @Test
+    public void testLifecycleCallbacks() {
+        testLifecycleCallbacks(true);
+    }
+
+    @Test
+    public void testLifecycleCallbacksReflection() {
+        testLifecycleCallbacks(false);
+    }
+
+    @Test
+    public void testExceptionPropagation() {
+        testExceptionPropagation(true);
+    }
+
+    @Test
+    public void testExceptionPropagationReflection() {
+        testExceptionPropagation(false);
+    }
+
+    private void testAroundInvokeChain(boolean methodHandleInvocation) throws IOException {
+        try (WeldContainer container = startContainer(methodHandleInvocation)) {
+            Account account = container.select(Account.class).get();
+            Recorder.reset();
+            assertEquals("second:target:ok", account.deposit("ok"));
+            assertEquals(Arrays.asList("first", "second", "target", "deposit"), Recorder.INVOCATIONS);
+            assertEquals(Collections.singleton(methodHandleInvocation), Recorder.METHOD_HANDLES);
+        }
+    }
+
+    private void testLifecycleCallbacks(boolean methodHandleInvocation) {
+        try (WeldContainer container = startContainer(methodHandleInvocation)) {
+            Instance<Account> instance = container.select(Account.class);
+            Account account = instance.get();
+            assertEquals(Arrays.asList("first-postConstruct", "target-postConstruct"), Recorder.INVOCATIONS);
+            Recorder.INVOCATIONS.clear();
+            instance.destroy(account);
+            assertEquals(Arrays.asList("first-preDestroy", "target-preDestroy"), Recorder.INVOCATIONS);
+            assertEquals(Collections.singleton(methodHandleInvocation), Recorder.METHOD_HANDLES);
+        }
+    }
+
+    private void testExceptionPropagation(boolean methodHandleInvocation) {
+        try (WeldContainer container = startContainer(methodHandleInvocation)) {
+            Account account = container.select(Account.class).get();
+            // Exceptions thrown by the target method
+            assertDepositFails(account, Account.TARGET_CHECKED, IOException.class);
+            assertDepositFails(account, Account.TARGET_UNCHECKED, IllegalArgumentException.class);
+            // Exceptions thrown by an interceptor
+            assertDepositFails(account, Account.INTERCEPTOR_CHECKED, IOException.class);
+            assertDepositFails(account, Account.INTERCEPTOR_UNCHECKED, IllegalStateException.class);
+            assertEquals(Collections.singleton(methodHandleInvocation), Recorder.METHOD_HANDLES);
+        }
+    }
+
+    private static void assertDepositFails(Account account, String mode, Class<? extends Exception> exceptionType) {
+        try {
+            account.deposit(mode);
+            fail();
+        } catch (Exception e) {
+            // The exception is neither wrapped nor replaced
+            assertEquals(exceptionType, e.getClass());
+            assertEquals(mode, e.getMessage());
+        }
+    }
+
+    private WeldContainer startContainer(boolean methodHandleInvocation) {
+        return new Weld().disableDiscovery().beanClasses(Account.class, FirstInterceptor.class, SecondInterceptor.class)
+                .property(ConfigurationKey.INTERCEPTOR_METHOD_HANDLE_INVOCATION.get(), methodHandleInvocation).initialize();
+    }
+
+}
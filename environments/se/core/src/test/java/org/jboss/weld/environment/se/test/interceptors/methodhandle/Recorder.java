@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.interceptors.methodhandle;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+final class Recorder {
+
+    static final List<String> INVOCATIONS = new CopyOnWriteArrayList<>();
+
+    // Whether the interceptor methods were invoked through a method handle
+    static final Set<Boolean> METHOD_HANDLES = new CopyOnWriteArraySet<>();
+
+    private Recorder() {
+    }
+
+    static void record(String invocation) {
+        INVOCATIONS.add(invocation);
+        METHOD_HANDLES.add(isInvokedThroughMethodHandle());
+    }
+
+    static void reset() {
+        INVOCATIONS.clear();
+        METHOD_HANDLES.clear();
+    }
+
+    private static boolean isInvokedThroughMethodHandle() {
+        // The caller of the interceptor method is at index 3
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        for (int i = 3; i < stack.length; i++) {
+            String className = stack[i].getClassName();
+            if (className.equals("org.jboss.weld.interceptor.reader.InterceptorMethodHandle")) {
+                return true;
+            }
+            if (className.startsWith("org.jboss.weld.interceptor.reader.SimpleInterceptorInvocation")) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+}
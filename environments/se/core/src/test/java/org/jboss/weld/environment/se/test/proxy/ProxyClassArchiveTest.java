@@ -0,0 +1,237 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.bean.proxy.ProxyClassArchive;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.environment.se.test.proxy.archive.Counter;
+import org.jboss.weld.environment.se.test.proxy.archive.Gauge;
+import org.jboss.weld.environment.se.test.proxy.archive.GaugeBaseA;
+import org.jboss.weld.environment.se.test.proxy.archive.GaugeBaseB;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProxyClassArchiveTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testArchiveExportedAndUsed() throws Exception {
+        File archive = new File(folder.getRoot(), "weld-proxies.jar");
+        IsolatedClassLoader exportLoader = new IsolatedClassLoader(null, null);
+        try (WeldContainer container = startContainer(exportLoader, Counter.class, ConfigurationKey.PROXY_ARCHIVE_EXPORT, archive)) {
+            assertEquals(1, invoke(container.select(exportLoader.loadClass(Counter.class.getName())).get(), "increment"));
+        }
+        assertTrue(archive.isFile());
+        String proxyClassName = getArchivedProxyClassName(archive, Counter.class);
+
+        // A fresh class loader so that the proxy class is not defined yet
+        IsolatedClassLoader loader = new IsolatedClassLoader(null, null);
+        try (WeldContainer container = startContainer(loader, Counter.class, ConfigurationKey.PROXY_ARCHIVE, archive)) {
+            Object counter = container.select(loader.loadClass(Counter.class.getName())).get();
+            assertEquals(proxyClassName, counter.getClass().getName());
+            assertEquals(loader, counter.getClass().getClassLoader());
+            assertTrue(getArchive(container).getLoadedClasses().contains(proxyClassName));
+            assertEquals(1, invoke(counter, "increment"));
+        }
+    }
+
+    @Test
+    public void testProxyRegeneratedIfSignatureDoesNotMatch() throws Exception {
+        File archive = new File(folder.getRoot(), "weld-proxies");
+        IsolatedClassLoader exportLoader = new IsolatedClassLoader(null, null);
+        try (WeldContainer container = startContainer(exportLoader, Gauge.class, ConfigurationKey.PROXY_ARCHIVE_EXPORT, archive)) {
+            assertEquals(1, invoke(container.select(exportLoader.loadClass(Gauge.class.getName())).get(), "increment"));
+        }
+        String proxyClassName = getArchivedProxyClassName(archive, Gauge.class);
+
+        // The superclass of the bean class is changed, the proxy must override the new method
+        IsolatedClassLoader loader = new IsolatedClassLoader(Gauge.class.getName(), GaugeBaseB.class.getName());
+        try (WeldContainer container = startContainer(loader, Gauge.class, ConfigurationKey.PROXY_ARCHIVE, archive)) {
+            Object gauge = container.select(loader.loadClass(Gauge.class.getName())).get();
+            assertEquals(GaugeBaseB.class.getName(), gauge.getClass().getSuperclass().getSuperclass().getName());
+            assertEquals(proxyClassName, gauge.getClass().getName());
+            assertFalse(getArchive(container).getLoadedClasses().contains(proxyClassName));
+            assertEquals(1, invoke(gauge, "increment"));
+            // A stale proxy class would not delegate reset() to the contextual instance
+            invoke(gauge, "reset");
+            assertEquals(0, invoke(gauge, "getValue"));
+        }
+    }
+
+    private static WeldContainer startContainer(IsolatedClassLoader loader, Class<?> beanClass, ConfigurationKey key, File archive)
+            throws ClassNotFoundException {
+        Class<?> isolatedBeanClass = loader.loadClass(beanClass.getName());
+        assertNotSame(beanClass, isolatedBeanClass);
+        return new Weld().disableDiscovery().setClassLoader(loader).beanClasses(isolatedBeanClass).property(key.get(), archive.getPath())
+                .initialize();
+    }
+
+    private static ProxyClassArchive getArchive(WeldContainer container) {
+        ProxyClassArchive archive = Container.instance(container.getId()).services().get(ProxyClassArchive.class);
+        assertNotNull(archive);
+        return archive;
+    }
+
+    private static Object invoke(Object instance, String methodName) throws Exception {
+        return instance.getClass().getMethod(methodName).invoke(instance);
+    }
+
+    private static String getArchivedProxyClassName(File archive, Class<?> beanClass) throws IOException {
+        String manifest;
+        if (archive.isFile()) {
+            try (ZipFile zip = new ZipFile(archive)) {
+                ZipEntry entry = zip.getEntry(ProxyClassArchive.MANIFEST);
+                assertNotNull(entry);
+                manifest = read(zip.getInputStream(entry));
+            }
+        } else {
+            manifest = read(new FileInputStream(new File(archive, ProxyClassArchive.MANIFEST)));
+        }
+        String proxyClassName = null;
+        for (String line : manifest.split("\n")) {
+            if (line.startsWith(beanClass.getName())) {
+                proxyClassName = line.substring(0, line.indexOf('='));
+            }
+        }
+        assertNotNull(manifest, proxyClassName);
+        return proxyClassName;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                builder.append(line).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Defines the classes of the archive test package itself so that each deployment starts without any proxy class defined. Optionally, the superclass of a
+     * class is replaced with another class whose internal name has the same length.
+     */
+    private static class IsolatedClassLoader extends ClassLoader {
+
+        private static final String PACKAGE = Counter.class.getPackage().getName() + ".";
+
+        private final String patchedClass;
+
+        private final String superclass;
+
+        IsolatedClassLoader(String patchedClass, String superclass) {
+            super(ProxyClassArchiveTest.class.getClassLoader());
+            this.patchedClass = patchedClass;
+            this.superclass = superclass;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PACKAGE) || name.indexOf('.', PACKAGE.length()) != -1) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    byte[] bytecode = readClass(name);
+                    if (bytecode == null) {
+                        // E.g. a proxy class which is not defined yet
+                        throw new ClassNotFoundException(name);
+                    }
+                    if (name.equals(patchedClass)) {
+                        bytecode = replace(bytecode, internalName(GaugeBaseA.class.getName()), internalName(superclass));
+                    }
+                    clazz = defineClass(name, bytecode, 0, bytecode.length);
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    return null;
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+
+        private static String internalName(String className) {
+            return className.replace('.', '/');
+        }
+
+        private static byte[] replace(byte[] bytecode, String original, String replacement) {
+            byte[] from = original.getBytes(StandardCharsets.UTF_8);
+            byte[] to = replacement.getBytes(StandardCharsets.UTF_8);
+            assertEquals(from.length, to.length);
+            byte[] result = bytecode.clone();
+            boolean replaced = false;
+            for (int i = 0; i <= result.length - from.length; i++) {
+                boolean match = true;
+                for (int j = 0; j < from.length; j++) {
+                    if (result[i + j] != from[j]) {
+                        match = false;
+                        break;
+                    }
+                }
+                if (match) {
+                    System.arraycopy(to, 0, result, i, to.length);
+                    replaced = true;
+                }
+            }
+            assertTrue(replaced);
+            return result;
+        }
+
+    }
+
+}
@@ -116,6 +116,8 @@ public class Container {
 
     private ContainerState state = ContainerState.STOPPED;
 
+    private volatile boolean cleanedUp;
+
     public Container(String contextId, BeanManagerImpl deploymentManager, ServiceRegistry deploymentServices) {
         this(contextId, deploymentManager, deploymentServices, null);
     }
@@ -139,6 +141,7 @@ public class Container {
      * managers, and all deployment services
      */
     public void cleanup() {
+        cleanedUp = true;
         managers.clear();
         for (BeanManagerImpl beanManager : beanDeploymentArchives.values()) {
             beanManager.cleanup();
@@ -149,6 +152,16 @@ public class Container {
         instance.clear(contextId);
     }
 
+    /**
+     * Unlike {@link #isSet(String)}, this method does not look up the container in the singleton registry. Therefore, it is suitable for hot paths which
+     * hold a reference to the container, e.g. client proxies.
+     *
+     * @return <code>true</code> if the container was already cleaned up, <code>false</code> otherwise
+     */
+    public boolean isCleanedUp() {
+        return cleanedUp;
+    }
+
     /**
      * Gets the manager for this application deployment
      */
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean;
+
+import org.jboss.weld.contexts.beanstore.BeanIdentifierSlots;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * Base class of the bean identifiers created by Weld.
+ *
+ * <p>
+ * After bootstrap, the identifier of a bean with a normal scope is assigned a slot - a dense number which is unique within the scope of the bean, see
+ * {@link BeanIdentifierSlots}. The slot is not part of the identity of the identifier and it is not serialized.
+ * </p>
+ */
+public abstract class AbstractBeanIdentifier implements BeanIdentifier {
+
+    private static final long serialVersionUID = 1L;
+
+    // Slot + 1 so that an unassigned slot (including a deserialized identifier) is represented by the default value
+    private transient int slot;
+
+    /**
+     *
+     * @return the slot assigned to this identifier, or <code>-1</code> if no slot is assigned
+     */
+    public int getSlot() {
+        return slot - 1;
+    }
+
+    /**
+     * This method is not intended to be used outside {@link BeanIdentifierSlots}.
+     *
+     * @param slot
+     */
+    public void setSlot(int slot) {
+        this.slot = slot + 1;
+    }
+
+}
@@ -30,6 +30,7 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanAttributes;
 import javax.inject.Singleton;
 
+import org.jboss.weld.contexts.beanstore.BeanIdentifierSlots;
 import org.jboss.weld.contexts.cache.RequestScopedCache;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.collections.ImmutableSet;
@@ -47,9 +48,11 @@ import org.jboss.weld.util.reflection.Reflections;
  * For {@link ApplicationScoped} beans a special strategy is used which caches application-scoped bean instances in a volatile field. This implementation respects
  * the possibility of an instance being destroyed via {@link AlterableContext} and the cached instance is flushed in such case.
  *
- * For {@link SessionScoped}, {@link ConversationScoped} and {@link RequestScoped} beans a special strategy is used which caches contextual bean instances in
- * a {@link ThreadLocal}. This implementation respects the possibility of an instance being destroyed via {@link AlterableContext} and the cached instance is
- * flushed in such case. This is done indirectly by {@link RequestScopedCache}.
+ * For {@link SessionScoped}, {@link ConversationScoped} and {@link RequestScoped} beans a special strategy is used which caches contextual bean instances
+ * in the per-thread instance table of {@link RequestScopedCache}. The index of a bean in the table is derived from the slot of its identifier, see
+ * {@link BeanIdentifierSlots}, therefore instances are not cached before the slots are assigned at the end of bootstrap. This implementation respects the
+ * possibility of an instance being destroyed via {@link AlterableContext} and the cached instance is flushed in such case. This is done indirectly by
+ * {@link RequestScopedCache}.
  *
  * @author Jozef Hartinger
  *
@@ -153,32 +156,56 @@ public abstract class ContextualInstanceStrategy<T> {
 
         private static final Set<Class<? extends Annotation>> CACHEABLE_SCOPES = ImmutableSet.of(RequestScoped.class, ConversationScoped.class,
                 SessionScoped.class);
-        private final ThreadLocal<T> cache = new ThreadLocal<T>();
+        private static final int UNRESOLVED = -2;
+
+        // The index in the instance table of RequestScopedCache, -1 if the bean has no slot
+        private int index = UNRESOLVED;
 
         @Override
         T getIfExists(Bean<T> bean, BeanManagerImpl manager) {
-            T cached = cache.get();
+            final int index = getIndex(bean, manager);
+            if (index < 0) {
+                return super.getIfExists(bean, manager);
+            }
+            T cached = Reflections.cast(RequestScopedCache.getInstance(index, this));
             if (cached != null) {
                 return cached;
             }
             cached = super.getIfExists(bean, manager);
-            if (cached != null && RequestScopedCache.addItemIfActive(cache)) {
-                cache.set(cached);
+            if (cached != null) {
+                RequestScopedCache.putInstanceIfActive(index, this, cached);
             }
             return cached;
         }
 
         @Override
         T get(Bean<T> bean, BeanManagerImpl manager, CreationalContext<?> ctx) {
-            T cached = cache.get();
+            final int index = getIndex(bean, manager);
+            if (index < 0) {
+                return super.get(bean, manager, ctx);
+            }
+            T cached = Reflections.cast(RequestScopedCache.getInstance(index, this));
             if (cached != null) {
                 return cached;
             }
             cached = super.get(bean, manager, ctx);
-            if (RequestScopedCache.addItemIfActive(cache)) {
-                cache.set(cached);
-            }
+            RequestScopedCache.putInstanceIfActive(index, this, cached);
             return cached;
         }
+
+        private int getIndex(Bean<T> bean, BeanManagerImpl manager) {
+            int index = this.index;
+            if (index == UNRESOLVED) {
+                BeanIdentifierSlots slots = manager.getServices().get(BeanIdentifierSlots.class);
+                if (slots == null || !slots.isBuilt()) {
+                    // Not resolved until the slots are assigned
+                    return -1;
+                }
+                // The computation is idempotent, a racy write is fine
+                index = bean instanceof CommonBean<?> ? slots.getIndex(bean.getScope(), ((CommonBean<?>) bean).getIdentifier()) : -1;
+                this.index = index;
+            }
+            return index;
+        }
     }
 }
@@ -71,7 +71,7 @@ public class InterceptorImpl<T> extends ManagedBean<T> implements Interceptor<T>
     private InterceptorClassMetadata<T> initInterceptorMetadata() {
         CdiInterceptorFactory<T> reference = new CdiInterceptorFactory<T>(this);
         return new InterceptorMetadataImpl<T>((Class<T>) getBeanClass(), reference, InterceptorMetadataUtils.buildMethodMap(getEnhancedAnnotated(), false,
-                getBeanManager()));
+                getBeanManager()), InterceptorMetadataUtils.isMethodHandleInvocationEnabled(getBeanManager()));
     }
 
     @Override
@@ -27,6 +27,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bean.ContextualInstance;
+import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.contexts.CreationalContextImpl;
 import org.jboss.weld.contexts.WeldCreationalContext;
 import org.jboss.weld.injection.CurrentInjectionPoint;
@@ -60,6 +61,10 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
     private final transient Class<?> instanceType;
     private final transient BeanManagerImpl manager;
     private final transient CurrentInjectionPoint currentInjectionPoint;
+    // The container is referenced directly so that its liveness is checked without a registry lookup
+    private final transient Container container;
+    // Not null if the strategy of the bean can be used directly
+    private final transient RIBean<T> riBean;
 
     private static final ThreadLocal<WeldCreationalContext<?>> currentCreationalContext = new ThreadLocal<WeldCreationalContext<?>>();
 
@@ -76,15 +81,18 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         this.contextId = contextId;
         this.instanceType = computeInstanceType(bean);
         BeanLogger.LOG.createdContextInstance(bean, id);
-        this.manager = Container.instance(contextId).deploymentManager();
+        this.container = Container.instance(contextId);
+        this.manager = container.deploymentManager();
         this.currentInjectionPoint = manager.getServices().get(CurrentInjectionPoint.class);
+        this.riBean = bean instanceof RIBean<?> ? cast(bean) : null;
     }
 
     public T getInstance() {
-        if (!Container.isSet(contextId)) {
+        if (container.isCleanedUp()) {
             throw ContextLogger.LOG.contextualReferenceNotValidAfterShutdown(bean, contextId);
         }
-        T existingInstance = ContextualInstance.getIfExists(bean, manager);
+        // The strategy of a Weld bean is specialized for the scope, e.g. it caches application scoped instances in a field
+        T existingInstance = riBean != null ? ContextualInstance.getIfExists(riBean, manager) : ContextualInstance.getIfExists(bean, manager);
         if (existingInstance != null) {
             return existingInstance;
         }
@@ -99,7 +107,7 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         // Ensure that there is no injection point associated
         final ThreadLocalStackReference<InjectionPoint> stack = currentInjectionPoint.push(EmptyInjectionPoint.INSTANCE);
         try {
-            return ContextualInstance.get(bean, manager, creationalContext);
+            return riBean != null ? ContextualInstance.get(riBean, manager, creationalContext) : ContextualInstance.get(bean, manager, creationalContext);
         } finally {
             stack.pop();
             if (previousCreationalContext == null) {
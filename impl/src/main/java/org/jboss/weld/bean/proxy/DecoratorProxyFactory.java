@@ -97,6 +97,17 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T> {
         interfaces.add(DecoratorProxy.class);
     }
 
+    @Override
+    protected void addSignatureElements(ProxySignature signature) {
+        super.addSignatureElements(signature);
+        if (delegateInjectionPoint instanceof ParameterInjectionPoint<?, ?>) {
+            ParameterInjectionPoint<?, ?> parameterIP = (ParameterInjectionPoint<?, ?>) delegateInjectionPoint;
+            signature.add(parameterIP.getMember().toString()).add(String.valueOf(parameterIP.getAnnotated().getPosition()));
+        } else if (delegateField != null) {
+            signature.add(delegateField.toString());
+        }
+    }
+
     @Override
     protected void addMethodsFromClass(ClassFile proxyClassType, ClassMethod staticConstructor) {
         Method initializerMethod = null;
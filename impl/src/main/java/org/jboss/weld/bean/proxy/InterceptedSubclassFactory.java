@@ -27,8 +27,11 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.security.AccessController;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.Bean;
@@ -130,6 +133,29 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T> {
         return PROXY_SUFFIX;
     }
 
+    @Override
+    protected void addSignatureElements(ProxySignature signature) {
+        super.addSignatureElements(signature);
+        signature.addUnordered(toStrings(enhancedMethodSignatures));
+        signature.addUnordered(toStrings(interceptedMethodSignatures));
+        if (interfacesToInspect != null) {
+            // The iteration order of the set is not defined
+            List<Class<?>> interfaces = new ArrayList<>(interfacesToInspect);
+            interfaces.sort(Comparator.comparing(Class::getName));
+            for (Class<?> iface : interfaces) {
+                signature.add(iface);
+            }
+        }
+    }
+
+    private static List<String> toStrings(Set<MethodSignature> methodSignatures) {
+        List<String> result = new ArrayList<>(methodSignatures.size());
+        for (MethodSignature methodSignature : methodSignatures) {
+            result.add(methodSignature.getMethodName() + Arrays.toString(methodSignature.getParameterTypes()));
+        }
+        return result;
+    }
+
     @Override
     protected void addMethods(ClassFile proxyClassType, ClassMethod staticConstructor) {
         // Add all class methods for interception
@@ -0,0 +1,301 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.logging.BeanLogger;
+
+/**
+ * A persistent archive of pre-generated proxy and subclass bytecode.
+ *
+ * <p>
+ * An archive is either a directory or a jar file. It contains the class files (stored under the usual {@code package/Name.class} paths) and a manifest
+ * ({@value #MANIFEST}) which maps the name of each proxy class to the {@link ProxySignature} hash of the proxy factory which generated it.
+ * </p>
+ *
+ * <p>
+ * If {@link ConfigurationKey#PROXY_ARCHIVE} is set, {@link ProxyFactory} first asks the archive for the bytecode of a proxy class. The bytecode is only
+ * returned if the hash computed at runtime matches the recorded one, otherwise the proxy class is generated as usual. If
+ * {@link ConfigurationKey#PROXY_ARCHIVE_EXPORT} is set, the bytecode of all proxy classes defined by the container is recorded and the archive is written when
+ * the container is shut down.
+ * </p>
+ */
+public class ProxyClassArchive implements Service {
+
+    public static final String MANIFEST = "META-INF/weld-proxy-archive.properties";
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private static final String JAR_EXTENSION = ".jar";
+
+    private final File source;
+
+    private final ZipFile sourceJar;
+
+    private final Map<String, String> manifest;
+
+    private final File target;
+
+    private final ConcurrentMap<String, Entry> exported;
+
+    private final Set<String> loaded;
+
+    /**
+     *
+     * @param configuration
+     * @return a new archive or <code>null</code> if neither {@link ConfigurationKey#PROXY_ARCHIVE} nor {@link ConfigurationKey#PROXY_ARCHIVE_EXPORT} is set
+     */
+    public static ProxyClassArchive of(WeldConfiguration configuration) {
+        String source = configuration.getStringProperty(ConfigurationKey.PROXY_ARCHIVE);
+        String target = configuration.getStringProperty(ConfigurationKey.PROXY_ARCHIVE_EXPORT);
+        if (source.isEmpty() && target.isEmpty()) {
+            return null;
+        }
+        return new ProxyClassArchive(source.isEmpty() ? null : new File(source), target.isEmpty() ? null : new File(target));
+    }
+
+    ProxyClassArchive(File source, File target) {
+        ZipFile sourceJar = null;
+        Map<String, String> manifest = Collections.emptyMap();
+        if (source != null) {
+            try {
+                if (source.isFile()) {
+                    sourceJar = new ZipFile(source);
+                }
+                manifest = readManifest(source, sourceJar);
+            } catch (IOException e) {
+                BeanLogger.LOG.unableToReadProxyClassArchive(source, e);
+            }
+        }
+        this.source = source;
+        this.sourceJar = sourceJar;
+        this.manifest = manifest;
+        this.target = target;
+        this.exported = new ConcurrentHashMap<>();
+        this.loaded = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     *
+     * @param className
+     * @param signature
+     * @return the archived bytecode of the given proxy class or <code>null</code> if the class is not archived or if the signatures do not match
+     */
+    public byte[] getBytecode(String className, String signature) {
+        String expected = manifest.get(className);
+        if (expected == null) {
+            return null;
+        }
+        if (!expected.equals(signature)) {
+            BeanLogger.LOG.proxyClassArchiveSignatureMismatch(className, source);
+            return null;
+        }
+        byte[] bytecode;
+        try {
+            bytecode = read(getPath(className));
+        } catch (IOException e) {
+            BeanLogger.LOG.unableToReadProxyClassArchive(source, e);
+            return null;
+        }
+        if (bytecode != null) {
+            BeanLogger.LOG.loadedProxyClassFromArchive(className, source);
+            loaded.add(className);
+            record(className, signature, bytecode);
+        }
+        return bytecode;
+    }
+
+    /**
+     * Records the bytecode of a proxy class defined by the container. This method is a no-op unless {@link ConfigurationKey#PROXY_ARCHIVE_EXPORT} is set.
+     *
+     * @param className
+     * @param signature
+     * @param bytecode
+     */
+    public void record(String className, String signature, byte[] bytecode) {
+        if (target != null) {
+            exported.put(className, new Entry(signature, bytecode));
+        }
+    }
+
+    /**
+     *
+     * @return the names of the proxy classes whose bytecode was loaded from the archive
+     */
+    public Set<String> getLoadedClasses() {
+        return Collections.unmodifiableSet(loaded);
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the proxy classes defined by the container are recorded, <code>false</code> otherwise
+     */
+    public boolean isExportEnabled() {
+        return target != null;
+    }
+
+    @Override
+    public void cleanup() {
+        if (sourceJar != null) {
+            try {
+                sourceJar.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (target != null && !exported.isEmpty()) {
+            try {
+                write();
+                BeanLogger.LOG.proxyClassArchiveExported(exported.size(), target);
+            } catch (IOException e) {
+                BeanLogger.LOG.unableToWriteProxyClassArchive(target, e);
+            }
+            exported.clear();
+        }
+    }
+
+    private byte[] read(String path) throws IOException {
+        if (sourceJar != null) {
+            ZipEntry entry = sourceJar.getEntry(path);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream in = sourceJar.getInputStream(entry)) {
+                return readFully(in);
+            }
+        }
+        File file = new File(source, path);
+        return file.isFile() ? Files.readAllBytes(file.toPath()) : null;
+    }
+
+    private void write() throws IOException {
+        // Sort the entries so that the result is reproducible
+        Map<String, Entry> entries = new TreeMap<>(exported);
+        StringBuilder manifest = new StringBuilder();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            manifest.append(entry.getKey()).append('=').append(entry.getValue().signature).append('\n');
+        }
+        byte[] manifestBytes = manifest.toString().getBytes(StandardCharsets.UTF_8);
+        if (target.getName().endsWith(JAR_EXTENSION)) {
+            File parent = target.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Unable to create directory " + parent);
+            }
+            try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(target))) {
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    putEntry(out, getPath(entry.getKey()), entry.getValue().bytecode);
+                }
+                putEntry(out, MANIFEST, manifestBytes);
+            }
+        } else {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                writeFile(new File(target, getPath(entry.getKey())), entry.getValue().bytecode);
+            }
+            writeFile(new File(target, MANIFEST), manifestBytes);
+        }
+    }
+
+    private static Map<String, String> readManifest(File source, ZipFile sourceJar) throws IOException {
+        InputStream in;
+        if (sourceJar != null) {
+            ZipEntry entry = sourceJar.getEntry(MANIFEST);
+            in = entry != null ? sourceJar.getInputStream(entry) : null;
+        } else {
+            File file = new File(source, MANIFEST);
+            in = file.isFile() ? Files.newInputStream(file.toPath()) : null;
+        }
+        if (in == null) {
+            throw new IOException("Manifest " + MANIFEST + " not found");
+        }
+        Map<String, String> manifest = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int idx = line.indexOf('=');
+                if (idx > 0) {
+                    manifest.put(line.substring(0, idx).trim(), line.substring(idx + 1).trim());
+                }
+            }
+        }
+        return manifest;
+    }
+
+    private static String getPath(String className) {
+        return className.replace('.', '/') + CLASS_FILE_EXTENSION;
+    }
+
+    private static void putEntry(ZipOutputStream out, String path, byte[] data) throws IOException {
+        out.putNextEntry(new ZipEntry(path));
+        out.write(data);
+        out.closeEntry();
+    }
+
+    private static void writeFile(File file, byte[] data) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Entry {
+
+        private final String signature;
+
+        private final byte[] bytecode;
+
+        private Entry(String signature, byte[] bytecode) {
+            this.signature = signature;
+            this.bytecode = bytecode;
+        }
+    }
+
+}
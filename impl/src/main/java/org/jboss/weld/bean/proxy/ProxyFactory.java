@@ -36,6 +36,7 @@ import java.security.ProtectionDomain;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -435,6 +436,17 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         // Remove special interfaces from main set (deserialization scenario)
         additionalInterfaces.removeAll(specialInterfaces);
 
+        // Try to use a pre-generated class first
+        ProxyClassArchive archive = Container.instance(contextId).services().get(ProxyClassArchive.class);
+        String signature = null;
+        if (archive != null) {
+            signature = getSignature(proxyClassName, specialInterfaces);
+            byte[] bytecode = archive.getBytecode(proxyClassName, signature);
+            if (bytecode != null) {
+                return defineProxyClass(originalClass, proxyClassName, bytecode);
+            }
+        }
+
         ClassFile proxyClassType = null;
         final int accessFlags = AccessFlag.of(AccessFlag.PUBLIC, AccessFlag.SUPER, AccessFlag.SYNTHETIC);
         if (getBeanType().isInterface()) {
@@ -463,9 +475,17 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
             proxyClassType.addInterface(specialInterface.getName());
         }
 
+        byte[] bytecode = proxyClassType.toBytecode();
+
         // Dump proxy type bytecode if necessary
-        dumpToFile(proxyClassName, proxyClassType.toBytecode());
+        dumpToFile(proxyClassName, bytecode);
+        if (archive != null) {
+            archive.record(proxyClassName, signature, bytecode);
+        }
+        return defineProxyClass(originalClass, proxyClassName, bytecode);
+    }
 
+    private Class<T> defineProxyClass(Class<?> originalClass, String proxyClassName, byte[] bytecode) {
         ProtectionDomain domain = AccessController.doPrivileged(new GetProtectionDomainAction(proxiedBeanType));
 
         if (proxiedBeanType.getPackage() == null || proxiedBeanType.equals(Object.class)) {
@@ -476,14 +496,43 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         }
         Class<T> proxyClass;
         if (classLoader == null) {
-            proxyClass = cast(ClassFileUtils.toClass(proxyClassType, originalClass, proxyServices, domain));
+            proxyClass = cast(ClassFileUtils.toClass(proxyClassName, bytecode, originalClass, proxyServices, domain));
         } else {
-            proxyClass = cast(ClassFileUtils.toClass(proxyClassType, classLoader, domain));
+            proxyClass = cast(ClassFileUtils.toClass(proxyClassName, bytecode, classLoader, domain));
         }
         BeanLogger.LOG.createdProxyClass(proxyClass, Arrays.toString(proxyClass.getInterfaces()));
         return proxyClass;
     }
 
+    private String getSignature(String proxyClassName, Set<Class<?>> specialInterfaces) {
+        ProxySignature signature = new ProxySignature();
+        signature.add(proxyClassName).add(String.valueOf(ProxyFactory.class.getPackage().getImplementationVersion()));
+        List<String> names = new ArrayList<String>();
+        for (Class<?> specialInterface : specialInterfaces) {
+            names.add(specialInterface.getName());
+        }
+        signature.addUnordered(names);
+        addSignatureElements(signature);
+        return signature.hash();
+    }
+
+    /**
+     * Adds everything the generated bytecode depends on to the given signature. Subclasses which generate the bytecode based on additional information must
+     * override this method and add the information as well.
+     *
+     * @param signature
+     * @see ProxyClassArchive
+     */
+    protected void addSignatureElements(ProxySignature signature) {
+        signature.add(getClass().getName()).add(getBeanType()).add(useConstructedFlag());
+        // The order of interfaces depends on the order of the type closure
+        List<Class<?>> interfaces = new ArrayList<Class<?>>(additionalInterfaces);
+        Collections.sort(interfaces, Comparator.comparing(Class::getName));
+        for (Class<?> additionalInterface : interfaces) {
+            signature.add(additionalInterface);
+        }
+    }
+
     private ClassFile newClassFile(String name, int accessFlags, String superclass, String... interfaces) {
         try {
             if (classLoader == null) {
@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.weld.security.GetDeclaredConstructorsAction;
+import org.jboss.weld.security.GetDeclaredFieldsAction;
+import org.jboss.weld.security.GetDeclaredMethodsAction;
+
+/**
+ * Collects everything the bytecode of a proxy class depends on and computes a hash of it. A pre-generated proxy class stored in a {@link ProxyClassArchive}
+ * may only be used if the hash computed at runtime matches the hash recorded when the class was generated.
+ *
+ * <p>
+ * The structure of a class (i.e. the name, declared constructors, methods and fields of the class and all its superclasses and interfaces) is part of the
+ * signature so that a change of a proxied type between the build and the runtime is detected.
+ * </p>
+ *
+ * @see ProxyFactory#addSignatureElements(ProxySignature)
+ */
+public final class ProxySignature {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest digest;
+
+    private final Set<Class<?>> processedClasses;
+
+    ProxySignature() {
+        try {
+            this.digest = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.processedClasses = new HashSet<>();
+    }
+
+    /**
+     *
+     * @param value
+     * @return self
+     */
+    public ProxySignature add(String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        // Separator
+        digest.update((byte) 0);
+        return this;
+    }
+
+    /**
+     *
+     * @param value
+     * @return self
+     */
+    public ProxySignature add(boolean value) {
+        return add(Boolean.toString(value));
+    }
+
+    /**
+     * Adds the name of the given class together with the structure of the class and all its superclasses and interfaces.
+     *
+     * @param clazz
+     * @return self
+     */
+    public ProxySignature add(Class<?> clazz) {
+        add(clazz.getName());
+        addStructure(clazz);
+        return this;
+    }
+
+    /**
+     * The elements are sorted first so that the iteration order of the given collection does not matter.
+     *
+     * @param values
+     * @return self
+     */
+    public ProxySignature addUnordered(Iterable<String> values) {
+        List<String> sorted = new ArrayList<>();
+        for (String value : values) {
+            sorted.add(value);
+        }
+        Collections.sort(sorted);
+        add(sorted.size());
+        for (String value : sorted) {
+            add(value);
+        }
+        return this;
+    }
+
+    /**
+     *
+     * @return the hex-encoded hash of all the elements added so far
+     */
+    String hash() {
+        byte[] bytes = digest.digest();
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private ProxySignature add(int value) {
+        return add(Integer.toString(value));
+    }
+
+    private void addStructure(Class<?> clazz) {
+        if (clazz == null || Object.class.equals(clazz) || !processedClasses.add(clazz)) {
+            return;
+        }
+        add(clazz.getName());
+        List<String> members = new ArrayList<>();
+        for (Constructor<?> constructor : AccessController.doPrivileged(new GetDeclaredConstructorsAction(clazz))) {
+            members.add(constructor.toGenericString());
+        }
+        for (Method method : AccessController.doPrivileged(new GetDeclaredMethodsAction(clazz))) {
+            members.add(method.toGenericString());
+        }
+        for (Field field : AccessController.doPrivileged(new GetDeclaredFieldsAction(clazz))) {
+            members.add(field.toGenericString());
+        }
+        add(clazz.getModifiers());
+        addUnordered(members);
+        addStructure(clazz.getSuperclass());
+        for (Class<?> iface : clazz.getInterfaces()) {
+            addStructure(iface);
+        }
+    }
+
+}
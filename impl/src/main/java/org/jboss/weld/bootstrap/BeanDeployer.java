@@ -66,6 +66,8 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
     private final GlobalEnablementBuilder globalEnablementBuilder;
     private final AnnotationApiAbstraction annotationApi;
     private final ClassFileServices classFileServices;
+    private final BootstrapSnapshot snapshot;
+    private final MissingDependenciesRegistry missingDependenciesRegistry;
 
     public BeanDeployer(BeanManagerImpl manager, ServiceRegistry services) {
         this(manager, services, BeanDeployerEnvironmentFactory.newEnvironment(manager));
@@ -78,13 +80,19 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
         this.globalEnablementBuilder = manager.getServices().get(GlobalEnablementBuilder.class);
         this.annotationApi = manager.getServices().get(AnnotationApiAbstraction.class);
         this.classFileServices = manager.getServices().get(ClassFileServices.class);
+        this.snapshot = manager.getServices().get(BootstrapSnapshot.class);
+        this.missingDependenciesRegistry = manager.getServices().get(MissingDependenciesRegistry.class);
     }
 
     /**
      * Loads a given class, creates a {@link SlimAnnotatedTypeContext} for it and stores it in {@link BeanDeployerEnvironment}.
      */
     public BeanDeployer addClass(String className, AnnotatedTypeLoader loader) {
-        addIfNotNull(loader.loadAnnotatedType(className, getManager().getId()));
+        if (addIfNotNull(loader.loadAnnotatedType(className, getManager().getId())) == null && snapshot != null
+                && missingDependenciesRegistry.getMissingDependencyForClass(className) == null) {
+            // The class may be loadable once a missing dependency is added, only structural reasons are recorded
+            snapshot.recordSkipped(getManager().getId(), className);
+        }
         return this;
     }
 
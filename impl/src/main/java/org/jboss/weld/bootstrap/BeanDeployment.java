@@ -194,6 +194,12 @@ public class BeanDeployment {
             classNames = classNames.filter(filter);
             loadedClasses = loadedClasses.stream().filter(clazz -> filter.test(clazz.getName())).collect(Collectors.toSet());
         }
+        // skip classes which did not yield an annotated type when the same deployment was started last time
+        BootstrapSnapshot snapshot = beanManager.getServices().get(BootstrapSnapshot.class);
+        if (snapshot != null) {
+            String bdaId = beanManager.getId();
+            classNames = classNames.filter(name -> !snapshot.isSkipped(bdaId, name));
+        }
         beanDeployer.addLoadedClasses(loadedClasses);
         beanDeployer.addClasses(classNames.collect(Collectors.toSet()));
     }
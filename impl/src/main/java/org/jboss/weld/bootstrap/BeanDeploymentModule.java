@@ -62,7 +62,7 @@ public final class BeanDeploymentModule {
         // create module-local observer notifier
         Iterable<ObserverMethod<?>> observers = flatMap(managers, BeanManagerImpl::getObservers);
         final TypeSafeObserverResolver resolver = new TypeSafeObserverResolver(services.get(MetaAnnotationStore.class), observers,
-                services.get(WeldConfiguration.class));
+                services.get(WeldConfiguration.class), contextId);
         this.notifier = DefaultObserverNotifierFactory.INSTANCE.create(contextId, resolver, services, false);
     }
 
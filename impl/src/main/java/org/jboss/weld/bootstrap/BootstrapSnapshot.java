@@ -0,0 +1,623 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.Decorator;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.Interceptor;
+import javax.enterprise.inject.spi.Prioritized;
+
+import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.bootstrap.enablement.ModuleEnablement;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.event.ObserverMethodImpl;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.reflection.Formats;
+
+/**
+ * A snapshot of the bootstrap results which allows to skip redundant work when the same deployment is started again.
+ *
+ * <p>
+ * The snapshot is keyed by a hash of the deployment, i.e. the bytes of all the bean classes (and their {@code package-info} classes), the content of
+ * {@code beans.xml} files, the extensions, the configuration and the Weld version. If the key of the snapshot file matches the current deployment, the
+ * following work is skipped:
+ * </p>
+ * <ul>
+ * <li>classes which did not yield an annotated type for structural reasons (e.g. annotations or vetoed classes) are not loaded again during type discovery;
+ * classes with missing dependencies are not recorded because the libraries outside of the bean archives are not part of the key,</li>
+ * <li>the validation of a bean archive is skipped if it passed before and none of the components deployed in any bean archive changed, i.e. their
+ * identifiers, types, qualifiers and injection points, and none of the library classes reachable from the components changed, see
+ * {@link #fingerprint(Collection)}.</li>
+ * </ul>
+ *
+ * <p>
+ * The snapshot file is rewritten at the end of the initialization if anything changed. If the deployment validation fails, the file is not updated.
+ * </p>
+ *
+ * @see ConfigurationKey#BOOTSTRAP_SNAPSHOT
+ */
+public class BootstrapSnapshot implements Service {
+
+    // "WELD"
+    private static final int MAGIC = 0x57454c44;
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private static final String PACKAGE_INFO = "package-info";
+
+    // These options only affect the performance of the bootstrap, some of the default values depend on the number of processors
+    private static final Set<ConfigurationKey> IGNORED_KEYS = EnumSet.of(ConfigurationKey.PRELOADER_THREAD_POOL_SIZE, ConfigurationKey.EXECUTOR_THREAD_POOL_SIZE,
+            ConfigurationKey.EXECUTOR_THREAD_POOL_DEBUG, ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE, ConfigurationKey.EXECUTOR_THREAD_POOL_KEEP_ALIVE_TIME,
+            ConfigurationKey.EXECUTOR_THREAD_POOL_METRICS, ConfigurationKey.CONCURRENT_DEPLOYMENT, ConfigurationKey.BOOTSTRAP_PROFILE,
+            ConfigurationKey.BOOTSTRAP_SNAPSHOT);
+
+    private final File file;
+
+    private volatile String key;
+
+    // Loaded from the file, only set if the key matches
+    private volatile Map<String, Archive> loaded;
+
+    // Recorded during the current bootstrap
+    private final ConcurrentMap<String, Archive> current;
+
+    /**
+     *
+     * @param configuration
+     * @return a new snapshot or <code>null</code> if {@link ConfigurationKey#BOOTSTRAP_SNAPSHOT} is not set
+     */
+    static BootstrapSnapshot of(WeldConfiguration configuration) {
+        String path = configuration.getStringProperty(ConfigurationKey.BOOTSTRAP_SNAPSHOT);
+        return path.isEmpty() ? null : new BootstrapSnapshot(new File(path));
+    }
+
+    BootstrapSnapshot(File file) {
+        this.file = file;
+        this.loaded = Collections.emptyMap();
+        this.current = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Computes the key of the current deployment and loads the snapshot file if it matches.
+     *
+     * @param beanDeployments the physical bean archives
+     * @param extensions
+     * @param configuration
+     */
+    void load(Collection<BeanDeployment> beanDeployments, Iterable<Metadata<? extends Extension>> extensions, WeldConfiguration configuration) {
+        try {
+            key = computeKey(beanDeployments, extensions, configuration);
+        } catch (IOException e) {
+            BootstrapLogger.LOG.bootstrapSnapshotCannotBeRead(file, e);
+            return;
+        }
+        if (!file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                BootstrapLogger.LOG.bootstrapSnapshotOutdated(file);
+                return;
+            }
+            Map<String, Archive> archives = new HashMap<>();
+            int archiveCount = in.readInt();
+            for (int i = 0; i < archiveCount; i++) {
+                String id = in.readUTF();
+                Archive archive = new Archive();
+                int skippedCount = in.readInt();
+                for (int j = 0; j < skippedCount; j++) {
+                    archive.skippedClasses.add(in.readUTF());
+                }
+                archive.validated = in.readBoolean() ? in.readUTF() : null;
+                archives.put(id, archive);
+            }
+            loaded = archives;
+            BootstrapLogger.LOG.bootstrapSnapshotLoaded(file);
+        } catch (IOException e) {
+            BootstrapLogger.LOG.bootstrapSnapshotCannotBeRead(file, e);
+        }
+    }
+
+    /**
+     *
+     * @param bdaId
+     * @param className
+     * @return <code>true</code> if the given class did not yield an annotated type in the previous bootstrap and need not be loaded again
+     */
+    boolean isSkipped(String bdaId, String className) {
+        Archive archive = loaded.get(bdaId);
+        if (archive != null && archive.skippedClasses.contains(className)) {
+            recordSkipped(bdaId, className);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records that the given class did not yield an annotated type. A class which failed to load, e.g. because of a missing dependency, must not be recorded.
+     *
+     * @param bdaId
+     * @param className
+     */
+    void recordSkipped(String bdaId, String className) {
+        getCurrent(bdaId).skippedClasses.add(className);
+    }
+
+    /**
+     *
+     * @param bdaId
+     * @param fingerprint
+     * @return <code>true</code> if the given bean archive passed the validation in the previous bootstrap and the fingerprint matches
+     * @see #fingerprint(Collection)
+     */
+    boolean isValidated(String bdaId, String fingerprint) {
+        Archive archive = loaded.get(bdaId);
+        return archive != null && fingerprint.equals(archive.validated);
+    }
+
+    /**
+     * Records that the given bean archive passed the validation.
+     *
+     * @param bdaId
+     * @param fingerprint
+     */
+    void recordValidated(String bdaId, String fingerprint) {
+        getCurrent(bdaId).validated = fingerprint;
+    }
+
+    /**
+     * Writes the snapshot file unless the snapshot loaded is still up-to-date.
+     */
+    void write() {
+        if (key == null || current.equals(loaded)) {
+            return;
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            BootstrapLogger.LOG.bootstrapSnapshotCannotBeWritten(file, new IOException("Unable to create directory " + parent));
+            return;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key);
+            out.writeInt(current.size());
+            for (Map.Entry<String, Archive> entry : current.entrySet()) {
+                out.writeUTF(entry.getKey());
+                Archive archive = entry.getValue();
+                out.writeInt(archive.skippedClasses.size());
+                for (String className : archive.skippedClasses) {
+                    out.writeUTF(className);
+                }
+                out.writeBoolean(archive.validated != null);
+                if (archive.validated != null) {
+                    out.writeUTF(archive.validated);
+                }
+            }
+        } catch (IOException e) {
+            BootstrapLogger.LOG.bootstrapSnapshotCannotBeWritten(file, e);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        loaded = Collections.emptyMap();
+        current.clear();
+    }
+
+    private Archive getCurrent(String bdaId) {
+        return current.computeIfAbsent(bdaId, (id) -> new Archive());
+    }
+
+    /**
+     * The fingerprint is a hash of the components of all the bean archives and of the enablement of interceptors, decorators and alternatives in each bean
+     * archive. A component is a bean, an interceptor, a decorator or an observer method, described by its identifier, types, qualifiers and injection points.
+     * The fingerprint guards against extensions which register or modify components even though the deployment did not change, e.g. through
+     * {@code ProcessInjectionPoint} or {@code ProcessBeanAttributes}. An injection point may resolve to a bean of a different bean archive, hence a single
+     * fingerprint covers all the bean archives.
+     *
+     * <p>
+     * The validation also depends on classes outside of the bean archives, e.g. a library superclass with a final method makes a bean unproxyable. Therefore,
+     * the bytes of all the classes reachable from the bean classes, the types and the injection point types of the components, including their superclasses
+     * and interfaces, are also part of the fingerprint unless the class is a bean class (already covered by the key) or loaded by the bootstrap class loader.
+     * </p>
+     *
+     * @param deployments
+     * @return the fingerprint of the components deployed in the given bean archives or <code>null</code> if a class file cannot be read
+     */
+    String fingerprint(Collection<BeanDeployment> deployments) {
+        List<BeanDeployment> sorted = new ArrayList<>(deployments);
+        sorted.sort((d1, d2) -> d1.getBeanManager().getId().compareTo(d2.getBeanManager().getId()));
+        Hash hash = new Hash();
+        Set<String> beanClasses = new HashSet<>();
+        Map<String, Class<?>> reachable = new TreeMap<>();
+        Set<Type> visited = new HashSet<>();
+        for (BeanDeployment deployment : sorted) {
+            BeanManagerImpl manager = deployment.getBeanManager();
+            beanClasses.addAll(deployment.getBeanDeploymentArchive().getBeanClasses());
+            for (Class<?> clazz : deployment.getBeanDeploymentArchive().getLoadedBeanClasses()) {
+                beanClasses.add(clazz.getName());
+            }
+            hash.add(manager.getId());
+            addEnablement(hash, manager.getEnabled());
+            List<String> components = new ArrayList<>();
+            for (Bean<?> bean : manager.getBeans()) {
+                components.add(describe(bean));
+                addReachable(bean, reachable, visited);
+            }
+            for (Decorator<?> decorator : manager.getDecorators()) {
+                components.add(describe(decorator) + sortedTypeNames(decorator.getDecoratedTypes()));
+                addReachable(decorator, reachable, visited);
+                for (Type type : decorator.getDecoratedTypes()) {
+                    addReachable(type, reachable, visited);
+                }
+            }
+            for (Interceptor<?> interceptor : manager.getInterceptors()) {
+                components.add(describe(interceptor) + sorted(interceptor.getInterceptorBindings()));
+                addReachable(interceptor, reachable, visited);
+            }
+            for (ObserverInitializationContext<?, ?> context : deployment.getBeanDeployer().getEnvironment().getObservers()) {
+                ObserverMethodImpl<?, ?> observer = context.getObserver();
+                components.add(observer.getId() + observer.getObservedType().getTypeName() + sorted(observer.getObservedQualifiers()) + observer.getReception()
+                        + observer.getTransactionPhase() + observer.isAsync() + observer.getPriority() + describe(observer.getInjectionPoints()));
+                addReachable(observer.getBeanClass(), reachable, visited);
+                addReachable(observer.getObservedType(), reachable, visited);
+                for (InjectionPoint injectionPoint : observer.getInjectionPoints()) {
+                    addReachable(injectionPoint.getType(), reachable, visited);
+                }
+            }
+            hash.addUnordered(components);
+        }
+        try {
+            for (Map.Entry<String, Class<?>> entry : reachable.entrySet()) {
+                ClassLoader classLoader = entry.getValue().getClassLoader();
+                if (classLoader == null || beanClasses.contains(entry.getKey())) {
+                    continue;
+                }
+                hash.add(entry.getKey());
+                try (InputStream in = classLoader.getResourceAsStream(entry.getKey().replace('.', '/') + CLASS_FILE_EXTENSION)) {
+                    if (in != null) {
+                        hash.add(in);
+                    } else {
+                        hash.add("-");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            BootstrapLogger.LOG.bootstrapSnapshotCannotBeRead(file, e);
+            return null;
+        }
+        return hash.get();
+    }
+
+    private static void addReachable(Bean<?> bean, Map<String, Class<?>> reachable, Set<Type> visited) {
+        addReachable(bean.getBeanClass(), reachable, visited);
+        for (Type type : bean.getTypes()) {
+            addReachable(type, reachable, visited);
+        }
+        for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+            addReachable(injectionPoint.getType(), reachable, visited);
+        }
+    }
+
+    private static void addReachable(Type type, Map<String, Class<?>> reachable, Set<Type> visited) {
+        if (type == null || !visited.add(type)) {
+            return;
+        }
+        if (type instanceof Class<?>) {
+            Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray()) {
+                addReachable(clazz.getComponentType(), reachable, visited);
+            } else if (!clazz.isPrimitive()) {
+                reachable.put(clazz.getName(), clazz);
+                addReachable(clazz.getGenericSuperclass(), reachable, visited);
+                for (Type iface : clazz.getGenericInterfaces()) {
+                    addReachable(iface, reachable, visited);
+                }
+            }
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            addReachable(parameterizedType.getRawType(), reachable, visited);
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                addReachable(argument, reachable, visited);
+            }
+        } else if (type instanceof GenericArrayType) {
+            addReachable(((GenericArrayType) type).getGenericComponentType(), reachable, visited);
+        } else if (type instanceof WildcardType) {
+            addReachable(((WildcardType) type).getUpperBounds(), reachable, visited);
+            addReachable(((WildcardType) type).getLowerBounds(), reachable, visited);
+        } else if (type instanceof TypeVariable<?>) {
+            addReachable(((TypeVariable<?>) type).getBounds(), reachable, visited);
+        }
+    }
+
+    private static void addReachable(Type[] types, Map<String, Class<?>> reachable, Set<Type> visited) {
+        for (Type type : types) {
+            addReachable(type, reachable, visited);
+        }
+    }
+
+    private static String describe(Bean<?> bean) {
+        StringBuilder builder = new StringBuilder();
+        if (bean instanceof CommonBean<?>) {
+            builder.append(((CommonBean<?>) bean).getId());
+        } else {
+            builder.append(bean.getClass().getName()).append(bean.getBeanClass().getName());
+        }
+        builder.append(sortedTypeNames(bean.getTypes())).append(sorted(bean.getQualifiers())).append(bean.getScope().getName()).append(bean.getName())
+                .append(bean.isAlternative());
+        if (bean instanceof Prioritized) {
+            builder.append(((Prioritized) bean).getPriority());
+        }
+        return builder.append(describe(bean.getInjectionPoints())).toString();
+    }
+
+    private static String describe(Collection<? extends InjectionPoint> injectionPoints) {
+        List<String> descriptions = new ArrayList<>(injectionPoints.size());
+        for (InjectionPoint injectionPoint : injectionPoints) {
+            descriptions.add(String.valueOf(injectionPoint.getMember()) + injectionPoint.getType().getTypeName() + sorted(injectionPoint.getQualifiers())
+                    + injectionPoint.isDelegate() + injectionPoint.isTransient());
+        }
+        Collections.sort(descriptions);
+        return descriptions.toString();
+    }
+
+    private static void addEnablement(Hash hash, ModuleEnablement enablement) {
+        // The order of interceptors and decorators matters
+        hash.add(enablement.getInterceptors().toString());
+        hash.add(enablement.getDecorators().toString());
+        List<String> alternatives = new ArrayList<>();
+        for (Class<?> alternative : enablement.getAllAlternatives()) {
+            alternatives.add(alternative.getName() + ":" + enablement.getAlternativePriority(alternative));
+        }
+        hash.add(sortedStrings(alternatives));
+        List<String> stereotypes = new ArrayList<>();
+        for (Class<? extends Annotation> stereotype : enablement.getAlternativeStereotypes()) {
+            stereotypes.add(stereotype.getName());
+        }
+        hash.add(sortedStrings(stereotypes));
+    }
+
+    private static String sortedTypeNames(Set<Type> types) {
+        List<String> names = new ArrayList<>(types.size());
+        for (Type type : types) {
+            names.add(type.getTypeName());
+        }
+        return sortedStrings(names);
+    }
+
+    private static String sorted(Set<? extends Annotation> annotations) {
+        List<String> values = new ArrayList<>(annotations.size());
+        for (Annotation annotation : annotations) {
+            values.add(annotation.toString());
+        }
+        return sortedStrings(values);
+    }
+
+    private static String sortedStrings(List<String> values) {
+        Collections.sort(values);
+        return values.toString();
+    }
+
+    private static String computeKey(Collection<BeanDeployment> beanDeployments, Iterable<Metadata<? extends Extension>> extensions,
+            WeldConfiguration configuration) throws IOException {
+        Hash hash = new Hash();
+        hash.add(Formats.version(null));
+        for (ConfigurationKey key : ConfigurationKey.values()) {
+            if (!IGNORED_KEYS.contains(key)) {
+                hash.add(key.get()).add(String.valueOf(configuration.getProperty(key)));
+            }
+        }
+        Map<String, Class<?>> extensionClasses = new TreeMap<>();
+        for (Metadata<? extends Extension> extension : extensions) {
+            extensionClasses.put(extension.getValue().getClass().getName(), extension.getValue().getClass());
+        }
+        for (Map.Entry<String, Class<?>> entry : extensionClasses.entrySet()) {
+            String name = entry.getKey();
+            hash.add(name);
+            addResource(hash, entry.getValue().getResource(name.substring(name.lastIndexOf('.') + 1) + CLASS_FILE_EXTENSION));
+        }
+        List<BeanDeployment> sorted = new ArrayList<>(beanDeployments);
+        sorted.sort((d1, d2) -> d1.getBeanDeploymentArchive().getId().compareTo(d2.getBeanDeploymentArchive().getId()));
+        for (BeanDeployment beanDeployment : sorted) {
+            BeanDeploymentArchive archive = beanDeployment.getBeanDeploymentArchive();
+            ResourceLoader resourceLoader = archive.getServices().get(ResourceLoader.class);
+            hash.add(archive.getId());
+            addBeansXml(hash, archive.getBeansXml());
+            List<String> classNames = new ArrayList<>(archive.getBeanClasses());
+            for (Class<?> clazz : archive.getLoadedBeanClasses()) {
+                classNames.add(clazz.getName());
+            }
+            Collections.sort(classNames);
+            Set<String> packages = new HashSet<>();
+            for (String className : classNames) {
+                hash.add(className);
+                addResource(hash, resourceLoader, className.replace('.', '/') + CLASS_FILE_EXTENSION);
+                int idx = className.lastIndexOf('.');
+                String packageName = idx > 0 ? className.substring(0, idx) : "";
+                if (packages.add(packageName)) {
+                    // A package may be vetoed
+                    addResource(hash, resourceLoader, (packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/") + PACKAGE_INFO + CLASS_FILE_EXTENSION);
+                }
+            }
+        }
+        return hash.get();
+    }
+
+    private static void addBeansXml(Hash hash, BeansXml beansXml) throws IOException {
+        if (beansXml == null) {
+            hash.add("-");
+            return;
+        }
+        hash.add(String.valueOf(beansXml.getBeanDiscoveryMode()));
+        URL url = beansXml.getUrl();
+        if (url != null) {
+            try (InputStream in = url.openStream()) {
+                hash.add(in);
+            }
+        } else {
+            addValues(hash, beansXml.getEnabledAlternativeClasses());
+            addValues(hash, beansXml.getEnabledAlternativeStereotypes());
+            addValues(hash, beansXml.getEnabledDecorators());
+            addValues(hash, beansXml.getEnabledInterceptors());
+        }
+    }
+
+    private static void addValues(Hash hash, List<Metadata<String>> values) {
+        if (values != null) {
+            for (Metadata<String> value : values) {
+                hash.add(value.getValue());
+            }
+        }
+        hash.add("|");
+    }
+
+    private static void addResource(Hash hash, ResourceLoader resourceLoader, String name) throws IOException {
+        addResource(hash, resourceLoader.getResource(name));
+    }
+
+    private static void addResource(Hash hash, URL url) throws IOException {
+        if (url == null) {
+            hash.add("-");
+            return;
+        }
+        try (InputStream in = url.openStream()) {
+            hash.add(in);
+        }
+    }
+
+    private static final class Archive {
+
+        private final Set<String> skippedClasses = ConcurrentHashMap.newKeySet();
+
+        private volatile String validated;
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Archive)) {
+                return false;
+            }
+            Archive that = (Archive) obj;
+            return skippedClasses.equals(that.skippedClasses) && (validated == null ? that.validated == null : validated.equals(that.validated));
+        }
+
+        @Override
+        public int hashCode() {
+            return skippedClasses.hashCode();
+        }
+    }
+
+    private static final class Hash {
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final MessageDigest digest;
+
+        private final byte[] buffer = new byte[8192];
+
+        private Hash() {
+            try {
+                digest = MessageDigest.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Hash add(String value) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            // Separator
+            digest.update((byte) 0);
+            return this;
+        }
+
+        private Hash add(InputStream in) throws IOException {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            digest.update((byte) 0);
+            return this;
+        }
+
+        private Hash addUnordered(List<String> values) {
+            Collections.sort(values);
+            for (String value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        private String get() {
+            byte[] bytes = digest.digest();
+            char[] chars = new char[bytes.length * 2];
+            for (int i = 0; i < bytes.length; i++) {
+                chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+            }
+            return new String(chars);
+        }
+    }
+
+}
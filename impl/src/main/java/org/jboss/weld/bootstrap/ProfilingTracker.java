@@ -0,0 +1,428 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.weld.bootstrap.events.ExtensionObserverProfile;
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * A {@link Tracker} which records the wall time, CPU time and allocated bytes of each operation and writes the profile to a file once closed. The CPU time and
+ * allocated bytes consumed by other threads during the bootstrap, e.g. the executor workers used for concurrent deployment, are recorded per thread. The
+ * number of notifications and the wall time of each extension observer method are recorded by {@link ExtensionObserverProfile}.
+ *
+ * <p>
+ * The CPU time and allocated bytes are only recorded if supported by the JVM. They are not available for an operation which does not start and end on the
+ * same thread. Missing values are written as <code>-1</code>.
+ * </p>
+ *
+ * <p>
+ * All the calls are forwarded to a delegate tracker so that bootstrap tracking via logging keeps working.
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#BOOTSTRAP_PROFILE
+ */
+final class ProfilingTracker implements Tracker {
+
+    static final String FOLDED_SUFFIX = ".folded";
+
+    static final String EXTENSIONS = "extensions";
+
+    private static final long NOT_AVAILABLE = -1;
+
+    private final Tracker delegate;
+
+    private final Path file;
+
+    private final ThreadMXBean threadBean;
+
+    private final boolean cpuTimeEnabled;
+
+    private final AllocationCounter allocationCounter;
+
+    private final Map<Long, long[]> initialThreadUsage;
+
+    private final Set<Long> trackingThreads;
+
+    private final List<Operation> operations;
+
+    private final Deque<Operation> stack;
+
+    private final ExtensionObserverProfile extensionObserverProfile;
+
+    /**
+     *
+     * @param delegate
+     * @param file
+     * @param openOperations the operations already started on the delegate, these are considered started now
+     */
+    ProfilingTracker(Tracker delegate, String file, String... openOperations) {
+        this.delegate = delegate;
+        this.file = Paths.get(file);
+        this.threadBean = ManagementFactory.getThreadMXBean();
+        this.cpuTimeEnabled = threadBean.isThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
+        this.allocationCounter = AllocationCounter.create(threadBean);
+        this.initialThreadUsage = new HashMap<>();
+        for (long threadId : threadBean.getAllThreadIds()) {
+            initialThreadUsage.put(threadId, usage(threadId));
+        }
+        this.trackingThreads = new HashSet<>();
+        this.operations = new ArrayList<>();
+        this.stack = new ArrayDeque<>();
+        this.extensionObserverProfile = new ExtensionObserverProfile();
+        for (String operation : openOperations) {
+            push(operation);
+        }
+    }
+
+    @Override
+    public Tracker start(String operation) {
+        push(operation);
+        delegate.start(operation);
+        return this;
+    }
+
+    @Override
+    public Tracker end() {
+        Operation operation = stack.pop();
+        operation.end(this);
+        delegate.end();
+        return this;
+    }
+
+    @Override
+    public void split(String info) {
+        Operation operation = stack.peek();
+        operation.splits.add(new Split(info, System.nanoTime() - operation.startWallTime));
+        delegate.split(info);
+    }
+
+    @Override
+    public void close() {
+        while (!stack.isEmpty()) {
+            stack.pop().end(this);
+        }
+        delegate.close();
+        try {
+            write();
+        } catch (IOException e) {
+            BootstrapLogger.LOG.bootstrapProfileCannotBeWritten(file, e);
+        }
+    }
+
+    ExtensionObserverProfile getExtensionObserverProfile() {
+        return extensionObserverProfile;
+    }
+
+    private void push(String name) {
+        long threadId = Thread.currentThread().getId();
+        trackingThreads.add(threadId);
+        Operation operation = new Operation(name, stack.peek(), threadId, cpuTime(threadId), allocatedBytes(threadId));
+        if (operation.parent != null) {
+            operation.parent.children.add(operation);
+        }
+        operations.add(operation);
+        stack.push(operation);
+    }
+
+    private long cpuTime(long threadId) {
+        return cpuTimeEnabled ? threadBean.getThreadCpuTime(threadId) : NOT_AVAILABLE;
+    }
+
+    private long allocatedBytes(long threadId) {
+        return allocationCounter != null ? allocationCounter.get(threadId) : NOT_AVAILABLE;
+    }
+
+    private long[] usage(long threadId) {
+        return new long[] { cpuTime(threadId), allocatedBytes(threadId) };
+    }
+
+    private static long delta(long start, long end) {
+        return start < 0 || end < 0 ? NOT_AVAILABLE : end - start;
+    }
+
+    private void write() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (file.getFileName().toString().endsWith(FOLDED_SUFFIX)) {
+                writeFolded(writer);
+            } else {
+                writeJson(writer);
+            }
+        }
+    }
+
+    /**
+     * One line per operation: the semicolon-separated operation path followed by the self wall time in microseconds. The extension observer methods follow
+     * as children of a separate {@value #EXTENSIONS} root.
+     */
+    private void writeFolded(BufferedWriter writer) throws IOException {
+        for (Operation operation : operations) {
+            long selfTime = operation.wallTime;
+            for (Operation child : operation.children) {
+                selfTime -= child.wallTime;
+            }
+            writer.write(operation.path(';').replace(' ', '_'));
+            writer.write(' ');
+            writer.write(Long.toString(Math.max(0, selfTime / 1000)));
+            writer.newLine();
+        }
+        for (ExtensionObserverProfile.Entry entry : extensionObserverProfile.getEntries()) {
+            writer.write((EXTENSIONS + ';' + entry.getObserver()).replace(' ', '_'));
+            writer.write(' ');
+            writer.write(Long.toString(entry.getWallTime() / 1000));
+            writer.newLine();
+        }
+    }
+
+    private void writeJson(BufferedWriter writer) throws IOException {
+        writer.write("{\n  \"operations\": [");
+        boolean first = true;
+        for (Operation operation : operations) {
+            if (operation.parent == null) {
+                writer.write(first ? "\n" : ",\n");
+                operation.writeJson(writer, "    ");
+                first = false;
+            }
+        }
+        writer.write("\n  ],\n  \"" + EXTENSIONS + "\": [");
+        first = true;
+        for (ExtensionObserverProfile.Entry entry : extensionObserverProfile.getEntries()) {
+            writer.write(first ? "\n    " : ",\n    ");
+            writer.write("{\"observer\": ");
+            writeString(writer, entry.getObserver());
+            writer.write(", \"notifications\": " + entry.getNotifications() + ", \"wallTime\": " + entry.getWallTime() + "}");
+            first = false;
+        }
+        writer.write("\n  ],\n  \"threads\": [");
+        first = true;
+        for (ThreadUsage usage : getOtherThreadsUsage()) {
+            writer.write(first ? "\n    " : ",\n    ");
+            writer.write("{\"name\": ");
+            writeString(writer, usage.name);
+            writer.write(", \"cpuTime\": " + usage.cpuTime + ", \"allocatedBytes\": " + usage.allocatedBytes + "}");
+            first = false;
+        }
+        writer.write("\n  ]\n}\n");
+    }
+
+    /**
+     *
+     * @return the usage of live threads other than those which performed the bootstrap operations
+     */
+    private List<ThreadUsage> getOtherThreadsUsage() {
+        List<ThreadUsage> result = new ArrayList<>();
+        long[] threadIds = threadBean.getAllThreadIds();
+        ThreadInfo[] infos = threadBean.getThreadInfo(threadIds);
+        for (int i = 0; i < threadIds.length; i++) {
+            long threadId = threadIds[i];
+            if (infos[i] == null || trackingThreads.contains(threadId)) {
+                continue;
+            }
+            long[] current = usage(threadId);
+            long[] initial = initialThreadUsage.get(threadId);
+            long cpuTime = initial != null ? delta(initial[0], current[0]) : current[0];
+            long allocatedBytes = initial != null ? delta(initial[1], current[1]) : current[1];
+            if (cpuTime > 0 || allocatedBytes > 0) {
+                result.add(new ThreadUsage(infos[i].getThreadName(), cpuTime, allocatedBytes));
+            }
+        }
+        return result;
+    }
+
+    private static void writeString(BufferedWriter writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    private static final class Operation {
+
+        private final String name;
+
+        private final Operation parent;
+
+        private final List<Operation> children;
+
+        private final List<Split> splits;
+
+        private final long threadId;
+
+        private final long startWallTime;
+
+        private final long startCpuTime;
+
+        private final long startAllocatedBytes;
+
+        private long wallTime;
+
+        private long cpuTime;
+
+        private long allocatedBytes;
+
+        Operation(String name, Operation parent, long threadId, long startCpuTime, long startAllocatedBytes) {
+            this.name = name;
+            this.parent = parent;
+            this.children = new ArrayList<>();
+            this.splits = new ArrayList<>();
+            this.threadId = threadId;
+            this.startCpuTime = startCpuTime;
+            this.startAllocatedBytes = startAllocatedBytes;
+            this.startWallTime = System.nanoTime();
+        }
+
+        void end(ProfilingTracker tracker) {
+            this.wallTime = System.nanoTime() - startWallTime;
+            long currentThreadId = Thread.currentThread().getId();
+            if (currentThreadId == threadId) {
+                this.cpuTime = delta(startCpuTime, tracker.cpuTime(currentThreadId));
+                this.allocatedBytes = delta(startAllocatedBytes, tracker.allocatedBytes(currentThreadId));
+            } else {
+                this.cpuTime = NOT_AVAILABLE;
+                this.allocatedBytes = NOT_AVAILABLE;
+            }
+        }
+
+        String path(char separator) {
+            return parent == null ? name : parent.path(separator) + separator + name;
+        }
+
+        void writeJson(BufferedWriter writer, String indent) throws IOException {
+            writer.write(indent);
+            writer.write("{\"name\": ");
+            writeString(writer, name);
+            writer.write(", \"wallTime\": " + wallTime + ", \"cpuTime\": " + cpuTime + ", \"allocatedBytes\": " + allocatedBytes);
+            if (!splits.isEmpty()) {
+                writer.write(", \"splits\": [");
+                for (int i = 0; i < splits.size(); i++) {
+                    Split split = splits.get(i);
+                    writer.write(i == 0 ? "{\"info\": " : ", {\"info\": ");
+                    writeString(writer, split.info);
+                    writer.write(", \"wallTime\": " + split.wallTime + "}");
+                }
+                writer.write("]");
+            }
+            if (!children.isEmpty()) {
+                writer.write(", \"children\": [\n");
+                for (int i = 0; i < children.size(); i++) {
+                    if (i > 0) {
+                        writer.write(",\n");
+                    }
+                    children.get(i).writeJson(writer, indent + "  ");
+                }
+                writer.write("\n" + indent + "]");
+            }
+            writer.write("}");
+        }
+
+    }
+
+    private static final class Split {
+
+        private final String info;
+
+        private final long wallTime;
+
+        Split(String info, long wallTime) {
+            this.info = info;
+            this.wallTime = wallTime;
+        }
+
+    }
+
+    private static final class ThreadUsage {
+
+        private final String name;
+
+        private final long cpuTime;
+
+        private final long allocatedBytes;
+
+        ThreadUsage(String name, long cpuTime, long allocatedBytes) {
+            this.name = name;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+    }
+
+    /**
+     * Isolates the dependency on <code>com.sun.management.ThreadMXBean</code> which is not available on every JVM.
+     */
+    private static final class AllocationCounter {
+
+        private static final String THREAD_MX_BEAN_CLASS = "com.sun.management.ThreadMXBean";
+
+        private final com.sun.management.ThreadMXBean threadBean;
+
+        private AllocationCounter(com.sun.management.ThreadMXBean threadBean) {
+            this.threadBean = threadBean;
+        }
+
+        static AllocationCounter create(ThreadMXBean threadBean) {
+            try {
+                Class<?> threadBeanClass = Class.forName(THREAD_MX_BEAN_CLASS);
+                if (!threadBeanClass.isInstance(threadBean)) {
+                    return null;
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                return null;
+            }
+            com.sun.management.ThreadMXBean extendedThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (extendedThreadBean.isThreadAllocatedMemorySupported() && extendedThreadBean.isThreadAllocatedMemoryEnabled()) {
+                return new AllocationCounter(extendedThreadBean);
+            }
+            return null;
+        }
+
+        long get(long threadId) {
+            return threadBean.getThreadAllocatedBytes(threadId);
+        }
+
+    }
+
+}
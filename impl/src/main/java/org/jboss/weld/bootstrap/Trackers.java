@@ -21,6 +21,8 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.TimeUnit;
 
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.logging.BootstrapLogger;
 
 /**
@@ -43,6 +45,18 @@ final class Trackers {
         return BootstrapLogger.TRACKER_LOG.isDebugEnabled() ? new LoggingTracker() : NOOP_INSTANCE;
     }
 
+    /**
+     *
+     * @param tracker
+     * @param configuration
+     * @param openOperations the operations already started on the given tracker
+     * @return a profiling tracker delegating to the given tracker if {@link ConfigurationKey#BOOTSTRAP_PROFILE} is set, the given tracker otherwise
+     */
+    static Tracker withProfile(Tracker tracker, WeldConfiguration configuration, String... openOperations) {
+        String file = configuration.getStringProperty(ConfigurationKey.BOOTSTRAP_PROFILE);
+        return file.isEmpty() ? tracker : new ProfilingTracker(tracker, file, openOperations);
+    }
+
     private static class NoopTracker implements Tracker {
 
         @Override
@@ -54,6 +54,7 @@ import org.jboss.weld.bean.builtin.BeanManagerBean;
 import org.jboss.weld.bean.builtin.BeanManagerImplBean;
 import org.jboss.weld.bean.builtin.ContextBean;
 import org.jboss.weld.bean.proxy.ProtectionDomainCache;
+import org.jboss.weld.bean.proxy.ProxyClassArchive;
 import org.jboss.weld.bean.proxy.ProxyInstantiator;
 import org.jboss.weld.bean.proxy.util.SimpleProxyServices;
 import org.jboss.weld.bootstrap.api.Environment;
@@ -69,6 +70,7 @@ import org.jboss.weld.bootstrap.events.AfterTypeDiscoveryImpl;
 import org.jboss.weld.bootstrap.events.BeforeBeanDiscoveryImpl;
 import org.jboss.weld.bootstrap.events.ContainerLifecycleEventPreloader;
 import org.jboss.weld.bootstrap.events.ContainerLifecycleEvents;
+import org.jboss.weld.bootstrap.events.ExtensionObserverProfile;
 import org.jboss.weld.bootstrap.events.RequiredAnnotationDiscovery;
 import org.jboss.weld.bootstrap.spi.CDI11Deployment;
 import org.jboss.weld.bootstrap.spi.Deployment;
@@ -86,6 +88,7 @@ import org.jboss.weld.context.bound.BoundLiteral;
 import org.jboss.weld.context.bound.BoundRequestContext;
 import org.jboss.weld.context.bound.BoundSessionContext;
 import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.contexts.beanstore.BeanIdentifierSlots;
 import org.jboss.weld.contexts.bound.BoundConversationContextImpl;
 import org.jboss.weld.contexts.bound.BoundRequestContextImpl;
 import org.jboss.weld.contexts.bound.BoundSessionContextImpl;
@@ -101,6 +104,7 @@ import org.jboss.weld.executor.ExecutorServicesFactory;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.ResourceInjectionFactory;
 import org.jboss.weld.injection.producer.InjectionTargetService;
+import org.jboss.weld.interceptor.proxy.InterceptionChainTemplates;
 import org.jboss.weld.logging.BootstrapLogger;
 import org.jboss.weld.logging.VersionLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -158,7 +162,7 @@ public class WeldStartup {
     private DeploymentVisitor deploymentVisitor;
     private final ServiceRegistry initialServices = new SimpleServiceRegistry();
     private String contextId;
-    private final Tracker tracker = Trackers.create();
+    private Tracker tracker = Trackers.create();
 
 
     public WeldStartup() {
@@ -184,6 +188,8 @@ public class WeldStartup {
 
         WeldConfiguration configuration = new WeldConfiguration(registry, deployment);
         registry.add(WeldConfiguration.class, configuration);
+        // The operations already started are profiled from now on
+        tracker = Trackers.withProfile(tracker, configuration, Tracker.OP_BOOTSTRAP, Tracker.OP_START_CONTAINER);
 
         String finalContextId = BeanDeployments.getFinalId(contextId,
             registry.get(WeldConfiguration.class).getStringProperty(ROLLING_UPGRADES_ID_DELIMITER));
@@ -301,6 +307,7 @@ public class WeldStartup {
             beanIdentifierIndex = new BeanIdentifierIndex();
             services.add(BeanIdentifierIndex.class, beanIdentifierIndex);
         }
+        services.add(BeanIdentifierSlots.class, new BeanIdentifierSlots());
 
         services.add(ContextualStore.class, new ContextualStoreImpl(contextId, beanIdentifierIndex));
         services.add(CurrentInjectionPoint.class, new CurrentInjectionPoint());
@@ -326,6 +333,18 @@ public class WeldStartup {
             services.add(HttpContextActivationFilter.class, AcceptingHttpContextActivationFilter.INSTANCE);
         }
         services.add(ProtectionDomainCache.class, new ProtectionDomainCache());
+        services.add(InterceptionChainTemplates.class, new InterceptionChainTemplates());
+        BootstrapSnapshot snapshot = BootstrapSnapshot.of(configuration);
+        if (snapshot != null) {
+            services.add(BootstrapSnapshot.class, snapshot);
+        }
+        if (tracker instanceof ProfilingTracker) {
+            services.add(ExtensionObserverProfile.class, ((ProfilingTracker) tracker).getExtensionObserverProfile());
+        }
+        ProxyClassArchive proxyClassArchive = ProxyClassArchive.of(configuration);
+        if (proxyClassArchive != null) {
+            services.add(ProxyClassArchive.class, proxyClassArchive);
+        }
 
         services.add(ProxyInstantiator.class, ProxyInstantiator.Factory.create(configuration));
 
@@ -407,6 +426,11 @@ public class WeldStartup {
         BeforeBeanDiscoveryImpl.fire(deploymentManager, deployment, bdaMapping, contexts);
         tracker.end();
 
+        final BootstrapSnapshot snapshot = deploymentManager.getServices().get(BootstrapSnapshot.class);
+        if (snapshot != null) {
+            snapshot.load(physicalBeanDeploymentArchives, extensions, deploymentManager.getServices().get(WeldConfiguration.class));
+        }
+
         // for each physical BDA transform its classes into AnnotatedType instances
         for (BeanDeployment beanDeployment : physicalBeanDeploymentArchives) {
             beanDeployment.createClasses();
@@ -489,12 +513,24 @@ public class WeldStartup {
     public void validateBeans() {
         BootstrapLogger.LOG.validatingBeans();
         tracker.start(Tracker.OP_VALIDATE_BEANS);
+        // Validation is also used to find out which beans are unused
+        final BootstrapSnapshot snapshot = UnusedBeans.isEnabled(deploymentManager.getServices().get(WeldConfiguration.class)) ? null
+                : deploymentManager.getServices().get(BootstrapSnapshot.class);
         try {
+            final String fingerprint = snapshot != null ? snapshot.fingerprint(getBeanDeployments()) : null;
             for (BeanDeployment beanDeployment : getBeanDeployments()) {
                 BeanManagerImpl beanManager = beanDeployment.getBeanManager();
                 beanManager.getBeanResolver().clear();
-                deployment.getServices().get(Validator.class).validateDeployment(beanManager, beanDeployment);
+                String bdaId = beanManager.getId();
+                if (fingerprint != null && snapshot.isValidated(bdaId, fingerprint)) {
+                    BootstrapLogger.LOG.validationSkipped(bdaId);
+                } else {
+                    deployment.getServices().get(Validator.class).validateDeployment(beanManager, beanDeployment);
+                }
                 beanManager.getServices().get(InjectionTargetService.class).validate();
+                if (fingerprint != null) {
+                    snapshot.recordValidated(bdaId, fingerprint);
+                }
             }
         } catch (Exception e) {
             validationFailed(e);
@@ -514,6 +550,13 @@ public class WeldStartup {
             // Build a special index of bean identifiers
             index.build(getBeansForBeanIdentifierIndex());
         }
+        // Assign slots to normal scoped beans so that bean stores may keep the instances in an array
+        deploymentManager.getServices().get(BeanIdentifierSlots.class).build(getBeansForBeanIdentifierSlots());
+
+        final BootstrapSnapshot snapshot = deploymentManager.getServices().get(BootstrapSnapshot.class);
+        if (snapshot != null) {
+            snapshot.write();
+        }
 
         // Register the managers so external requests can handle them
         // clear the TypeSafeResolvers, so data that is only used at startup
@@ -681,6 +724,22 @@ public class WeldStartup {
         return beans;
     }
 
+    /**
+     *
+     * @return the set of beans with a normal scope
+     */
+    private Set<Bean<?>> getBeansForBeanIdentifierSlots() {
+        Set<Bean<?>> beans = new HashSet<Bean<?>>();
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            for (Bean<?> bean : beanDeployment.getBeanManager().getBeans()) {
+                if (deploymentManager.isNormalScope(bean.getScope())) {
+                    beans.add(bean);
+                }
+            }
+        }
+        return beans;
+    }
+
     private void setExtensions(Iterable<Metadata<Extension>> extensions) {
         this.extensions = new ArrayList<Metadata<? extends Extension>>();
         Iterables.addAll(this.extensions, extensions);
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.event.ExtensionObserverMethodImpl;
+import org.jboss.weld.util.reflection.Formats;
+
+/**
+ * Records the number of notifications and the total wall time of each extension observer method. Only registered if the bootstrap profile is enabled.
+ *
+ * <p>
+ * This class is thread-safe, the container lifecycle events may be delivered on different threads.
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#BOOTSTRAP_PROFILE
+ */
+public class ExtensionObserverProfile implements Service {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     *
+     * @param observer
+     * @param wallTime the wall time of the notification in nanoseconds
+     */
+    public void record(ExtensionObserverMethodImpl<?, ?> observer, long wallTime) {
+        entries.computeIfAbsent(describe(observer), Entry::new).add(wallTime);
+    }
+
+    /**
+     *
+     * @return the entries sorted by the total wall time, in descending order
+     */
+    public List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>(entries.values());
+        result.sort(Collections.reverseOrder((e1, e2) -> Long.compare(e1.getWallTime(), e2.getWallTime())));
+        return result;
+    }
+
+    @Override
+    public void cleanup() {
+        entries.clear();
+    }
+
+    private static String describe(ExtensionObserverMethodImpl<?, ?> observer) {
+        return observer.getBeanClass().getName() + "." + observer.getMethod().getAnnotated().getJavaMember().getName() + "("
+                + Formats.formatType(observer.getObservedType()) + ")";
+    }
+
+    public static final class Entry {
+
+        private final String observer;
+
+        private final LongAdder notifications;
+
+        private final LongAdder wallTime;
+
+        private Entry(String observer) {
+            this.observer = observer;
+            this.notifications = new LongAdder();
+            this.wallTime = new LongAdder();
+        }
+
+        private void add(long time) {
+            notifications.increment();
+            wallTime.add(time);
+        }
+
+        /**
+         *
+         * @return the extension class, the observer method name and the simple name of the observed type
+         */
+        public String getObserver() {
+            return observer;
+        }
+
+        public long getNotifications() {
+            return notifications.sum();
+        }
+
+        /**
+         *
+         * @return the total wall time in nanoseconds
+         */
+        public long getWallTime() {
+            return wallTime.sum();
+        }
+
+    }
+
+}
@@ -71,7 +71,7 @@ public enum ConfigurationKey {
     /**
      * The number of threads to be used for bean loading and deployment.
      */
-    @Description("The number of threads to be used by the Weld thread pool. Only used by <code>FIXED</code> and <code>FIXED_TIMEOUT</code> thread pool type.")
+    @Description("The number of threads to be used by the Weld thread pool. Only used by <code>FIXED</code>, <code>FIXED_TIMEOUT</code> and <code>FORK_JOIN</code> thread pool type.")
     EXECUTOR_THREAD_POOL_SIZE("org.jboss.weld.executor.threadPoolSize", Runtime.getRuntime().availableProcessors()),
 
     /**
@@ -81,9 +81,9 @@ public enum ConfigurationKey {
     EXECUTOR_THREAD_POOL_DEBUG("org.jboss.weld.executor.threadPoolDebug", false),
 
     /**
-     * The type of the thread pool. Possible values are: FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD, COMMON.
+     * The type of the thread pool. Possible values are: FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD, COMMON, FORK_JOIN, VIRTUAL.
      */
-    @Description("The type of the Weld thread pool. Possible values are: <ul><li><code>FIXED</code> - Uses a fixed number of threads. The number of threads remains the same throughout the application.</li><li><code>FIXED_TIMEOUT</code> - Uses a fixed number of threads. A thread will be stopped after a configured period of inactivity.</li><li><code>NONE</code> - No dedicated thread pool used.</li><li><code>SINGLE_THREAD</code> - A single-threaded thread pool.</li><li><code>COMMON</code> - The default ForkJoinPool.commonPool() is used.</li>")
+    @Description("The type of the Weld thread pool. Possible values are: <ul><li><code>FIXED</code> - Uses a fixed number of threads. The number of threads remains the same throughout the application.</li><li><code>FIXED_TIMEOUT</code> - Uses a fixed number of threads. A thread will be stopped after a configured period of inactivity.</li><li><code>NONE</code> - No dedicated thread pool used.</li><li><code>SINGLE_THREAD</code> - A single-threaded thread pool.</li><li><code>COMMON</code> - The default ForkJoinPool.commonPool() is used.</li><li><code>FORK_JOIN</code> - A dedicated work-stealing ForkJoinPool in async mode.</li><li><code>VIRTUAL</code> - A new virtual thread is started for each task. Requires JDK 21 or newer, <code>FORK_JOIN</code> is used otherwise.</li>")
     EXECUTOR_THREAD_POOL_TYPE("org.jboss.weld.executor.threadPoolType", ""),
 
     /**
@@ -93,6 +93,14 @@ public enum ConfigurationKey {
     @Description("The maximum time the idle threads will wait for new tasks before terminating. Only used by <code>FIXED_TIMEOUT</code> thread pool type.")
     EXECUTOR_THREAD_POOL_KEEP_ALIVE_TIME("org.jboss.weld.executor.threadPoolKeepAliveTime", 60L),
 
+    /**
+     * If set to true, the queue depth, queue latency and execution time of the tasks submitted to the Weld thread pool are measured.
+     *
+     * @see org.jboss.weld.executor.MeasuringExecutorServices
+     */
+    @Description("If set to true, the queue depth, queue latency and execution time of the tasks submitted to the Weld thread pool are measured. The metrics are logged when the container is shut down.")
+    EXECUTOR_THREAD_POOL_METRICS("org.jboss.weld.executor.threadPoolMetrics", false),
+
     /**
      * Weld caches resolved injection points in order to resolve them faster in the future. There exists a separate type safe resolver for beans,
      * decorators, disposers, interceptors and observers. Each of them stores resolved injection points in its cache, which maximum size is bounded by a default
@@ -103,12 +111,39 @@ public enum ConfigurationKey {
     @Description("Weld caches already resolved injection points in order to resolve them faster in the future. There exists a separate type safe resolver for beans, decorators, disposers, interceptors and observers. Each of them stores resolved injection points in its cache, which maximum size is bounded by a common default value.")
     RESOLUTION_CACHE_SIZE("org.jboss.weld.resolution.cacheSize", 0x10000L),
 
+    /**
+     * By default, the cache of a type safe resolver is cleared once its maximum size is exceeded. If set to <code>true</code>, single entries are evicted
+     * instead, based on the estimated access frequency, and a computed resolution is only cached if it's more popular than the eviction candidate.
+     *
+     * @see #RESOLUTION_CACHE_SIZE
+     */
+    @Description("If set to <code>true</code>, the caches of type safe resolvers evict single entries based on the estimated access frequency instead of being cleared once the maximum size is exceeded.")
+    RESOLUTION_CACHE_FREQUENCY_BASED_EVICTION("org.jboss.weld.resolution.cacheFrequencyBasedEviction", false),
+
     /**
      * For debug purposes, it's possible to dump the generated bytecode of proxies and subclasses.
      */
     @Description("For debugging purposes, it’s possible to dump the generated bytecode of client proxies and enhanced subclasses to the filesystem. The value represents the file path where the files should be stored.")
     PROXY_DUMP("org.jboss.weld.proxy.dump", ""),
 
+    /**
+     * The path of a proxy class archive (a directory or a jar file) created with {@link #PROXY_ARCHIVE_EXPORT}. A pre-generated proxy class is only used if its
+     * signature matches, otherwise the class is generated as usual.
+     *
+     * @see org.jboss.weld.bean.proxy.ProxyClassArchive
+     */
+    @Description("The path of a proxy class archive (a directory or a jar file) created with <code>org.jboss.weld.proxy.archiveExport</code>. The pre-generated client proxies and enhanced subclasses are loaded from the archive instead of being generated, provided their signature matches.")
+    PROXY_ARCHIVE("org.jboss.weld.proxy.archive", ""),
+
+    /**
+     * If set, the bytecode of all client proxies and enhanced subclasses defined by the container is written to a proxy class archive when the container is
+     * shut down. If the path ends with <code>.jar</code> a jar file is created, otherwise the value represents a directory.
+     *
+     * @see #PROXY_ARCHIVE
+     */
+    @Description("If set, the bytecode of all client proxies and enhanced subclasses defined by the container is written to a proxy class archive when the container is shut down. If the path ends with <code>.jar</code> a jar file is created, otherwise the value represents a directory.")
+    PROXY_ARCHIVE_EXPORT("org.jboss.weld.proxy.archiveExport", ""),
+
     /**
      * Weld supports a non-standard workaround to be able to create client proxies for Java types that cannot be proxied by the container, using non-portable
      * JVM APIs.
@@ -329,6 +364,75 @@ public enum ConfigurationKey {
     @Description("If set to true then when a contextual reference for a @SessionScoped or @ConversationScoped bean is obtained from a context backed by an HTTP session the instance is set again using HttpSession.setAttribute(). This allows to trigger session replication in some application servers.")
     RESET_HTTP_SESSION_ATTR_ON_BEAN_ACCESS("org.jboss.weld.context.resetHttpSessionAttributeOnBeanAccess", false),
 
+    /**
+     * Contexts which may be accessed concurrently (e.g. application and session contexts) lock the creation of a contextual instance per bean. By default,
+     * the creation locks are looked up while holding a monitor shared by the whole bean store. If set to <code>true</code>, the creation locks are looked up
+     * and reference counted atomically per bean so that there is no global monitor.
+     */
+    @Description("If set to <code>true</code>, the creation locks of contexts which may be accessed concurrently (e.g. application and session contexts) are looked up without a monitor shared by the whole bean store.")
+    CONCURRENT_CREATION_LOCKING("org.jboss.weld.context.concurrentCreationLocking", false),
+
+    /**
+     * If set to <code>true</code>, interceptor methods are invoked through method handles created when the interceptor metadata is read instead of
+     * {@link java.lang.reflect.Method#invoke(Object, Object...)}.
+     */
+    @Description("If set to <code>true</code>, interceptor methods are invoked through method handles instead of reflection.")
+    INTERCEPTOR_METHOD_HANDLE_INVOCATION("org.jboss.weld.interceptor.methodHandleInvocation", false),
+
+    /**
+     * If set, the wall time, CPU time and allocated bytes of each bootstrap operation are recorded and the profile is written to the given file at the end
+     * of the initialization. If the file name ends with <code>.folded</code>, the profile is written in the collapsed stack format used by flame graph tools.
+     * Otherwise, the profile is written as JSON.
+     */
+    @Description("If set, a profile of the bootstrap (wall time, CPU time and allocated bytes per operation) is written to the given file at the end of the initialization.")
+    BOOTSTRAP_PROFILE("org.jboss.weld.bootstrap.profile", ""),
+
+    /**
+     * If set, the results of the bootstrap which do not change as long as the deployment does not change are persisted to the given file. When the same
+     * deployment is started again, the redundant work is skipped.
+     *
+     * @see org.jboss.weld.bootstrap.BootstrapSnapshot
+     */
+    @Description("If set, the results of the bootstrap which do not change as long as the deployment does not change (e.g. the validation outcome) are persisted to the given file. When the same deployment is started again, the redundant work is skipped.")
+    BOOTSTRAP_SNAPSHOT("org.jboss.weld.bootstrap.snapshot", ""),
+
+    /**
+     * If set to <code>true</code>, observer methods are invoked through classes generated by {@link java.lang.invoke.LambdaMetafactory} instead of
+     * reflection where possible. Moreover, observer method parameters resolving to a normal-scoped bean are bound to the client proxy so that they do not need
+     * to be resolved for each notification.
+     */
+    @Description("If set to <code>true</code>, observer methods are invoked directly instead of reflection where possible and parameters resolving to normal-scoped beans are resolved only once.")
+    OBSERVER_DIRECT_INVOCATION("org.jboss.weld.event.observerDirectInvocation", false),
+
+    /**
+     * The maximum number of in-flight asynchronous notifications per observer notifier. A notification is in-flight from the moment it's scheduled until its
+     * completion stage completes. The default value <code>0</code> means that the number of in-flight notifications is not bounded.
+     *
+     * @see org.jboss.weld.event.BoundedNotificationOptions
+     */
+    @Description("The maximum number of in-flight asynchronous notifications. The default value <code>0</code> means that the number of in-flight notifications is not bounded.")
+    ASYNC_NOTIFICATION_MAX_IN_FLIGHT("org.jboss.weld.event.asyncNotificationMaxInFlight", 0),
+
+    /**
+     * The policy applied if the maximum number of in-flight asynchronous notifications is reached. Possible values are: BLOCK, FAIL, DROP_OLDEST.
+     *
+     * @see #ASYNC_NOTIFICATION_MAX_IN_FLIGHT
+     * @see org.jboss.weld.event.BoundedNotificationOptions.OverflowPolicy
+     */
+    @Description("The policy applied if the maximum number of in-flight asynchronous notifications is reached. Possible values are: <ul><li><code>BLOCK</code> - The caller is blocked until a notification completes.</li><li><code>FAIL</code> - The returned completion stage fails immediately.</li><li><code>DROP_OLDEST</code> - The oldest notification which has not started yet is dropped.</li></ul>")
+    ASYNC_NOTIFICATION_OVERFLOW_POLICY("org.jboss.weld.event.asyncNotificationOverflowPolicy", "BLOCK"),
+
+    /**
+     * If set to <code>true</code>, a class injecting fields, invoking initializer methods and calling the bean constructor directly is generated for each
+     * managed bean class instead of using {@link java.lang.reflect.Field#set(Object, Object)}, {@link java.lang.reflect.Method#invoke(Object, Object...)} and
+     * {@link java.lang.reflect.Constructor#newInstance(Object...)}. Members which may not be accessed from the generated class (e.g. private fields) are still
+     * accessed through reflection.
+     *
+     * @see org.jboss.weld.injection.GeneratedInjector
+     */
+    @Description("If set to <code>true</code>, fields are injected, initializer methods invoked and bean constructors called directly by a generated class instead of reflection where access rules allow.")
+    INJECTION_GENERATED_INJECTORS("org.jboss.weld.injection.generatedInjectors", false),
+
     ;
 
     /**
@@ -168,6 +168,15 @@ public class WeldConfiguration implements Service {
         return getProperty(key, Integer.class);
     }
 
+    /**
+     *
+     * @param key
+     * @return the property for the given key, or the default value if the property is not set
+     */
+    public Object getProperty(ConfigurationKey key) {
+        return getProperty(key, key.getDefaultValue().getClass());
+    }
+
     /**
      *
      * @return the path or <code>null</code> if the generated bytecode should not be dumped
@@ -40,6 +40,7 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
     public AbstractBoundContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.beanStore = new ThreadLocal<BoundBeanStore>();
+        registerThreadBoundValue(beanStore);
     }
 
     /**
@@ -24,6 +24,8 @@ import javax.enterprise.context.spi.CreationalContext;
 import org.jboss.weld.Container;
 import org.jboss.weld.bean.WrappedContextual;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.contexts.beanstore.BeanStore;
 import org.jboss.weld.contexts.beanstore.LockedBean;
@@ -47,6 +49,8 @@ public abstract class AbstractContext implements AlterableContext {
 
     private final boolean multithreaded;
 
+    private final boolean concurrentCreationLocking;
+
     private final ServiceRegistry serviceRegistry;
 
     /**
@@ -56,6 +60,8 @@ public abstract class AbstractContext implements AlterableContext {
     public AbstractContext(String contextId, boolean multithreaded) {
         this.multithreaded = multithreaded;
         this.serviceRegistry = Container.instance(contextId).services();
+        this.concurrentCreationLocking = multithreaded
+                && serviceRegistry.getOptional(WeldConfiguration.class).map(c -> c.getBooleanProperty(ConfigurationKey.CONCURRENT_CREATION_LOCKING)).orElse(false);
     }
 
     /**
@@ -199,4 +205,13 @@ public abstract class AbstractContext implements AlterableContext {
         return multithreaded;
     }
 
+    /**
+     *
+     * @return <code>true</code> if the bean store of this context should look up creation locks without a global monitor
+     * @see ConfigurationKey#CONCURRENT_CREATION_LOCKING
+     */
+    protected boolean isConcurrentCreationLocking() {
+        return concurrentCreationLocking;
+    }
+
 }
@@ -106,6 +106,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         this.defaultTimeout = new AtomicLong(configuration.getLongProperty(ConfigurationKey.CONVERSATION_TIMEOUT));
         this.concurrentAccessTimeout = new AtomicLong(configuration.getLongProperty(ConfigurationKey.CONVERSATION_CONCURRENT_ACCESS_TIMEOUT));
         this.associated = new ThreadLocal<R>();
+        registerThreadBoundValue(associated);
         this.manager = Container.instance(contextId).deploymentManager();
         this.beanIdentifierIndex = services.get(BeanIdentifierIndex.class);
     }
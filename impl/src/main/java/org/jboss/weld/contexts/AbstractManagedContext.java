@@ -16,6 +16,9 @@
  */
 package org.jboss.weld.contexts;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.jboss.weld.context.ManagedContext;
 import org.jboss.weld.logging.ContextLogger;
 
@@ -27,9 +30,92 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     private final ThreadLocal<ManagedState> state;
 
+    private final List<ThreadLocal<?>> threadBoundValues;
+
     public AbstractManagedContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.state = new ThreadLocal<ManagedState>();
+        this.threadBoundValues = new ArrayList<ThreadLocal<?>>(2);
+    }
+
+    /**
+     * Registers a thread local which holds a part of the state of this context bound to a thread, e.g. the bean store. The values of the registered thread
+     * locals are captured and restored together with the managed state, see {@link #captureThreadState()}. Subclasses are expected to register their thread
+     * locals in the constructor.
+     *
+     * @param threadLocal the thread local
+     */
+    protected void registerThreadBoundValue(ThreadLocal<?> threadLocal) {
+        threadBoundValues.add(threadLocal);
+    }
+
+    /**
+     * Captures the state of this context bound to the current thread. Only references are captured, i.e. the cost does not depend on the number of
+     * contextual instances.
+     *
+     * @return the state bound to the current thread
+     * @see #restoreThreadState(ThreadState)
+     */
+    public ThreadState captureThreadState() {
+        ManagedState managedState = state.get();
+        Object[] values = new Object[threadBoundValues.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = threadBoundValues.get(i).get();
+        }
+        return new ThreadState(this, managedState != null ? managedState.copy() : null, values);
+    }
+
+    /**
+     * Binds the given state to the current thread. The contextual instances are shared with the thread the state was captured on. The context is not
+     * activated in the sense of {@link #activate()}, i.e. the underlying storage is not attached again, and it must not be deactivated on the current thread.
+     * Instead, the returned state should be restored once the work is done.
+     *
+     * @param threadState the state to bind or <code>null</code> to unbind the current state
+     * @return the state previously bound to the current thread
+     */
+    public ThreadState restoreThreadState(ThreadState threadState) {
+        if (threadState != null && threadState.context != this) {
+            throw new IllegalArgumentException("The state was not captured by " + this);
+        }
+        ThreadState previous = captureThreadState();
+        if (threadState == null || threadState.managedState == null) {
+            state.remove();
+        } else {
+            state.set(threadState.managedState.copy());
+        }
+        for (int i = 0; i < threadBoundValues.size(); i++) {
+            set(threadBoundValues.get(i), threadState != null ? threadState.values[i] : null);
+        }
+        return previous;
+    }
+
+    /**
+     *
+     * @param threadState the state
+     * @return <code>true</code> if the given state is currently bound to the current thread, <code>false</code> otherwise
+     */
+    public boolean isThreadStateBound(ThreadState threadState) {
+        if (threadState == null) {
+            return !isActive();
+        }
+        if (threadState.context != this || threadState.isActive() != isActive()) {
+            return false;
+        }
+        for (int i = 0; i < threadBoundValues.size(); i++) {
+            if (threadBoundValues.get(i).get() != threadState.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(ThreadLocal<?> threadLocal, Object value) {
+        if (value == null) {
+            threadLocal.remove();
+        } else {
+            ((ThreadLocal<Object>) threadLocal).set(value);
+        }
     }
 
     public boolean isActive() {
@@ -79,6 +165,39 @@ public abstract class AbstractManagedContext extends AbstractContext implements
         return managedState;
     }
 
+    /**
+     * The state of a managed context bound to a thread. Instances are immutable.
+     *
+     * @see AbstractManagedContext#captureThreadState()
+     */
+    public static final class ThreadState {
+
+        private final AbstractManagedContext context;
+
+        private final ManagedState managedState;
+
+        private final Object[] values;
+
+        private ThreadState(AbstractManagedContext context, ManagedState managedState, Object[] values) {
+            this.context = context;
+            this.managedState = managedState;
+            this.values = values;
+        }
+
+        public AbstractManagedContext getContext() {
+            return context;
+        }
+
+        /**
+         *
+         * @return <code>true</code> if the context was active when the state was captured, <code>false</code> otherwise
+         */
+        public boolean isActive() {
+            return managedState != null && managedState.isActive();
+        }
+
+    }
+
     private static class ManagedState {
 
         private boolean isActive;
@@ -90,6 +209,13 @@ public abstract class AbstractManagedContext extends AbstractContext implements
             isValid = true;
         }
 
+        ManagedState copy() {
+            ManagedState copy = new ManagedState();
+            copy.isActive = isActive;
+            copy.isValid = isValid;
+            return copy;
+        }
+
         boolean isActive() {
             return isActive;
         }
@@ -30,6 +30,7 @@ public abstract class AbstractUnboundContext extends AbstractManagedContext {
     public AbstractUnboundContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.beanStore = new ThreadLocal<BeanStore>();
+        registerThreadBoundValue(beanStore);
     }
 
     /**
@@ -46,7 +46,7 @@ import org.jboss.weld.serialization.spi.BeanIdentifier;
  */
 public abstract class AttributeBeanStore implements BoundBeanStore {
 
-    private final HashMapBeanStore beanStore;
+    private final BeanStore beanStore;
     private final NamingScheme namingScheme;
 
     private final boolean attributeLazyFetchingEnabled;
@@ -59,8 +59,18 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
      * @param attributeLazyFetchingEnabled
      */
     public AttributeBeanStore(NamingScheme namingScheme, boolean attributeLazyFetchingEnabled) {
+        this(namingScheme, attributeLazyFetchingEnabled, new HashMapBeanStore());
+    }
+
+    /**
+     *
+     * @param namingScheme
+     * @param attributeLazyFetchingEnabled
+     * @param localBeanStore the local bean store which holds the instances in addition to the backing store, must be empty
+     */
+    protected AttributeBeanStore(NamingScheme namingScheme, boolean attributeLazyFetchingEnabled, BeanStore localBeanStore) {
         this.namingScheme = namingScheme;
-        this.beanStore = new HashMapBeanStore();
+        this.beanStore = localBeanStore;
         this.attributeLazyFetchingEnabled = attributeLazyFetchingEnabled;
     }
 
@@ -93,7 +103,7 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
         if (!attached) {
             attached = true;
             if (isLocalBeanStoreSyncNeeded()) {
-                if (!beanStore.delegate().isEmpty()) {
+                if (beanStore.iterator().hasNext()) {
                     // The local bean store is authoritative, so copy everything to the backing store
                     for (BeanIdentifier id : beanStore) {
                         ContextualInstance<?> instance = beanStore.get(id);
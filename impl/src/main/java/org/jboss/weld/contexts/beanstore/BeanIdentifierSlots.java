@@ -0,0 +1,200 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.beanstore;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bean.AbstractBeanIdentifier;
+import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.exceptions.IllegalStateException;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.util.collections.ImmutableMap;
+
+/**
+ * A per deployment service which assigns slots to the identifiers of beans after bootstrap. A slot is a dense number which is unique within the scope of the
+ * bean. Slots allow a bean store to keep contextual instances in an array instead of a hash map, see {@link SlottedBeanStore}.
+ *
+ * <p>
+ * Unlike {@link BeanIdentifierIndex}, this service is not used to serialize identifiers and the slots may differ between deployments and cluster nodes. Only
+ * {@link CommonBean}s whose identifiers extend {@link AbstractBeanIdentifier} are taken into account.
+ * </p>
+ */
+public class BeanIdentifierSlots implements Service {
+
+    private static final BeanIdentifier[] EMPTY = new BeanIdentifier[0];
+
+    private volatile Map<Class<? extends Annotation>, BeanIdentifier[]> identifiers;
+
+    // Published by the write of identifiers
+    private Map<Class<? extends Annotation>, Integer> offsets;
+
+    // Published by the write of identifiers
+    private Map<Class<? extends Annotation>, Map<BeanIdentifier, Integer>> slotsByIdentifier;
+
+    /**
+     * Assign slots to the identifiers of the given beans.
+     *
+     * @param beans
+     * @throws IllegalStateException If the slots are already assigned
+     */
+    public void build(Iterable<Bean<?>> beans) {
+        if (identifiers != null) {
+            throw new IllegalStateException("BeanIdentifierSlots is already built!");
+        }
+        Map<Class<? extends Annotation>, List<BeanIdentifier>> scopes = new HashMap<>();
+        for (Bean<?> bean : beans) {
+            if (bean instanceof CommonBean<?>) {
+                BeanIdentifier identifier = ((CommonBean<?>) bean).getIdentifier();
+                if (identifier instanceof AbstractBeanIdentifier && ((AbstractBeanIdentifier) identifier).getSlot() < 0) {
+                    List<BeanIdentifier> slots = scopes.computeIfAbsent(bean.getScope(), (scope) -> new ArrayList<>());
+                    ((AbstractBeanIdentifier) identifier).setSlot(slots.size());
+                    slots.add(identifier);
+                }
+            }
+        }
+        ImmutableMap.Builder<Class<? extends Annotation>, BeanIdentifier[]> builder = ImmutableMap.builder();
+        ImmutableMap.Builder<Class<? extends Annotation>, Integer> offsetsBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<Class<? extends Annotation>, Map<BeanIdentifier, Integer>> slotsBuilder = ImmutableMap.builder();
+        int offset = 0;
+        for (Entry<Class<? extends Annotation>, List<BeanIdentifier>> entry : scopes.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue().toArray(EMPTY));
+            offsetsBuilder.put(entry.getKey(), offset);
+            ImmutableMap.Builder<BeanIdentifier, Integer> scopeSlotsBuilder = ImmutableMap.builder();
+            for (BeanIdentifier identifier : entry.getValue()) {
+                scopeSlotsBuilder.put(identifier, ((AbstractBeanIdentifier) identifier).getSlot());
+            }
+            slotsBuilder.put(entry.getKey(), scopeSlotsBuilder.build());
+            offset += entry.getValue().size();
+        }
+        this.offsets = offsetsBuilder.build();
+        this.slotsByIdentifier = slotsBuilder.build();
+        // Publish the slots assigned above
+        this.identifiers = builder.build();
+    }
+
+    /**
+     *
+     * @return <code>true</code> if slots are already assigned, <code>false</code> otherwise
+     */
+    public boolean isBuilt() {
+        return identifiers != null;
+    }
+
+    /**
+     * The returned array must not be modified.
+     *
+     * @param scope
+     * @return the identifiers of the beans with the given scope, ordered by slot, or an empty array if slots are not assigned yet
+     */
+    public BeanIdentifier[] getIdentifiers(Class<? extends Annotation> scope) {
+        Map<Class<? extends Annotation>, BeanIdentifier[]> identifiers = this.identifiers;
+        if (identifiers == null) {
+            return EMPTY;
+        }
+        BeanIdentifier[] result = identifiers.get(scope);
+        return result != null ? result : EMPTY;
+    }
+
+    /**
+     * The returned map is used to find the slot of an identifier which is equal to an identifier with a slot but has no slot itself, e.g. a
+     * {@code StringBeanIdentifier} created from the name of a session attribute, see {@link #getSlot(BeanIdentifier, BeanIdentifier[], Map)}.
+     *
+     * @param scope
+     * @return the slots of the identifiers of the beans with the given scope, or an empty map if slots are not assigned yet
+     */
+    public Map<BeanIdentifier, Integer> getSlots(Class<? extends Annotation> scope) {
+        if (identifiers == null) {
+            return Collections.emptyMap();
+        }
+        Map<BeanIdentifier, Integer> result = slotsByIdentifier.get(scope);
+        return result != null ? result : Collections.emptyMap();
+    }
+
+    /**
+     * Unlike a slot, an index is unique among the identifiers of all scopes. The indexes are dense, i.e. they range from <code>0</code> to the number of
+     * identifiers with a slot.
+     *
+     * @param scope
+     * @param identifier
+     * @return the index of the given identifier of a bean with the given scope, or <code>-1</code> if the identifier has no slot
+     */
+    public int getIndex(Class<? extends Annotation> scope, BeanIdentifier identifier) {
+        Map<Class<? extends Annotation>, BeanIdentifier[]> identifiers = this.identifiers;
+        if (identifiers == null) {
+            return -1;
+        }
+        BeanIdentifier[] scopeIdentifiers = identifiers.get(scope);
+        if (scopeIdentifiers == null) {
+            return -1;
+        }
+        int slot = getSlot(identifier, scopeIdentifiers, slotsByIdentifier.get(scope));
+        return slot < 0 ? -1 : offsets.get(scope) + slot;
+    }
+
+    /**
+     *
+     * @param identifier
+     * @param identifiers the identifiers of a scope as returned from {@link #getIdentifiers(Class)}
+     * @return the slot of the given identifier within the given identifiers, or <code>-1</code> if the identifier has no such slot
+     */
+    static int getSlot(BeanIdentifier identifier, BeanIdentifier[] identifiers) {
+        if (identifier instanceof AbstractBeanIdentifier) {
+            int slot = ((AbstractBeanIdentifier) identifier).getSlot();
+            // The identity check also rejects identifiers with a slot of a different scope
+            if (slot >= 0 && slot < identifiers.length && identifiers[slot] == identifier) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Unlike {@link #getSlot(BeanIdentifier, BeanIdentifier[])}, this method also finds the slot of an identifier which has no slot itself but is equal to an
+     * identifier with a slot. Identifiers of beans without a slot are looked up in the given map.
+     *
+     * @param identifier
+     * @param identifiers the identifiers of a scope as returned from {@link #getIdentifiers(Class)}
+     * @param slots the slots of a scope as returned from {@link #getSlots(Class)}
+     * @return the slot of the given identifier within the given identifiers, or <code>-1</code> if there is no equal identifier with a slot
+     */
+    static int getSlot(BeanIdentifier identifier, BeanIdentifier[] identifiers, Map<BeanIdentifier, Integer> slots) {
+        int slot = getSlot(identifier, identifiers);
+        if (slot < 0 && identifiers.length > 0) {
+            Integer value = slots.get(identifier);
+            if (value != null) {
+                return value;
+            }
+        }
+        return slot;
+    }
+
+    @Override
+    public void cleanup() {
+        identifiers = Collections.emptyMap();
+    }
+
+}
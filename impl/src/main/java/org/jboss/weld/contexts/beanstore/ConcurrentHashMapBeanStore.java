@@ -35,12 +35,23 @@ public class ConcurrentHashMapBeanStore extends AbstractMapBackedBeanStore imple
     // The backing map
     protected Map<BeanIdentifier, Object> delegate;
     private transient volatile LockStore lockStore;
+    private final boolean concurrentLocking;
 
     /**
      * Constructor
      */
     public ConcurrentHashMapBeanStore() {
+        this(false);
+    }
+
+    /**
+     *
+     * @param concurrentLocking
+     * @see LockStore#LockStore(boolean)
+     */
+    public ConcurrentHashMapBeanStore(boolean concurrentLocking) {
         delegate = new ConcurrentHashMap<BeanIdentifier, Object>();
+        this.concurrentLocking = concurrentLocking;
     }
 
     /**
@@ -64,7 +75,7 @@ public class ConcurrentHashMapBeanStore extends AbstractMapBackedBeanStore imple
             synchronized (this) {
                 lockStore = this.lockStore;
                 if(lockStore == null) {
-                    this.lockStore = lockStore = new LockStore();
+                    this.lockStore = lockStore = new LockStore(concurrentLocking);
                 }
             }
         }
@@ -20,24 +20,57 @@ package org.jboss.weld.contexts.beanstore;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 /**
  * Helper class for bean store creation locking.
+ * <p>
+ * By default, the reference counted locks are looked up while holding the monitor of the whole store. If concurrent locking is enabled, the locks are
+ * kept in a {@link ConcurrentHashMap} and reference counted atomically per bean identifier so that no global monitor is involved.
+ * </p>
  *
  * @author Stuart Douglas
  * @author Marko Luksa
+ * @see org.jboss.weld.config.ConfigurationKey#CONCURRENT_CREATION_LOCKING
  */
 public class LockStore implements Serializable {
 
     private static final long serialVersionUID = -698649566870070414L;
 
+    private final boolean concurrent;
+
     @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
-    private transient volatile Map<BeanIdentifier, ReferenceCountedLock> locks = new HashMap<BeanIdentifier, ReferenceCountedLock>();
+    private transient volatile Map<BeanIdentifier, ReferenceCountedLock> locks;
+
+    public LockStore() {
+        this(false);
+    }
+
+    /**
+     *
+     * @param concurrent if set to <code>true</code> the locks are reference counted without a global monitor
+     */
+    public LockStore(boolean concurrent) {
+        this.concurrent = concurrent;
+        this.locks = newLocks();
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the locks are reference counted without a global monitor
+     */
+    public boolean isConcurrent() {
+        return concurrent;
+    }
 
     public LockedBean lock(BeanIdentifier id) {
+        if (concurrent) {
+            return lockConcurrently(id);
+        }
         ReferenceCountedLock refLock;
         synchronized (this) {
             if(locks == null) {
@@ -55,6 +88,37 @@ public class LockStore implements Serializable {
         return refLock;
     }
 
+    private LockedBean lockConcurrently(BeanIdentifier id) {
+        // The reference count is only modified within the atomic remapping functions
+        ReferenceCountedLock refLock = getConcurrentLocks().compute(id, (key, existing) -> {
+            if (existing == null) {
+                return new ReferenceCountedLock(key);
+            }
+            existing.count++;
+            return existing;
+        });
+        refLock.lock.lock();
+        return refLock;
+    }
+
+    private ConcurrentMap<BeanIdentifier, ReferenceCountedLock> getConcurrentLocks() {
+        Map<BeanIdentifier, ReferenceCountedLock> locks = this.locks;
+        if (locks == null) {
+            // The store was deserialized
+            synchronized (this) {
+                locks = this.locks;
+                if (locks == null) {
+                    this.locks = locks = newLocks();
+                }
+            }
+        }
+        return (ConcurrentMap<BeanIdentifier, ReferenceCountedLock>) locks;
+    }
+
+    private Map<BeanIdentifier, ReferenceCountedLock> newLocks() {
+        return concurrent ? new ConcurrentHashMap<BeanIdentifier, ReferenceCountedLock>() : new HashMap<BeanIdentifier, ReferenceCountedLock>();
+    }
+
     private class ReferenceCountedLock implements LockedBean {
         private final BeanIdentifier key;
         int count = 1;
@@ -65,6 +129,11 @@ public class LockStore implements Serializable {
         }
 
         public void unlock() {
+            if (concurrent) {
+                lock.unlock();
+                getConcurrentLocks().computeIfPresent(key, (k, refLock) -> --refLock.count == 0 ? null : refLock);
+                return;
+            }
             synchronized (LockStore.this) {
                 lock.unlock();
                 --count;
@@ -15,14 +15,25 @@ public class MapBeanStore extends AttributeBeanStore {
      */
     private final boolean safeIteration;
 
+    protected final boolean concurrentLocking;
+
     public MapBeanStore(NamingScheme namingScheme, Map<String, Object> delegate) {
         this(namingScheme, delegate, false);
     }
 
     public MapBeanStore(NamingScheme namingScheme, Map<String, Object> delegate, boolean safeIteration) {
-        super(namingScheme, false);
+        this(namingScheme, delegate, safeIteration, false);
+    }
+
+    public MapBeanStore(NamingScheme namingScheme, Map<String, Object> delegate, boolean safeIteration, boolean concurrentLocking) {
+        this(namingScheme, delegate, safeIteration, concurrentLocking, new HashMapBeanStore());
+    }
+
+    public MapBeanStore(NamingScheme namingScheme, Map<String, Object> delegate, boolean safeIteration, boolean concurrentLocking, BeanStore localBeanStore) {
+        super(namingScheme, false, localBeanStore);
         this.delegate = delegate;
         this.safeIteration = safeIteration;
+        this.concurrentLocking = concurrentLocking;
     }
 
     @Override
@@ -56,7 +67,7 @@ public class MapBeanStore extends AttributeBeanStore {
             synchronized (this) {
                 lockStore = this.lockStore;
                 if(lockStore == null) {
-                    this.lockStore = lockStore = new LockStore();
+                    this.lockStore = lockStore = new LockStore(concurrentLocking);
                 }
             }
         }
@@ -37,7 +37,11 @@ public class SessionMapBeanStore extends MapBeanStore {
     private static final String LOCK_STORE_KEY = "org.jboss.weld.context.beanstore.LockStore";
 
     public SessionMapBeanStore(NamingScheme namingScheme, Map<String, Object> delegate) {
-        super(namingScheme, delegate, delegate instanceof ConcurrentHashMap);
+        this(namingScheme, delegate, false);
+    }
+
+    public SessionMapBeanStore(NamingScheme namingScheme, Map<String, Object> delegate, boolean concurrentLocking) {
+        super(namingScheme, delegate, delegate instanceof ConcurrentHashMap, concurrentLocking);
     }
 
     @Override
@@ -59,7 +63,7 @@ public class SessionMapBeanStore extends MapBeanStore {
                 synchronized (SessionMapBeanStore.class) {
                     lockStore = (LockStore) getAttribute(LOCK_STORE_KEY);
                     if (lockStore == null) {
-                        lockStore = new LockStore();
+                        lockStore = new LockStore(concurrentLocking);
                         setAttribute(LOCK_STORE_KEY, lockStore);
                     }
                 }
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.beanstore;
+
+import static org.jboss.weld.util.reflection.Reflections.cast;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * A bean store which keeps the instances of beans with an assigned slot in an array indexed by the slot. Instances of other beans are kept in a hash map.
+ * Both the array and the map are only allocated when needed.
+ *
+ * <p>
+ * The set of slots is determined when the bean store is created, i.e. if a bean store is created before {@link BeanIdentifierSlots} is built, all
+ * instances are kept in the map.
+ * </p>
+ *
+ * <p>
+ * An identifier which has no slot itself but is equal to an identifier with a slot, e.g. a {@code StringBeanIdentifier} restored from the name of an
+ * attribute, is mapped to the slot of the equal identifier.
+ * </p>
+ *
+ * <p>
+ * This construct is not thread safe.
+ * </p>
+ *
+ * @see BeanIdentifierSlots
+ */
+public class SlottedBeanStore implements BeanStore {
+
+    private static final BeanIdentifier[] NO_SLOTS = new BeanIdentifier[0];
+
+    // Shared and never modified
+    private final BeanIdentifier[] identifiers;
+
+    // Shared and never modified
+    private final Map<BeanIdentifier, Integer> slotsByIdentifier;
+
+    private ContextualInstance<?>[] instances;
+
+    private Map<BeanIdentifier, ContextualInstance<?>> overflow;
+
+    /**
+     * Creates a bean store which keeps all instances in a hash map.
+     */
+    public SlottedBeanStore() {
+        this.identifiers = NO_SLOTS;
+        this.slotsByIdentifier = Collections.emptyMap();
+    }
+
+    /**
+     *
+     * @param slots may be <code>null</code>
+     * @param scope
+     */
+    public SlottedBeanStore(BeanIdentifierSlots slots, Class<? extends Annotation> scope) {
+        this.identifiers = slots != null ? slots.getIdentifiers(scope) : NO_SLOTS;
+        this.slotsByIdentifier = slots != null ? slots.getSlots(scope) : Collections.<BeanIdentifier, Integer> emptyMap();
+    }
+
+    @Override
+    public <T> ContextualInstance<T> get(BeanIdentifier id) {
+        int slot = BeanIdentifierSlots.getSlot(id, identifiers, slotsByIdentifier);
+        if (slot >= 0) {
+            return instances != null ? cast(instances[slot]) : null;
+        }
+        return overflow != null ? cast(overflow.get(id)) : null;
+    }
+
+    @Override
+    public boolean contains(BeanIdentifier id) {
+        return get(id) != null;
+    }
+
+    @Override
+    public void clear() {
+        instances = null;
+        overflow = null;
+    }
+
+    @Override
+    public <T> void put(BeanIdentifier id, ContextualInstance<T> contextualInstance) {
+        int slot = BeanIdentifierSlots.getSlot(id, identifiers, slotsByIdentifier);
+        if (slot >= 0) {
+            if (instances == null) {
+                instances = new ContextualInstance<?>[identifiers.length];
+            }
+            instances[slot] = contextualInstance;
+        } else {
+            if (overflow == null) {
+                overflow = new HashMap<>();
+            }
+            overflow.put(id, contextualInstance);
+        }
+    }
+
+    @Override
+    public LockedBean lock(BeanIdentifier id) {
+        return null;
+    }
+
+    @Override
+    public <T> ContextualInstance<T> remove(BeanIdentifier id) {
+        int slot = BeanIdentifierSlots.getSlot(id, identifiers, slotsByIdentifier);
+        if (slot >= 0) {
+            if (instances == null) {
+                return null;
+            }
+            ContextualInstance<T> instance = cast(instances[slot]);
+            instances[slot] = null;
+            return instance;
+        }
+        return overflow != null ? cast(overflow.remove(id)) : null;
+    }
+
+    @Override
+    public Iterator<BeanIdentifier> iterator() {
+        return new SlottedIterator();
+    }
+
+    @Override
+    public String toString() {
+        int size = overflow != null ? overflow.size() : 0;
+        if (instances != null) {
+            for (ContextualInstance<?> instance : instances) {
+                if (instance != null) {
+                    size++;
+                }
+            }
+        }
+        return "holding " + size + " instances";
+    }
+
+    /**
+     * Iterates over the occupied slots first and then over the overflow map. Removal is supported.
+     */
+    private class SlottedIterator implements Iterator<BeanIdentifier> {
+
+        private final ContextualInstance<?>[] slots = instances;
+
+        private final Iterator<BeanIdentifier> overflowIterator = overflow != null ? overflow.keySet().iterator() : null;
+
+        private int next = -1;
+
+        private int current = -1;
+
+        private boolean inOverflow;
+
+        SlottedIterator() {
+            advance();
+        }
+
+        private void advance() {
+            if (slots != null) {
+                for (int i = next + 1; i < slots.length; i++) {
+                    if (slots[i] != null) {
+                        next = i;
+                        return;
+                    }
+                }
+            }
+            next = identifiers.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (slots != null && next < slots.length) {
+                return true;
+            }
+            return overflowIterator != null && overflowIterator.hasNext();
+        }
+
+        @Override
+        public BeanIdentifier next() {
+            if (slots != null && next < slots.length) {
+                current = next;
+                advance();
+                return identifiers[current];
+            }
+            if (overflowIterator == null) {
+                throw new NoSuchElementException();
+            }
+            BeanIdentifier id = overflowIterator.next();
+            inOverflow = true;
+            return id;
+        }
+
+        @Override
+        public void remove() {
+            if (inOverflow) {
+                overflowIterator.remove();
+            } else if (current >= 0) {
+                slots[current] = null;
+                current = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+}
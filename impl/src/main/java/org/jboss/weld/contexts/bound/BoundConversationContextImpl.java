@@ -47,12 +47,12 @@ public class BoundConversationContextImpl extends AbstractConversationContext<Bo
 
     @Override
     protected BoundBeanStore createRequestBeanStore(NamingScheme namingScheme, BoundRequest request) {
-        return new SessionMapBeanStore(namingScheme, request.getSessionMap(false));
+        return new SessionMapBeanStore(namingScheme, request.getSessionMap(false), isConcurrentCreationLocking());
     }
 
     @Override
     protected BoundBeanStore createSessionBeanStore(NamingScheme namingScheme, Map<String, Object> session) {
-        return new SessionMapBeanStore(namingScheme, session);
+        return new SessionMapBeanStore(namingScheme, session, isConcurrentCreationLocking());
     }
 
     @Override
@@ -6,9 +6,11 @@ import java.util.Map;
 import javax.enterprise.context.RequestScoped;
 
 import org.jboss.weld.contexts.AbstractBoundContext;
+import org.jboss.weld.contexts.beanstore.BeanIdentifierSlots;
 import org.jboss.weld.contexts.beanstore.MapBeanStore;
 import org.jboss.weld.contexts.beanstore.NamingScheme;
 import org.jboss.weld.contexts.beanstore.SimpleNamingScheme;
+import org.jboss.weld.contexts.beanstore.SlottedBeanStore;
 import org.jboss.weld.context.bound.BoundRequestContext;
 import org.jboss.weld.contexts.cache.RequestScopedCache;
 
@@ -27,7 +29,8 @@ public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Ob
 
     public boolean associate(Map<String, Object> storage) {
         if (getBeanStore() == null) {
-            setBeanStore(new MapBeanStore(namingScheme, storage, true));
+            setBeanStore(new MapBeanStore(namingScheme, storage, true, false,
+                    new SlottedBeanStore(getServiceRegistry().get(BeanIdentifierSlots.class), RequestScoped.class)));
             getBeanStore().attach();
             return true;
         } else {
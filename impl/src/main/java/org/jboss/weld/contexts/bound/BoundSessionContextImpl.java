@@ -33,7 +33,7 @@ public class BoundSessionContextImpl extends AbstractBoundContext<Map<String, Ob
 
     public boolean associate(Map<String, Object> storage) {
         if (getBeanStore() == null) {
-            setBeanStore(new SessionMapBeanStore(namingScheme, storage));
+            setBeanStore(new SessionMapBeanStore(namingScheme, storage, isConcurrentCreationLocking()));
             checkBeanIdentifierIndexConsistency(storage);
             return true;
         } else {
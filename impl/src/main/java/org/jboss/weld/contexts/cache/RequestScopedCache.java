@@ -16,64 +16,168 @@
  */
 package org.jboss.weld.contexts.cache;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Caches beans over the life of a request, to allow for efficient bean lookups from proxies.
  * Besides, can hold any ThreadLocals to be removed at the end of the request.
  *
+ * <p>
+ * The items are kept in a per-thread array which is reused for subsequent requests, i.e. beginning and ending a request does not allocate. The array only
+ * holds JDK types between requests so that a thread which outlives the deployment does not leak the class loader. ThreadLocals are registered directly,
+ * without a wrapping {@link RequestScopedItem}.
+ * </p>
+ *
+ * <p>
+ * Contextual instances are cached in a per-thread instance table, see {@link #getInstance(int, Object)}. Each cached instance is stored at a dense index
+ * together with its owner, i.e. the component which cached it. The owner is checked on lookup so that components of different deployments may share an
+ * index. The table is cleared with a single fill at the end of the request.
+ * </p>
+ *
  * @author Stuart Douglas
+ * @see RequestScopedCacheMetrics
  */
 public class RequestScopedCache {
 
-    private static final ThreadLocal<List<RequestScopedItem>> CACHE = new ThreadLocal<List<RequestScopedItem>>();
+    // The header is stored at index 0, the instance table at index 1, items are stored from index 2
+    private static final ThreadLocal<Object[]> CACHE = new ThreadLocal<Object[]>();
+
+    private static final int HEADER = 0;
+    private static final int INSTANCE_TABLE = 1;
+    private static final int FIRST_ITEM = 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // A larger buffer is discarded at the end of the request
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+
+    // Header fields
+    private static final int SIZE = 0;
+    private static final int STATE = 1;
+    private static final int INSTANCE_COUNT = 2;
+    // The length of the used part of the instance table
+    private static final int INSTANCE_LIMIT = 3;
+
+    // Header states
+    private static final int INACTIVE = 0;
+    private static final int ACTIVE = 1;
+    private static final int INVALIDATING = 2;
+
+    private static volatile RequestScopedCacheMetrics metrics;
 
     private RequestScopedCache() {
     }
 
     public static boolean isActive() {
-        return CACHE.get() != null;
+        final Object[] buffer = CACHE.get();
+        return buffer != null && header(buffer)[STATE] == ACTIVE;
     }
 
-    private static void checkCacheForAdding(final List<RequestScopedItem> cache) {
-        if (cache == null) {
+    private static void checkCacheForAdding(final Object[] buffer) {
+        if (buffer == null || header(buffer)[STATE] != ACTIVE) {
             throw new IllegalStateException("Unable to add request scoped cache item when request cache is not active");
         }
     }
 
     public static void addItem(final RequestScopedItem item) {
-        final List<RequestScopedItem> cache = CACHE.get();
-        checkCacheForAdding(cache);
-        cache.add(item);
+        final Object[] buffer = CACHE.get();
+        checkCacheForAdding(buffer);
+        add(buffer, item);
     }
 
     public static boolean addItemIfActive(final RequestScopedItem item) {
-        final List<RequestScopedItem> cache = CACHE.get();
-        if (cache != null) {
-            cache.add(item);
-            return true;
-        }
-        return false;
+        return addIfActive(item);
     }
 
     public static boolean addItemIfActive(final ThreadLocal<?> item) {
-        final List<RequestScopedItem> cache = CACHE.get();
-        if (cache != null) {
-            cache.add(new RequestScopedItem() {
-                public void invalidate() {
-                    item.remove();
-                }
-            });
+        return addIfActive(item);
+    }
+
+    private static boolean addIfActive(final Object item) {
+        final Object[] buffer = CACHE.get();
+        if (buffer != null && header(buffer)[STATE] == ACTIVE) {
+            add(buffer, item);
             return true;
         }
         return false;
     }
 
+    private static void add(Object[] buffer, final Object item) {
+        final int[] header = header(buffer);
+        final int index = header[SIZE] + FIRST_ITEM;
+        if (index == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            CACHE.set(buffer);
+        }
+        buffer[index] = item;
+        header[SIZE]++;
+    }
+
+    /**
+     *
+     * @param index the index assigned to the owner
+     * @param owner the component which cached the instance
+     * @return the instance cached by the given owner at the given index, or <code>null</code> if there is no such instance or the cache is not active
+     * @see #putInstanceIfActive(int, Object, Object)
+     */
+    public static Object getInstance(final int index, final Object owner) {
+        final Object[] buffer = CACHE.get();
+        if (buffer != null) {
+            final Object[] table = (Object[]) buffer[INSTANCE_TABLE];
+            final int position = index << 1;
+            if (table != null && position < table.length && table[position] == owner && header(buffer)[STATE] == ACTIVE) {
+                return table[position + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches the given instance until the end of the request. The index should be dense, i.e. the table grows with the largest index used on the current
+     * thread. An instance previously cached at the same index, possibly by a different owner, is replaced.
+     *
+     * @param index the index assigned to the owner
+     * @param owner the component which caches the instance
+     * @param instance
+     * @return <code>true</code> if the instance was cached, <code>false</code> if the cache is not active
+     */
+    public static boolean putInstanceIfActive(final int index, final Object owner, final Object instance) {
+        final Object[] buffer = CACHE.get();
+        if (buffer == null) {
+            return false;
+        }
+        final int[] header = header(buffer);
+        if (header[STATE] != ACTIVE) {
+            return false;
+        }
+        final int position = index << 1;
+        Object[] table = (Object[]) buffer[INSTANCE_TABLE];
+        if (table == null || position >= table.length) {
+            table = table == null ? new Object[Math.max(position + 2, INITIAL_CAPACITY)]
+                    : Arrays.copyOf(table, Math.max(position + 2, table.length << 1));
+            buffer[INSTANCE_TABLE] = table;
+        }
+        if (table[position] == null) {
+            header[INSTANCE_COUNT]++;
+        }
+        table[position] = owner;
+        table[position + 1] = instance;
+        if (position + 2 > header[INSTANCE_LIMIT]) {
+            header[INSTANCE_LIMIT] = position + 2;
+        }
+        return true;
+    }
+
     public static void beginRequest() {
         // if the previous request was not ended properly for some reason, make sure it is ended now
         endRequest();
-        CACHE.set(new LinkedList<RequestScopedItem>());
+        Object[] buffer = CACHE.get();
+        if (buffer == null || header(buffer)[STATE] == INVALIDATING) {
+            // Either the first request on this thread or a request started while the items of the previous one are being invalidated
+            buffer = newBuffer();
+            CACHE.set(buffer);
+        }
+        header(buffer)[STATE] = ACTIVE;
     }
 
     /**
@@ -81,11 +185,11 @@ public class RequestScopedCache {
      * in which case the cache will be unavailable for the rest of the request.
      */
     public static void endRequest() {
-        final List<RequestScopedItem> result = CACHE.get();
-        if (result != null) {
-            CACHE.remove();
-            for (final RequestScopedItem item : result) {
-                item.invalidate();
+        final int count = end();
+        if (count >= 0) {
+            final RequestScopedCacheMetrics metrics = RequestScopedCache.metrics;
+            if (metrics != null) {
+                metrics.requestEnded(count);
             }
         }
     }
@@ -95,9 +199,77 @@ public class RequestScopedCache {
      */
     public static void invalidate() {
         if (isActive()) {
-            endRequest();
+            final int count = end();
             beginRequest();
+            final RequestScopedCacheMetrics metrics = RequestScopedCache.metrics;
+            if (metrics != null) {
+                metrics.invalidated(count);
+            }
+        }
+    }
+
+    /**
+     * Registers the metrics hook which is notified whenever the items of the current thread are released. There is at most one hook per class loader.
+     *
+     * @param metrics the hook or <code>null</code> to unregister the current hook
+     */
+    public static void setMetrics(RequestScopedCacheMetrics metrics) {
+        RequestScopedCache.metrics = metrics;
+    }
+
+    /**
+     *
+     * @return the number of released items and cached instances, or <code>-1</code> if the cache was not active
+     */
+    private static int end() {
+        final Object[] buffer = CACHE.get();
+        if (buffer == null) {
+            return -1;
+        }
+        final int[] header = header(buffer);
+        if (header[STATE] != ACTIVE) {
+            return -1;
         }
+        // From now on the cache is unavailable, i.e. items registered during invalidation are not kept
+        header[STATE] = INVALIDATING;
+        final int size = header[SIZE];
+        final int instanceCount = header[INSTANCE_COUNT];
+        try {
+            final Object[] table = (Object[]) buffer[INSTANCE_TABLE];
+            if (table != null) {
+                Arrays.fill(table, 0, header[INSTANCE_LIMIT], null);
+            }
+            header[INSTANCE_COUNT] = 0;
+            header[INSTANCE_LIMIT] = 0;
+            for (int i = FIRST_ITEM; i < size + FIRST_ITEM; i++) {
+                final Object item = buffer[i];
+                buffer[i] = null;
+                if (item instanceof ThreadLocal<?>) {
+                    ((ThreadLocal<?>) item).remove();
+                } else {
+                    ((RequestScopedItem) item).invalidate();
+                }
+            }
+        } finally {
+            // Do not keep references to items left over by a failed invalidation
+            Arrays.fill(buffer, FIRST_ITEM, size + FIRST_ITEM, null);
+            header[SIZE] = 0;
+            header[STATE] = INACTIVE;
+            if (buffer.length > MAX_RETAINED_CAPACITY && CACHE.get() == buffer) {
+                CACHE.set(newBuffer());
+            }
+        }
+        return size + instanceCount;
+    }
+
+    private static Object[] newBuffer() {
+        final Object[] buffer = new Object[INITIAL_CAPACITY];
+        buffer[HEADER] = new int[4];
+        return buffer;
+    }
+
+    private static int[] header(Object[] buffer) {
+        return (int[]) buffer[HEADER];
     }
 
 }
@@ -0,0 +1,43 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.cache;
+
+/**
+ * A hook which is notified whenever {@link RequestScopedCache} releases the items registered on the current thread. The methods are invoked on the thread
+ * which processed the request and therefore must be fast and must not throw an exception.
+ *
+ * @see RequestScopedCache#setMetrics(RequestScopedCacheMetrics)
+ */
+public interface RequestScopedCacheMetrics {
+
+    /**
+     * The request ended.
+     *
+     * @param itemCount the number of items registered and instances cached since the request began or since the last invalidation
+     */
+    default void requestEnded(int itemCount) {
+    }
+
+    /**
+     * The cache was flushed during a request, e.g. because a request scoped instance was destroyed.
+     *
+     * @param itemCount the number of items registered and instances cached since the request began or since the last invalidation
+     */
+    default void invalidated(int itemCount) {
+    }
+
+}
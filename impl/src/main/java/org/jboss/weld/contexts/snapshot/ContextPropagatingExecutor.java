@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.snapshot;
+
+import java.util.concurrent.Executor;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.Preconditions;
+
+/**
+ * An executor which propagates the request, session and conversation contexts of the submitting thread to the task.
+ *
+ * <p>
+ * If created with a bean manager, the contexts are captured each time a task is submitted. If created with a {@link ContextSnapshot}, the given snapshot is
+ * restored for all the tasks, e.g. for the stages of a {@link java.util.concurrent.CompletableFuture} pipeline which may complete on an arbitrary thread.
+ * </p>
+ *
+ * <p>
+ * The contextual instances are shared with the submitting thread, see {@link ContextSnapshot}. The executor is meant for a sequential hand-off, i.e. the
+ * tasks must not run concurrently with each other and the submitting thread must not use the contexts until the tasks are done.
+ * </p>
+ *
+ * @see ContextSnapshot
+ */
+public class ContextPropagatingExecutor implements Executor {
+
+    private final Executor delegate;
+
+    private final BeanManagerImpl beanManager;
+
+    private final ContextSnapshot snapshot;
+
+    /**
+     *
+     * @param delegate the executor the tasks are delegated to
+     * @param beanManager the bean manager used to capture the contexts of the submitting thread
+     */
+    public ContextPropagatingExecutor(Executor delegate, BeanManager beanManager) {
+        Preconditions.checkArgumentNotNull(delegate, "delegate");
+        Preconditions.checkArgumentNotNull(beanManager, "beanManager");
+        this.delegate = delegate;
+        this.beanManager = BeanManagerProxy.unwrap(beanManager);
+        this.snapshot = null;
+    }
+
+    /**
+     *
+     * @param delegate the executor the tasks are delegated to
+     * @param snapshot the snapshot restored for all the tasks
+     */
+    public ContextPropagatingExecutor(Executor delegate, ContextSnapshot snapshot) {
+        Preconditions.checkArgumentNotNull(delegate, "delegate");
+        Preconditions.checkArgumentNotNull(snapshot, "snapshot");
+        this.delegate = delegate;
+        this.beanManager = null;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(getSnapshot().wrap(command));
+    }
+
+    ContextSnapshot getSnapshot() {
+        return snapshot != null ? snapshot : beanManager.captureContextSnapshot();
+    }
+
+}
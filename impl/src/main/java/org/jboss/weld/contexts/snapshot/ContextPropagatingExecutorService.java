@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.Preconditions;
+
+/**
+ * An executor service which propagates the request, session and conversation contexts of the submitting thread to the tasks. The contexts are captured
+ * each time a task is submitted. The lifecycle methods are delegated to the underlying executor service.
+ *
+ * <p>
+ * The contextual instances are shared with the submitting thread, see {@link ContextSnapshot}. The executor service is meant for a sequential hand-off, i.e.
+ * the tasks submitted by one thread must not run concurrently with each other and the submitting thread must not use the contexts until the tasks are done,
+ * e.g. it waits for the result. Tasks which do not need the contexts of the submitting thread should be submitted to the underlying executor service
+ * directly.
+ * </p>
+ *
+ * @see ContextSnapshot
+ * @see ContextPropagatingExecutor
+ */
+public class ContextPropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final BeanManagerImpl beanManager;
+
+    /**
+     *
+     * @param delegate the executor service the tasks are delegated to
+     * @param beanManager the bean manager used to capture the contexts of the submitting thread
+     */
+    public ContextPropagatingExecutorService(ExecutorService delegate, BeanManager beanManager) {
+        Preconditions.checkArgumentNotNull(delegate, "delegate");
+        Preconditions.checkArgumentNotNull(beanManager, "beanManager");
+        this.delegate = delegate;
+        this.beanManager = BeanManagerProxy.unwrap(beanManager);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        // Tasks submitted via submit() and invokeAll() are wrapped in a FutureTask and end up here
+        delegate.execute(beanManager.captureContextSnapshot().wrap(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = delegate.shutdownNow();
+        List<Runnable> tasks = new ArrayList<>(pending.size());
+        for (Runnable task : pending) {
+            // Return the submitted tasks, not the wrappers
+            tasks.add(task instanceof ContextSnapshot.RestoringRunnable ? ((ContextSnapshot.RestoringRunnable) task).getTask() : task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+}
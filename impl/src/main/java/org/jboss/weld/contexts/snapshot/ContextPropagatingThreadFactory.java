@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.snapshot;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.Preconditions;
+
+/**
+ * A thread factory which propagates the request, session and conversation contexts of the thread creating a new thread to the new thread. This is mostly
+ * useful for short-lived threads, e.g. a thread per task. On a JVM which supports virtual threads, {@link #virtualThreads(BeanManager)} may be used so that
+ * each task runs on a cheap virtual thread with the contexts of the submitting thread.
+ *
+ * <pre>
+ * ExecutorService executor = Executors.newThreadPerTaskExecutor(ContextPropagatingThreadFactory.virtualThreads(beanManager));
+ * </pre>
+ *
+ * <p>
+ * Note that a pooled thread keeps the contexts captured when it was created. Use {@link ContextPropagatingExecutorService} for thread pools. The contextual
+ * instances are shared with the creating thread, therefore the new thread and the creating thread must not use the contexts concurrently, see
+ * {@link ContextSnapshot}.
+ * </p>
+ *
+ * @see ContextSnapshot
+ */
+public class ContextPropagatingThreadFactory implements ThreadFactory {
+
+    private final ThreadFactory delegate;
+
+    private final BeanManagerImpl beanManager;
+
+    /**
+     *
+     * @param delegate the thread factory new threads are delegated to
+     * @param beanManager the bean manager used to capture the contexts of the current thread
+     */
+    public ContextPropagatingThreadFactory(ThreadFactory delegate, BeanManager beanManager) {
+        Preconditions.checkArgumentNotNull(delegate, "delegate");
+        Preconditions.checkArgumentNotNull(beanManager, "beanManager");
+        this.delegate = delegate;
+        this.beanManager = BeanManagerProxy.unwrap(beanManager);
+    }
+
+    /**
+     *
+     * @param beanManager the bean manager used to capture the contexts of the current thread
+     * @return a thread factory creating virtual threads
+     * @throws IllegalStateException if virtual threads are not supported by the JVM
+     * @see #isVirtualThreadSupported()
+     */
+    public static ContextPropagatingThreadFactory virtualThreads(BeanManager beanManager) {
+        ThreadFactory factory = VirtualThreads.createFactory();
+        if (factory == null) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM");
+        }
+        return new ContextPropagatingThreadFactory(factory, beanManager);
+    }
+
+    /**
+     *
+     * @return <code>true</code> if virtual threads are supported by the JVM, <code>false</code> otherwise
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.OF_VIRTUAL != null;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        return delegate.newThread(beanManager.captureContextSnapshot().wrap(r));
+    }
+
+    /**
+     * The virtual thread API is accessed reflectively so that Java 8 is still supported.
+     */
+    private static final class VirtualThreads {
+
+        private static final Method OF_VIRTUAL;
+
+        private static final Method FACTORY;
+
+        static {
+            Method ofVirtual = null;
+            Method factory = null;
+            try {
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            } catch (NoSuchMethodException | ClassNotFoundException | SecurityException e) {
+                ofVirtual = null;
+            }
+            OF_VIRTUAL = ofVirtual;
+            FACTORY = factory;
+        }
+
+        static ThreadFactory createFactory() {
+            if (OF_VIRTUAL == null) {
+                return null;
+            }
+            try {
+                return (ThreadFactory) FACTORY.invoke(OF_VIRTUAL.invoke(null));
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                return null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.snapshot;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.contexts.AbstractManagedContext;
+import org.jboss.weld.contexts.AbstractManagedContext.ThreadState;
+import org.jboss.weld.contexts.PassivatingContextWrapper;
+import org.jboss.weld.contexts.cache.RequestScopedCache;
+import org.jboss.weld.logging.ContextLogger;
+
+/**
+ * A snapshot of the request, session and conversation contexts bound to a thread. The snapshot may be restored on another thread so that the contextual
+ * instances of the original thread are available there, e.g. in the stages of an asynchronous pipeline.
+ *
+ * <p>
+ * Only the references held by the thread locals of the contexts are captured, i.e. neither capturing nor restoring a snapshot depends on the number of
+ * contextual instances. The contextual instances are shared, not copied. Therefore, the contexts must remain active on the original thread until all the work
+ * using the snapshot is done.
+ * </p>
+ *
+ * <p>
+ * The contexts are not designed for concurrent access, i.e. the snapshot is meant for a sequential hand-off: the work is passed to another thread, typically
+ * the consecutive stages of a pipeline, and the original thread does not use the contexts until the work is done. A snapshot may only be restored on one
+ * thread other than the original thread at a time, {@link #restore()} fails if the snapshot is already restored on another thread.
+ * </p>
+ *
+ * <pre>
+ * ContextSnapshot snapshot = ContextSnapshot.capture(beanManager);
+ * executor.submit(snapshot.wrap(() -&gt; requestScopedBean.process())).get();
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe and may be shared between threads.
+ * </p>
+ *
+ * @see ContextPropagatingExecutor
+ * @see ContextPropagatingExecutorService
+ * @see ContextPropagatingThreadFactory
+ * @see org.jboss.weld.manager.BeanManagerImpl#captureContextSnapshot()
+ */
+public final class ContextSnapshot {
+
+    private static final Restoration NOOP = () -> {
+    };
+
+    private final AbstractManagedContext[] contexts;
+
+    /**
+     * The state captured for each context, <code>null</code> if the context was not active
+     */
+    private final ThreadState[] states;
+
+    /**
+     * The thread the snapshot is currently restored on, if any
+     */
+    private final AtomicReference<Thread> restoredOn;
+
+    private ContextSnapshot(AbstractManagedContext[] contexts, ThreadState[] states) {
+        this.contexts = contexts;
+        this.states = states;
+        this.restoredOn = new AtomicReference<>();
+    }
+
+    /**
+     * Captures the contexts bound to the current thread.
+     *
+     * @param beanManager the bean manager
+     * @return the snapshot
+     */
+    public static ContextSnapshot capture(BeanManager beanManager) {
+        return BeanManagerProxy.unwrap(beanManager).captureContextSnapshot();
+    }
+
+    /**
+     * Captures the state of the given contexts bound to the current thread. Contexts which do not use thread locals (e.g. custom contexts) are ignored.
+     *
+     * @param contextLists the lists of contexts registered for the propagated scopes, a list may be <code>null</code>
+     * @return the snapshot
+     */
+    @SafeVarargs
+    public static ContextSnapshot capture(List<Context>... contextLists) {
+        int count = 0;
+        for (List<Context> contexts : contextLists) {
+            if (contexts != null) {
+                count += contexts.size();
+            }
+        }
+        AbstractManagedContext[] managedContexts = new AbstractManagedContext[count];
+        ThreadState[] states = new ThreadState[count];
+        int index = 0;
+        for (List<Context> contexts : contextLists) {
+            if (contexts == null) {
+                continue;
+            }
+            for (Context context : contexts) {
+                Context unwrapped = PassivatingContextWrapper.unwrap(context);
+                if (index < count && unwrapped instanceof AbstractManagedContext) {
+                    AbstractManagedContext managedContext = (AbstractManagedContext) unwrapped;
+                    managedContexts[index] = managedContext;
+                    states[index] = managedContext.isActive() ? managedContext.captureThreadState() : null;
+                    index++;
+                }
+            }
+        }
+        if (index < count) {
+            AbstractManagedContext[] trimmedContexts = new AbstractManagedContext[index];
+            ThreadState[] trimmedStates = new ThreadState[index];
+            System.arraycopy(managedContexts, 0, trimmedContexts, 0, index);
+            System.arraycopy(states, 0, trimmedStates, 0, index);
+            return new ContextSnapshot(trimmedContexts, trimmedStates);
+        }
+        return new ContextSnapshot(managedContexts, states);
+    }
+
+    /**
+     * Binds the captured contexts to the current thread. Contexts which were not active when the snapshot was captured are unbound from the current thread.
+     * The returned restoration must be closed on the same thread once the work is done so that the previous state of the current thread is restored.
+     *
+     * <p>
+     * If the captured contexts are already bound to the current thread, e.g. if the work is executed on the original thread, nothing is changed.
+     * </p>
+     *
+     * @return the restoration
+     * @throws IllegalStateException if the snapshot is already restored on another thread
+     */
+    public Restoration restore() {
+        if (isBoundToCurrentThread()) {
+            return NOOP;
+        }
+        final Thread currentThread = Thread.currentThread();
+        // A snapshot without active contexts only unbinds the contexts of the current thread
+        // The snapshot may be restored again on the same thread, e.g. if another snapshot was restored in between
+        final boolean acquired = hasActiveContexts() && restoredOn.get() != currentThread;
+        if (acquired && !restoredOn.compareAndSet(null, currentThread)) {
+            throw ContextLogger.LOG.contextSnapshotAlreadyRestored(this, restoredOn.get());
+        }
+        final ThreadState[] previous = new ThreadState[contexts.length];
+        for (int i = 0; i < contexts.length; i++) {
+            previous[i] = contexts[i].restoreThreadState(states[i]);
+        }
+        // Instances cached for the previous contexts of the current thread must not be used
+        RequestScopedCache.invalidate();
+        return () -> {
+            for (int i = contexts.length - 1; i >= 0; i--) {
+                contexts[i].restoreThreadState(previous[i]);
+            }
+            RequestScopedCache.invalidate();
+            if (acquired) {
+                restoredOn.set(null);
+            }
+        };
+    }
+
+    /**
+     *
+     * @return <code>true</code> if at least one context was active when the snapshot was captured, <code>false</code> otherwise
+     */
+    public boolean hasActiveContexts() {
+        for (ThreadState state : states) {
+            if (state != null && state.isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @param task the task
+     * @return a task which runs the given task with this snapshot restored
+     */
+    public Runnable wrap(Runnable task) {
+        return new RestoringRunnable(this, task);
+    }
+
+    /**
+     *
+     * @param task the task
+     * @return a task which calls the given task with this snapshot restored
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            try (Restoration restoration = restore()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * This method is useful for {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier, java.util.concurrent.Executor)}.
+     *
+     * @param supplier the supplier
+     * @return a supplier which calls the given supplier with this snapshot restored
+     */
+    public <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+        return () -> {
+            try (Restoration restoration = restore()) {
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * This method is useful for the dependent stages of a {@link java.util.concurrent.CompletableFuture}, e.g.
+     * {@link java.util.concurrent.CompletableFuture#thenApplyAsync(Function, java.util.concurrent.Executor)}, which may be executed on a thread without any
+     * active context.
+     *
+     * @param function the function
+     * @return a function which applies the given function with this snapshot restored
+     */
+    public <T, R> Function<T, R> wrapFunction(Function<T, R> function) {
+        return (t) -> {
+            try (Restoration restoration = restore()) {
+                return function.apply(t);
+            }
+        };
+    }
+
+    private boolean isBoundToCurrentThread() {
+        for (int i = 0; i < contexts.length; i++) {
+            if (!contexts[i].isThreadStateBound(states[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ContextSnapshot [");
+        for (int i = 0; i < contexts.length; i++) {
+            if (states[i] != null) {
+                if (builder.charAt(builder.length() - 1) != '[') {
+                    builder.append(", ");
+                }
+                builder.append(contexts[i].getClass().getSimpleName());
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * A task which runs another task with a snapshot restored. The original task is kept so that it can be returned from
+     * {@link java.util.concurrent.ExecutorService#shutdownNow()}.
+     */
+    static final class RestoringRunnable implements Runnable {
+
+        private final ContextSnapshot snapshot;
+
+        private final Runnable task;
+
+        RestoringRunnable(ContextSnapshot snapshot, Runnable task) {
+            this.snapshot = snapshot;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try (Restoration restoration = snapshot.restore()) {
+                task.run();
+            }
+        }
+
+        Runnable getTask() {
+            return task;
+        }
+
+    }
+
+    /**
+     * Restores the state of a thread which was changed by {@link ContextSnapshot#restore()}.
+     */
+    @FunctionalInterface
+    public interface Restoration extends AutoCloseable {
+
+        @Override
+        void close();
+
+    }
+
+}
@@ -2,7 +2,8 @@ package org.jboss.weld.contexts.unbound;
 
 import org.jboss.weld.contexts.AbstractUnboundContext;
 import org.jboss.weld.context.RequestContext;
-import org.jboss.weld.contexts.beanstore.HashMapBeanStore;
+import org.jboss.weld.contexts.beanstore.BeanIdentifierSlots;
+import org.jboss.weld.contexts.beanstore.SlottedBeanStore;
 
 import javax.enterprise.context.RequestScoped;
 
@@ -27,7 +28,7 @@ public class RequestContextImpl extends AbstractUnboundContext implements Reques
 
     public void activate() {
         // Attach bean store (this context is unbound, so this can simply be thread-scoped
-        setBeanStore(new HashMapBeanStore());
+        setBeanStore(new SlottedBeanStore(getServiceRegistry().get(BeanIdentifierSlots.class), RequestScoped.class));
         super.activate();
     }
 
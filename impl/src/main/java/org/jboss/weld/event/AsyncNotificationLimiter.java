@@ -0,0 +1,295 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.weld.event.BoundedNotificationOptions.OverflowPolicy;
+import org.jboss.weld.logging.EventLogger;
+
+/**
+ * Bounds the number of in-flight asynchronous notifications. The live counts are exposed so that they can be monitored.
+ *
+ * @see BoundedNotificationOptions
+ * @see ObserverNotifier#getAsyncNotificationLimiter()
+ */
+public class AsyncNotificationLimiter {
+
+    private final int maxInFlight;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Semaphore permits;
+
+    // Only used by OverflowPolicy.DROP_OLDEST
+    private final Deque<Admission> admissions;
+
+    // Only used by OverflowPolicy.DROP_OLDEST
+    private final Map<Executor, Dispatcher> dispatchers;
+
+    private final LongAdder rejected;
+
+    private final LongAdder dropped;
+
+    AsyncNotificationLimiter(int maxInFlight, OverflowPolicy overflowPolicy) {
+        this.maxInFlight = maxInFlight;
+        this.overflowPolicy = overflowPolicy;
+        this.permits = new Semaphore(maxInFlight);
+        this.admissions = OverflowPolicy.DROP_OLDEST.equals(overflowPolicy) ? new ConcurrentLinkedDeque<>() : null;
+        // Executors are weakly referenced as they may be supplied per notification
+        this.dispatchers = OverflowPolicy.DROP_OLDEST.equals(overflowPolicy) ? Collections.synchronizedMap(new WeakHashMap<>()) : null;
+        this.rejected = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    /**
+     *
+     * @return the maximum number of in-flight notifications
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     *
+     * @return the current number of in-flight notifications
+     */
+    public int getInFlightCount() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     *
+     * @return the number of notifications rejected so far
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     *
+     * @return the number of notifications dropped so far
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Admits a new notification according to the overflow policy. This method may block.
+     *
+     * @return the admission or <code>null</code> if the notification is rejected
+     */
+    Admission admit() {
+        if (permits.tryAcquire()) {
+            return new Admission();
+        }
+        try {
+            switch (overflowPolicy) {
+                case FAIL:
+                    rejected.increment();
+                    return null;
+                case DROP_OLDEST:
+                    while (!permits.tryAcquire()) {
+                        Admission oldest = admissions.pollFirst();
+                        if (oldest == null) {
+                            // All the in-flight notifications have already started
+                            permits.acquire();
+                            break;
+                        }
+                        // A dropped notification releases its permit
+                        oldest.drop();
+                    }
+                    return new Admission();
+                default:
+                    permits.acquire();
+                    return new Admission();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return null;
+        }
+    }
+
+    /**
+     * An admitted notification. The permit is released once the notification completes.
+     */
+    class Admission {
+
+        private static final int PENDING = 0;
+        private static final int STARTED = 1;
+        private static final int DROPPED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private volatile CompletableFuture<?> future;
+
+        private volatile Dispatcher dispatcher;
+
+        /**
+         * The tasks of a notification which may be dropped are not submitted to the executor directly so that a dropped notification does not occupy the
+         * executor queue, see {@link Dispatcher}.
+         *
+         * @param executor
+         * @return the executor the tasks of the notification should be submitted to
+         */
+        Executor executor(Executor executor) {
+            if (dispatchers == null) {
+                return executor;
+            }
+            Dispatcher selected = dispatchers.computeIfAbsent(executor, (ignoredExecutor) -> new Dispatcher());
+            this.dispatcher = selected;
+            return (command) -> selected.execute(this, command, executor);
+        }
+
+        /**
+         * Binds the admission to the future representing the notification.
+         *
+         * @param future
+         */
+        void bind(CompletableFuture<?> future) {
+            this.future = future;
+            if (admissions != null) {
+                admissions.addLast(this);
+            }
+            future.whenComplete((ignoredResult, ignoredThrowable) -> release());
+        }
+
+        /**
+         *
+         * @return <code>true</code> if the notification should proceed, <code>false</code> if it was dropped
+         */
+        boolean start() {
+            return state.get() == STARTED || state.compareAndSet(PENDING, STARTED);
+        }
+
+        /**
+         * Releases the permit of a notification which could not be scheduled.
+         */
+        void abort() {
+            permits.release();
+        }
+
+        private void drop() {
+            if (state.compareAndSet(PENDING, DROPPED)) {
+                dropped.increment();
+                if (dispatcher != null) {
+                    dispatcher.remove(this);
+                }
+                future.completeExceptionally(EventLogger.LOG.asyncNotificationDropped(maxInFlight));
+            }
+        }
+
+        private void release() {
+            if (admissions != null) {
+                admissions.remove(this);
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Dispatches the tasks of notifications to an executor. Instead of a task, a runner executing the oldest pending task is submitted to the executor. The
+     * tasks of a dropped notification are removed from the pending tasks and the runners submitted for them are reused by subsequent tasks. Therefore, the
+     * executor queue does not grow if notifications are dropped.
+     */
+    private static final class Dispatcher {
+
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+
+        // The number of submitted runners which do not have a pending task, i.e. the task was dropped
+        private final AtomicInteger idleRunners = new AtomicInteger();
+
+        void execute(Admission admission, Runnable command, Executor executor) {
+            Task task = new Task(admission, command);
+            tasks.add(task);
+            if (claimIdleRunner()) {
+                return;
+            }
+            try {
+                executor.execute(this::runNext);
+            } catch (RuntimeException e) {
+                tasks.remove(task);
+                throw e;
+            }
+        }
+
+        void remove(Admission admission) {
+            int removed = 0;
+            for (Task task : tasks) {
+                if (task.admission == admission && tasks.remove(task)) {
+                    removed++;
+                }
+            }
+            idleRunners.addAndGet(removed);
+        }
+
+        private boolean claimIdleRunner() {
+            int idle;
+            do {
+                idle = idleRunners.get();
+                if (idle <= 0) {
+                    return false;
+                }
+            } while (!idleRunners.compareAndSet(idle, idle - 1));
+            return true;
+        }
+
+        private void runNext() {
+            Task task = tasks.poll();
+            if (task != null) {
+                task.command.run();
+            } else {
+                idleRunners.decrementAndGet();
+            }
+        }
+
+    }
+
+    private static final class Task {
+
+        private final Admission admission;
+
+        private final Runnable command;
+
+        private Task(Admission admission, Runnable command) {
+            this.admission = admission;
+            this.command = command;
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import java.util.List;
+
+import javax.enterprise.inject.spi.EventMetadata;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+/**
+ * An asynchronous observer method which is able to receive a batch of event objects at once. Such an observer method may be registered by an extension, e.g.
+ * via {@link javax.enterprise.inject.spi.AfterBeanDiscovery#addObserverMethod(ObserverMethod)}.
+ *
+ * <p>
+ * Events fired via {@link EventImpl#fireAsyncAll(java.util.Collection)} are delivered using {@link #notifyBatch(List, EventMetadata)}. Events fired one by one
+ * are delivered using {@link #notify(javax.enterprise.inject.spi.EventContext)} as usual.
+ * </p>
+ *
+ * @param <T>
+ */
+public interface BatchObserverMethod<T> extends ObserverMethod<T> {
+
+    /**
+     * The event objects share the same runtime type and metadata.
+     *
+     * @param events the immutable list of event objects, never empty
+     * @param metadata event metadata, may be <code>null</code> if not required by the observer method
+     */
+    void notifyBatch(List<? extends T> events, EventMetadata metadata);
+
+}
@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import javax.enterprise.event.NotificationOptions;
+
+/**
+ * Non-portable notification options which bound the number of in-flight asynchronous notifications of an event type. A notification is in-flight from the
+ * moment it's scheduled until the completion stage returned from {@link javax.enterprise.event.Event#fireAsync(Object, NotificationOptions)} completes.
+ *
+ * <p>
+ * The bound is shared by all the asynchronous notifications of the same runtime event type fired with these options and applies instead of the bound
+ * configured for the whole notifier, see {@link org.jboss.weld.config.ConfigurationKey#ASYNC_NOTIFICATION_MAX_IN_FLIGHT}. The bound is set by the first
+ * notification of a given event type. If a later notification of the same event type specifies a different maximum or policy, the options are ignored and
+ * a warning is logged.
+ * </p>
+ *
+ * <pre>
+ * event.fireAsync(payload, BoundedNotificationOptions.withMaxInFlight(100, OverflowPolicy.FAIL));
+ * </pre>
+ */
+public final class BoundedNotificationOptions {
+
+    /**
+     * The maximum number of in-flight notifications. The value must be a positive integer or a {@link String} which can be parsed as such.
+     */
+    public static final String MAX_IN_FLIGHT = "weld.async.notification.maxInFlight";
+
+    /**
+     * The policy applied if the maximum number of in-flight notifications is reached. The value must be an {@link OverflowPolicy} or its name. The default
+     * policy is {@link OverflowPolicy#BLOCK}.
+     */
+    public static final String OVERFLOW_POLICY = "weld.async.notification.overflowPolicy";
+
+    private BoundedNotificationOptions() {
+    }
+
+    /**
+     *
+     * @param maxInFlight
+     * @param overflowPolicy
+     * @return notification options bounding the number of in-flight notifications
+     */
+    public static NotificationOptions withMaxInFlight(int maxInFlight, OverflowPolicy overflowPolicy) {
+        return NotificationOptions.builder().set(MAX_IN_FLIGHT, maxInFlight).set(OVERFLOW_POLICY, overflowPolicy).build();
+    }
+
+    /**
+     * The policy applied if the maximum number of in-flight notifications is reached.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The caller is blocked until an in-flight notification completes. Firing an asynchronous event from an asynchronous observer method with this policy
+         * may result in a deadlock if the thread pool is bounded.
+         */
+        BLOCK,
+        /**
+         * The returned completion stage fails immediately with {@link java.util.concurrent.RejectedExecutionException}.
+         */
+        FAIL,
+        /**
+         * The oldest in-flight notification which has not started yet is dropped and its completion stage fails with
+         * {@link java.util.concurrent.CancellationException}. If all the in-flight notifications have already started, the caller is blocked.
+         */
+        DROP_OLDEST;
+
+        /**
+         *
+         * @param value
+         * @return the policy for the given value or <code>null</code> if no such policy exists
+         */
+        public static OverflowPolicy of(Object value) {
+            if (value instanceof OverflowPolicy) {
+                return (OverflowPolicy) value;
+            }
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().equals(value.toString())) {
+                    return policy;
+                }
+            }
+            return null;
+        }
+    }
+
+}
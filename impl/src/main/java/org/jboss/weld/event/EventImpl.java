@@ -23,6 +23,11 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
@@ -41,6 +46,7 @@ import org.jboss.weld.logging.EventLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Preconditions;
 import org.jboss.weld.util.Types;
+import org.jboss.weld.util.collections.ImmutableList;
 import org.jboss.weld.util.reflection.EventObjectTypeResolverBuilder;
 import org.jboss.weld.util.reflection.Formats;
 import org.jboss.weld.util.reflection.HierarchyDiscovery;
@@ -59,6 +65,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 public class EventImpl<T> extends AbstractFacade<T, WeldEvent<T>> implements WeldEvent<T>, Serializable {
 
     private static final String EVENT_ARGUMENT_NAME = "event";
+    private static final String EVENTS_ARGUMENT_NAME = "events";
     private static final String SUBTYPE_ARGUMENT_NAME = "subtype";
     private static final long serialVersionUID = 656782657242515455L;
     private static final int DEFAULT_CACHE_CAPACITY = 4;
@@ -115,8 +122,104 @@ public class EventImpl<T> extends AbstractFacade<T, WeldEvent<T>> implements Wel
         return getBeanManager().getGlobalLenientObserverNotifier().notifyAsync(observers.observers, event, observers.metadata, options);
     }
 
+    /**
+     * Fires the given event objects with the specified qualifiers and notifies synchronous observers.
+     *
+     * <p>
+     * Observer methods are resolved once per distinct runtime type of the event objects. The events of the same runtime type are delivered as a batch, i.e.
+     * each observer method is notified of all of them before the next observer method is notified. Batches are delivered in the order in which their runtime
+     * types first occur in the given collection. If an observer method throws an exception, the delivery is aborted and the exception is rethrown.
+     * </p>
+     *
+     * @param events the event objects
+     */
+    public void fireAll(Collection<? extends T> events) {
+        Preconditions.checkArgumentNotNull(events, EVENTS_ARGUMENT_NAME);
+        ObserverNotifier notifier = getBeanManager().getGlobalLenientObserverNotifier();
+        // we can do lenient here as the event type is checked within #groupByRuntimeType()
+        groupByRuntimeType(events).forEach((observers, batch) -> notifier.notifyBatch(observers.observers, batch, observers.metadata));
+    }
+
+    /**
+     * Fires the given event objects with the specified qualifiers and notifies asynchronous observers.
+     *
+     * <p>
+     * Observer methods are resolved once per distinct runtime type of the event objects. The events of the same runtime type are delivered as a batch, see also
+     * {@link BatchObserverMethod}. The returned stage completes with the list of all the event objects once all the batches are delivered. If any observer
+     * method throws an exception, the stage completes exceptionally.
+     * </p>
+     *
+     * @param events the event objects
+     * @return a completion stage
+     * @see #fireAsync(Object)
+     */
+    public <U extends T> CompletionStage<List<U>> fireAsyncAll(Collection<U> events) {
+        Preconditions.checkArgumentNotNull(events, EVENTS_ARGUMENT_NAME);
+        return fireAsyncAllInternal(events, EMPTY_NOTIFICATION_OPTIONS);
+    }
+
+    /**
+     * Fires the given event objects with the specified qualifiers and notifies asynchronous observers.
+     *
+     * @param events the event objects
+     * @param options the notification options
+     * @return a completion stage
+     * @see #fireAsyncAll(Collection)
+     * @see #fireAsync(Object, NotificationOptions)
+     */
+    public <U extends T> CompletionStage<List<U>> fireAsyncAll(Collection<U> events, NotificationOptions options) {
+        Preconditions.checkArgumentNotNull(events, EVENTS_ARGUMENT_NAME);
+        Preconditions.checkArgumentNotNull(options, "options");
+        return fireAsyncAllInternal(events, options);
+    }
+
+    private <U extends T> CompletionStage<List<U>> fireAsyncAllInternal(Collection<U> events, NotificationOptions options) {
+        ObserverNotifier notifier = getBeanManager().getGlobalLenientObserverNotifier();
+        Map<CachedObservers, List<U>> batches = groupByRuntimeType(events);
+        if (batches.isEmpty()) {
+            return notifier.notifyAsyncBatch(ResolvedObservers.of(Collections.emptyList()), Collections.emptyList(), null, options);
+        }
+        List<U> allEvents = batches.size() > 1 ? ImmutableList.copyOf(events) : null;
+        CompletionStage<List<U>> result = null;
+        for (Map.Entry<CachedObservers, List<U>> batch : batches.entrySet()) {
+            // we can do lenient here as the event type is checked within #groupByRuntimeType()
+            CompletionStage<List<U>> stage = notifier.notifyAsyncBatch(batch.getKey().observers, batch.getValue(), batch.getKey().metadata, options);
+            // the combined stage completes once both stages complete
+            result = result == null ? stage : result.thenCombine(stage, (ignored1, ignored2) -> allEvents);
+        }
+        return result;
+    }
+
+    /**
+     * The returned lists are immutable.
+     */
+    private <U extends T> Map<CachedObservers, List<U>> groupByRuntimeType(Collection<U> events) {
+        Map<Class<?>, List<U>> batches = new LinkedHashMap<>();
+        List<U> lastBatch = null;
+        Class<?> lastRuntimeType = null;
+        for (U event : events) {
+            Preconditions.checkArgumentNotNull(event, EVENT_ARGUMENT_NAME);
+            Class<?> runtimeType = event.getClass();
+            // fast track for cases when the same type is used repeatedly
+            if (!runtimeType.equals(lastRuntimeType)) {
+                lastRuntimeType = runtimeType;
+                lastBatch = batches.computeIfAbsent(runtimeType, (key) -> new ArrayList<>());
+            }
+            lastBatch.add(event);
+        }
+        Map<CachedObservers, List<U>> result = new LinkedHashMap<>(batches.size());
+        for (Map.Entry<Class<?>, List<U>> batch : batches.entrySet()) {
+            // this performs type check
+            result.put(getObservers(batch.getKey()), ImmutableList.copyOf(batch.getValue()));
+        }
+        return result;
+    }
+
     private CachedObservers getObservers(T event) {
-        Class<?> runtimeType = event.getClass();
+        return getObservers(event.getClass());
+    }
+
+    private CachedObservers getObservers(Class<?> runtimeType) {
         CachedObservers lastResolvedObservers = this.lastCachedObservers;
         // fast track for cases when the same type is used repeatedly
         if (lastResolvedObservers != null && lastResolvedObservers.rawType.equals(runtimeType)) {
@@ -34,6 +34,7 @@ import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedParameter;
 import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.bean.builtin.ExtensionBean;
+import org.jboss.weld.bootstrap.events.ExtensionObserverProfile;
 import org.jboss.weld.bootstrap.events.NotificationListener;
 import org.jboss.weld.injection.InjectionPointFactory;
 import org.jboss.weld.injection.MethodInjectionPoint;
@@ -56,11 +57,13 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
     private final Container containerLifecycleEventDeliveryLock;
     private final Set<Class<? extends Annotation>> requiredTypeAnnotations;
     private volatile Set<Class<? extends Annotation>> requiredScopeTypeAnnotations;
+    private final ExtensionObserverProfile profile;
 
     protected ExtensionObserverMethodImpl(EnhancedAnnotatedMethod<T, ? super X> observer, RIBean<X> declaringBean, BeanManagerImpl manager, boolean isAsync) {
         super(observer, declaringBean, manager, isAsync);
         this.containerLifecycleEventDeliveryLock = Container.instance(manager);
         this.requiredTypeAnnotations = initRequiredTypeAnnotations(observer);
+        this.profile = manager.getServices().get(ExtensionObserverProfile.class);
     }
 
     protected Set<Class<? extends Annotation>> initRequiredTypeAnnotations(EnhancedAnnotatedMethod<T, ? super X> observer) {
@@ -120,7 +123,16 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
     @Override
     protected void sendEvent(T event, Object receiver, CreationalContext<?> creationalContext) {
         synchronized (containerLifecycleEventDeliveryLock) {
-            super.sendEvent(event, receiver, creationalContext);
+            if (profile == null) {
+                super.sendEvent(event, receiver, creationalContext);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                super.sendEvent(event, receiver, creationalContext);
+            } finally {
+                profile.record(this, System.nanoTime() - start);
+            }
         }
     }
 
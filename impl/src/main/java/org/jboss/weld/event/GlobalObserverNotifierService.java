@@ -48,7 +48,7 @@ public class GlobalObserverNotifierService implements BootstrapService {
     public GlobalObserverNotifierService(ServiceRegistry services, String contextId) {
         this.beanManagers = new CopyOnWriteArraySet<BeanManagerImpl>();
         TypeSafeObserverResolver resolver = new TypeSafeObserverResolver(services.get(MetaAnnotationStore.class),
-                createGlobalObserverMethodIterable(beanManagers), services.get(WeldConfiguration.class));
+                createGlobalObserverMethodIterable(beanManagers), services.get(WeldConfiguration.class), contextId);
         final ObserverNotifierFactory factory = services.get(ObserverNotifierFactory.class);
         this.globalLenientObserverNotifier = factory.create(contextId, resolver, services, false);
         this.globalStrictObserverNotifier = factory.create(contextId, resolver, services, true);
@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.event;
 
+import static org.jboss.weld.util.collections.WeldCollections.putIfAbsent;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.lang.annotation.Annotation;
@@ -24,16 +25,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -45,8 +50,12 @@ import javax.enterprise.inject.spi.ObserverMethod;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.RequestContext;
 import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.event.AsyncNotificationLimiter.Admission;
+import org.jboss.weld.event.BoundedNotificationOptions.OverflowPolicy;
 import org.jboss.weld.events.WeldNotificationOptions;
 import org.jboss.weld.events.WeldNotificationOptions.NotificationMode;
 import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
@@ -91,6 +100,10 @@ public class ObserverNotifier {
     private final ScheduledExecutorService timerExecutor;
     private final SecurityServices securityServices;
     private final LazyValueHolder<RequestContext> requestContextHolder;
+    private final AsyncNotificationLimiter asyncNotificationLimiter;
+    private final ConcurrentMap<Class<?>, AsyncNotificationLimiter> eventTypeAsyncNotificationLimiters;
+    // Event types for which conflicting notification options were already reported
+    private final Set<Class<?>> conflictingEventTypes;
 
     protected ObserverNotifier(String contextId, TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
         this.resolver = resolver;
@@ -111,6 +124,14 @@ public class ObserverNotifier {
         // LazyValueHolder is used because contexts are not ready yet at the point when ObserverNotifier is first initialized
         this.requestContextHolder = LazyValueHolder
                 .forSupplier(() -> Container.instance(contextId).deploymentManager().instance().select(RequestContext.class, UnboundLiteral.INSTANCE).get());
+        WeldConfiguration configuration = services.get(WeldConfiguration.class);
+        int maxInFlight = configuration != null ? configuration.getIntegerProperty(ConfigurationKey.ASYNC_NOTIFICATION_MAX_IN_FLIGHT) : 0;
+        this.asyncNotificationLimiter = maxInFlight > 0
+                ? new AsyncNotificationLimiter(maxInFlight,
+                        initOverflowPolicyOption(configuration.getStringProperty(ConfigurationKey.ASYNC_NOTIFICATION_OVERFLOW_POLICY)))
+                : null;
+        this.eventTypeAsyncNotificationLimiters = new ConcurrentHashMap<>();
+        this.conflictingEventTypes = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -202,6 +223,24 @@ public class ObserverNotifier {
                 .addQualifiers(qualifiers).addQualifierUnchecked(QualifierInstance.ANY).create();
     }
 
+    /**
+     *
+     * @return the limiter bounding all the asynchronous notifications of this notifier or <code>null</code> if not bounded
+     * @see ConfigurationKey#ASYNC_NOTIFICATION_MAX_IN_FLIGHT
+     */
+    public AsyncNotificationLimiter getAsyncNotificationLimiter() {
+        return asyncNotificationLimiter;
+    }
+
+    /**
+     *
+     * @return the limiters bounding the asynchronous notifications of a particular event type
+     * @see BoundedNotificationOptions
+     */
+    public Map<Class<?>, AsyncNotificationLimiter> getEventTypeAsyncNotificationLimiters() {
+        return Collections.unmodifiableMap(eventTypeAsyncNotificationLimiters);
+    }
+
     /**
      * Clears cached observer method resolutions and event type checks.
      */
@@ -297,6 +336,45 @@ public class ObserverNotifier {
         notifySyncObservers(observers, event, metadata, ObserverExceptionHandler.IMMEDIATE_HANDLER); // no transaction support
     }
 
+    /**
+     * Delivers the given synchronous event objects to synchronous and transactional observer methods. All the event objects must share the same runtime type
+     * so that the given observer methods and metadata apply to each of them. Asynchronous observer methods are ignored.
+     *
+     * Event metadata is made available for the whole batch. Each synchronous observer method is notified of all the event objects before the next observer
+     * method is notified. If an observer method throws an exception, the delivery of the whole batch is aborted and the exception is rethrown.
+     *
+     * @param observers the given observer methods
+     * @param events the given event objects
+     * @param metadata event metadata
+     */
+    public <T> void notifyBatch(ResolvedObservers<T> observers, List<? extends T> events, EventMetadata metadata) {
+        if (!observers.isMetadataRequired()) {
+            metadata = null;
+        }
+        List<ObserverMethod<? super T>> syncObservers = observers.getImmediateSyncObservers();
+        if (!syncObservers.isEmpty()) {
+            final ThreadLocalStackReference<EventMetadata> stack = currentEventMetadata.pushIfNotNull(metadata);
+            try {
+                for (ObserverMethod<? super T> observer : syncObservers) {
+                    for (T event : events) {
+                        Observers.notify(observer, event, metadata);
+                    }
+                }
+            } catch (Throwable throwable) {
+                ObserverExceptionHandler.IMMEDIATE_HANDLER.handle(throwable);
+            } finally {
+                stack.pop();
+            }
+        }
+        List<ObserverMethod<? super T>> transactionObservers = observers.getTransactionObservers();
+        if (!transactionObservers.isEmpty()) {
+            // Transactional observers may be deferred per event
+            for (T event : events) {
+                notifyTransactionObservers(transactionObservers, event, metadata, ObserverExceptionHandler.IMMEDIATE_HANDLER);
+            }
+        }
+    }
+
     /**
      * Delivers the given asynchronous event object to given observer asynchronous observer methods.
      *
@@ -322,47 +400,111 @@ public class ObserverNotifier {
 
     protected <T, U extends T> CompletionStage<U> notifyAsyncObservers(List<ObserverMethod<? super T>> observers, U event, EventMetadata metadata,
             Executor executor, NotificationOptions options) {
+        return notifyAsyncObservers(observers, event, event.getClass(), metadata, executor, options,
+                (observer, exceptionHandler) -> notifyAsyncObserver(observer, event, metadata, exceptionHandler));
+    }
+
+    /**
+     * Delivers the given asynchronous event objects to given asynchronous observer methods. All the event objects must share the same runtime type so that
+     * the given observer methods and metadata apply to each of them.
+     *
+     * The batch is delivered the same way as a single event object fired via
+     * {@link #notifyAsync(ResolvedObservers, Object, EventMetadata, NotificationOptions)}, i.e. the observer methods are scheduled at once and all the
+     * exceptions are collected. An observer method which implements {@link BatchObserverMethod} is notified of the whole batch at once. Other observer methods
+     * are notified of each event object separately.
+     *
+     * @param observers the given observer methods
+     * @param events the given event objects
+     * @param metadata event metadata
+     * @param options
+     * @return the completion stage which completes with the given list of event objects
+     */
+    public <T, U extends T> CompletionStage<List<U>> notifyAsyncBatch(ResolvedObservers<T> observers, List<U> events, EventMetadata metadata,
+            NotificationOptions options) {
+        final EventMetadata batchMetadata = observers.isMetadataRequired() ? metadata : null;
+        Class<?> eventType = events.isEmpty() ? Object.class : events.get(0).getClass();
+        return notifyAsyncObservers(observers.getAsyncObservers(), events, eventType, batchMetadata, options.getExecutor(), options,
+                (observer, exceptionHandler) -> notifyAsyncObserverBatch(observer, events, batchMetadata, exceptionHandler));
+    }
+
+    private <T, R> CompletionStage<R> notifyAsyncObservers(List<ObserverMethod<? super T>> observers, R result, Class<?> eventType, EventMetadata metadata,
+            Executor executor, NotificationOptions options, BiConsumer<ObserverMethod<? super T>, ObserverExceptionHandler> notifyAction) {
         if (executor == null) {
             executor = asyncEventExecutor;
         }
         if (observers.isEmpty()) {
-            return AsyncEventDeliveryStage.completed(event, executor);
+            return AsyncEventDeliveryStage.completed(result, executor);
         }
         // We should always initialize and validate all notification options first
         final NotificationMode mode = initModeOption(options.get(WeldNotificationOptions.MODE));
         final Long timeout = initTimeoutOption(options.get(WeldNotificationOptions.TIMEOUT));
+        final AsyncNotificationLimiter limiter = initLimiter(eventType, options);
         final Consumer<Runnable> securityContextActionConsumer = securityServices.getSecurityContextAssociator();
         // grab current TCCL
         ClassLoader tccl = SecurityActions.getContextClassLoader();
         final ObserverExceptionHandler exceptionHandler;
-        CompletableFuture<U> completableFuture;
-
-        if (observers.size() > 1 && NotificationMode.PARALLEL.equals(mode)) {
-            // Attempt to notify async observers in parallel
-            exceptionHandler = new CollectingExceptionHandler(new CopyOnWriteArrayList<>());
-            List<CompletableFuture<T>> completableFutures = new ArrayList<>(observers.size());
-            for (ObserverMethod<? super T> observer : observers) {
-                completableFutures.add(CompletableFuture.supplyAsync(createSupplier(tccl, securityContextActionConsumer, event, metadata, exceptionHandler, false, () -> {
-                    notifyAsyncObserver(observer, event, metadata, exceptionHandler);
-                }), executor));
+        CompletableFuture<R> completableFuture;
+
+        final Admission admission;
+        final BiConsumer<ObserverMethod<? super T>, ObserverExceptionHandler> action;
+        final Executor taskExecutor;
+        if (limiter != null) {
+            // This may block the caller
+            admission = limiter.admit();
+            if (admission == null) {
+                CompletableFuture<R> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(EventLogger.LOG.asyncNotificationRejected(limiter.getMaxInFlight()));
+                return new AsyncEventDeliveryStage<>(rejected, executor);
             }
-            completableFuture = CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[] {})).thenApply((ignoredVoid) -> {
-                handleExceptions(exceptionHandler);
-                return event;
-            });
+            // A dropped notification is skipped
+            action = (observer, handler) -> {
+                if (admission.start()) {
+                    notifyAction.accept(observer, handler);
+                }
+            };
+            taskExecutor = admission.executor(executor);
         } else {
-            // Async observers are notified serially in a single worker thread
-            exceptionHandler = new CollectingExceptionHandler();
-            completableFuture = CompletableFuture.supplyAsync(createSupplier(tccl, securityContextActionConsumer, event, metadata, exceptionHandler, true, () -> {
+            admission = null;
+            action = notifyAction;
+            taskExecutor = executor;
+        }
+
+        try {
+            if (observers.size() > 1 && NotificationMode.PARALLEL.equals(mode)) {
+                // Attempt to notify async observers in parallel
+                exceptionHandler = new CollectingExceptionHandler(new CopyOnWriteArrayList<>());
+                List<CompletableFuture<R>> completableFutures = new ArrayList<>(observers.size());
                 for (ObserverMethod<? super T> observer : observers) {
-                    notifyAsyncObserver(observer, event, metadata, exceptionHandler);
+                    completableFutures.add(CompletableFuture.supplyAsync(createSupplier(tccl, securityContextActionConsumer, result, metadata, exceptionHandler, false, () -> {
+                        action.accept(observer, exceptionHandler);
+                    }), taskExecutor));
                 }
-            }), executor);
+                completableFuture = CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[] {})).thenApply((ignoredVoid) -> {
+                    handleExceptions(exceptionHandler);
+                    return result;
+                });
+            } else {
+                // Async observers are notified serially in a single worker thread
+                exceptionHandler = new CollectingExceptionHandler();
+                completableFuture = CompletableFuture.supplyAsync(createSupplier(tccl, securityContextActionConsumer, result, metadata, exceptionHandler, true, () -> {
+                    for (ObserverMethod<? super T> observer : observers) {
+                        action.accept(observer, exceptionHandler);
+                    }
+                }), taskExecutor);
+            }
+        } catch (RuntimeException e) {
+            if (admission != null) {
+                admission.abort();
+            }
+            throw e;
+        }
+        if (admission != null) {
+            admission.bind(completableFuture);
         }
 
         // If NotificationOptionKeys.TIMEOUT is set, we will trigger the counter and use CompletableFuture.anyOf()
         if (timeout != null) {
-            completableFuture = CompletableFuture.anyOf(completableFuture, startTimer(timeout)).thenApply((ignoredObject) -> event);
+            completableFuture = CompletableFuture.anyOf(completableFuture, startTimer(timeout)).thenApply((ignoredObject) -> result);
         }
         return new AsyncEventDeliveryStage<>(completableFuture, executor);
     }
@@ -389,6 +531,46 @@ public class ObserverNotifier {
         }
     }
 
+    private AsyncNotificationLimiter initLimiter(Class<?> eventType, NotificationOptions options) {
+        Object maxInFlightValue = options.get(BoundedNotificationOptions.MAX_IN_FLIGHT);
+        if (maxInFlightValue == null) {
+            return asyncNotificationLimiter;
+        }
+        int maxInFlight = initMaxInFlightOption(maxInFlightValue);
+        Object overflowPolicyValue = options.get(BoundedNotificationOptions.OVERFLOW_POLICY);
+        OverflowPolicy overflowPolicy = overflowPolicyValue != null ? initOverflowPolicyOption(overflowPolicyValue) : OverflowPolicy.BLOCK;
+        AsyncNotificationLimiter limiter = eventTypeAsyncNotificationLimiters.get(eventType);
+        if (limiter == null) {
+            limiter = putIfAbsent(eventTypeAsyncNotificationLimiters, eventType, new AsyncNotificationLimiter(maxInFlight, overflowPolicy));
+        }
+        // The bound is shared by all the notifications of the event type and set by the first one
+        if ((limiter.getMaxInFlight() != maxInFlight || limiter.getOverflowPolicy() != overflowPolicy) && conflictingEventTypes.add(eventType)) {
+            EventLogger.LOG.asyncNotificationBoundAlreadySet(eventType, limiter.getMaxInFlight(), limiter.getOverflowPolicy(), maxInFlight, overflowPolicy);
+        }
+        return limiter;
+    }
+
+    private int initMaxInFlightOption(Object value) {
+        int maxInFlight;
+        try {
+            maxInFlight = Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            throw EventLogger.LOG.invalidInputValueForMaxInFlight(value);
+        }
+        if (maxInFlight <= 0) {
+            throw EventLogger.LOG.invalidInputValueForMaxInFlight(value);
+        }
+        return maxInFlight;
+    }
+
+    private static OverflowPolicy initOverflowPolicyOption(Object value) {
+        OverflowPolicy policy = OverflowPolicy.of(value);
+        if (policy == null) {
+            throw EventLogger.LOG.invalidOverflowPolicy(value);
+        }
+        return policy;
+    }
+
     private NotificationMode initModeOption(Object value) {
         if (value != null) {
             NotificationMode mode = NotificationMode.of(value);
@@ -418,18 +600,34 @@ public class ObserverNotifier {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <T, U extends T> void notifyAsyncObserverBatch(ObserverMethod<? super T> observer, List<U> events, EventMetadata metadata,
+            ObserverExceptionHandler exceptionHandler) {
+        if (observer instanceof BatchObserverMethod) {
+            try {
+                ((BatchObserverMethod<? super T>) observer).notifyBatch(events, metadata);
+            } catch (Throwable e) {
+                exceptionHandler.handle(e);
+            }
+        } else {
+            for (U event : events) {
+                notifyAsyncObserver(observer, event, metadata, exceptionHandler);
+            }
+        }
+    }
+
     /**
      * The supplier associates the security context with the current thread, activates the request context, runs the "notify" action and handles exceptions if
      * required.
      *
-     * @param event
+     * @param result
      * @param metadata
      * @param exceptionHandler
      * @param handleExceptions
      * @param notifyAction
      * @return a new supplier
      */
-    private <T, U extends T> Supplier<T> createSupplier(ClassLoader threadContextClassLoader, Consumer<Runnable> securityContextActionConsumer, U event, EventMetadata metadata, ObserverExceptionHandler exceptionHandler,
+    private <R> Supplier<R> createSupplier(ClassLoader threadContextClassLoader, Consumer<Runnable> securityContextActionConsumer, R result, EventMetadata metadata, ObserverExceptionHandler exceptionHandler,
             boolean handleExceptions, Runnable notifyAction) {
         return () -> {
             ClassLoader originalCl = SecurityActions.getContextClassLoader();
@@ -450,7 +648,7 @@ public class ObserverNotifier {
             if (handleExceptions) {
                 handleExceptions(exceptionHandler);
             }
-            return event;
+            return result;
         };
     }
 
@@ -34,12 +34,16 @@ public class ExecutorServicesFactory {
         final boolean debug = configuration.getBooleanProperty(ConfigurationKey.EXECUTOR_THREAD_POOL_DEBUG);
         final ThreadPoolType threadPoolType = initThreadPoolType(configuration);
         final long threadPoolKeepAliveTime = configuration.getLongProperty(ConfigurationKey.EXECUTOR_THREAD_POOL_KEEP_ALIVE_TIME);
+        final boolean metrics = configuration.getBooleanProperty(ConfigurationKey.EXECUTOR_THREAD_POOL_METRICS);
 
+        ExecutorServices executorServices = constructExecutorServices(threadPoolType, threadPoolSize, threadPoolKeepAliveTime);
+        if (metrics) {
+            executorServices = enableMetrics(executorServices);
+        }
         if (debug) {
-            return enableDebugMode(constructExecutorServices(threadPoolType, threadPoolSize, threadPoolKeepAliveTime));
-        } else {
-            return constructExecutorServices(threadPoolType, threadPoolSize, threadPoolKeepAliveTime);
+            executorServices = enableDebugMode(executorServices);
         }
+        return executorServices;
     }
 
     private static ExecutorServices constructExecutorServices(ThreadPoolType type, int threadPoolSize, long threadPoolKeepAliveTime) {
@@ -52,11 +56,22 @@ public class ExecutorServicesFactory {
                 return new TimingOutFixedThreadPoolExecutorServices(threadPoolSize, threadPoolKeepAliveTime);
             case COMMON:
                 return new CommonForkJoinPoolExecutorServices();
+            case FORK_JOIN:
+                return new ForkJoinPoolExecutorServices(threadPoolSize);
+            case VIRTUAL:
+                return new VirtualThreadExecutorServices();
             default:
                 return new FixedThreadPoolExecutorServices(threadPoolSize);
         }
     }
 
+    private static ExecutorServices enableMetrics(ExecutorServices executor) {
+        if (executor == null) {
+            return executor;
+        }
+        return new MeasuringExecutorServices(executor);
+    }
+
     private static ExecutorServices enableDebugMode(ExecutorServices executor) {
         if (executor == null) {
             return executor;
@@ -78,6 +93,10 @@ public class ExecutorServicesFactory {
                     threadPoolType = ThreadPoolType.FIXED;
                     BootstrapLogger.LOG.commonThreadPoolWithSecurityManagerEnabled(threadPoolType);
                 }
+                if (ThreadPoolType.VIRTUAL == threadPoolType && !VirtualThreadExecutorServices.isSupported()) {
+                    threadPoolType = ThreadPoolType.FORK_JOIN;
+                    BootstrapLogger.LOG.virtualThreadsNotSupported(threadPoolType);
+                }
                 return threadPoolType;
             } catch (Exception e) {
                 throw BootstrapLogger.LOG.invalidThreadPoolType(threadPoolTypeString);
@@ -90,6 +109,6 @@ public class ExecutorServicesFactory {
      * @author Martin Kouba
      */
     public enum ThreadPoolType {
-        FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD, COMMON
+        FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD, COMMON, FORK_JOIN, VIRTUAL
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.executor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * Implementation of {@link org.jboss.weld.manager.api.ExecutorServices} that uses a dedicated {@link ForkJoinPool} in async mode. In async mode the tasks
+ * which are never joined, such as asynchronous observer notifications, are processed in FIFO order. Idle workers steal tasks from the busy ones.
+ *
+ * Unlike {@link CommonForkJoinPoolExecutorServices} the pool is not shared with other libraries. The parallelism is determined by the threadPoolSize
+ * configuration option.
+ */
+public class ForkJoinPoolExecutorServices extends AbstractExecutorServices {
+
+    private final int threadPoolSize;
+
+    private final ForkJoinPool executor;
+
+    public ForkJoinPoolExecutorServices(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+        this.executor = new ForkJoinPool(threadPoolSize, new DaemonWorkerThreadFactory("weld-fj-worker-"), null, true);
+        BootstrapLogger.LOG.threadsInUse(threadPoolSize);
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return executor;
+    }
+
+    @Override
+    protected int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ForkJoinPoolExecutorServices [threadPoolSize=" + threadPoolSize + "]";
+    }
+
+    private static class DaemonWorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final String threadNamePrefix;
+
+        DaemonWorkerThreadFactory(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadNamePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
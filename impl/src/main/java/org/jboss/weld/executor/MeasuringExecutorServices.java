@@ -0,0 +1,365 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.util.ForwardingExecutorService;
+
+/**
+ * Decorates {@link ExecutorServices} so that the tasks submitted to the task executor are measured. The following metrics are collected:
+ *
+ * <ul>
+ * <li>the queue depth, i.e. the number of tasks submitted but not started yet,</li>
+ * <li>the number of running and completed tasks,</li>
+ * <li>the queue latency, i.e. the time between the submission and the start of a task,</li>
+ * <li>the execution time of a task.</li>
+ * </ul>
+ *
+ * Tasks submitted via {@link ExecutorService#invokeAny(Collection)} or {@link ExecutorService#invokeAll(Collection, long, TimeUnit)} may never start. Such
+ * tasks are abandoned when the invocation returns so that they are not counted in the queue depth. The metrics are logged when the executor is cleaned up.
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#EXECUTOR_THREAD_POOL_METRICS
+ */
+public class MeasuringExecutorServices implements ExecutorServices {
+
+    private final ExecutorServices delegate;
+
+    private final MeasuringExecutorService taskExecutor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueLatencySum = new LongAdder();
+    private final AtomicLong queueLatencyMax = new AtomicLong();
+    private final LongAdder executionTimeSum = new LongAdder();
+
+    public MeasuringExecutorServices(ExecutorServices delegate) {
+        this.delegate = delegate;
+        this.taskExecutor = new MeasuringExecutorService();
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    @Override
+    public ScheduledExecutorService getTimerExecutor() {
+        return delegate.getTimerExecutor();
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAllAndCheckForExceptions(Collection<? extends Callable<T>> tasks) {
+        return delegate.invokeAllAndCheckForExceptions(measure(tasks));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAllAndCheckForExceptions(TaskFactory<T> factory) {
+        return delegate.invokeAllAndCheckForExceptions((threadPoolSize) -> measure(factory.createTasks(threadPoolSize)));
+    }
+
+    @Override
+    public void cleanup() {
+        BootstrapLogger.LOG.executorMetrics(delegate, getCompletedTaskCount(), getAverageQueueLatency(TimeUnit.MICROSECONDS),
+                getMaxQueueLatency(TimeUnit.MICROSECONDS), getAverageExecutionTime(TimeUnit.MICROSECONDS));
+        delegate.cleanup();
+    }
+
+    public ExecutorServices getDelegate() {
+        return delegate;
+    }
+
+    /**
+     *
+     * @return the number of tasks submitted but not started yet
+     */
+    public long getQueueDepth() {
+        // Read the started count first so that the result is never negative
+        long startedCount = started.sum();
+        return submitted.sum() - startedCount;
+    }
+
+    /**
+     *
+     * @return the number of tasks being executed
+     */
+    public long getActiveCount() {
+        long completedCount = completed.sum();
+        return started.sum() - completedCount;
+    }
+
+    /**
+     *
+     * @return the number of completed tasks
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    /**
+     *
+     * @param unit
+     * @return the average time between the submission and the start of a task
+     */
+    public long getAverageQueueLatency(TimeUnit unit) {
+        long startedCount = started.sum();
+        return startedCount == 0 ? 0 : unit.convert(queueLatencySum.sum() / startedCount, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *
+     * @param unit
+     * @return the maximum time between the submission and the start of a task
+     */
+    public long getMaxQueueLatency(TimeUnit unit) {
+        return unit.convert(queueLatencyMax.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *
+     * @param unit
+     * @return the average execution time of a task
+     */
+    public long getAverageExecutionTime(TimeUnit unit) {
+        long completedCount = completed.sum();
+        return completedCount == 0 ? 0 : unit.convert(executionTimeSum.sum() / completedCount, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "MeasuringExecutorServices [delegate=" + delegate + "]";
+    }
+
+    private long onSubmit() {
+        submitted.increment();
+        return System.nanoTime();
+    }
+
+    private void onReject() {
+        submitted.decrement();
+    }
+
+    private long onStart(long submittedAt) {
+        long startedAt = System.nanoTime();
+        long latency = startedAt - submittedAt;
+        queueLatencySum.add(latency);
+        queueLatencyMax.accumulateAndGet(latency, Math::max);
+        started.increment();
+        return startedAt;
+    }
+
+    private void onComplete(long startedAt) {
+        executionTimeSum.add(System.nanoTime() - startedAt);
+        completed.increment();
+    }
+
+    private Runnable measure(Runnable task) {
+        final long submittedAt = onSubmit();
+        return () -> {
+            final long startedAt = onStart(submittedAt);
+            try {
+                task.run();
+            } finally {
+                onComplete(startedAt);
+            }
+        };
+    }
+
+    private <T> Callable<T> measure(Callable<T> task) {
+        final long submittedAt = onSubmit();
+        return () -> {
+            final long startedAt = onStart(submittedAt);
+            try {
+                return task.call();
+            } finally {
+                onComplete(startedAt);
+            }
+        };
+    }
+
+    private <T> List<Callable<T>> measure(Collection<? extends Callable<T>> tasks) {
+        List<Callable<T>> measured = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            measured.add(measure(task));
+        }
+        return measured;
+    }
+
+    private <T> List<AbandonableTask<T>> measureAbandonable(Collection<? extends Callable<T>> tasks) {
+        List<AbandonableTask<T>> measured = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            measured.add(new AbandonableTask<>(task));
+        }
+        return measured;
+    }
+
+    private static void abandon(List<? extends AbandonableTask<?>> tasks) {
+        for (AbandonableTask<?> task : tasks) {
+            task.abandon();
+        }
+    }
+
+    /**
+     * A measured task that may never start, e.g. it is cancelled by {@link ExecutorService#invokeAny(Collection)} after another task completed. The task is
+     * either started or abandoned, whichever happens first.
+     */
+    private class AbandonableTask<T> implements Callable<T> {
+
+        private final Callable<T> task;
+
+        private final long submittedAt;
+
+        private final AtomicBoolean claimed;
+
+        AbandonableTask(Callable<T> task) {
+            this.task = task;
+            this.submittedAt = onSubmit();
+            this.claimed = new AtomicBoolean();
+        }
+
+        @Override
+        public T call() throws Exception {
+            if (!claimed.compareAndSet(false, true)) {
+                // Already abandoned and not counted anymore
+                return task.call();
+            }
+            final long startedAt = onStart(submittedAt);
+            try {
+                return task.call();
+            } finally {
+                onComplete(startedAt);
+            }
+        }
+
+        void abandon() {
+            if (claimed.compareAndSet(false, true)) {
+                onReject();
+            }
+        }
+
+    }
+
+    private class MeasuringExecutorService extends ForwardingExecutorService {
+
+        @Override
+        protected ExecutorService delegate() {
+            return delegate.getTaskExecutor();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            Runnable measured = measure(command);
+            try {
+                super.execute(measured);
+            } catch (RuntimeException e) {
+                onReject();
+                throw e;
+            }
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            Callable<T> measured = measure(task);
+            try {
+                return super.submit(measured);
+            } catch (RuntimeException e) {
+                onReject();
+                throw e;
+            }
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            Runnable measured = measure(task);
+            try {
+                return super.submit(measured, result);
+            } catch (RuntimeException e) {
+                onReject();
+                throw e;
+            }
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            Runnable measured = measure(task);
+            try {
+                return super.submit(measured);
+            } catch (RuntimeException e) {
+                onReject();
+                throw e;
+            }
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            List<AbandonableTask<T>> measured = measureAbandonable(tasks);
+            try {
+                return super.invokeAll(measured);
+            } finally {
+                // Tasks are cancelled if interrupted while waiting
+                abandon(measured);
+            }
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
+            List<AbandonableTask<T>> measured = measureAbandonable(tasks);
+            try {
+                return super.invokeAll(measured, timeout, unit);
+            } finally {
+                abandon(measured);
+            }
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+            List<AbandonableTask<T>> measured = measureAbandonable(tasks);
+            try {
+                return super.invokeAny(measured);
+            } finally {
+                abandon(measured);
+            }
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
+                TimeoutException {
+            List<AbandonableTask<T>> measured = measureAbandonable(tasks);
+            try {
+                return super.invokeAny(measured, timeout, unit);
+            } finally {
+                abandon(measured);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.executor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.weld.exceptions.WeldException;
+
+/**
+ * Implementation of {@link org.jboss.weld.manager.api.ExecutorServices} that starts a new virtual thread for each task. This suits asynchronous observers
+ * which block, e.g. on I/O, as no pool has to be sized for the number of concurrently blocked observers. The threadPoolSize and threadPoolKeepAliveTime
+ * configuration options are ignored.
+ *
+ * Virtual threads are only available on JDK 21 and newer. Since Weld is compiled for an older version the executor is looked up reflectively, see also
+ * {@link #isSupported()}.
+ */
+public class VirtualThreadExecutorServices extends AbstractExecutorServices {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+    private final ExecutorService executor;
+
+    public VirtualThreadExecutorServices() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new IllegalStateException("Virtual threads are not supported by this JDK");
+        }
+        try {
+            this.executor = (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new WeldException(e);
+        }
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the current JDK supports virtual threads, <code>false</code> otherwise
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return executor;
+    }
+
+    @Override
+    protected int getThreadPoolSize() {
+        // The number of virtual threads is not bounded
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadExecutorServices";
+    }
+
+    private static Method findFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -58,6 +58,7 @@ public class ConstructorInjectionPoint<T> extends AbstractCallableInjectionPoint
     private final AnnotatedConstructor<T> constructor;
     private final ConstructorSignature signature;
     private final Constructor<T> accessibleConstructor;
+    private GeneratedInjector generatedInjector;
 
     protected ConstructorInjectionPoint(EnhancedAnnotatedConstructor<T> constructor, Bean<T> declaringBean, Class<?> declaringComponentClass, InjectionPointFactory factory, BeanManagerImpl manager) {
         super(constructor, declaringBean, declaringComponentClass, false, factory, manager);
@@ -115,6 +116,18 @@ public class ConstructorInjectionPoint<T> extends AbstractCallableInjectionPoint
     }
 
     protected T newInstance(Object[] parameterValues) {
+        GeneratedInjector injector = generatedInjector;
+        if (injector != null) {
+            try {
+                return Reflections.cast(injector.newInstance(parameterValues));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                // Handle checked exceptions and errors the same way as if thrown by Constructor.newInstance()
+                rethrowException(new InvocationTargetException(e));
+            }
+            return null;
+        }
         try {
             return accessibleConstructor.newInstance(parameterValues);
         } catch (IllegalArgumentException e) {
@@ -129,6 +142,14 @@ public class ConstructorInjectionPoint<T> extends AbstractCallableInjectionPoint
         return null;
     }
 
+    /**
+     * The injector is bound during bootstrap. It does not need to be published safely - the constructor is called through reflection until the injector is
+     * visible.
+     */
+    void setGeneratedInjector(GeneratedInjector generatedInjector) {
+        this.generatedInjector = generatedInjector;
+    }
+
     /**
      * Helper method for getting the current parameter values from a list of annotated parameters.
      *
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.jboss.weld.logging.EventLogger;
+
+/**
+ * Invokes a method directly, i.e. through a class generated by {@link LambdaMetafactory} instead of reflection.
+ *
+ * <p>
+ * Only public non-static methods of public classes with at most {@link #MAX_PARAMETERS} parameters are supported. Moreover, the declaring class and the
+ * parameter types must be visible to the class loader of Weld as the generated class is defined in this package. Exceptions thrown by the method are
+ * propagated as is, including checked exceptions.
+ * </p>
+ *
+ * @see MethodInvocationStrategy
+ */
+abstract class DirectMethodInvoker {
+
+    static final int MAX_PARAMETERS = 4;
+
+    private static final Class<?>[] FUNCTIONS = { Function1.class, Function2.class, Function3.class, Function4.class };
+
+    /**
+     *
+     * @param method
+     * @return the direct invoker, or <code>null</code> if the method cannot be invoked directly
+     */
+    static DirectMethodInvoker of(Method method) {
+        int parameterCount = method.getParameterCount();
+        if (parameterCount == 0 || parameterCount > MAX_PARAMETERS || !Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())
+                || !isPublic(method.getDeclaringClass())) {
+            return null;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (parameterType.isPrimitive()) {
+                return null;
+            }
+        }
+        // Typically the case in EE and servlet containers where application classes are not visible to the class loader of Weld
+        if (!isVisible(method.getDeclaringClass())) {
+            EventLogger.LOG.observerMethodNotInvokedDirectly(method, method.getDeclaringClass());
+            return null;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isVisible(parameterType)) {
+                EventLogger.LOG.observerMethodNotInvokedDirectly(method, parameterType);
+                return null;
+            }
+        }
+        Class<?> function = FUNCTIONS[parameterCount - 1];
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            Object target = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(function),
+                    MethodType.genericMethodType(parameterCount + 1).changeReturnType(void.class), handle, handle.type().changeReturnType(void.class))
+                    .getTarget().invoke();
+            switch (parameterCount) {
+                case 1:
+                    return new Invoker1((Function1) target);
+                case 2:
+                    return new Invoker2((Function2) target);
+                case 3:
+                    return new Invoker3((Function3) target);
+                default:
+                    return new Invoker4((Function4) target);
+            }
+        } catch (Throwable e) {
+            // E.g. IllegalAccessException or LambdaConversionException - fall back to reflection
+            return null;
+        }
+    }
+
+    private static boolean isPublic(Class<?> clazz) {
+        for (Class<?> current = clazz; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, DirectMethodInvoker.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     *
+     * @param receiver
+     * @param parameters the number of parameters must match the number of method parameters
+     */
+    abstract void invoke(Object receiver, Object[] parameters);
+
+    private static final class Invoker1 extends DirectMethodInvoker {
+
+        private final Function1 function;
+
+        private Invoker1(Function1 function) {
+            this.function = function;
+        }
+
+        @Override
+        void invoke(Object receiver, Object[] parameters) {
+            function.apply(receiver, parameters[0]);
+        }
+    }
+
+    private static final class Invoker2 extends DirectMethodInvoker {
+
+        private final Function2 function;
+
+        private Invoker2(Function2 function) {
+            this.function = function;
+        }
+
+        @Override
+        void invoke(Object receiver, Object[] parameters) {
+            function.apply(receiver, parameters[0], parameters[1]);
+        }
+    }
+
+    private static final class Invoker3 extends DirectMethodInvoker {
+
+        private final Function3 function;
+
+        private Invoker3(Function3 function) {
+            this.function = function;
+        }
+
+        @Override
+        void invoke(Object receiver, Object[] parameters) {
+            function.apply(receiver, parameters[0], parameters[1], parameters[2]);
+        }
+    }
+
+    private static final class Invoker4 extends DirectMethodInvoker {
+
+        private final Function4 function;
+
+        private Invoker4(Function4 function) {
+            this.function = function;
+        }
+
+        @Override
+        void invoke(Object receiver, Object[] parameters) {
+            function.apply(receiver, parameters[0], parameters[1], parameters[2], parameters[3]);
+        }
+    }
+
+    @FunctionalInterface
+    interface Function1 {
+
+        void apply(Object receiver, Object param1);
+
+    }
+
+    @FunctionalInterface
+    interface Function2 {
+
+        void apply(Object receiver, Object param1, Object param2);
+
+    }
+
+    @FunctionalInterface
+    interface Function3 {
+
+        void apply(Object receiver, Object param1, Object param2, Object param3);
+
+    }
+
+    @FunctionalInterface
+    interface Function4 {
+
+        void apply(Object receiver, Object param1, Object param2, Object param3, Object param4);
+
+    }
+
+}
@@ -26,7 +26,6 @@ import java.security.AccessController;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.spi.AnnotatedField;
-import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.ProcessInjectionPoint;
 
@@ -41,7 +40,7 @@ import org.jboss.weld.util.reflection.Reflections;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
-@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "The bean cache is loaded lazily.")
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "The resolved reference is loaded lazily.")
 public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttributes<T, Field> implements WeldInjectionPointAttributes<T, Field>, Serializable {
 
     /**
@@ -54,8 +53,9 @@ public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttribute
     private static final long serialVersionUID = 6645272914499045953L;
 
     private final boolean cacheable;
-    private transient Bean<?> cachedBean;
+    private transient ResolvedReference resolvedReference;
     private final transient Field accessibleField;
+    private transient GeneratedInjector generatedInjector;
 
     private final FieldInjectionPointAttributes<T, X> attributes;
 
@@ -86,12 +86,18 @@ public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttribute
             if (!cacheable) {
                 objectToInject = manager.getInjectableReference(this, creationalContext);
             } else {
-                if (cachedBean == null) {
-                    cachedBean = manager.resolve(manager.getBeans(this));
+                ResolvedReference reference = resolvedReference;
+                if (reference == null) {
+                    resolvedReference = reference = ResolvedReference.of(this, manager);
                 }
-                objectToInject = manager.getInjectableReference(this, cachedBean, creationalContext);
+                objectToInject = reference.getInjectableReference(this, manager, creationalContext);
+            }
+            GeneratedInjector injector = generatedInjector;
+            if (injector != null) {
+                injector.setField(instanceToInject, objectToInject);
+            } else {
+                accessibleField.set(instanceToInject, objectToInject);
             }
-            accessibleField.set(instanceToInject, objectToInject);
         } catch (IllegalArgumentException e) {
             rethrowException(e);
         } catch (IllegalAccessException e) {
@@ -99,6 +105,14 @@ public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttribute
         }
     }
 
+    /**
+     * The injector is bound during bootstrap. It does not need to be published safely - the field is accessed through reflection until the injector is
+     * visible.
+     */
+    void setGeneratedInjector(GeneratedInjector generatedInjector) {
+        this.generatedInjector = generatedInjector;
+    }
+
     @Override
     protected FieldInjectionPointAttributes<T, X> delegate() {
         return attributes;
@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+/**
+ * Accesses a single member of a managed bean class without reflection. The implementations are generated by {@link GeneratedInjectors} in the package of the
+ * bean class and each instance is bound to one member, i.e. a field, an initializer method or the bean constructor.
+ *
+ * <p>
+ * Only the method matching the kind of the bound member may be called. The generated code does not declare any checked exceptions, any exception thrown by
+ * the member is propagated as is.
+ * </p>
+ *
+ * <p>
+ * This interface is not part of the public API and must not be used by applications. It is only public so that it's accessible from the generated classes.
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#INJECTION_GENERATED_INJECTORS
+ */
+public interface GeneratedInjector {
+
+    /**
+     * Writes the bound field.
+     *
+     * @param instance the instance whose field is written
+     * @param value the value, boxed if the field type is primitive
+     */
+    void setField(Object instance, Object value);
+
+    /**
+     * Invokes the bound initializer method. The return value, if any, is discarded.
+     *
+     * @param instance the receiver
+     * @param parameters the parameters, boxed if the parameter type is primitive
+     */
+    void invokeMethod(Object instance, Object[] parameters);
+
+    /**
+     * Calls the bound constructor.
+     *
+     * @param parameters the parameters, boxed if the parameter type is primitive
+     * @return the new instance
+     */
+    Object newInstance(Object[] parameters);
+
+}
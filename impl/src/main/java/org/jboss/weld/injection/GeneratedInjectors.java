@@ -0,0 +1,446 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+import static org.jboss.classfilewriter.util.DescriptorUtils.methodDescriptor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFile;
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.DuplicateMemberException;
+import org.jboss.classfilewriter.code.BranchEnd;
+import org.jboss.classfilewriter.code.CodeAttribute;
+import org.jboss.classfilewriter.util.Boxing;
+import org.jboss.classfilewriter.util.DescriptorUtils;
+import org.jboss.weld.bean.proxy.ProtectionDomainCache;
+import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.security.GetProtectionDomainAction;
+import org.jboss.weld.serialization.spi.ProxyServices;
+import org.jboss.weld.util.bytecode.BytecodeUtils;
+import org.jboss.weld.util.bytecode.ClassFileUtils;
+
+/**
+ * Generates a {@link GeneratedInjector} class for a managed bean class and binds its instances to the field, initializer method and constructor injection
+ * points of the bean.
+ *
+ * <p>
+ * The generated class is defined in the package of the bean class, in the same way as a proxy class. Only the members which may be accessed from the
+ * generated class are bound, i.e. non-private members of classes in the same runtime package and public members of public classes. The types of the fields
+ * and parameters must be accessible as well. Private and final fields, static members and members of other classes are still accessed through reflection.
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#INJECTION_GENERATED_INJECTORS
+ */
+public final class GeneratedInjectors {
+
+    private static final String NAME_SUFFIX = "$$_WeldInjector_";
+
+    private static final String JAVA = "java.";
+
+    private static final String INIT_METHOD_NAME = "<init>";
+
+    private static final String INDEX_FIELD_NAME = "index";
+
+    private static final String OBJECT_DESCRIPTOR = DescriptorUtils.makeDescriptor(Object.class);
+
+    private static final String OBJECT_ARRAY_DESCRIPTOR = DescriptorUtils.makeDescriptor(Object[].class);
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private GeneratedInjectors() {
+    }
+
+    /**
+     * Generates (or loads a previously generated) injector class for the given bean class and binds an injector to each of the given injection points which
+     * may be accessed directly. If the class cannot be generated, the injection points are left intact, i.e. reflection is used.
+     *
+     * @param beanClass the bean class
+     * @param constructor the bean constructor, may be null
+     * @param fields the injected fields
+     * @param initializers the initializer methods
+     * @param manager the bean manager
+     */
+    public static void install(Class<?> beanClass, ConstructorInjectionPoint<?> constructor, List<Set<FieldInjectionPoint<?, ?>>> fields,
+            List<Set<MethodInjectionPoint<?, ?>>> initializers, BeanManagerImpl manager) {
+        if (beanClass.getName().startsWith(JAVA) || beanClass.getClassLoader() == null) {
+            return;
+        }
+        ProxyServices proxyServices = manager.getServices().get(ProxyServices.class);
+        ClassLoader classLoader = null;
+        if (!proxyServices.supportsClassDefining()) {
+            classLoader = proxyServices.getClassLoader(beanClass);
+            if (classLoader == null) {
+                return;
+            }
+        }
+        AccessRules rules = new AccessRules(beanClass, classLoader);
+        if (!rules.isVisible(GeneratedInjector.class)) {
+            return;
+        }
+
+        List<ConstructorInjectionPoint<?>> boundConstructors = new ArrayList<ConstructorInjectionPoint<?>>(1);
+        List<FieldInjectionPoint<?, ?>> boundFields = new ArrayList<FieldInjectionPoint<?, ?>>();
+        List<StaticMethodInjectionPoint<?, ?>> boundMethods = new ArrayList<StaticMethodInjectionPoint<?, ?>>();
+        List<Member> members = new ArrayList<Member>();
+        StringBuilder signature = new StringBuilder(String.valueOf(GeneratedInjectors.class.getPackage().getImplementationVersion()));
+
+        if (constructor != null && !Modifier.isAbstract(beanClass.getModifiers()) && !beanClass.isInterface()) {
+            Constructor<?> javaConstructor = constructor.getAnnotated().getJavaMember();
+            if (rules.isAccessible(javaConstructor) && rules.areAccessible(javaConstructor.getParameterTypes())) {
+                boundConstructors.add(constructor);
+                members.add(javaConstructor);
+                signature.append(";C").append(methodDescriptor(DescriptorUtils.parameterDescriptors(javaConstructor.getParameterTypes()),
+                        BytecodeUtils.VOID_CLASS_DESCRIPTOR));
+            }
+        }
+        for (Set<FieldInjectionPoint<?, ?>> injectionPoints : fields) {
+            for (FieldInjectionPoint<?, ?> injectionPoint : injectionPoints) {
+                Field field = injectionPoint.getAnnotated().getJavaMember();
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers()) && rules.isAccessible(field)
+                        && rules.isAccessible(field.getType())) {
+                    boundFields.add(injectionPoint);
+                    members.add(field);
+                    signature.append(";F").append(field.getDeclaringClass().getName()).append('.').append(field.getName())
+                            .append(DescriptorUtils.makeDescriptor(field.getType()));
+                }
+            }
+        }
+        for (Set<MethodInjectionPoint<?, ?>> injectionPoints : initializers) {
+            for (MethodInjectionPoint<?, ?> injectionPoint : injectionPoints) {
+                if (!(injectionPoint instanceof StaticMethodInjectionPoint<?, ?>)) {
+                    continue;
+                }
+                Method method = injectionPoint.getAnnotated().getJavaMember();
+                if (!Modifier.isStatic(method.getModifiers()) && !Modifier.isAbstract(method.getModifiers()) && !method.getDeclaringClass().isInterface()
+                        && rules.isAccessible(method) && rules.areAccessible(method.getParameterTypes())) {
+                    boundMethods.add((StaticMethodInjectionPoint<?, ?>) injectionPoint);
+                    members.add(method);
+                    signature.append(";M").append(method.getDeclaringClass().getName()).append('.').append(method.getName())
+                            .append(methodDescriptor(method));
+                }
+            }
+        }
+        if (members.isEmpty()) {
+            return;
+        }
+
+        try {
+            // A previously generated class is reused if the name matches, hence the name must identify the bound members
+            String injectorClassName = beanClass.getName() + NAME_SUFFIX + digest(signature.toString());
+            Class<?> injectorClass = getInjectorClass(beanClass, injectorClassName, members, classLoader, proxyServices, manager);
+            if (!rules.isDefinedByExpectedClassLoader(injectorClass)) {
+                // The package access rules do not hold, e.g. the integrator defined the class in a different class loader than the bean class
+                return;
+            }
+            Constructor<?> injectorConstructor = injectorClass.getConstructor(int.class);
+            int index = 0;
+            for (ConstructorInjectionPoint<?> injectionPoint : boundConstructors) {
+                injectionPoint.setGeneratedInjector((GeneratedInjector) injectorConstructor.newInstance(index++));
+            }
+            for (FieldInjectionPoint<?, ?> injectionPoint : boundFields) {
+                injectionPoint.setGeneratedInjector((GeneratedInjector) injectorConstructor.newInstance(index++));
+            }
+            for (StaticMethodInjectionPoint<?, ?> injectionPoint : boundMethods) {
+                injectionPoint.setGeneratedInjector((GeneratedInjector) injectorConstructor.newInstance(index++));
+            }
+            BeanLogger.LOG.generatedInjector(injectorClassName, members.size(), beanClass.getName());
+        } catch (Throwable e) {
+            BeanLogger.LOG.unableToGenerateInjector(beanClass.getName(), e);
+        }
+    }
+
+    /**
+     *
+     * @param signature the signature of the bound members
+     * @return the hex-encoded digest of the given signature
+     * @throws NoSuchAlgorithmException
+     */
+    private static String digest(String signature) throws NoSuchAlgorithmException {
+        byte[] bytes = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(signature.getBytes(StandardCharsets.UTF_8));
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static Class<?> getInjectorClass(Class<?> beanClass, String name, List<Member> members, ClassLoader classLoader, ProxyServices proxyServices,
+            BeanManagerImpl manager) throws DuplicateMemberException {
+        try {
+            // First check to see if we already have this class
+            return loadClass(beanClass, name, classLoader, proxyServices);
+        } catch (ClassNotFoundException e) {
+            try {
+                return defineClass(beanClass, name, createClassFile(name, members, classLoader).toBytecode(), classLoader, proxyServices, manager);
+            } catch (RuntimeException | LinkageError e1) {
+                // Another thread or container may have defined the class between the check and the definition
+                try {
+                    return loadClass(beanClass, name, classLoader, proxyServices);
+                } catch (ClassNotFoundException e2) {
+                    throw e1;
+                }
+            }
+        }
+    }
+
+    private static Class<?> loadClass(Class<?> beanClass, String name, ClassLoader classLoader, ProxyServices proxyServices) throws ClassNotFoundException {
+        return classLoader == null ? proxyServices.loadClass(beanClass, name) : classLoader.loadClass(name);
+    }
+
+    private static Class<?> defineClass(Class<?> beanClass, String name, byte[] bytecode, ClassLoader classLoader, ProxyServices proxyServices,
+            BeanManagerImpl manager) {
+        ProtectionDomain domain = AccessController.doPrivileged(new GetProtectionDomainAction(beanClass));
+        if (System.getSecurityManager() != null) {
+            domain = manager.getServices().get(ProtectionDomainCache.class).getProtectionDomainForProxy(domain);
+        }
+        if (classLoader == null) {
+            return ClassFileUtils.toClass(name, bytecode, beanClass, proxyServices, domain);
+        } else {
+            return ClassFileUtils.toClass(name, bytecode, classLoader, domain);
+        }
+    }
+
+    private static ClassFile createClassFile(String name, List<Member> members, ClassLoader classLoader) throws DuplicateMemberException {
+        int accessFlags = AccessFlag.of(AccessFlag.PUBLIC, AccessFlag.FINAL, AccessFlag.SUPER, AccessFlag.SYNTHETIC);
+        ClassFile file;
+        if (classLoader == null) {
+            file = new ClassFile(name, accessFlags, Object.class.getName(), GeneratedInjector.class.getName());
+        } else {
+            file = new ClassFile(name, accessFlags, Object.class.getName(), classLoader, GeneratedInjector.class.getName());
+        }
+        file.addField(AccessFlag.of(AccessFlag.PRIVATE, AccessFlag.FINAL), INDEX_FIELD_NAME, BytecodeUtils.INT_CLASS_DESCRIPTOR);
+        addConstructor(file);
+        addSetField(file, members);
+        addInvokeMethod(file, members);
+        addNewInstance(file, members);
+        return file;
+    }
+
+    private static void addConstructor(ClassFile file) throws DuplicateMemberException {
+        CodeAttribute b = file.addMethod(AccessFlag.PUBLIC, INIT_METHOD_NAME, BytecodeUtils.VOID_CLASS_DESCRIPTOR, BytecodeUtils.INT_CLASS_DESCRIPTOR)
+                .getCodeAttribute();
+        b.aload(0);
+        b.invokespecial(Object.class.getName(), INIT_METHOD_NAME, "()V");
+        b.aload(0);
+        b.iload(1);
+        b.putfield(file.getName(), INDEX_FIELD_NAME, BytecodeUtils.INT_CLASS_DESCRIPTOR);
+        b.returnInstruction();
+    }
+
+    /**
+     * {@code void setField(Object instance, Object value)} - writes the field matching the index
+     */
+    private static void addSetField(ClassFile file, List<Member> members) throws DuplicateMemberException {
+        ClassMethod method = file.addMethod(AccessFlag.PUBLIC, "setField", BytecodeUtils.VOID_CLASS_DESCRIPTOR, OBJECT_DESCRIPTOR, OBJECT_DESCRIPTOR);
+        CodeAttribute b = method.getCodeAttribute();
+        for (int i = 0; i < members.size(); i++) {
+            if (!(members.get(i) instanceof Field)) {
+                continue;
+            }
+            Field field = (Field) members.get(i);
+            BranchEnd next = addIndexCheck(file, b, i);
+            b.aload(1);
+            addCast(b, field.getDeclaringClass());
+            b.aload(2);
+            addCast(b, field.getType());
+            b.putfield(field.getDeclaringClass().getName(), field.getName(), DescriptorUtils.makeDescriptor(field.getType()));
+            b.returnInstruction();
+            b.branchEnd(next);
+        }
+        addUnsupportedIndex(b);
+    }
+
+    /**
+     * {@code void invokeMethod(Object instance, Object[] parameters)} - invokes the method matching the index and discards the return value
+     */
+    private static void addInvokeMethod(ClassFile file, List<Member> members) throws DuplicateMemberException {
+        ClassMethod method = file.addMethod(AccessFlag.PUBLIC, "invokeMethod", BytecodeUtils.VOID_CLASS_DESCRIPTOR, OBJECT_DESCRIPTOR,
+                OBJECT_ARRAY_DESCRIPTOR);
+        CodeAttribute b = method.getCodeAttribute();
+        for (int i = 0; i < members.size(); i++) {
+            if (!(members.get(i) instanceof Method)) {
+                continue;
+            }
+            Method initializer = (Method) members.get(i);
+            BranchEnd next = addIndexCheck(file, b, i);
+            b.aload(1);
+            addCast(b, initializer.getDeclaringClass());
+            addLoadParameters(b, 2, initializer.getParameterTypes());
+            b.invokevirtual(initializer.getDeclaringClass().getName(), initializer.getName(), methodDescriptor(initializer));
+            Class<?> returnType = initializer.getReturnType();
+            if (returnType.equals(long.class) || returnType.equals(double.class)) {
+                b.pop2();
+            } else if (!returnType.equals(void.class)) {
+                b.pop();
+            }
+            b.returnInstruction();
+            b.branchEnd(next);
+        }
+        addUnsupportedIndex(b);
+    }
+
+    /**
+     * {@code Object newInstance(Object[] parameters)} - calls the constructor matching the index
+     */
+    private static void addNewInstance(ClassFile file, List<Member> members) throws DuplicateMemberException {
+        ClassMethod method = file.addMethod(AccessFlag.PUBLIC, "newInstance", OBJECT_DESCRIPTOR, OBJECT_ARRAY_DESCRIPTOR);
+        CodeAttribute b = method.getCodeAttribute();
+        for (int i = 0; i < members.size(); i++) {
+            if (!(members.get(i) instanceof Constructor<?>)) {
+                continue;
+            }
+            Constructor<?> constructor = (Constructor<?>) members.get(i);
+            BranchEnd next = addIndexCheck(file, b, i);
+            b.newInstruction(constructor.getDeclaringClass().getName());
+            b.dup();
+            addLoadParameters(b, 1, constructor.getParameterTypes());
+            b.invokespecial(constructor.getDeclaringClass().getName(), INIT_METHOD_NAME,
+                    methodDescriptor(DescriptorUtils.parameterDescriptors(constructor.getParameterTypes()), BytecodeUtils.VOID_CLASS_DESCRIPTOR));
+            b.returnInstruction();
+            b.branchEnd(next);
+        }
+        addUnsupportedIndex(b);
+    }
+
+    private static BranchEnd addIndexCheck(ClassFile file, CodeAttribute b, int index) {
+        b.aload(0);
+        b.getfield(file.getName(), INDEX_FIELD_NAME, BytecodeUtils.INT_CLASS_DESCRIPTOR);
+        b.iconst(index);
+        return b.ifIcmpne();
+    }
+
+    /**
+     * Loads the elements of the parameter array stored in the given local variable converted to the given types.
+     */
+    private static void addLoadParameters(CodeAttribute b, int arrayVariable, Class<?>[] parameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            b.aload(arrayVariable);
+            b.iconst(i);
+            b.aaload();
+            addCast(b, parameterTypes[i]);
+        }
+    }
+
+    private static void addCast(CodeAttribute b, Class<?> type) {
+        String descriptor = DescriptorUtils.makeDescriptor(type);
+        if (type.isPrimitive()) {
+            Boxing.unbox(b, descriptor);
+        } else if (!type.equals(Object.class)) {
+            b.checkcast(BytecodeUtils.getName(descriptor));
+        }
+    }
+
+    private static void addUnsupportedIndex(CodeAttribute b) {
+        String exceptionClass = UnsupportedOperationException.class.getName();
+        b.newInstruction(exceptionClass);
+        b.dup();
+        b.invokespecial(exceptionClass, INIT_METHOD_NAME, "()V");
+        b.athrow();
+    }
+
+    /**
+     * Decides whether a generated class defined in the package of the bean class may access a type or a member.
+     */
+    private static class AccessRules {
+
+        private final Class<?> beanClass;
+
+        private final String packageName;
+
+        private final ClassLoader classLoader;
+
+        AccessRules(Class<?> beanClass, ClassLoader classLoader) {
+            this.beanClass = beanClass;
+            this.packageName = getPackageName(beanClass);
+            // If the class loader is not known yet, the integrator is expected to define the class in the class loader of the bean class
+            this.classLoader = classLoader != null ? classLoader : beanClass.getClassLoader();
+        }
+
+        boolean isAccessible(Member member) {
+            if (Modifier.isPrivate(member.getModifiers())) {
+                return false;
+            }
+            Class<?> declaringClass = member.getDeclaringClass();
+            return isInSamePackage(declaringClass)
+                    || (Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers()) && isVisible(declaringClass));
+        }
+
+        boolean areAccessible(Class<?>[] types) {
+            for (Class<?> type : types) {
+                if (!isAccessible(type)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isAccessible(Class<?> type) {
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+            if (type.isPrimitive() || isInSamePackage(type)) {
+                return true;
+            }
+            return Modifier.isPublic(type.getModifiers()) && isVisible(type);
+        }
+
+        boolean isVisible(Class<?> type) {
+            if (type.getClassLoader() == null) {
+                return true;
+            }
+            try {
+                return Class.forName(type.getName(), false, classLoader) == type;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        boolean isDefinedByExpectedClassLoader(Class<?> injectorClass) {
+            return injectorClass.getClassLoader() == classLoader;
+        }
+
+        private boolean isInSamePackage(Class<?> type) {
+            // A runtime package is determined by the package name and the defining class loader
+            return classLoader == beanClass.getClassLoader() && type.getClassLoader() == classLoader && packageName.equals(getPackageName(type));
+        }
+
+        private static String getPackageName(Class<?> type) {
+            String name = type.getName();
+            int index = name.lastIndexOf('.');
+            return index == -1 ? "" : name.substring(0, index);
+        }
+    }
+
+}
@@ -16,17 +16,29 @@
  */
 package org.jboss.weld.injection;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.List;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.event.ObserverException;
 import javax.enterprise.event.Observes;
+import javax.enterprise.inject.TransientReference;
+import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.EventMetadata;
 
+import org.jboss.weld.Container;
+import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.bean.SessionBean;
 import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.bean.builtin.ExtensionBean;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.event.CurrentEventMetadata;
+import org.jboss.weld.injection.attributes.SpecialParameterInjectionPoint;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.ResolvableBuilder;
 
 /**
  * Encapsulates various strategies for invoking a method injection point. The default implementation supports all the possible scenarios including dependency
@@ -37,6 +49,11 @@ import org.jboss.weld.manager.BeanManagerImpl;
  * <li>an observer method with event parameter and an {@link EventMetadata} injection point</li>
  * </ul>
  *
+ * <p>
+ * If {@link ConfigurationKey#OBSERVER_DIRECT_INVOCATION} is enabled, observer methods are invoked directly if possible, see also
+ * {@link DirectInvocationStrategy}.
+ * </p>
+ *
  * @author Jozef Hartinger
  * @author Martin Kouba
  */
@@ -72,6 +89,14 @@ public abstract class MethodInvocationStrategy {
     }
 
     public static MethodInvocationStrategy forObserver(MethodInjectionPoint<?, ?> method, BeanManagerImpl manager) {
+        // The receiver of a session bean observer is an EJB proxy which need not extend the bean class
+        if (!(method.getBean() instanceof ExtensionBean) && !(method.getBean() instanceof SessionBean)
+                && manager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.OBSERVER_DIRECT_INVOCATION)) {
+            MethodInvocationStrategy strategy = DirectInvocationStrategy.of(method, manager);
+            if (strategy != null) {
+                return strategy;
+            }
+        }
         List<? extends ParameterInjectionPoint<?, ?>> parameters = method.getParameterInjectionPoints();
         if (parameters.size() == 1 && parameters.get(0).getAnnotated().isAnnotationPresent(Observes.class)) {
             return OBSERVER_SIMPLE_STRATEGY;
@@ -162,4 +187,161 @@ public abstract class MethodInvocationStrategy {
         }
     }
 
+    /**
+     * Invocation strategy for observer methods which invokes the method through a {@link DirectMethodInvoker} instead of reflection. Moreover, once the
+     * container is available, parameters which resolve to a bean requiring a client proxy (e.g. a normal-scoped bean) are bound to the client proxy so that
+     * the parameters do not need to be resolved for each notification. Other parameters are resolved for each notification as usual.
+     *
+     * <p>
+     * The generated invoker casts the receiver to the declaring class of the method. If the receiver is not an instance of the declaring class, the method is
+     * invoked reflectively through {@link MethodInjectionPoint#invoke(Object, Object, BeanManagerImpl, CreationalContext, Class)}, which looks up the method
+     * on the receiver.
+     * </p>
+     */
+    private static class DirectInvocationStrategy extends MethodInvocationStrategy {
+
+        private static final int EVENT = 0;
+
+        private static final int BEAN_MANAGER = 1;
+
+        private static final int EVENT_METADATA = 2;
+
+        private static final int INJECTED = 3;
+
+        private final DirectMethodInvoker invoker;
+
+        private final Class<?> declaringClass;
+
+        private final List<? extends ParameterInjectionPoint<?, ?>> parameters;
+
+        private final int[] kinds;
+
+        private final boolean hasInjectedParameters;
+
+        private final BeanManagerProxy beanManager;
+
+        private final CurrentEventMetadata metadata;
+
+        // null until the parameters are bound
+        private volatile Object[] boundValues;
+
+        private DirectInvocationStrategy(DirectMethodInvoker invoker, Class<?> declaringClass, List<? extends ParameterInjectionPoint<?, ?>> parameters,
+                int[] kinds, BeanManagerImpl manager) {
+            super(ObserverException.class);
+            this.invoker = invoker;
+            this.declaringClass = declaringClass;
+            this.parameters = parameters;
+            this.kinds = kinds;
+            boolean hasInjectedParameters = false;
+            for (int kind : kinds) {
+                if (kind == INJECTED) {
+                    hasInjectedParameters = true;
+                    break;
+                }
+            }
+            this.hasInjectedParameters = hasInjectedParameters;
+            this.beanManager = new BeanManagerProxy(manager);
+            this.metadata = manager.getServices().get(CurrentEventMetadata.class);
+        }
+
+        /**
+         *
+         * @param method
+         * @param manager
+         * @return the strategy, or <code>null</code> if the method cannot be invoked directly
+         */
+        static DirectInvocationStrategy of(MethodInjectionPoint<?, ?> method, BeanManagerImpl manager) {
+            List<? extends ParameterInjectionPoint<?, ?>> parameters = method.getParameterInjectionPoints();
+            int[] kinds = new int[parameters.size()];
+            for (int i = 0; i < kinds.length; i++) {
+                ParameterInjectionPoint<?, ?> parameter = parameters.get(i);
+                if (parameter instanceof SpecialParameterInjectionPoint) {
+                    kinds[i] = EVENT;
+                } else if (parameter.getAnnotated().isAnnotationPresent(TransientReference.class)) {
+                    // Transient references are destroyed right after the invocation
+                    return null;
+                } else if (BeanManager.class.equals(parameter.getType())) {
+                    kinds[i] = BEAN_MANAGER;
+                } else if (EventMetadata.class.equals(parameter.getType())) {
+                    kinds[i] = EVENT_METADATA;
+                } else {
+                    kinds[i] = INJECTED;
+                }
+            }
+            Method javaMethod = method.getAnnotated().getJavaMember();
+            DirectMethodInvoker invoker = DirectMethodInvoker.of(javaMethod);
+            return invoker != null ? new DirectInvocationStrategy(invoker, javaMethod.getDeclaringClass(), parameters, kinds, manager) : null;
+        }
+
+        @Override
+        public <T> void invoke(Object receiver, MethodInjectionPoint<?, ?> method, T instance, BeanManagerImpl manager, CreationalContext<?> creationalContext) {
+            if (receiver != null && !declaringClass.isInstance(receiver)) {
+                OBSERVER_DEFAULT_STRATEGY.invoke(receiver, method, instance, manager, creationalContext);
+                return;
+            }
+            Object[] bound = hasInjectedParameters ? getBoundValues(manager) : null;
+            Object[] values = new Object[kinds.length];
+            boolean release = false;
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    switch (kinds[i]) {
+                        case EVENT:
+                            values[i] = instance;
+                            break;
+                        case BEAN_MANAGER:
+                            values[i] = beanManager;
+                            break;
+                        case EVENT_METADATA:
+                            values[i] = metadata.peek();
+                            break;
+                        default:
+                            Object value = bound != null ? bound[i] : null;
+                            if (value == null) {
+                                if (creationalContext == null) {
+                                    creationalContext = manager.createCreationalContext(null);
+                                    release = true;
+                                }
+                                value = parameters.get(i).getValueToInject(manager, creationalContext);
+                            }
+                            values[i] = value;
+                    }
+                }
+                invoker.invoke(receiver, values);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                // Wrap checked exceptions and errors the same way a reflective invocation does
+                Exceptions.rethrowException(new InvocationTargetException(e), exceptionTypeToThrow);
+            } finally {
+                if (release) {
+                    creationalContext.release();
+                }
+            }
+        }
+
+        private Object[] getBoundValues(BeanManagerImpl manager) {
+            Object[] values = boundValues;
+            if (values == null && Container.instance(manager).getState().isAvailable()) {
+                // The values may be bound by multiple threads but that is ok
+                values = bindValues(manager);
+                boundValues = values;
+            }
+            return values;
+        }
+
+        private Object[] bindValues(BeanManagerImpl manager) {
+            Object[] values = new Object[kinds.length];
+            for (int i = 0; i < values.length; i++) {
+                if (kinds[i] == INJECTED) {
+                    ParameterInjectionPoint<?, ?> parameter = parameters.get(i);
+                    Bean<?> bean = manager.getBean(new ResolvableBuilder(parameter, manager).create());
+                    if (bean instanceof RIBean<?> ? ((RIBean<?>) bean).isProxyRequired() : manager.isNormalScope(bean.getScope())) {
+                        values[i] = manager.getClientProxyProvider().getClientProxy(bean, parameter.getType());
+                    }
+                }
+            }
+            return values;
+        }
+    }
+
 }
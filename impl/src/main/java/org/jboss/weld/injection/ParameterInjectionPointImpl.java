@@ -22,7 +22,6 @@ import java.io.Serializable;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.AnnotatedParameter;
-import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.ProcessInjectionPoint;
 
 import org.jboss.weld.exceptions.UnsupportedOperationException;
@@ -33,7 +32,7 @@ import org.jboss.weld.util.reflection.Reflections;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
-@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "cachedBean field is loaded lazily")
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "resolvedReference field is loaded lazily")
 public class ParameterInjectionPointImpl<T, X> extends ForwardingInjectionPointAttributes<T, Object> implements ParameterInjectionPoint<T, X>, Serializable {
 
     private static final long serialVersionUID = -8354344628345860324L;
@@ -46,7 +45,7 @@ public class ParameterInjectionPointImpl<T, X> extends ForwardingInjectionPointA
     }
 
     private final boolean cacheable;
-    private transient Bean<?> cachedBean;
+    private transient ResolvedReference resolvedReference;
 
     private ParameterInjectionPointAttributes<T, X> attributes;
 
@@ -70,10 +69,11 @@ public class ParameterInjectionPointImpl<T, X> extends ForwardingInjectionPointA
         if (!cacheable) {
             objectToInject = Reflections.<T> cast(manager.getInjectableReference(this, creationalContext));
         } else {
-            if (cachedBean == null) {
-                cachedBean = manager.resolve(manager.getBeans(this));
+            ResolvedReference reference = resolvedReference;
+            if (reference == null) {
+                resolvedReference = reference = ResolvedReference.of(this, manager);
             }
-            objectToInject = Reflections.<T> cast(manager.getInjectableReference(this, cachedBean, creationalContext));
+            objectToInject = Reflections.<T> cast(reference.getInjectableReference(this, manager, creationalContext));
         }
         return objectToInject;
     }
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * The resolution of a cacheable injection point, i.e. the resolved bean and, if the injectable reference is always the same client proxy, the client proxy
+ * itself. An injection of such a client proxy does not involve any lookup.
+ *
+ * <p>
+ * Instances are immutable and therefore may be published without synchronization.
+ * </p>
+ *
+ * @see BeanManagerImpl#getConstantInjectableReference(InjectionPoint, Bean)
+ */
+final class ResolvedReference {
+
+    private final Bean<?> bean;
+
+    private final Object constantReference;
+
+    private ResolvedReference(Bean<?> bean, Object constantReference) {
+        this.bean = bean;
+        this.constantReference = constantReference;
+    }
+
+    static ResolvedReference of(InjectionPoint injectionPoint, BeanManagerImpl manager) {
+        Bean<?> bean = manager.resolve(manager.getBeans(injectionPoint));
+        return new ResolvedReference(bean, bean != null ? manager.getConstantInjectableReference(injectionPoint, bean) : null);
+    }
+
+    Object getInjectableReference(InjectionPoint injectionPoint, BeanManagerImpl manager, CreationalContext<?> creationalContext) {
+        if (constantReference != null) {
+            return constantReference;
+        }
+        return manager.getInjectableReference(injectionPoint, bean, creationalContext);
+    }
+
+}
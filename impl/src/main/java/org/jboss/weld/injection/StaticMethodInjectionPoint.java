@@ -49,6 +49,7 @@ class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
     private final int specialInjectionPointIndex;
     private final AnnotatedMethod<X> annotatedMethod;
     final Method accessibleMethod;
+    private GeneratedInjector generatedInjector;
 
     StaticMethodInjectionPoint(MethodInjectionPointType methodInjectionPointType, EnhancedAnnotatedMethod<T, X> enhancedMethod, Bean<?> declaringBean, Class<?> declaringComponentClass,
             Set<Class<? extends Annotation>> specialParameterMarkers, InjectionPointFactory factory, BeanManagerImpl manager) {
@@ -91,6 +92,18 @@ class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
     }
 
     public T invoke(Object receiver, Object[] parameters, Class<? extends RuntimeException> exceptionTypeToThrow) {
+        GeneratedInjector injector = generatedInjector;
+        if (injector != null) {
+            try {
+                injector.invokeMethod(receiver, parameters);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                // Handle checked exceptions and errors the same way as if thrown by Method.invoke()
+                rethrowException(new InvocationTargetException(e), exceptionTypeToThrow);
+            }
+            return null;
+        }
         try {
             return cast(getMethod(receiver).invoke(receiver, parameters));
         } catch (IllegalArgumentException e) {
@@ -137,6 +150,14 @@ class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
         return parameterValues;
     }
 
+    /**
+     * The injector is bound to initializer methods during bootstrap. Its return value is discarded. It does not need to be published safely - the method is
+     * invoked through reflection until the injector is visible.
+     */
+    void setGeneratedInjector(GeneratedInjector generatedInjector) {
+        this.generatedInjector = generatedInjector;
+    }
+
     protected Method getMethod(Object receiver) throws NoSuchMethodException {
         return accessibleMethod;
     }
@@ -31,6 +31,10 @@ import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
 import org.jboss.weld.bean.CustomDecoratorWrapper;
 import org.jboss.weld.bean.DecoratorImpl;
 import org.jboss.weld.bean.proxy.ProxyInstantiator;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.injection.ConstructorInjectionPoint;
+import org.jboss.weld.injection.GeneratedInjectors;
 import org.jboss.weld.interceptor.spi.model.InterceptionModel;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -96,6 +100,9 @@ public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
 
     @Override
     public void initializeAfterBeanDiscovery(EnhancedAnnotatedType<T> annotatedType) {
+        if (beanManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.INJECTION_GENERATED_INJECTORS)) {
+            installGeneratedInjectors();
+        }
         initializeInterceptionModel(annotatedType);
 
         InterceptionModel interceptionModel = null;
@@ -132,6 +139,19 @@ public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
         }
     }
 
+    /**
+     * Binds generated injectors to the injection points of the bean class. This must be done before the default instantiator is wrapped so that the original
+     * constructor injection point is still accessible.
+     */
+    protected void installGeneratedInjectors() {
+        ConstructorInjectionPoint<T> constructor = null;
+        if (getInstantiator() instanceof DefaultInstantiator<?>) {
+            constructor = ((DefaultInstantiator<T>) getInstantiator()).getConstructorInjectionPoint();
+        }
+        GeneratedInjectors.install(getType().getJavaClass(), constructor, getInjector().getInjectableFields(), getInjector().getInitializerMethods(),
+                beanManager);
+    }
+
     protected void setupConstructorInterceptionInstantiator(InterceptionModel interceptionModel) {
         if (interceptionModel != null && interceptionModel.hasExternalConstructorInterceptors()) {
             setInstantiator(new ConstructorInterceptionInstantiator<T>(getInstantiator(), interceptionModel, getType()));
@@ -43,6 +43,7 @@ import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.exceptions.DeploymentException;
 import org.jboss.weld.interceptor.builder.InterceptionModelBuilder;
 import org.jboss.weld.interceptor.builder.InterceptorsApiAbstraction;
+import org.jboss.weld.interceptor.proxy.InterceptionChainTemplates;
 import org.jboss.weld.interceptor.reader.InterceptorMetadataReader;
 import org.jboss.weld.interceptor.reader.TargetClassInterceptorMetadata;
 import org.jboss.weld.interceptor.spi.metadata.InterceptorClassMetadata;
@@ -117,9 +118,22 @@ public class InterceptionModelInitializer<T> {
                 throw new DeploymentException(ValidatorLogger.LOG.notProxyablePrivateConstructor(annotatedType.getJavaClass().getName(), constructor, annotatedType.getJavaClass()));
             }
             manager.getInterceptorModelRegistry().put(annotatedType.slim(), interceptionModel);
+            initInterceptionChains(interceptionModel);
         }
     }
 
+    /**
+     * Compute the interception chains so that they are shared by all the intercepted instances and need not be computed upon the first invocation.
+     */
+    private void initInterceptionChains(InterceptionModel interceptionModel) {
+        InterceptionChainTemplates chainTemplates = manager.getServices().get(InterceptionChainTemplates.class);
+        for (EnhancedAnnotatedMethod<?, ?> method : businessMethods) {
+            chainTemplates.get(interceptionModel, org.jboss.weld.interceptor.spi.model.InterceptionType.AROUND_INVOKE, method.getJavaMember());
+        }
+        chainTemplates.get(interceptionModel, org.jboss.weld.interceptor.spi.model.InterceptionType.POST_CONSTRUCT, null);
+        chainTemplates.get(interceptionModel, org.jboss.weld.interceptor.spi.model.InterceptionType.PRE_DESTROY, null);
+    }
+
     private void initTargetClassInterceptors() {
         if (!Beans.isInterceptor(annotatedType)) {
             TargetClassInterceptorMetadata interceptorClassMetadata = reader.getTargetClassInterceptorMetadata(annotatedType);
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.interceptor.proxy;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jboss.weld.interceptor.reader.TargetClassInterceptorMetadata;
+import org.jboss.weld.interceptor.spi.metadata.InterceptorClassMetadata;
+import org.jboss.weld.interceptor.spi.model.InterceptionModel;
+import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.util.collections.ImmutableList;
+
+/**
+ * The structure of an interception chain of a particular method or lifecycle callback, i.e. the ordered interceptors and the interceptor bindings. The
+ * structure does not depend on an intercepted instance and so it is computed once and shared by all the intercepted instances. Equal templates of different
+ * intercepted classes, e.g. two beans with the same interceptor bindings, are shared as well. Only the interceptor instances are bound for each intercepted
+ * instance, see {@link #bind(InterceptionContext, Object)}.
+ *
+ * @see InterceptionChainTemplates
+ */
+public final class InterceptionChainTemplate {
+
+    private static final InterceptionChainTemplate EMPTY = new InterceptionChainTemplate(null, Collections.<InterceptorClassMetadata<?>> emptyList(), null,
+            null);
+
+    private final InterceptionType interceptionType;
+
+    private final List<InterceptorClassMetadata<?>> interceptors;
+
+    // Null if the target class does not declare interceptor methods for the given interception type
+    private final TargetClassInterceptorMetadata targetClassInterceptorMetadata;
+
+    private final Set<Annotation> interceptorBindings;
+
+    private final int hashCode;
+
+    private InterceptionChainTemplate(InterceptionType interceptionType, List<InterceptorClassMetadata<?>> interceptors,
+            TargetClassInterceptorMetadata targetClassInterceptorMetadata, Set<Annotation> interceptorBindings) {
+        this.interceptionType = interceptionType;
+        this.interceptors = interceptors;
+        this.targetClassInterceptorMetadata = targetClassInterceptorMetadata;
+        this.interceptorBindings = interceptorBindings;
+        this.hashCode = computeHashCode();
+    }
+
+    /**
+     *
+     * @param model
+     * @param interceptionType
+     * @param method - null if the interception type is lifecycle
+     * @return the template of the interception chain for the given method
+     */
+    static InterceptionChainTemplate of(InterceptionModel model, InterceptionType interceptionType, Method method) {
+        TargetClassInterceptorMetadata targetClassInterceptorMetadata = model.getTargetClassInterceptorMetadata();
+        if (targetClassInterceptorMetadata != null && !targetClassInterceptorMetadata.isEligible(interceptionType)) {
+            targetClassInterceptorMetadata = null;
+        }
+        List<InterceptorClassMetadata<?>> interceptors = model.getInterceptors(interceptionType, method);
+        if (interceptors.isEmpty() && targetClassInterceptorMetadata == null) {
+            // Most methods of an intercepted class are usually not intercepted
+            return EMPTY;
+        }
+        Set<Annotation> interceptorBindings = (method != null) ? model.getMemberInterceptorBindings(method) : model.getClassInterceptorBindings();
+        return new InterceptionChainTemplate(interceptionType, ImmutableList.copyOf(interceptors), targetClassInterceptorMetadata, interceptorBindings);
+    }
+
+    /**
+     *
+     * @return <code>true</code> if there are no interceptors, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return interceptors.isEmpty() && targetClassInterceptorMetadata == null;
+    }
+
+    /**
+     *
+     * @return the interceptor bindings, may be <code>null</code>
+     */
+    public Set<Annotation> getInterceptorBindings() {
+        return interceptorBindings;
+    }
+
+    /**
+     * Bind the interceptor instances held by the given context and the given target instance to the interceptor methods.
+     *
+     * @param ctx
+     * @param target
+     * @return the interceptor method invocations
+     */
+    public List<InterceptorMethodInvocation> bind(InterceptionContext ctx, Object target) {
+        if (isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (interceptors.size() == 1 && targetClassInterceptorMetadata == null) {
+            // Very often there will be only one interceptor
+            InterceptorClassMetadata<?> interceptor = interceptors.get(0);
+            return interceptor.getInterceptorInvocation(ctx.getInterceptorInstance(interceptor), interceptionType).getInterceptorMethodInvocations();
+        }
+        ImmutableList.Builder<InterceptorMethodInvocation> builder = ImmutableList.builder();
+        for (InterceptorClassMetadata<?> interceptor : interceptors) {
+            builder.addAll(interceptor.getInterceptorInvocation(ctx.getInterceptorInstance(interceptor), interceptionType).getInterceptorMethodInvocations());
+        }
+        if (targetClassInterceptorMetadata != null) {
+            builder.addAll(targetClassInterceptorMetadata.getInterceptorInvocation(target, interceptionType).getInterceptorMethodInvocations());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * Interceptor metadata and target class metadata are compared by identity. Interceptor instances are looked up by the key of the metadata and so the
+     * template may only be shared by the interception models which use the same metadata instances.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof InterceptionChainTemplate)) {
+            return false;
+        }
+        InterceptionChainTemplate that = (InterceptionChainTemplate) obj;
+        if (hashCode != that.hashCode || interceptionType != that.interceptionType || targetClassInterceptorMetadata != that.targetClassInterceptorMetadata
+                || interceptors.size() != that.interceptors.size()) {
+            return false;
+        }
+        for (int i = 0; i < interceptors.size(); i++) {
+            if (interceptors.get(i) != that.interceptors.get(i)) {
+                return false;
+            }
+        }
+        return Objects.equals(interceptorBindings, that.interceptorBindings);
+    }
+
+    private int computeHashCode() {
+        int result = Objects.hashCode(interceptionType);
+        for (InterceptorClassMetadata<?> interceptor : interceptors) {
+            result = 31 * result + System.identityHashCode(interceptor);
+        }
+        result = 31 * result + System.identityHashCode(targetClassInterceptorMetadata);
+        result = 31 * result + Objects.hashCode(interceptorBindings);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "InterceptionChainTemplate [interceptionType=" + interceptionType + ", interceptors=" + interceptors + ", targetClass="
+                + (targetClassInterceptorMetadata != null) + ']';
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.interceptor.proxy;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.interceptor.spi.model.InterceptionModel;
+import org.jboss.weld.interceptor.spi.model.InterceptionType;
+
+/**
+ * Holds the {@link InterceptionChainTemplate}s of all the interception models. A template is computed once per interception model and method and equal
+ * templates are shared across the interception models, i.e. the intercepted classes with the same interceptors and interceptor bindings share a single
+ * template.
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class InterceptionChainTemplates implements Service {
+
+    private final ConcurrentMap<InterceptionModel, ModelChains> modelChains;
+
+    private final ConcurrentMap<InterceptionChainTemplate, InterceptionChainTemplate> templates;
+
+    public InterceptionChainTemplates() {
+        this.modelChains = new ConcurrentHashMap<>();
+        this.templates = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the structure of the interception chain for the given interception model, interception type and method.
+     *
+     * @param model
+     * @param interceptionType
+     * @param method - null if the interception type is lifecycle
+     * @return the interception chain template
+     * @throws IllegalArgumentException if interceptionType is business method or around timeout but method is null, as well as if interceptionType is callback
+     *         and method is not null
+     * @see InterceptionModel#getInterceptors(InterceptionType, Method)
+     */
+    public InterceptionChainTemplate get(InterceptionModel model, InterceptionType interceptionType, Method method) {
+        ModelChains chains = getModelChains(model);
+        if (interceptionType.isLifecycleCallback()) {
+            if (method != null) {
+                throw new IllegalArgumentException("On a lifecycle callback, the associated method must be null");
+            }
+            return chains.lifecycleChains.computeIfAbsent(interceptionType, (type) -> share(InterceptionChainTemplate.of(chains.model, type, null)));
+        }
+        if (method == null) {
+            throw new IllegalArgumentException("Around-invoke and around-timeout interceptors are defined for a given method");
+        }
+        ConcurrentMap<Method, InterceptionChainTemplate> methodChains = InterceptionType.AROUND_TIMEOUT.equals(interceptionType) ? chains.aroundTimeoutChains
+                : chains.aroundInvokeChains;
+        return methodChains.computeIfAbsent(method, (m) -> share(InterceptionChainTemplate.of(chains.model, interceptionType, m)));
+    }
+
+    private ModelChains getModelChains(InterceptionModel model) {
+        ModelChains chains = modelChains.get(model);
+        if (chains == null) {
+            // Avoid computeIfAbsent() if present, it locks the bin on JDK 8
+            chains = modelChains.computeIfAbsent(model, ModelChains::new);
+        }
+        return chains;
+    }
+
+    private InterceptionChainTemplate share(InterceptionChainTemplate template) {
+        if (template.isEmpty()) {
+            // The empty template is a singleton
+            return template;
+        }
+        InterceptionChainTemplate shared = templates.putIfAbsent(template, template);
+        return shared != null ? shared : template;
+    }
+
+    @Override
+    public void cleanup() {
+        modelChains.clear();
+        templates.clear();
+    }
+
+    private static class ModelChains {
+
+        private final InterceptionModel model;
+
+        private final ConcurrentMap<Method, InterceptionChainTemplate> aroundInvokeChains;
+
+        private final ConcurrentMap<Method, InterceptionChainTemplate> aroundTimeoutChains;
+
+        private final ConcurrentMap<InterceptionType, InterceptionChainTemplate> lifecycleChains;
+
+        private ModelChains(InterceptionModel model) {
+            this.model = model;
+            this.aroundInvokeChains = new ConcurrentHashMap<>();
+            this.aroundTimeoutChains = new ConcurrentHashMap<>();
+            this.lifecycleChains = new ConcurrentHashMap<>();
+        }
+
+    }
+
+}
@@ -36,7 +36,6 @@ import java.util.Set;
 import javax.enterprise.context.spi.CreationalContext;
 
 import org.jboss.weld.annotated.slim.SlimAnnotatedType;
-import org.jboss.weld.interceptor.reader.TargetClassInterceptorMetadata;
 import org.jboss.weld.interceptor.spi.metadata.InterceptorClassMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionModel;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
@@ -81,6 +80,8 @@ public class InterceptionContext implements Serializable {
 
     private final transient InterceptionModel interceptionModel;
 
+    private final transient InterceptionChainTemplates chainTemplates;
+
     private final Map<Serializable, Object> interceptorInstances;
     private final BeanManagerImpl manager;
     private final SlimAnnotatedType<?> annotatedType;
@@ -90,6 +91,7 @@ public class InterceptionContext implements Serializable {
         this.manager = manager;
         this.interceptionModel = interceptionModel;
         this.annotatedType = type;
+        this.chainTemplates = manager.getServices().get(InterceptionChainTemplates.class);
     }
 
     private static Map<Serializable, Object> initInterceptorInstanceMap(InterceptionModel model, CreationalContext ctx, BeanManagerImpl manager,
@@ -122,19 +124,18 @@ public class InterceptionContext implements Serializable {
         return new InterceptionContext(interceptorInstances, manager, interceptionModel, annotatedType);
     }
 
+    /**
+     *
+     * @param interceptionType
+     * @param method - null if the interception type is lifecycle
+     * @return the interception chain template shared by all the intercepted instances
+     */
+    public InterceptionChainTemplate getInterceptionChain(InterceptionType interceptionType, Method method) {
+        return chainTemplates.get(interceptionModel, interceptionType, method);
+    }
+
     public List<InterceptorMethodInvocation> buildInterceptorMethodInvocations(Object instance, Method method, InterceptionType interceptionType) {
-        List<? extends InterceptorClassMetadata<?>> interceptorList = interceptionModel.getInterceptors(interceptionType, method);
-        List<InterceptorMethodInvocation> interceptorInvocations = new ArrayList<InterceptorMethodInvocation>(interceptorList.size());
-        for (InterceptorClassMetadata<?> interceptorMetadata : interceptorList) {
-            interceptorInvocations.addAll(interceptorMetadata.getInterceptorInvocation(getInterceptorInstance(interceptorMetadata), interceptionType)
-                    .getInterceptorMethodInvocations());
-        }
-        TargetClassInterceptorMetadata targetClassInterceptorMetadata = getInterceptionModel().getTargetClassInterceptorMetadata();
-        if (targetClassInterceptorMetadata != null && targetClassInterceptorMetadata.isEligible(interceptionType)) {
-            interceptorInvocations
-                    .addAll(targetClassInterceptorMetadata.getInterceptorInvocation(instance, interceptionType).getInterceptorMethodInvocations());
-        }
-        return ImmutableList.copyOf(interceptorInvocations);
+        return getInterceptionChain(interceptionType, method).bind(this, instance);
     }
 
     public List<InterceptorMethodInvocation> buildInterceptorMethodInvocationsForConstructorInterception() {
@@ -7,6 +7,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,12 +29,14 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
 
     private static final long serialVersionUID = 1L;
 
+    private static final CachedInterceptionChain EMPTY_CHAIN = new CachedInterceptionChain(Collections.<InterceptorMethodInvocation> emptyList(), null);
+
     private final InterceptionContext ctx;
-    private final transient ConcurrentMap<Method, CachedInterceptionChain> cachedChains;
+    // Created lazily, many intercepted instances are short-lived
+    private transient volatile ConcurrentMap<Method, CachedInterceptionChain> cachedChains;
 
     public InterceptorMethodHandler(InterceptionContext ctx) {
         this.ctx = ctx;
-        this.cachedChains = new ConcurrentHashMap<Method, CachedInterceptionChain>();
     }
 
     @Override
@@ -89,10 +92,10 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
 
     private CachedInterceptionChain getInterceptionChain(Object instance, Method method, InterceptionType interceptionType) {
         if (method != null) {
+            ConcurrentMap<Method, CachedInterceptionChain> cachedChains = getCachedChains();
             CachedInterceptionChain cachedChain = cachedChains.get(method);
             if (cachedChain == null) {
-                cachedChain = new CachedInterceptionChain(ctx.buildInterceptorMethodInvocations(instance, method, interceptionType), ctx.getInterceptionModel()
-                        .getMemberInterceptorBindings(method));
+                cachedChain = bind(instance, ctx.getInterceptionChain(interceptionType, method));
                 CachedInterceptionChain old = cachedChains.putIfAbsent(method, cachedChain);
                 if (old != null) {
                     cachedChain = old;
@@ -100,7 +103,27 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
             }
             return cachedChain;
         }
-        return new CachedInterceptionChain(ctx.buildInterceptorMethodInvocations(instance, null, interceptionType), ctx.getInterceptionModel().getClassInterceptorBindings());
+        return bind(instance, ctx.getInterceptionChain(interceptionType, null));
+    }
+
+    private CachedInterceptionChain bind(Object instance, InterceptionChainTemplate template) {
+        if (template.isEmpty()) {
+            return EMPTY_CHAIN;
+        }
+        return new CachedInterceptionChain(template.bind(ctx, instance), template.getInterceptorBindings());
+    }
+
+    private ConcurrentMap<Method, CachedInterceptionChain> getCachedChains() {
+        ConcurrentMap<Method, CachedInterceptionChain> cachedChains = this.cachedChains;
+        if (cachedChains == null) {
+            synchronized (this) {
+                cachedChains = this.cachedChains;
+                if (cachedChains == null) {
+                    this.cachedChains = cachedChains = new ConcurrentHashMap<Method, CachedInterceptionChain>();
+                }
+            }
+        }
+        return cachedChains;
     }
 
     private boolean isInterceptorMethod(Method method) {
@@ -18,13 +18,16 @@
 package org.jboss.weld.interceptor.reader;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.jboss.weld.interceptor.proxy.InterceptorInvocation;
 import org.jboss.weld.interceptor.spi.metadata.InterceptorMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.util.collections.ImmutableMap;
 
 
 /**
@@ -35,8 +38,34 @@ public abstract class AbstractInterceptorMetadata implements InterceptorMetadata
 
     protected final Map<InterceptionType, List<Method>> interceptorMethodMap;
 
+    // Null if method handle invocation is not enabled
+    private final Map<InterceptionType, List<InterceptorMethodHandle>> interceptorMethodHandleMap;
+
     public AbstractInterceptorMetadata(Map<InterceptionType, List<Method>> interceptorMethodMap) {
+        this(interceptorMethodMap, false);
+    }
+
+    /**
+     *
+     * @param interceptorMethodMap
+     * @param methodHandleInvocation if set to <code>true</code>, method handles are created for the interceptor methods
+     */
+    public AbstractInterceptorMetadata(Map<InterceptionType, List<Method>> interceptorMethodMap, boolean methodHandleInvocation) {
         this.interceptorMethodMap = interceptorMethodMap;
+        this.interceptorMethodHandleMap = (methodHandleInvocation && interceptorMethodMap != null) ? initMethodHandles(interceptorMethodMap) : null;
+    }
+
+    private static Map<InterceptionType, List<InterceptorMethodHandle>> initMethodHandles(Map<InterceptionType, List<Method>> interceptorMethodMap) {
+        ImmutableMap.Builder<InterceptionType, List<InterceptorMethodHandle>> builder = ImmutableMap.builder();
+        for (Entry<InterceptionType, List<Method>> entry : interceptorMethodMap.entrySet()) {
+            // An element is null if the method cannot be invoked through a method handle
+            List<InterceptorMethodHandle> handles = new ArrayList<>(entry.getValue().size());
+            for (Method method : entry.getValue()) {
+                handles.add(InterceptorMethodHandle.of(method));
+            }
+            builder.put(entry.getKey(), Collections.unmodifiableList(handles));
+        }
+        return builder.build();
     }
 
     public List<Method> getInterceptorMethods(InterceptionType interceptionType) {
@@ -60,7 +89,9 @@ public abstract class AbstractInterceptorMetadata implements InterceptorMetadata
 
     @Override
     public InterceptorInvocation getInterceptorInvocation(Object interceptorInstance, InterceptionType interceptionType) {
-        return new SimpleInterceptorInvocation(interceptorInstance, interceptionType, getInterceptorMethods(interceptionType), isTargetClassInterceptor());
+        List<InterceptorMethodHandle> handles = (interceptorMethodHandleMap != null) ? interceptorMethodHandleMap.get(interceptionType) : null;
+        return new SimpleInterceptorInvocation(interceptorInstance, interceptionType, getInterceptorMethods(interceptionType), handles,
+                isTargetClassInterceptor());
     }
 
     protected abstract boolean isTargetClassInterceptor();
@@ -37,7 +37,12 @@ public class InterceptorMetadataImpl<T> extends AbstractInterceptorMetadata impl
     private final Class<T> javaClass;
 
     public InterceptorMetadataImpl(Class<T> javaClass, InterceptorFactory<T> reference, Map<InterceptionType, List<Method>> interceptorMethodMap) {
-        super(interceptorMethodMap);
+        this(javaClass, reference, interceptorMethodMap, false);
+    }
+
+    public InterceptorMetadataImpl(Class<T> javaClass, InterceptorFactory<T> reference, Map<InterceptionType, List<Method>> interceptorMethodMap,
+            boolean methodHandleInvocation) {
+        super(interceptorMethodMap, methodHandleInvocation);
         this.reference = reference;
         this.javaClass = javaClass;
     }
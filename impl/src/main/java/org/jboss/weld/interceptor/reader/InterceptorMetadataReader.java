@@ -39,7 +39,8 @@ public class InterceptorMetadataReader {
             public InterceptorClassMetadata<?> apply(Class<?> key) {
                 EnhancedAnnotatedType<?> type = manager.getServices().get(ClassTransformer.class).getEnhancedAnnotatedType(key, manager.getId());
                 InterceptorFactory<?> factory = PlainInterceptorFactory.of(key, manager);
-                return new InterceptorMetadataImpl(key, factory, InterceptorMetadataUtils.buildMethodMap(type, false, manager));
+                return new InterceptorMetadataImpl(key, factory, InterceptorMetadataUtils.buildMethodMap(type, false, manager),
+                        InterceptorMetadataUtils.isMethodHandleInvocationEnabled(manager));
             }
         });
 
@@ -57,7 +58,8 @@ public class InterceptorMetadataReader {
     }
 
     public <T> TargetClassInterceptorMetadata getTargetClassInterceptorMetadata(EnhancedAnnotatedType<T> type) {
-        return TargetClassInterceptorMetadata.of(InterceptorMetadataUtils.buildMethodMap(type, true, manager));
+        return TargetClassInterceptorMetadata.of(InterceptorMetadataUtils.buildMethodMap(type, true, manager),
+                InterceptorMetadataUtils.isMethodHandleInvocationEnabled(manager));
     }
 
     public <T> InterceptorClassMetadata<T> getCdiInterceptorMetadata(Interceptor<T> interceptor) {
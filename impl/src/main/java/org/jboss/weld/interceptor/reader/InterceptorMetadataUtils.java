@@ -8,6 +8,8 @@ import java.util.Map;
 import javax.interceptor.InvocationContext;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
 import org.jboss.weld.interceptor.util.InterceptionTypeRegistry;
 import org.jboss.weld.logging.ValidatorLogger;
@@ -124,6 +126,16 @@ public class InterceptorMetadataUtils {
         return true;
     }
 
+    /**
+     *
+     * @param manager
+     * @return <code>true</code> if interceptor methods should be invoked through method handles
+     * @see ConfigurationKey#INTERCEPTOR_METHOD_HANDLE_INVOCATION
+     */
+    public static boolean isMethodHandleInvocationEnabled(BeanManagerImpl manager) {
+        return manager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.INTERCEPTOR_METHOD_HANDLE_INVOCATION);
+    }
+
     public static Map<InterceptionType, List<Method>> buildMethodMap(EnhancedAnnotatedType<?> type, boolean forTargetClass, BeanManagerImpl manager) {
         ImmutableMap.Builder<InterceptionType, List<Method>> builder = null;
         for (InterceptionType interceptionType : InterceptionTypeRegistry.getSupportedInterceptionTypes()) {
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.interceptor.reader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.interceptor.InvocationContext;
+
+/**
+ * Invokes an interceptor method through a {@link MethodHandle} adapted to a fixed type, i.e. without boxing the arguments into an array.
+ *
+ * <p>
+ * An exception thrown by the interceptor method is propagated as is, except for an {@link InvocationTargetException} which is wrapped so that callers
+ * unwrapping exceptions of reflective invocations observe the same exception as with {@link Method#invoke(Object, Object...)}.
+ * </p>
+ *
+ * @see SimpleInterceptorInvocation
+ */
+final class InterceptorMethodHandle {
+
+    private static final MethodType WITH_CONTEXT = MethodType.methodType(Object.class, Object.class, InvocationContext.class);
+
+    private static final MethodType WITHOUT_CONTEXT = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle handle;
+
+    private final boolean expectsInvocationContext;
+
+    private InterceptorMethodHandle(MethodHandle handle, boolean expectsInvocationContext) {
+        this.handle = handle;
+        this.expectsInvocationContext = expectsInvocationContext;
+    }
+
+    /**
+     * The method must be accessible already.
+     *
+     * @param method
+     * @return the method handle invoker, or <code>null</code> if the method cannot be invoked through a method handle
+     */
+    static InterceptorMethodHandle of(Method method) {
+        boolean expectsInvocationContext = method.getParameterCount() == 1;
+        if (!expectsInvocationContext && method.getParameterCount() != 0) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(expectsInvocationContext ? WITH_CONTEXT : WITHOUT_CONTEXT);
+            return new InterceptorMethodHandle(handle, expectsInvocationContext);
+        } catch (IllegalAccessException | WrongMethodTypeException e) {
+            // E.g. a static method or a method which is not accessible - fall back to reflection
+            return null;
+        }
+    }
+
+    Object invoke(Object instance, InvocationContext invocationContext) throws Exception {
+        try {
+            if (expectsInvocationContext) {
+                return (Object) handle.invokeExact(instance, invocationContext);
+            } else {
+                return (Object) handle.invokeExact(instance);
+            }
+        } catch (InvocationTargetException e) {
+            throw new InvocationTargetException(e);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+}
@@ -38,22 +38,40 @@ class SimpleInterceptorInvocation implements InterceptorInvocation {
     private final InterceptionType interceptionType;
 
     public SimpleInterceptorInvocation(Object instance, InterceptionType interceptionType, List<Method> interceptorMethods, boolean targetClass) {
+        this(instance, interceptionType, interceptorMethods, null, targetClass);
+    }
+
+    /**
+     *
+     * @param instance
+     * @param interceptionType
+     * @param interceptorMethods
+     * @param interceptorMethodHandles the method handles of the interceptor methods, may be <code>null</code>
+     * @param targetClass
+     */
+    SimpleInterceptorInvocation(Object instance, InterceptionType interceptionType, List<Method> interceptorMethods,
+            List<InterceptorMethodHandle> interceptorMethodHandles, boolean targetClass) {
         this.instance = instance;
         this.interceptionType = interceptionType;
         this.targetClass = targetClass;
 
         if (interceptorMethods.size() == 1) {
             // Very often there will be only one interceptor method
-            interceptorMethodInvocations = ImmutableList.<InterceptorMethodInvocation> of(new SimpleMethodInvocation(interceptorMethods.get(0)));
+            interceptorMethodInvocations = ImmutableList.<InterceptorMethodInvocation> of(new SimpleMethodInvocation(interceptorMethods.get(0),
+                    getHandle(interceptorMethodHandles, 0)));
         } else {
             ImmutableList.Builder<InterceptorMethodInvocation> builder = ImmutableList.builder();
-            for (Method method : interceptorMethods) {
-                builder.add(new SimpleMethodInvocation(method));
+            for (int i = 0; i < interceptorMethods.size(); i++) {
+                builder.add(new SimpleMethodInvocation(interceptorMethods.get(i), getHandle(interceptorMethodHandles, i)));
             }
             interceptorMethodInvocations = builder.build();
         }
     }
 
+    private static InterceptorMethodHandle getHandle(List<InterceptorMethodHandle> interceptorMethodHandles, int index) {
+        return interceptorMethodHandles != null ? interceptorMethodHandles.get(index) : null;
+    }
+
     @Override
     public List<InterceptorMethodInvocation> getInterceptorMethodInvocations() {
         return interceptorMethodInvocations;
@@ -63,13 +81,19 @@ class SimpleInterceptorInvocation implements InterceptorInvocation {
 
         private final Method method;
 
-        SimpleMethodInvocation(Method method) {
+        // Null if the method should be invoked using reflection
+        private final InterceptorMethodHandle handle;
+
+        SimpleMethodInvocation(Method method, InterceptorMethodHandle handle) {
             this.method = method;
+            this.handle = handle;
         }
 
         @Override
         public Object invoke(InvocationContext invocationContext) throws Exception {
-            if (invocationContext != null) {
+            if (handle != null) {
+                return handle.invoke(instance, invocationContext);
+            } else if (invocationContext != null) {
                 return method.invoke(instance, invocationContext);
             }
             else {
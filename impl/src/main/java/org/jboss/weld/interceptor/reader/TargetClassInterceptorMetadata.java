@@ -36,16 +36,24 @@ public class TargetClassInterceptorMetadata extends AbstractInterceptorMetadata
     public static final TargetClassInterceptorMetadata EMPTY_INSTANCE = new TargetClassInterceptorMetadata(Collections.<InterceptionType, List<Method>>emptyMap());
 
     public static TargetClassInterceptorMetadata of(Map<InterceptionType, List<Method>> interceptorMethodMap) {
+        return of(interceptorMethodMap, false);
+    }
+
+    public static TargetClassInterceptorMetadata of(Map<InterceptionType, List<Method>> interceptorMethodMap, boolean methodHandleInvocation) {
         if (interceptorMethodMap.isEmpty()) {
             return EMPTY_INSTANCE;
         }
-        return new TargetClassInterceptorMetadata(interceptorMethodMap);
+        return new TargetClassInterceptorMetadata(interceptorMethodMap, methodHandleInvocation);
     }
 
     private final Set<Method> interceptorMethods;
 
     private TargetClassInterceptorMetadata(Map<InterceptionType, List<Method>> interceptorMethodMap) {
-        super(interceptorMethodMap);
+        this(interceptorMethodMap, false);
+    }
+
+    private TargetClassInterceptorMetadata(Map<InterceptionType, List<Method>> interceptorMethodMap, boolean methodHandleInvocation) {
+        super(interceptorMethodMap, methodHandleInvocation);
         this.interceptorMethods = initInterceptorMethods(interceptorMethodMap);
     }
 
@@ -542,4 +542,32 @@ public interface BeanLogger extends WeldLogger {
     @LogMessage(level = Level.DEBUG)
     @Message(id = 1576, value = "Using {1} to instantiate a shared proxy class {0}; the deployment implementation [{2}] does not match the instantiator the proxy was created with", format = Format.MESSAGE_FORMAT)
     void creatingProxyInstanceUsingDifferentInstantiator(Object proxyClass, Object newInstantiator, Object oldInstantiator);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 1577, value = "Proxy class {0} loaded from the proxy class archive {1}", format = Format.MESSAGE_FORMAT)
+    void loadedProxyClassFromArchive(Object className, Object archive);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 1578, value = "Proxy class {0} found in the proxy class archive {1} but the signature does not match - the class will be generated", format = Format.MESSAGE_FORMAT)
+    void proxyClassArchiveSignatureMismatch(Object className, Object archive);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 1579, value = "Unable to read the proxy class archive {0}", format = Format.MESSAGE_FORMAT)
+    void unableToReadProxyClassArchive(Object archive, @Cause Throwable cause);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 1580, value = "Unable to write the proxy class archive {0}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteProxyClassArchive(Object archive, @Cause Throwable cause);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 1581, value = "{0} proxy classes written to the proxy class archive {1}", format = Format.MESSAGE_FORMAT)
+    void proxyClassArchiveExported(Object count, Object archive);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 1582, value = "Generated injector {0} accessing {1} members of {2}", format = Format.MESSAGE_FORMAT)
+    void generatedInjector(Object injectorClass, Object memberCount, Object beanClass);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 1583, value = "Unable to generate an injector for {0} - reflection is used instead", format = Format.MESSAGE_FORMAT)
+    void unableToGenerateInjector(Object beanClass, @Cause Throwable cause);
 }
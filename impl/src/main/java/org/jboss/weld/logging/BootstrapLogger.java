@@ -338,4 +338,36 @@ public interface BootstrapLogger extends WeldLogger {
     @Message(id = 181, value = "org.jboss.weld.executor.threadPoolType=COMMON detected but ForkJoinPool.commonPool() does not work with SecurityManager enabled, switching to {0} thread pool", format = Format.MESSAGE_FORMAT)
     void commonThreadPoolWithSecurityManagerEnabled(Object threadPoolType);
 
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 182, value = "Unable to write the bootstrap profile to {0}", format = Format.MESSAGE_FORMAT)
+    void bootstrapProfileCannotBeWritten(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 183, value = "org.jboss.weld.executor.threadPoolType=VIRTUAL detected but virtual threads are not supported by this JDK, switching to {0} thread pool", format = Format.MESSAGE_FORMAT)
+    void virtualThreadsNotSupported(Object threadPoolType);
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 184, value = "{0} completed {1} tasks, average queue latency {2} us, max queue latency {3} us, average execution time {4} us", format = Format.MESSAGE_FORMAT)
+    void executorMetrics(Object executor, Object completedTasks, Object averageQueueLatency, Object maxQueueLatency, Object averageExecutionTime);
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 185, value = "Bootstrap snapshot loaded from {0}", format = Format.MESSAGE_FORMAT)
+    void bootstrapSnapshotLoaded(Object file);
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 186, value = "Bootstrap snapshot {0} does not match the current deployment and will be replaced", format = Format.MESSAGE_FORMAT)
+    void bootstrapSnapshotOutdated(Object file);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 187, value = "Unable to read the bootstrap snapshot {0}", format = Format.MESSAGE_FORMAT)
+    void bootstrapSnapshotCannotBeRead(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 188, value = "Unable to write the bootstrap snapshot to {0}", format = Format.MESSAGE_FORMAT)
+    void bootstrapSnapshotCannotBeWritten(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 189, value = "Validation of bean archive {0} skipped - the bootstrap snapshot matches", format = Format.MESSAGE_FORMAT)
+    void validationSkipped(Object bdaId);
+
 }
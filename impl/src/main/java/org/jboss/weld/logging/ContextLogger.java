@@ -129,4 +129,7 @@ public interface ContextLogger extends WeldLogger {
     @Message(id = 229, value = "Contextual reference of {0} is not valid after container {1} shutdown", format = Format.MESSAGE_FORMAT)
     IllegalStateException contextualReferenceNotValidAfterShutdown(Object bean, Object contextId);
 
+    @Message(id = 230, value = "{0} is already restored on thread {1} - the propagated contexts must not be used by several threads concurrently", format = Format.MESSAGE_FORMAT)
+    IllegalStateException contextSnapshotAlreadyRestored(Object snapshot, Object thread);
+
 }
@@ -18,6 +18,9 @@ package org.jboss.weld.logging;
 
 import static org.jboss.weld.logging.WeldLogger.WELD_PROJECT_CODE;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+
 import javax.enterprise.inject.spi.ObserverMethod;
 
 import org.jboss.logging.Logger;
@@ -110,4 +113,24 @@ public interface EventLogger extends WeldLogger {
 
     @Message(id = 422, value = "WeldEvent.select(Type subtype, Annotation... qualifiers) can be invoked only on an instance of WeldEvent<Object>.", format = Format.MESSAGE_FORMAT)
     IllegalStateException selectByTypeOnlyWorksOnObject();
+
+    @Message(id = 423, value = "Asynchronous observer notification rejected - the maximum number of in-flight notifications ({0}) reached", format = Format.MESSAGE_FORMAT)
+    RejectedExecutionException asyncNotificationRejected(Object maxInFlight);
+
+    @Message(id = 424, value = "Asynchronous observer notification dropped - the maximum number of in-flight notifications ({0}) reached", format = Format.MESSAGE_FORMAT)
+    CancellationException asyncNotificationDropped(Object maxInFlight);
+
+    @Message(id = 425, value = "Invalid input value for the maximum number of in-flight asynchronous notifications. Has to be a positive integer or a parseable String: {0}", format = Format.MESSAGE_FORMAT)
+    IllegalArgumentException invalidInputValueForMaxInFlight(Object value);
+
+    @Message(id = 426, value = "{0} is not a valid overflow policy for asynchronous notifications", format = Format.MESSAGE_FORMAT)
+    IllegalArgumentException invalidOverflowPolicy(Object policy);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 427, value = "The bound of asynchronous notifications of {0} is already set to maxInFlight={1} and overflowPolicy={2}, the notification options maxInFlight={3} and overflowPolicy={4} are ignored", format = Format.MESSAGE_FORMAT)
+    void asyncNotificationBoundAlreadySet(Object eventType, Object maxInFlight, Object overflowPolicy, Object ignoredMaxInFlight, Object ignoredOverflowPolicy);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 428, value = "Observer method {0} is invoked using reflection since {1} is not visible to the class loader of Weld", format = Format.MESSAGE_FORMAT)
+    void observerMethodNotInvokedDirectly(Object method, Object clazz);
 }
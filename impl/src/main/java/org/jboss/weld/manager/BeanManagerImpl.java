@@ -46,9 +46,12 @@ import java.util.regex.Pattern;
 import javax.el.ELResolver;
 import javax.el.ExpressionFactory;
 import javax.enterprise.context.BeforeDestroyed;
+import javax.enterprise.context.ConversationScoped;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.context.Destroyed;
 import javax.enterprise.context.Initialized;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
@@ -117,6 +120,7 @@ import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.contexts.CreationalContextImpl;
 import org.jboss.weld.contexts.PassivatingContextWrapper;
 import org.jboss.weld.contexts.WeldCreationalContext;
+import org.jboss.weld.contexts.snapshot.ContextSnapshot;
 import org.jboss.weld.ejb.spi.EjbDescriptor;
 import org.jboss.weld.event.ContainerLifecycleEventObserverMethod;
 import org.jboss.weld.event.EventImpl;
@@ -364,7 +368,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.weldELResolver = services.getOptional(ExpressionLanguageSupport.class).map(el -> el.createElResolver(this)).orElse(null);
 
         TypeSafeObserverResolver accessibleObserverResolver = new TypeSafeObserverResolver(getServices().get(MetaAnnotationStore.class),
-                createDynamicAccessibleIterable(BeanManagerImpl::getObservers), getServices().get(WeldConfiguration.class));
+                createDynamicAccessibleIterable(BeanManagerImpl::getObservers), getServices().get(WeldConfiguration.class), contextId);
         this.accessibleLenientObserverNotifier = getServices().get(ObserverNotifierFactory.class).create(contextId, accessibleObserverResolver, getServices(),
                 false);
         GlobalObserverNotifierService globalObserverNotifierService = services.get(GlobalObserverNotifierService.class);
@@ -658,6 +662,16 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         return internalGetContext(scopeType) != null;
     }
 
+    /**
+     * Captures the request, session and conversation contexts bound to the current thread so that they can be propagated to another thread.
+     *
+     * @return the snapshot of the contexts bound to the current thread
+     * @see ContextSnapshot
+     */
+    public ContextSnapshot captureContextSnapshot() {
+        return ContextSnapshot.capture(contexts.get(RequestScoped.class), contexts.get(SessionScoped.class), contexts.get(ConversationScoped.class));
+    }
+
     private Context internalGetContext(Class<? extends Annotation> scopeType) {
         Context activeContext = null;
         final List<Context> ctx = contexts.get(scopeType);
@@ -808,6 +822,22 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         }
     }
 
+    /**
+     * An injectable reference of a normal scoped bean is a client proxy which does not depend on the creational context, unless the injectable reference
+     * lookup optimization is enabled.
+     *
+     * @param injectionPoint the injection point
+     * @param resolvedBean the bean resolved for the injection point
+     * @return the injectable reference which {@link #getInjectableReference(InjectionPoint, Bean, CreationalContext)} returns for any creational context, or
+     *         <code>null</code> if there is no such reference
+     */
+    public Object getConstantInjectableReference(InjectionPoint injectionPoint, Bean<?> resolvedBean) {
+        if (clientProxyOptimization || injectionPoint.isDelegate() || !isProxyRequired(resolvedBean)) {
+            return null;
+        }
+        return clientProxyProvider.getClientProxy(resolvedBean, injectionPoint.getType());
+    }
+
     public <T> Bean<T> getBean(Resolvable resolvable) {
         // We can always cache as this is only ever called by Weld where we avoid non-static inner classes for annotation literals
         Bean<T> bean = cast(resolve(beanResolver.resolve(resolvable, true)));
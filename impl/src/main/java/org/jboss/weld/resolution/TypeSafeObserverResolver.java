@@ -19,22 +19,29 @@ package org.jboss.weld.resolution;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.ObserverMethod;
 
+import org.jboss.weld.Container;
 import org.jboss.weld.bootstrap.events.ProcessAnnotatedTypeEventResolvable;
 import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.event.ContainerLifecycleEventObserverMethod;
 import org.jboss.weld.event.ResolvedObservers;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.util.Beans;
+import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.Observers;
+import org.jboss.weld.util.Types;
 import org.jboss.weld.util.reflection.Reflections;
 
 /**
@@ -56,13 +63,97 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
         }
     }
 
+    /**
+     * Observer methods indexed by the raw type of the observed type. An observer method may only match an event if the raw type of its observed type is
+     * identical to the raw type of a type from the event type closure, see {@link EventTypeAssignabilityRules}. Observer methods whose observed type is not
+     * a class or a parameterized type (e.g. a type variable or an array) are never indexed.
+     */
+    static class ObserversByType {
+
+        private final Map<Class<?>, List<ObserverMethod<?>>> indexed;
+        private final List<ObserverMethod<?>> unindexed;
+
+        ObserversByType(Iterable<? extends ObserverMethod<?>> observers) {
+            this.indexed = new HashMap<>();
+            this.unindexed = new ArrayList<>();
+            for (ObserverMethod<?> observer : observers) {
+                Class<?> rawType = getIndexedType(observer.getObservedType());
+                if (rawType != null) {
+                    indexed.computeIfAbsent(rawType, (key) -> new ArrayList<>()).add(observer);
+                } else {
+                    unindexed.add(observer);
+                }
+            }
+        }
+
+        Set<ObserverMethod<?>> getCandidates(Resolvable resolvable) {
+            Set<ObserverMethod<?>> candidates = new HashSet<>(unindexed);
+            Set<Class<?>> rawTypes = new HashSet<>();
+            for (Type type : resolvable.getTypes()) {
+                Class<?> rawType = Reflections.getRawType(Types.boxedType(type));
+                if (rawType != null && rawTypes.add(rawType)) {
+                    List<ObserverMethod<?>> observers = indexed.get(rawType);
+                    if (observers != null) {
+                        candidates.addAll(observers);
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        private static Class<?> getIndexedType(Type observedType) {
+            Type type = Types.boxedType(observedType);
+            if (type instanceof Class<?>) {
+                return ((Class<?>) type).isArray() ? null : (Class<?>) type;
+            }
+            if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class<?>) {
+                return (Class<?>) ((ParameterizedType) type).getRawType();
+            }
+            return null;
+        }
+    }
+
     private final MetaAnnotationStore metaAnnotationStore;
     private final AssignabilityRules rules;
+    private final String contextId;
+    private final LazyValueHolder<ObserversByType> observersByType;
 
     public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, Iterable<ObserverMethod<?>> observers, WeldConfiguration configuration) {
+        this(metaAnnotationStore, observers, configuration, null);
+    }
+
+    /**
+     * If a context id is specified, observer methods are indexed by type once the container is available (i.e. no more observer methods may be registered)
+     * so that a resolution only needs to check observer methods whose observed type can match.
+     *
+     * @param metaAnnotationStore
+     * @param observers
+     * @param configuration
+     * @param contextId
+     */
+    public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, Iterable<ObserverMethod<?>> observers, WeldConfiguration configuration,
+            String contextId) {
         super(observers, configuration);
         this.metaAnnotationStore = metaAnnotationStore;
         this.rules = EventTypeAssignabilityRules.instance();
+        this.contextId = contextId;
+        // The index is built lazily as we do not have access to all observer methods when the resolver is created
+        this.observersByType = LazyValueHolder.forSupplier(() -> new ObserversByType(getAllBeans()));
+    }
+
+    @Override
+    protected Iterable<? extends ObserverMethod<?>> getAllBeans(Resolvable resolvable) {
+        if (contextId == null || !Container.available(contextId)) {
+            // Observer methods may still be added during bootstrap
+            return super.getAllBeans(resolvable);
+        }
+        return observersByType.get().getCandidates(resolvable);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.observersByType.clear();
     }
 
     @Override
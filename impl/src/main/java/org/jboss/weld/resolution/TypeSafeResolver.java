@@ -26,6 +26,7 @@ import java.util.function.Function;
 
 import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.util.cache.CacheStatistics;
 import org.jboss.weld.util.cache.ComputingCache;
 import org.jboss.weld.util.cache.ComputingCacheBuilder;
 import org.jboss.weld.util.collections.ImmutableList;
@@ -65,7 +66,11 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
      */
     public TypeSafeResolver(Iterable<? extends T> allBeans, WeldConfiguration configuration) {
         this.resolverFunction = new ResolvableToBeanCollection<R, T, C, F>(this);
-        this.resolved = ComputingCacheBuilder.newBuilder().setMaxSize(configuration.getLongProperty(ConfigurationKey.RESOLUTION_CACHE_SIZE)).build(resolverFunction);
+        ComputingCacheBuilder cacheBuilder = ComputingCacheBuilder.newBuilder().setMaxSize(configuration.getLongProperty(ConfigurationKey.RESOLUTION_CACHE_SIZE));
+        if (configuration.getBooleanProperty(ConfigurationKey.RESOLUTION_CACHE_FREQUENCY_BASED_EVICTION)) {
+            cacheBuilder.setFrequencyBasedEviction();
+        }
+        this.resolved = cacheBuilder.build(resolverFunction);
         this.allBeans = allBeans;
     }
 
@@ -142,6 +147,15 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         return resolved.getValueIfPresent(wrap(resolvable)) != null;
     }
 
+    /**
+     *
+     * @return the statistics of the resolution cache, or <code>null</code> if the cache does not record statistics
+     * @see ConfigurationKey#RESOLUTION_CACHE_FREQUENCY_BASED_EVICTION
+     */
+    public CacheStatistics getCacheStatistics() {
+        return resolved instanceof CacheStatistics ? (CacheStatistics) resolved : null;
+    }
+
     /**
      * Gets a string representation
      *
@@ -152,6 +166,11 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         StringBuilder sb = new StringBuilder();
         sb.append("Resolver\n");
         sb.append("Resolved injection points: ").append(resolved.size()).append('\n');
+        CacheStatistics statistics = getCacheStatistics();
+        if (statistics != null) {
+            sb.append("Cache hits: ").append(statistics.getHitCount()).append(", misses: ").append(statistics.getMissCount()).append(", evictions: ")
+                    .append(statistics.getEvictionCount()).append('\n');
+        }
         return sb.toString();
     }
 }
@@ -119,16 +119,24 @@ public class ClassFileUtils {
      *               <code>java.lang.ClassLoader</code> is
      */
     public static Class<?> toClass(ClassFile ct, ClassLoader loader, ProtectionDomain domain) {
+        return toClass(ct.getName(), ct.toBytecode(), loader, domain);
+    }
+
+    /**
+     * Defines a class from the given bytecode in the given class loader.
+     *
+     * @see #toClass(ClassFile, ClassLoader, ProtectionDomain)
+     */
+    public static Class<?> toClass(String name, byte[] b, ClassLoader loader, ProtectionDomain domain) {
         try {
-            byte[] b = ct.toBytecode();
             java.lang.reflect.Method method;
             Object[] args;
             if (domain == null) {
                 method = defineClass1;
-                args = new Object[] { ct.getName(), b, 0, b.length };
+                args = new Object[] { name, b, 0, b.length };
             } else {
                 method = defineClass2;
-                args = new Object[] { ct.getName(), b, 0, b.length, domain };
+                args = new Object[] { name, b, 0, b.length, domain };
             }
 
             return toClass2(method, loader, args);
@@ -145,13 +153,19 @@ public class ClassFileUtils {
      * Delegates proxy creation via {@link ProxyServices} to the integrator.
      */
     public static Class<?> toClass(ClassFile ct, Class<?> originalClass, ProxyServices proxyServices, ProtectionDomain domain) {
+        return toClass(ct.getName(), ct.toBytecode(), originalClass, proxyServices, domain);
+    }
+
+    /**
+     * Delegates the definition of a class from the given bytecode via {@link ProxyServices} to the integrator.
+     */
+    public static Class<?> toClass(String name, byte[] bytecode, Class<?> originalClass, ProxyServices proxyServices, ProtectionDomain domain) {
         try {
-            byte[] bytecode = ct.toBytecode();
             Class<?> result;
             if (domain == null) {
-                result = proxyServices.defineClass(originalClass, ct.getName(), bytecode, 0, bytecode.length);
+                result = proxyServices.defineClass(originalClass, name, bytecode, 0, bytecode.length);
             } else {
-                result = proxyServices.defineClass(originalClass, ct.getName(), bytecode, 0, bytecode.length, domain);
+                result = proxyServices.defineClass(originalClass, name, bytecode, 0, bytecode.length, domain);
             }
             return result;
         } catch (RuntimeException e) {
@@ -0,0 +1,327 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.util.cache;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.jboss.weld.util.LazyValueHolder;
+import org.jboss.weld.util.ValueHolder;
+
+/**
+ * A bounded {@link ComputingCache} which evicts single entries instead of clearing the whole cache once the bound is reached.
+ *
+ * <p>
+ * The access frequency of keys is estimated by a {@link FrequencySketch}. If the cache is full, a computed value is only admitted if its key is more popular
+ * than an eviction candidate. The candidate is the least popular (and then the least recently used) entry of a small random sample.
+ * </p>
+ *
+ * <p>
+ * Lookups of cached values are lock-free. Structural modifications are guarded by a lock, however the computation itself is always performed outside the
+ * lock so that the cache remains reentrant, see also {@link ReentrantMapBackedComputingCache}.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+class BoundedComputingCache<K, V> implements ComputingCache<K, V>, CacheStatistics, Iterable<V> {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ConcurrentMap<K, Node<K, V>> map;
+
+    private final long maxSize;
+
+    private final Function<K, ValueHolder<V>> function;
+
+    private final FrequencySketch sketch;
+
+    private final ReentrantLock lock;
+
+    // Guarded by lock
+    private Node<K, V>[] nodes;
+
+    // Guarded by lock
+    private int count;
+
+    private final LongAdder hits;
+
+    private final LongAdder misses;
+
+    private final LongAdder evictions;
+
+    private final LongAdder rejections;
+
+    BoundedComputingCache(Function<K, V> computingFunction, long maxSize) {
+        this(computingFunction, LazyValueHolder::forSupplier, maxSize);
+    }
+
+    BoundedComputingCache(Function<K, V> computingFunction, Function<Supplier<V>, ValueHolder<V>> valueHolderFunction, long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be greater than zero: " + maxSize);
+        }
+        this.map = new ConcurrentHashMap<>();
+        this.maxSize = maxSize;
+        this.function = (key) -> valueHolderFunction.apply(() -> computingFunction.apply(key));
+        this.sketch = new FrequencySketch();
+        this.lock = new ReentrantLock();
+        this.nodes = newArray(INITIAL_CAPACITY);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.rejections = new LongAdder();
+    }
+
+    @Override
+    public V getValue(final K key) {
+        sketch.increment(key);
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            hits.increment();
+            node.lastAccess = System.nanoTime();
+            return node.value.get();
+        }
+        misses.increment();
+        ValueHolder<V> value = function.apply(key);
+        node = admit(key, value);
+        // Compute the value outside the lock
+        return node != null ? node.value.get() : value.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getCastValue(Object key) {
+        return (T) getValue((K) key);
+    }
+
+    @Override
+    public V getValueIfPresent(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        return node.value.getIfPresent();
+    }
+
+    @Override
+    public long size() {
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            map.clear();
+            nodes = newArray(INITIAL_CAPACITY);
+            count = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        lock.lock();
+        try {
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                remove(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterable<V> getAllPresentValues() {
+        return this;
+    }
+
+    @Override
+    public void forEachValue(Consumer<? super V> consumer) {
+        for (Node<K, V> node : map.values()) {
+            V value = node.value.getIfPresent();
+            if (value != null) {
+                consumer.accept(value);
+            }
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getRejectedAdmissionCount() {
+        return rejections.sum();
+    }
+
+    /**
+     *
+     * @param key
+     * @param value
+     * @return the cached node for the given key, or <code>null</code> if the value was not admitted
+     */
+    private Node<K, V> admit(K key, ValueHolder<V> value) {
+        lock.lock();
+        try {
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                // Another thread was faster
+                return node;
+            }
+            if (count >= maxSize) {
+                Node<K, V> victim = selectVictim();
+                if (sketch.frequency(key) <= sketch.frequency(victim.key)) {
+                    rejections.increment();
+                    return null;
+                }
+                remove(victim);
+                evictions.increment();
+            }
+            if (count == nodes.length) {
+                int capacity = (int) Math.min(maxSize, (long) nodes.length << 1);
+                nodes = Arrays.copyOf(nodes, capacity);
+                sketch.ensureCapacity(capacity);
+            }
+            node = new Node<>(key, value, count);
+            nodes[count++] = node;
+            map.put(key, node);
+            return node;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock and only if the cache is not empty
+    private Node<K, V> selectVictim() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Node<K, V> victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+            Node<K, V> candidate = nodes[random.nextInt(count)];
+            int frequency = sketch.frequency(candidate.key);
+            if (frequency < victimFrequency || (frequency == victimFrequency && candidate.lastAccess < victim.lastAccess)) {
+                victim = candidate;
+                victimFrequency = frequency;
+            }
+        }
+        return victim;
+    }
+
+    // Must be called while holding the lock
+    private void remove(Node<K, V> node) {
+        int last = --count;
+        Node<K, V> moved = nodes[last];
+        nodes[node.index] = moved;
+        moved.index = node.index;
+        nodes[last] = null;
+        map.remove(node.key, node);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newArray(int length) {
+        return new Node[length];
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+
+            private final Iterator<Node<K, V>> delegate = map.values().iterator();
+            private V next = findNext();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            private V findNext() {
+                while (delegate.hasNext()) {
+                    V next = delegate.next().value.getIfPresent();
+                    if (next != null) {
+                        return next;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                V current = next;
+                this.next = findNext();
+                return current;
+            }
+        };
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+
+        private final ValueHolder<V> value;
+
+        private volatile long lastAccess;
+
+        // Guarded by lock
+        private int index;
+
+        private Node(K key, ValueHolder<V> value, int index) {
+            this.key = key;
+            this.value = value;
+            this.index = index;
+            this.lastAccess = System.nanoTime();
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value.getIfPresent());
+        }
+    }
+
+}
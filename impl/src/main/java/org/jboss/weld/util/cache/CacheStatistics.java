@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.util.cache;
+
+/**
+ * Runtime statistics of a {@link ComputingCache}. Not all cache implementations record statistics.
+ *
+ * @see ComputingCacheBuilder#setFrequencyBasedEviction()
+ */
+public interface CacheStatistics {
+
+    /**
+     *
+     * @return the number of lookups which found a cached value
+     */
+    long getHitCount();
+
+    /**
+     *
+     * @return the number of lookups which required a computation
+     */
+    long getMissCount();
+
+    /**
+     *
+     * @return the number of entries removed in order to keep the cache within its bound
+     */
+    long getEvictionCount();
+
+    /**
+     *
+     * @return the number of computed values which were not cached because the key was less popular than the eviction candidate
+     */
+    long getRejectedAdmissionCount();
+
+    /**
+     *
+     * @return the ratio of hits to all lookups, or <code>0</code> if there was no lookup yet
+     */
+    default double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+}
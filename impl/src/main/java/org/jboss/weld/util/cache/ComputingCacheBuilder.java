@@ -33,6 +33,8 @@ public final class ComputingCacheBuilder {
 
     private boolean weakValues;
 
+    private boolean frequencyBasedEviction;
+
     private ComputingCacheBuilder() {
     }
 
@@ -64,12 +66,33 @@ public final class ComputingCacheBuilder {
         return this;
     }
 
+    /**
+     * Evict single entries based on the estimated access frequency once the max size is reached. By default, all the entries are removed if the max size is
+     * exceeded.
+     * <p>
+     * Has no effect if no max size is set.
+     * </p>
+     *
+     * @return self
+     * @see CacheStatistics
+     */
+    public ComputingCacheBuilder setFrequencyBasedEviction() {
+        this.frequencyBasedEviction = true;
+        return this;
+    }
+
     /**
      *
      * @param computingFunction
      * @return a new ComputingCache instance
      */
     public <K, V> ComputingCache<K, V> build(Function<K, V> computingFunction) {
+        if (frequencyBasedEviction && maxSize != null) {
+            if (weakValues) {
+                return new BoundedComputingCache<>(computingFunction, WeakLazyValueHolder::forSupplier, maxSize);
+            }
+            return new BoundedComputingCache<>(computingFunction, maxSize);
+        }
         if (weakValues) {
             return new ReentrantMapBackedComputingCache<>(computingFunction, WeakLazyValueHolder::forSupplier, maxSize);
         }
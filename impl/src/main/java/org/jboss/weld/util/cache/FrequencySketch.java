@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.util.cache;
+
+/**
+ * A probabilistic estimate of the access frequency of cache keys (a count-min sketch with 4-bit counters). The counters are periodically halved so that
+ * the estimate reflects recent popularity rather than all-time popularity.
+ *
+ * <p>
+ * Updates are intentionally not synchronized. A lost increment only makes the estimate slightly less accurate which is acceptable for admission and eviction
+ * decisions.
+ * </p>
+ *
+ * @see BoundedComputingCache
+ */
+final class FrequencySketch {
+
+    private static final int[] SEEDS = { 0x97cb3127, 0xa3c5a6b7, 0x5a3c8b1f, 0x8d9a4f23 };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private volatile long[] table;
+
+    private int sampleSize;
+
+    private int additions;
+
+    FrequencySketch() {
+        ensureCapacity(MIN_CAPACITY);
+    }
+
+    /**
+     * Grow the underlying table so that it is able to hold reasonable estimates for the given number of keys. Existing estimates are discarded if the table
+     * needs to grow.
+     *
+     * @param expectedSize
+     */
+    void ensureCapacity(long expectedSize) {
+        int capacity = (int) Math.min(Math.max(expectedSize, MIN_CAPACITY), MAX_CAPACITY);
+        long[] current = table;
+        if (current != null && current.length >= capacity) {
+            return;
+        }
+        this.table = new long[ceilingPowerOfTwo(capacity)];
+        this.sampleSize = (int) Math.min(10L * capacity, Integer.MAX_VALUE);
+        this.additions = 0;
+    }
+
+    /**
+     *
+     * @param key
+     * @return the estimated number of occurrences of the given key, at most 15
+     */
+    int frequency(Object key) {
+        long[] table = this.table;
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = rehash(hash, i);
+            int offset = ((h >>> 24) & 15) << 2;
+            int count = (int) ((table[h & (table.length - 1)] >>> offset) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increment the popularity of the given key.
+     *
+     * @param key
+     */
+    void increment(Object key) {
+        long[] table = this.table;
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = rehash(hash, i);
+            int index = h & (table.length - 1);
+            int offset = ((h >>> 24) & 15) << 2;
+            long mask = 0xFL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset(table);
+        }
+    }
+
+    private void reset(long[] table) {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = additions >>> 1;
+    }
+
+    private static int rehash(int hash, int row) {
+        int h = hash * SEEDS[row];
+        return h ^ (h >>> 17);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return 1 << -Integer.numberOfLeadingZeros(value - 1);
+    }
+
+}
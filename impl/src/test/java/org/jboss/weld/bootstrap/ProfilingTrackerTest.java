@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProfilingTrackerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testJsonProfile() throws IOException {
+        File file = new File(folder.getRoot(), "profile.json");
+        profile(file);
+        String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json, json.startsWith("{\n  \"operations\": [\n    {\"name\": \"bootstrap\", \"wallTime\": "));
+        assertTrue(json, json.contains("\"children\": [\n      {\"name\": \"deployBeans\", \"wallTime\": "));
+        assertTrue(json, json.contains("\"splits\": [{\"info\": \"beans \\\"deployed\\\"\", \"wallTime\": "));
+        assertTrue(json, json.contains("{\"name\": \"validateBeans\", \"wallTime\": "));
+        assertTrue(json, json.contains("\"extensions\": [\n  ]"));
+        assertTrue(json, json.contains("\"threads\": ["));
+    }
+
+    @Test
+    public void testFoldedProfile() throws IOException {
+        File file = new File(folder.getRoot(), "profile" + ProfilingTracker.FOLDED_SUFFIX);
+        profile(file);
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(lines.toString(), 3, lines.size());
+        assertTrue(lines.get(0), lines.get(0).matches("bootstrap \\d+"));
+        assertTrue(lines.get(1), lines.get(1).matches("bootstrap;deployBeans \\d+"));
+        assertTrue(lines.get(2), lines.get(2).matches("bootstrap;validateBeans \\d+"));
+    }
+
+    private static void profile(File file) {
+        // The bootstrap operation is already started, the remaining operations are ended by close()
+        Tracker tracker = new ProfilingTracker(Trackers.create(), file.getPath(), Tracker.OP_BOOTSTRAP);
+        tracker.start(Tracker.OP_DEPLOY_BEANS);
+        tracker.split("beans \"deployed\"");
+        tracker.end();
+        tracker.start(Tracker.OP_VALIDATE_BEANS);
+        tracker.close();
+    }
+
+}
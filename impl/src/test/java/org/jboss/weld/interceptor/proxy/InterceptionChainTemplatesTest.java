@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.interceptor.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.weld.interceptor.spi.metadata.InterceptorClassMetadata;
+import org.jboss.weld.interceptor.spi.model.InterceptionModel;
+import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.junit.Test;
+
+public class InterceptionChainTemplatesTest {
+
+    private static final InterceptorClassMetadata<?> LOGGING = interceptor("logging");
+
+    private static final InterceptorClassMetadata<?> AUDITING = interceptor("auditing");
+
+    @Test
+    public void testSameBindingsShareTemplate() throws Exception {
+        InterceptionChainTemplates templates = new InterceptionChainTemplates();
+        InterceptionModel alpha = model(LOGGING, Alpha.class);
+        InterceptionModel bravo = model(LOGGING, Bravo.class);
+        InterceptionChainTemplate alphaTemplate = templates.get(alpha, InterceptionType.AROUND_INVOKE, Alpha.class.getMethod("ping"));
+        InterceptionChainTemplate bravoTemplate = templates.get(bravo, InterceptionType.AROUND_INVOKE, Bravo.class.getMethod("pong"));
+        assertFalse(alphaTemplate.isEmpty());
+        assertSame(alphaTemplate, bravoTemplate);
+        assertSame(templates.get(alpha, InterceptionType.POST_CONSTRUCT, null), templates.get(bravo, InterceptionType.POST_CONSTRUCT, null));
+        // Computed once per model and method
+        assertSame(alphaTemplate, templates.get(alpha, InterceptionType.AROUND_INVOKE, Alpha.class.getMethod("ping")));
+    }
+
+    @Test
+    public void testDifferentBindingsDoNotShareTemplate() throws Exception {
+        InterceptionChainTemplates templates = new InterceptionChainTemplates();
+        InterceptionModel alpha = model(LOGGING, Alpha.class);
+        // Same interceptor, different binding member value
+        InterceptionModel charlie = model(LOGGING, Charlie.class);
+        // Different interceptor
+        InterceptionModel delta = model(AUDITING, Delta.class);
+        InterceptionChainTemplate alphaTemplate = templates.get(alpha, InterceptionType.AROUND_INVOKE, Alpha.class.getMethod("ping"));
+        InterceptionChainTemplate charlieTemplate = templates.get(charlie, InterceptionType.AROUND_INVOKE, Charlie.class.getMethod("ping"));
+        InterceptionChainTemplate deltaTemplate = templates.get(delta, InterceptionType.AROUND_INVOKE, Delta.class.getMethod("ping"));
+        assertNotSame(alphaTemplate, charlieTemplate);
+        assertNotSame(alphaTemplate, deltaTemplate);
+        assertNotSame(charlieTemplate, deltaTemplate);
+        assertEquals(ImmutableSet.of(Charlie.class.getAnnotation(Logged.class)), charlieTemplate.getInterceptorBindings());
+        // Different interception types
+        assertNotSame(templates.get(alpha, InterceptionType.POST_CONSTRUCT, null), templates.get(alpha, InterceptionType.PRE_DESTROY, null));
+    }
+
+    @Test
+    public void testMethodsWithoutInterceptorsShareEmptyTemplate() throws Exception {
+        InterceptionChainTemplates templates = new InterceptionChainTemplates();
+        InterceptionModel alpha = model(null, Alpha.class);
+        InterceptionModel delta = model(null, Delta.class);
+        InterceptionChainTemplate template = templates.get(alpha, InterceptionType.AROUND_INVOKE, Alpha.class.getMethod("ping"));
+        assertTrue(template.isEmpty());
+        assertSame(template, templates.get(delta, InterceptionType.AROUND_TIMEOUT, Delta.class.getMethod("ping")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLifecycleCallbackWithMethod() throws Exception {
+        new InterceptionChainTemplates().get(model(LOGGING, Alpha.class), InterceptionType.POST_CONSTRUCT, Alpha.class.getMethod("ping"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAroundInvokeWithoutMethod() {
+        new InterceptionChainTemplates().get(model(LOGGING, Alpha.class), InterceptionType.AROUND_INVOKE, null);
+    }
+
+    private static InterceptorClassMetadata<?> interceptor(String name) {
+        return (InterceptorClassMetadata<?>) Proxy.newProxyInstance(InterceptionChainTemplatesTest.class.getClassLoader(),
+                new Class<?>[] { InterceptorClassMetadata.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return name;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.toString());
+                    }
+                });
+    }
+
+    /**
+     * The interceptor, if any, is bound to all the methods and lifecycle callbacks of the given class, the bindings are the annotations of the class.
+     */
+    private static InterceptionModel model(InterceptorClassMetadata<?> interceptor, Class<?> beanClass) {
+        List<InterceptorClassMetadata<?>> interceptors = interceptor != null ? Collections.singletonList(interceptor) : Collections.emptyList();
+        Set<Annotation> bindings = ImmutableSet.of(beanClass.getAnnotations());
+        return (InterceptionModel) Proxy.newProxyInstance(InterceptionChainTemplatesTest.class.getClassLoader(), new Class<?>[] { InterceptionModel.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInterceptors":
+                            return interceptors;
+                        case "getTargetClassInterceptorMetadata":
+                            return null;
+                        case "getClassInterceptorBindings":
+                        case "getMemberInterceptorBindings":
+                            return bindings;
+                        case "toString":
+                            return beanClass.getSimpleName();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.toString());
+                    }
+                });
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Logged {
+
+        String value() default "";
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Audited {
+    }
+
+    @Logged
+    public static class Alpha {
+
+        public void ping() {
+        }
+
+    }
+
+    @Logged
+    public static class Bravo {
+
+        public void pong() {
+        }
+
+    }
+
+    @Logged("verbose")
+    public static class Charlie {
+
+        public void ping() {
+        }
+
+    }
+
+    @Audited
+    public static class Delta {
+
+        public void ping() {
+        }
+
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.interceptor.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.interceptor.InvocationContext;
+
+import org.jboss.weld.interceptor.proxy.InterceptorMethodInvocation;
+import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.junit.Test;
+
+public class InterceptorMethodHandleTest {
+
+    private static final InvocationContext CONTEXT = (InvocationContext) Proxy.newProxyInstance(InterceptorMethodHandleTest.class.getClassLoader(),
+            new Class<?>[] { InvocationContext.class }, (proxy, method, args) -> null);
+
+    @Test
+    public void testPrivateMethodInvokedThroughMethodHandle() throws Exception {
+        Method method = getAccessibleMethod("intercept");
+        assertNotNull(InterceptorMethodHandle.of(method));
+        Interceptor interceptor = new Interceptor();
+        assertEquals("intercept", InterceptorMethodHandle.of(method).invoke(interceptor, CONTEXT));
+        assertEquals(Collections.singletonList("intercept:handle"), Interceptor.INVOCATIONS);
+    }
+
+    @Test
+    public void testFallbackToReflection() throws Exception {
+        Method inaccessible = Interceptor.class.getDeclaredMethod("interceptInaccessible", InvocationContext.class);
+        Method staticMethod = getAccessibleMethod("interceptStatic");
+        Method method = getAccessibleMethod("intercept");
+        assertNull(InterceptorMethodHandle.of(inaccessible));
+        assertNull(InterceptorMethodHandle.of(staticMethod));
+
+        // The method handles are created when the metadata is read
+        TargetClassInterceptorMetadata metadata = TargetClassInterceptorMetadata
+                .of(Collections.singletonMap(InterceptionType.AROUND_INVOKE, Arrays.asList(inaccessible, staticMethod, method)), true);
+        inaccessible.setAccessible(true);
+        Interceptor.INVOCATIONS.clear();
+        for (InterceptorMethodInvocation invocation : metadata.getInterceptorInvocation(new Interceptor(), InterceptionType.AROUND_INVOKE)
+                .getInterceptorMethodInvocations()) {
+            invocation.invoke(CONTEXT);
+        }
+        assertEquals(Arrays.asList("interceptInaccessible:reflection", "interceptStatic:reflection", "intercept:handle"), Interceptor.INVOCATIONS);
+    }
+
+    @Test
+    public void testExceptionsPropagated() throws Exception {
+        InterceptorMethodHandle checked = InterceptorMethodHandle.of(getAccessibleMethod("throwChecked"));
+        InterceptorMethodHandle unchecked = InterceptorMethodHandle.of(getAccessibleMethod("throwUnchecked"));
+        InterceptorMethodHandle invocationTarget = InterceptorMethodHandle.of(getAccessibleMethod("throwInvocationTarget"));
+        try {
+            checked.invoke(new Interceptor(), CONTEXT);
+            fail();
+        } catch (IOException expected) {
+        }
+        try {
+            unchecked.invoke(new Interceptor(), CONTEXT);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        // Callers unwrap InvocationTargetException, i.e. the exception thrown by the method must be wrapped
+        try {
+            invocationTarget.invoke(new Interceptor(), CONTEXT);
+            fail();
+        } catch (InvocationTargetException expected) {
+            assertTrue(expected.getCause() instanceof InvocationTargetException);
+        }
+    }
+
+    private static Method getAccessibleMethod(String name) throws NoSuchMethodException {
+        Method method = Interceptor.class.getDeclaredMethod(name, InvocationContext.class);
+        method.setAccessible(true);
+        return method;
+    }
+
+    static class Interceptor {
+
+        static final List<String> INVOCATIONS = Collections.synchronizedList(new ArrayList<>());
+
+        Interceptor() {
+            INVOCATIONS.clear();
+        }
+
+        private Object intercept(InvocationContext ctx) {
+            return record("intercept");
+        }
+
+        private Object interceptInaccessible(InvocationContext ctx) {
+            return record("interceptInaccessible");
+        }
+
+        private static Object interceptStatic(InvocationContext ctx) {
+            return record("interceptStatic");
+        }
+
+        private Object throwChecked(InvocationContext ctx) throws IOException {
+            throw new IOException();
+        }
+
+        private Object throwUnchecked(InvocationContext ctx) {
+            throw new IllegalStateException();
+        }
+
+        private Object throwInvocationTarget(InvocationContext ctx) throws InvocationTargetException {
+            throw new InvocationTargetException(null);
+        }
+
+        private static Object record(String name) {
+            boolean handle = false;
+            for (StackTraceElement element : new Throwable().getStackTrace()) {
+                if (element.getClassName().equals(InterceptorMethodHandle.class.getName())) {
+                    handle = true;
+                    break;
+                }
+            }
+            INVOCATIONS.add(name + (handle ? ":handle" : ":reflection"));
+            return name;
+        }
+
+    }
+
+}
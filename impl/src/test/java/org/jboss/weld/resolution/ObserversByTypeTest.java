@@ -0,0 +1,237 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.resolution.TypeSafeObserverResolver.ObserversByType;
+import org.jboss.weld.util.reflection.HierarchyDiscovery;
+import org.junit.Test;
+
+/**
+ * Verifies that the index of observer methods never drops an observer method which matches the event type.
+ */
+public class ObserversByTypeTest {
+
+    private static final AssignabilityRules RULES = EventTypeAssignabilityRules.instance();
+
+    private final ObserverMethod<?> typeVariableObserver = observer("typeVariable");
+
+    private final ObserverMethod<?> arrayObserver = observer("array");
+
+    private final ObserverMethod<?> objectObserver = observer("object");
+
+    private final ObserverMethod<?> rawObserver = observer("raw");
+
+    private final ObserverMethod<?> wildcardObserver = observer("wildcard");
+
+    private final ObserverMethod<?> stringObserver = observer("string");
+
+    private final ObserversByType observers = new ObserversByType(
+            Arrays.asList(typeVariableObserver, arrayObserver, objectObserver, rawObserver, wildcardObserver, stringObserver));
+
+    @Test
+    public void testTypeVariable() {
+        // Not indexed, always a candidate
+        for (Type eventType : new Type[] { String.class, Integer[].class, type("integerList") }) {
+            Set<ObserverMethod<?>> candidates = getCandidates(eventType);
+            assertTrue(candidates.contains(typeVariableObserver));
+            assertMatchingIncluded(eventType, candidates);
+        }
+    }
+
+    @Test
+    public void testArray() {
+        Set<ObserverMethod<?>> candidates = getCandidates(String[].class);
+        assertTrue(candidates.contains(arrayObserver));
+        assertTrue(RULES.matches(arrayObserver.getObservedType(), closure(String[].class)));
+        assertMatchingIncluded(String[].class, candidates);
+        // Not indexed, a candidate even though it does not match
+        assertTrue(getCandidates(Integer.class).contains(arrayObserver));
+    }
+
+    @Test
+    public void testObject() {
+        for (Type eventType : new Type[] { String.class, String[].class, type("integerList") }) {
+            Set<ObserverMethod<?>> candidates = getCandidates(eventType);
+            assertTrue(eventType.toString(), candidates.contains(objectObserver));
+            assertMatchingIncluded(eventType, candidates);
+        }
+    }
+
+    @Test
+    public void testRawType() {
+        Type eventType = type("integerList");
+        Set<ObserverMethod<?>> candidates = getCandidates(eventType);
+        assertTrue(candidates.contains(rawObserver));
+        assertTrue(RULES.matches(rawObserver.getObservedType(), closure(eventType)));
+        assertMatchingIncluded(eventType, candidates);
+        // The raw type is not in the type closure of the event
+        assertFalse(getCandidates(String.class).contains(rawObserver));
+    }
+
+    @Test
+    public void testParameterizedTypeWithWildcard() {
+        Type integerList = type("integerList");
+        Set<ObserverMethod<?>> candidates = getCandidates(integerList);
+        assertTrue(candidates.contains(wildcardObserver));
+        assertTrue(RULES.matches(wildcardObserver.getObservedType(), closure(integerList)));
+        assertMatchingIncluded(integerList, candidates);
+
+        // Indexed by the raw type, the type arguments are checked by the resolver
+        Type stringList = type("stringList");
+        candidates = getCandidates(stringList);
+        assertTrue(candidates.contains(wildcardObserver));
+        assertFalse(RULES.matches(wildcardObserver.getObservedType(), closure(stringList)));
+        assertMatchingIncluded(stringList, candidates);
+
+        assertFalse(getCandidates(String.class).contains(wildcardObserver));
+    }
+
+    private Set<ObserverMethod<?>> getCandidates(Type eventType) {
+        return observers.getCandidates(new EventResolvable(closure(eventType)));
+    }
+
+    private void assertMatchingIncluded(Type eventType, Set<ObserverMethod<?>> candidates) {
+        for (ObserverMethod<?> observer : Arrays.asList(typeVariableObserver, arrayObserver, objectObserver, rawObserver, wildcardObserver, stringObserver)) {
+            if (RULES.matches(observer.getObservedType(), closure(eventType))) {
+                assertTrue(observer + " matches " + eventType, candidates.contains(observer));
+            }
+        }
+    }
+
+    private static Set<Type> closure(Type eventType) {
+        return HierarchyDiscovery.forNormalizedType(eventType).getTypeClosure();
+    }
+
+    private static Type type(String field) {
+        try {
+            return Types.class.getDeclaredField(field).getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ObserverMethod<?> observer(String method) {
+        Type observedType = null;
+        for (Method candidate : Observers.class.getDeclaredMethods()) {
+            if (candidate.getName().equals(method)) {
+                observedType = candidate.getGenericParameterTypes()[0];
+            }
+        }
+        Type type = observedType;
+        return (ObserverMethod<?>) Proxy.newProxyInstance(ObserversByTypeTest.class.getClassLoader(), new Class<?>[] { ObserverMethod.class },
+                (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getObservedType":
+                            return type;
+                        case "getObservedQualifiers":
+                            return Collections.emptySet();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return method + "(" + type.getTypeName() + ")";
+                        default:
+                            throw new UnsupportedOperationException(m.getName());
+                    }
+                });
+    }
+
+    @SuppressWarnings("unused")
+    private static class Observers {
+
+        <T> void typeVariable(T event) {
+        }
+
+        void array(String[] event) {
+        }
+
+        void object(Object event) {
+        }
+
+        @SuppressWarnings("rawtypes")
+        void raw(List event) {
+        }
+
+        void wildcard(List<? extends Number> event) {
+        }
+
+        void string(String event) {
+        }
+
+    }
+
+    @SuppressWarnings("unused")
+    private static class Types {
+
+        ArrayList<Integer> integerList;
+
+        ArrayList<String> stringList;
+
+    }
+
+    private static class EventResolvable implements Resolvable {
+
+        private final Set<Type> types;
+
+        EventResolvable(Set<Type> types) {
+            this.types = types;
+        }
+
+        @Override
+        public Set<QualifierInstance> getQualifiers() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<Type> getTypes() {
+            return types;
+        }
+
+        @Override
+        public Class<?> getJavaClass() {
+            return null;
+        }
+
+        @Override
+        public Bean<?> getDeclaringBean() {
+            return null;
+        }
+
+        @Override
+        public boolean isDelegate() {
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.contexts.beanstore.LockStore;
+import org.jboss.weld.contexts.beanstore.LockedBean;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Test;
+
+/**
+ * Testcase for {@link LockStore}
+ */
+public class LockStoreTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ITERATIONS = 2000;
+
+    private static final BeanIdentifier[] IDS = { new StringBeanIdentifier("foo"), new StringBeanIdentifier("bar"), new StringBeanIdentifier("baz"),
+            new StringBeanIdentifier("qux") };
+
+    @Test
+    public void testConcurrentCreation() throws Exception {
+        testCreation(new LockStore(true));
+    }
+
+    @Test
+    public void testDefaultCreation() throws Exception {
+        testCreation(new LockStore());
+    }
+
+    @Test
+    public void testNestedLocking() throws Exception {
+        LockStore store = new LockStore(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                // Half of the threads lock foo and then bar, the other half lock baz and then bar
+                BeanIdentifier outer = i % 2 == 0 ? IDS[0] : IDS[2];
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        LockedBean outerLock = store.lock(outer);
+                        try {
+                            // Reentrant
+                            LockedBean reentrantLock = store.lock(outer);
+                            LockedBean innerLock = store.lock(IDS[1]);
+                            innerLock.unlock();
+                            reentrantLock.unlock();
+                        } finally {
+                            outerLock.unlock();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(getLocks(store).isEmpty());
+    }
+
+    private void testCreation(LockStore store) throws Exception {
+        Map<BeanIdentifier, Object> instances = new ConcurrentHashMap<>();
+        Map<BeanIdentifier, AtomicInteger> created = new ConcurrentHashMap<>();
+        Map<BeanIdentifier, AtomicInteger> holders = new ConcurrentHashMap<>();
+        for (BeanIdentifier id : IDS) {
+            created.put(id, new AtomicInteger());
+            holders.put(id, new AtomicInteger());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        // The same identifier is locked by many threads, different identifiers are locked at the same time
+                        BeanIdentifier id = IDS[ThreadLocalRandom.current().nextInt(IDS.length)];
+                        LockedBean lock = store.lock(id);
+                        try {
+                            assertEquals("Lock held by another thread: " + id.asString(), 1, holders.get(id).incrementAndGet());
+                            if (!instances.containsKey(id)) {
+                                // Create the instance as AbstractContext does, a slow creation makes a race more likely
+                                created.get(id).incrementAndGet();
+                                Thread.sleep(10);
+                                instances.put(id, new Object());
+                            }
+                            holders.get(id).decrementAndGet();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+        // Exactly one instance per identifier
+        for (BeanIdentifier id : IDS) {
+            assertEquals(id.asString(), 1, created.get(id).get());
+        }
+        assertTrue(getLocks(store).isEmpty());
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (Future<?> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                fail("Possible deadlock");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<BeanIdentifier, ?> getLocks(LockStore store) throws ReflectiveOperationException {
+        Field field = LockStore.class.getDeclaredField("locks");
+        field.setAccessible(true);
+        return (Map<BeanIdentifier, ?>) field.get(store);
+    }
+
+}
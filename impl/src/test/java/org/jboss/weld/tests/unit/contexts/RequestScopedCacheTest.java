@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.contexts.cache.RequestScopedCache;
+import org.jboss.weld.contexts.cache.RequestScopedCacheMetrics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcase for {@link RequestScopedCache}
+ */
+public class RequestScopedCacheTest {
+
+    @After
+    public void cleanup() {
+        RequestScopedCache.endRequest();
+        RequestScopedCache.setMetrics(null);
+    }
+
+    @Test
+    public void testItemsAreInvalidated() {
+        ThreadLocal<String> threadLocal = new ThreadLocal<>();
+        AtomicInteger invalidations = new AtomicInteger();
+        Assert.assertFalse(RequestScopedCache.addItemIfActive(threadLocal));
+        for (int i = 0; i < 3; i++) {
+            RequestScopedCache.beginRequest();
+            threadLocal.set("foo");
+            Assert.assertTrue(RequestScopedCache.addItemIfActive(threadLocal));
+            // Exceed the initial capacity
+            for (int j = 0; j < 100; j++) {
+                RequestScopedCache.addItem(invalidations::incrementAndGet);
+            }
+            RequestScopedCache.endRequest();
+            Assert.assertFalse(RequestScopedCache.isActive());
+            Assert.assertNull(threadLocal.get());
+            Assert.assertEquals(100 * (i + 1), invalidations.get());
+        }
+    }
+
+    @Test
+    public void testInvalidateKeepsCacheActive() {
+        AtomicInteger invalidations = new AtomicInteger();
+        RequestScopedCache.beginRequest();
+        RequestScopedCache.addItem(invalidations::incrementAndGet);
+        RequestScopedCache.invalidate();
+        Assert.assertEquals(1, invalidations.get());
+        Assert.assertTrue(RequestScopedCache.isActive());
+        RequestScopedCache.endRequest();
+        Assert.assertEquals(1, invalidations.get());
+    }
+
+    @Test
+    public void testInstances() {
+        Object owner = new Object();
+        Assert.assertFalse(RequestScopedCache.putInstanceIfActive(0, owner, "foo"));
+        for (int i = 0; i < 2; i++) {
+            RequestScopedCache.beginRequest();
+            Assert.assertNull(RequestScopedCache.getInstance(100, owner));
+            Assert.assertTrue(RequestScopedCache.putInstanceIfActive(100, owner, "foo"));
+            Assert.assertTrue(RequestScopedCache.putInstanceIfActive(1, owner, "bar"));
+            Assert.assertEquals("foo", RequestScopedCache.getInstance(100, owner));
+            Assert.assertEquals("bar", RequestScopedCache.getInstance(1, owner));
+            // Different owner at the same index
+            Assert.assertNull(RequestScopedCache.getInstance(100, new Object()));
+            RequestScopedCache.invalidate();
+            Assert.assertNull(RequestScopedCache.getInstance(100, owner));
+            Assert.assertTrue(RequestScopedCache.putInstanceIfActive(100, owner, "baz"));
+            RequestScopedCache.endRequest();
+            Assert.assertNull(RequestScopedCache.getInstance(100, owner));
+        }
+    }
+
+    @Test
+    public void testMetrics() {
+        AtomicInteger ended = new AtomicInteger(-1);
+        AtomicInteger invalidated = new AtomicInteger(-1);
+        RequestScopedCache.setMetrics(new RequestScopedCacheMetrics() {
+
+            @Override
+            public void requestEnded(int itemCount) {
+                ended.set(itemCount);
+            }
+
+            @Override
+            public void invalidated(int itemCount) {
+                invalidated.set(itemCount);
+            }
+        });
+        RequestScopedCache.beginRequest();
+        RequestScopedCache.addItem(() -> {
+        });
+        RequestScopedCache.addItem(() -> {
+        });
+        RequestScopedCache.invalidate();
+        RequestScopedCache.addItem(() -> {
+        });
+        RequestScopedCache.putInstanceIfActive(3, this, "foo");
+        RequestScopedCache.endRequest();
+        Assert.assertEquals(2, invalidated.get());
+        Assert.assertEquals(2, ended.get());
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.contexts.beanstore.BeanIdentifierSlots;
+import org.jboss.weld.contexts.beanstore.SlottedBeanStore;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcase for {@link SlottedBeanStore}
+ */
+public class SlottedBeanStoreTest {
+
+    private final StringBeanIdentifier alpha = new StringBeanIdentifier("alpha");
+
+    private final StringBeanIdentifier bravo = new StringBeanIdentifier("bravo");
+
+    private final StringBeanIdentifier charlie = new StringBeanIdentifier("charlie");
+
+    private final BeanIdentifierSlots slots = new BeanIdentifierSlots() {
+
+        private final BeanIdentifier[] identifiers = { alpha, bravo };
+
+        @Override
+        public BeanIdentifier[] getIdentifiers(Class<? extends Annotation> scope) {
+            return RequestScoped.class.equals(scope) ? identifiers : new BeanIdentifier[0];
+        }
+
+        @Override
+        public Map<BeanIdentifier, Integer> getSlots(Class<? extends Annotation> scope) {
+            Map<BeanIdentifier, Integer> slots = new HashMap<>();
+            if (RequestScoped.class.equals(scope)) {
+                for (int i = 0; i < identifiers.length; i++) {
+                    slots.put(identifiers[i], i);
+                }
+            }
+            return slots;
+        }
+    };
+
+    {
+        alpha.setSlot(0);
+        bravo.setSlot(1);
+    }
+
+    @Test
+    public void testSlottedAndUnslottedInstances() {
+        SlottedBeanStore store = new SlottedBeanStore(slots, RequestScoped.class);
+        Assert.assertNull(store.get(alpha));
+        store.put(alpha, new DummyInstance<>("a"));
+        store.put(charlie, new DummyInstance<>("c"));
+        Assert.assertEquals("a", store.get(alpha).getInstance());
+        Assert.assertEquals("c", store.get(charlie).getInstance());
+        Assert.assertFalse(store.contains(bravo));
+        Assert.assertEquals(ids(alpha, charlie), ids(store));
+        Assert.assertEquals("a", store.remove(alpha).getInstance());
+        Assert.assertNull(store.get(alpha));
+        Assert.assertEquals(ids(charlie), ids(store));
+        store.clear();
+        Assert.assertFalse(store.iterator().hasNext());
+    }
+
+    @Test
+    public void testSlotOfDifferentScopeIsIgnored() {
+        SlottedBeanStore store = new SlottedBeanStore(slots, SessionScoped.class);
+        store.put(alpha, new DummyInstance<>("a"));
+        Assert.assertEquals("a", store.get(alpha).getInstance());
+        // Equal identifier without a slot
+        Assert.assertEquals("a", store.get(new StringBeanIdentifier("alpha")).getInstance());
+    }
+
+    @Test
+    public void testEqualIdentifierWithoutSlot() {
+        SlottedBeanStore store = new SlottedBeanStore(slots, RequestScoped.class);
+        // E.g. an identifier restored from the name of an attribute
+        StringBeanIdentifier deprefixed = new StringBeanIdentifier("alpha");
+        store.put(deprefixed, new DummyInstance<>("a"));
+        Assert.assertEquals("a", store.get(alpha).getInstance());
+        Assert.assertTrue(store.contains(alpha));
+        Assert.assertEquals(ids(alpha), ids(store));
+        store.put(alpha, new DummyInstance<>("b"));
+        Assert.assertEquals("b", store.get(deprefixed).getInstance());
+        Assert.assertEquals(ids(alpha), ids(store));
+        Assert.assertEquals("b", store.remove(new StringBeanIdentifier("alpha")).getInstance());
+        Assert.assertNull(store.get(alpha));
+        Assert.assertFalse(store.iterator().hasNext());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        SlottedBeanStore store = new SlottedBeanStore(slots, RequestScoped.class);
+        store.put(alpha, new DummyInstance<>("a"));
+        store.put(bravo, new DummyInstance<>("b"));
+        store.put(charlie, new DummyInstance<>("c"));
+        Iterator<BeanIdentifier> iterator = store.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        Assert.assertFalse(store.iterator().hasNext());
+        Assert.assertNull(store.get(bravo));
+        Assert.assertNull(store.get(charlie));
+    }
+
+    private static Set<BeanIdentifier> ids(BeanIdentifier... identifiers) {
+        Set<BeanIdentifier> result = new HashSet<>();
+        for (BeanIdentifier identifier : identifiers) {
+            result.add(identifier);
+        }
+        return result;
+    }
+
+    private static Set<BeanIdentifier> ids(SlottedBeanStore store) {
+        Set<BeanIdentifier> result = new HashSet<>();
+        for (BeanIdentifier identifier : store) {
+            Assert.assertTrue(result.add(identifier));
+        }
+        return result;
+    }
+
+    private static class DummyInstance<T> implements ContextualInstance<T> {
+
+        private final T instance;
+
+        DummyInstance(T instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public T getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<T> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<T> getContextual() {
+            return null;
+        }
+    }
+
+}
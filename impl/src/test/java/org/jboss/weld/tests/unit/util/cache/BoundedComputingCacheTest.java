@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.util.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.util.cache.CacheStatistics;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcase for {@link ComputingCacheBuilder#setFrequencyBasedEviction()}
+ */
+public class BoundedComputingCacheTest {
+
+    private ComputingCache<Class<?>, Integer> reentrantCache;
+
+    @Test
+    public void testSizeIsBounded() {
+        ComputingCache<Integer, String> cache = ComputingCacheBuilder.newBuilder().setMaxSize(10).setFrequencyBasedEviction().build(String::valueOf);
+        for (int i = 0; i < 1000; i++) {
+            // Request each key several times so that new keys become popular enough to be admitted
+            for (int j = 0; j < 3; j++) {
+                Assert.assertEquals(String.valueOf(i), cache.getValue(i));
+            }
+        }
+        Assert.assertTrue(cache.size() <= 10);
+        CacheStatistics statistics = (CacheStatistics) cache;
+        Assert.assertTrue(statistics.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testHotEntriesSurviveOverflow() {
+        AtomicInteger computations = new AtomicInteger();
+        ComputingCache<Integer, Integer> cache = ComputingCacheBuilder.newBuilder().setMaxSize(16).setFrequencyBasedEviction().build((x) -> {
+            computations.incrementAndGet();
+            return x;
+        });
+        for (int i = 0; i < 500; i++) {
+            // -1 is the hot key
+            cache.getValue(-1);
+            cache.getValue(i);
+        }
+        Assert.assertEquals(Integer.valueOf(-1), cache.getValueIfPresent(-1));
+        int before = computations.get();
+        cache.getValue(-1);
+        Assert.assertEquals(before, computations.get());
+    }
+
+    @Test
+    public void testStatistics() {
+        ComputingCache<String, String> cache = ComputingCacheBuilder.newBuilder().setMaxSize(100).setFrequencyBasedEviction().build(x -> x);
+        cache.getValue("foo");
+        cache.getValue("foo");
+        cache.getValue("bar");
+        CacheStatistics statistics = (CacheStatistics) cache;
+        Assert.assertEquals(1, statistics.getHitCount());
+        Assert.assertEquals(2, statistics.getMissCount());
+        Assert.assertEquals(0, statistics.getEvictionCount());
+        cache.invalidate("foo");
+        Assert.assertNull(cache.getValueIfPresent("foo"));
+        Assert.assertEquals(1, cache.size());
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testReentrantComputation() {
+        reentrantCache = ComputingCacheBuilder.newBuilder().setMaxSize(100).setFrequencyBasedEviction().build(
+                (x) -> x.getInterfaces().length + ((x.getSuperclass() == null) ? 0 : reentrantCache.getValue(x.getSuperclass())));
+        Assert.assertEquals(Integer.valueOf(2), reentrantCache.getValue(Baz.class));
+    }
+}
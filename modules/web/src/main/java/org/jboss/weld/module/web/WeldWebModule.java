@@ -34,6 +34,7 @@ import org.jboss.weld.module.web.context.http.HttpRequestContextImpl;
 import org.jboss.weld.module.web.context.http.HttpSessionContextImpl;
 import org.jboss.weld.module.web.context.http.HttpSessionDestructionContext;
 import org.jboss.weld.module.web.context.http.LazyHttpConversationContextImpl;
+import org.jboss.weld.module.web.el.ELNameResolutionCache;
 import org.jboss.weld.module.web.el.WeldELResolver;
 import org.jboss.weld.module.web.el.WeldExpressionFactory;
 import org.jboss.weld.module.web.servlet.ServletApiAbstraction;
@@ -80,6 +81,11 @@ public class WeldWebModule implements WeldModule {
         ctx.getServices().add(ServletApiAbstraction.class, new ServletApiAbstraction(WeldClassLoaderResourceLoader.INSTANCE));
     }
 
+    @Override
+    public void postBeanArchiveServiceRegistration(PostBeanArchiveServiceRegistrationContext ctx) {
+        ctx.getServices().add(ELNameResolutionCache.class, new ELNameResolutionCache(ctx.getBeanManager()));
+    }
+
     @Override
     public void postContextRegistration(PostContextRegistrationContext ctx) {
         final BeanIdentifierIndex index = ctx.getServices().get(BeanIdentifierIndex.class);
@@ -39,6 +39,8 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
 
     private final boolean resetHttpSessionAttributeOnBeanAccess;
 
+    private final boolean concurrentLocking;
+
     /**
      *
      * @param namingScheme
@@ -47,6 +49,7 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
     public AbstractSessionBeanStore(NamingScheme namingScheme, boolean attributeLazyFetchingEnabled, ServiceRegistry serviceRegistry) {
         super(namingScheme, attributeLazyFetchingEnabled);
         this.resetHttpSessionAttributeOnBeanAccess = serviceRegistry.get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.RESET_HTTP_SESSION_ATTR_ON_BEAN_ACCESS);
+        this.concurrentLocking = serviceRegistry.get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.CONCURRENT_CREATION_LOCKING);
     }
 
     protected Iterator<String> getAttributeNames() {
@@ -114,7 +117,7 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
             }
             HttpSession session = getSession(false);
             if(session == null) {
-                lockStore = new LockStore();
+                lockStore = new LockStore(concurrentLocking);
                 CURRENT_LOCK_STORE.set(lockStore);
                 try {
                 session = getSession(true);
@@ -131,7 +134,7 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
                 synchronized (AbstractSessionBeanStore.class) {
                     lockStore = (LockStore) session.getAttribute(SESSION_KEY);
                     if (lockStore == null) {
-                        lockStore = new LockStore();
+                        lockStore = new LockStore(concurrentLocking);
                         session.setAttribute(SESSION_KEY, lockStore);
                     }
                 }
@@ -5,6 +5,7 @@ import java.util.Iterator;
 import javax.servlet.http.HttpServletRequest;
 
 import org.jboss.weld.contexts.beanstore.AttributeBeanStore;
+import org.jboss.weld.contexts.beanstore.BeanStore;
 import org.jboss.weld.contexts.beanstore.LockStore;
 import org.jboss.weld.contexts.beanstore.NamingScheme;
 import org.jboss.weld.module.web.servlet.HttpContextLifecycle;
@@ -32,6 +33,11 @@ public class RequestBeanStore extends AttributeBeanStore {
         this.request = request;
     }
 
+    public RequestBeanStore(HttpServletRequest request, NamingScheme namingScheme, BeanStore localBeanStore) {
+        super(namingScheme, false, localBeanStore);
+        this.request = request;
+    }
+
     @Override
     protected Object getAttribute(String key) {
         return request.getAttribute(key);
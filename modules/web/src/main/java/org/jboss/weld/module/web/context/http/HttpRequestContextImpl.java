@@ -28,9 +28,11 @@ import javax.enterprise.context.RequestScoped;
 import javax.servlet.http.HttpServletRequest;
 
 import org.jboss.weld.contexts.AbstractBoundContext;
+import org.jboss.weld.contexts.beanstore.BeanIdentifierSlots;
 import org.jboss.weld.contexts.beanstore.BoundBeanStore;
 import org.jboss.weld.contexts.beanstore.NamingScheme;
 import org.jboss.weld.contexts.beanstore.SimpleNamingScheme;
+import org.jboss.weld.contexts.beanstore.SlottedBeanStore;
 import org.jboss.weld.module.web.context.beanstore.http.RequestBeanStore;
 import org.jboss.weld.context.http.HttpRequestContext;
 import org.jboss.weld.contexts.cache.RequestScopedCache;
@@ -60,7 +62,8 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
             }
         }
         // We always associate a new bean store to avoid possible leaks (security threats)
-        beanStore = new RequestBeanStore(request, namingScheme);
+        beanStore = new RequestBeanStore(request, namingScheme,
+                new SlottedBeanStore(getServiceRegistry().get(BeanIdentifierSlots.class), RequestScoped.class));
         setBeanStore(beanStore);
         beanStore.attach();
         return true;
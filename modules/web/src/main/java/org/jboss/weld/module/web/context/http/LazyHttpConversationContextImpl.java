@@ -49,6 +49,8 @@ public class LazyHttpConversationContextImpl extends HttpConversationContextImpl
         super(contextId, services);
         this.initialized = new ThreadLocal<Object>();
         this.transientConversationInitializationCallback = new ThreadLocal<>();
+        registerThreadBoundValue(initialized);
+        registerThreadBoundValue(transientConversationInitializationCallback);
     }
 
     /**
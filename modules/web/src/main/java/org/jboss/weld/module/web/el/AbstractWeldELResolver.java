@@ -25,6 +25,7 @@ import javax.el.ELResolver;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.spi.Bean;
 
+import org.jboss.weld.bean.ContextualInstance;
 import org.jboss.weld.logging.ElLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 
@@ -98,12 +99,17 @@ public abstract class AbstractWeldELResolver extends ELResolver {
     }
 
     private Object lookup(BeanManagerImpl beanManager, ELContext context, String name) {
-        final Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
+        final Bean<?> bean = resolve(beanManager, name);
         if (bean == null) {
             return null;
         }
         Class<? extends Annotation> scope = bean.getScope();
         if (!scope.equals(Dependent.class)) {
+            // The contextual instance usually exists already - only create a CreationalContext if it does not
+            Object value = ContextualInstance.getIfExists(bean, beanManager);
+            if (value != null) {
+                return value;
+            }
             return beanManager.getReference(bean, null, beanManager.createCreationalContext(bean), true);
         } else {
             // Need to use a "special" creationalContext that can make sure that we do share dependent instances referenced by the EL Expression
@@ -133,6 +139,11 @@ public abstract class AbstractWeldELResolver extends ELResolver {
         }
     }
 
+    private Bean<?> resolve(BeanManagerImpl beanManager, String name) {
+        ELNameResolutionCache cache = beanManager.getServices().get(ELNameResolutionCache.class);
+        return cache != null ? cache.getBean(beanManager, name) : ELNameResolutionCache.resolve(beanManager, name);
+    }
+
     @Override
     public boolean isReadOnly(ELContext context, Object base, Object property) {
         return false;
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.module.web.el;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+
+/**
+ * Caches the resolution of EL names, including names qualified by a {@link Namespace}, to beans for a single {@link BeanManagerImpl}. The set of beans does
+ * not change once the deployment is validated, therefore the results are only cached from then on.
+ *
+ * <p>
+ * Unresolvable names are cached as well since the Weld resolver is usually consulted before other resolvers, e.g. for the implicit objects of JSF. The
+ * number of such names is not bounded by the deployment, hence the cache is bounded in the same way as the caches of the type safe resolvers, see
+ * {@link ConfigurationKey#RESOLUTION_CACHE_SIZE} and {@link ConfigurationKey#RESOLUTION_CACHE_FREQUENCY_BASED_EVICTION}.
+ * </p>
+ *
+ * <p>
+ * The service is registered for each bean archive. Managers sharing the service registry of the owner, e.g. child activity managers, bypass the cache.
+ * </p>
+ */
+public class ELNameResolutionCache implements Service {
+
+    private final BeanManagerImpl beanManager;
+
+    private final ComputingCache<String, Optional<Bean<?>>> beans;
+
+    private final LongAdder lookups;
+
+    private final LongAdder misses;
+
+    private volatile boolean enabled;
+
+    public ELNameResolutionCache(BeanManagerImpl beanManager) {
+        this.beanManager = beanManager;
+        this.lookups = new LongAdder();
+        this.misses = new LongAdder();
+        WeldConfiguration configuration = beanManager.getServices().get(WeldConfiguration.class);
+        ComputingCacheBuilder cacheBuilder = ComputingCacheBuilder.newBuilder().setMaxSize(configuration.getLongProperty(ConfigurationKey.RESOLUTION_CACHE_SIZE));
+        if (configuration.getBooleanProperty(ConfigurationKey.RESOLUTION_CACHE_FREQUENCY_BASED_EVICTION)) {
+            cacheBuilder.setFrequencyBasedEviction();
+        }
+        this.beans = cacheBuilder.build((name) -> {
+            misses.increment();
+            return Optional.ofNullable(resolve(beanManager, name));
+        });
+    }
+
+    /**
+     *
+     * @return the bean with the given name or <code>null</code> if no such bean exists
+     */
+    Bean<?> getBean(BeanManagerImpl manager, String name) {
+        if (manager != beanManager || !isEnabled()) {
+            return resolve(manager, name);
+        }
+        lookups.increment();
+        return beans.getValue(name).orElse(null);
+    }
+
+    /**
+     *
+     * @return the number of lookups which found a cached resolution
+     */
+    public long getHitCount() {
+        return lookups.sum() - misses.sum();
+    }
+
+    /**
+     *
+     * @return the number of lookups which required a resolution
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     *
+     * @return the ratio of hits to all lookups, or <code>0</code> if there was no lookup yet
+     */
+    public double getHitRatio() {
+        long total = lookups.sum();
+        return total == 0 ? 0 : (double) (total - misses.sum()) / total;
+    }
+
+    private boolean isEnabled() {
+        if (!enabled) {
+            ContainerState state = Container.instance(beanManager).getState();
+            // Beans may still be added or vetoed before the deployment is validated
+            enabled = ContainerState.VALIDATED.equals(state) || ContainerState.INITIALIZED.equals(state);
+        }
+        return enabled;
+    }
+
+    static Bean<?> resolve(BeanManagerImpl manager, String name) {
+        return manager.resolve(manager.getBeans(name));
+    }
+
+    @Override
+    public void cleanup() {
+        enabled = false;
+        beans.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ELNameResolutionCache [size=" + beans.size() + ", hitRatio=" + getHitRatio() + "]";
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.el.resolver.cache;
+
+import javax.el.ELContext;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.module.web.el.ELNameResolutionCache;
+import org.jboss.weld.test.util.el.EL;
+
+/**
+ * Resolves a name before the deployment is validated.
+ */
+public class BootstrapLookupExtension implements Extension {
+
+    static final String NAME = "resolvedDuringBootstrap";
+
+    static volatile String managerId;
+
+    static volatile boolean cacheUsed;
+
+    void afterBeanDiscovery(@Observes AfterBeanDiscovery event, BeanManager beanManager) {
+        BeanManagerImpl manager = BeanManagerProxy.unwrap(beanManager);
+        ELNameResolutionCache cache = manager.getServices().get(ELNameResolutionCache.class);
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        ELContext context = EL.createELContext(manager);
+        manager.getELResolver().getValue(context, null, NAME);
+        managerId = manager.getId();
+        cacheUsed = hits != cache.getHitCount() || misses != cache.getMissCount();
+    }
+
+}
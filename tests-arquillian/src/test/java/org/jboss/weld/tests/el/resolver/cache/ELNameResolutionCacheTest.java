@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.el.resolver.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.el.ELContext;
+import javax.el.ExpressionFactory;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.module.web.el.ELNameResolutionCache;
+import org.jboss.weld.module.web.el.Namespace;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.test.util.el.EL;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class ELNameResolutionCacheTest {
+
+    @Deployment
+    public static JavaArchive createDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(ELNameResolutionCacheTest.class))
+                .addPackage(ELNameResolutionCacheTest.class.getPackage())
+                .addClass(EL.class)
+                .addPackages(true, ExpressionFactory.class.getPackage())
+                .addAsServiceProvider(Extension.class, BootstrapLookupExtension.class);
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Test
+    public void testCacheHitAfterValidation() {
+        ELNameResolutionCache cache = getCache();
+        assertTrue(resolve(beanManager, null, "sommelier") instanceof Sommelier);
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+
+        assertTrue(resolve(beanManager, null, "sommelier") instanceof Sommelier);
+        assertEquals(hits + 1, cache.getHitCount());
+        assertEquals(misses, cache.getMissCount());
+    }
+
+    @Test
+    public void testNotCachedBeforeValidation() {
+        assertEquals(beanManager.getId(), BootstrapLookupExtension.managerId);
+        assertFalse(BootstrapLookupExtension.cacheUsed);
+
+        // The name resolved during bootstrap was not cached
+        ELNameResolutionCache cache = getCache();
+        long misses = cache.getMissCount();
+        assertNull(resolve(beanManager, null, BootstrapLookupExtension.NAME));
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    public void testNonOwnerManagerBypassesCache() {
+        ELNameResolutionCache cache = getCache();
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+
+        // A manager sharing the service registry without any beans
+        BeanManagerImpl other = BeanManagerImpl.newManager(beanManager, "other", beanManager.getServices());
+        assertNull(resolve(other, null, "sommelier"));
+        assertEquals(hits, cache.getHitCount());
+        assertEquals(misses, cache.getMissCount());
+
+        // The result for the other manager was not cached
+        assertTrue(resolve(beanManager, null, "sommelier") instanceof Sommelier);
+    }
+
+    @Test
+    public void testNamespace() {
+        ELNameResolutionCache cache = getCache();
+        assertTrue(resolveCellar() instanceof Cellar);
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+
+        assertTrue(resolveCellar() instanceof Cellar);
+        assertEquals(hits + 1, cache.getHitCount());
+        assertEquals(misses, cache.getMissCount());
+    }
+
+    @Test
+    public void testUnresolvableName() {
+        ELNameResolutionCache cache = getCache();
+        assertNull(resolve(beanManager, null, "noSuchBean"));
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+
+        assertNull(resolve(beanManager, null, "noSuchBean"));
+        assertEquals(hits + 1, cache.getHitCount());
+        assertEquals(misses, cache.getMissCount());
+    }
+
+    private ELNameResolutionCache getCache() {
+        return beanManager.getServices().get(ELNameResolutionCache.class);
+    }
+
+    private Object resolveCellar() {
+        Object org = resolve(beanManager, null, "org");
+        assertTrue(org instanceof Namespace);
+        Object wine = resolve(beanManager, org, "wine");
+        assertTrue(wine instanceof Namespace);
+        return resolve(beanManager, wine, "cellar");
+    }
+
+    private static Object resolve(BeanManagerImpl manager, Object base, String property) {
+        ELContext context = EL.createELContext(manager);
+        return manager.getELResolver().getValue(context, base, property);
+    }
+
+}
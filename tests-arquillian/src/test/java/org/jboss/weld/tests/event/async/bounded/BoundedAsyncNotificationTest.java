@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.async.bounded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.event.NotificationOptions;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.event.AsyncNotificationLimiter;
+import org.jboss.weld.event.BoundedNotificationOptions;
+import org.jboss.weld.event.BoundedNotificationOptions.OverflowPolicy;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class BoundedAsyncNotificationTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(BoundedAsyncNotificationTest.class))
+                .addPackage(BoundedAsyncNotificationTest.class.getPackage());
+    }
+
+    @Inject
+    Event<Message> event;
+
+    @Inject
+    Event<DroppedMessage> droppedEvent;
+
+    @Inject
+    Event<BlockedMessage> blockedEvent;
+
+    @Inject
+    BeanManager beanManager;
+
+    @Test
+    public void testFailFastPolicy() throws InterruptedException, ExecutionException, TimeoutException {
+        BlockingObserver.latch = new CountDownLatch(1);
+        NotificationOptions options = BoundedNotificationOptions.withMaxInFlight(1, OverflowPolicy.FAIL);
+        CompletableFuture<Message> first = event.fireAsync(new Message(), options).toCompletableFuture();
+        CompletableFuture<Message> second = event.fireAsync(new Message(), options).toCompletableFuture();
+        try {
+            second.get(2, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof RejectedExecutionException);
+        }
+        AsyncNotificationLimiter limiter = BeanManagerProxy.unwrap(beanManager).getGlobalLenientObserverNotifier().getEventTypeAsyncNotificationLimiters()
+                .get(Message.class);
+        assertEquals(1, limiter.getInFlightCount());
+        assertEquals(1, limiter.getRejectedCount());
+
+        BlockingObserver.latch.countDown();
+        first.get(2, TimeUnit.SECONDS);
+        // The permit may be released after the stage completes
+        long timeout = System.currentTimeMillis() + 2000;
+        while (limiter.getInFlightCount() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, limiter.getInFlightCount());
+    }
+
+    @Test
+    public void testDropOldestPolicy() throws InterruptedException, ExecutionException, TimeoutException {
+        QueuedExecutor executor = new QueuedExecutor();
+        NotificationOptions options = NotificationOptions.builder().setExecutor(executor).set(BoundedNotificationOptions.MAX_IN_FLIGHT, 1)
+                .set(BoundedNotificationOptions.OVERFLOW_POLICY, OverflowPolicy.DROP_OLDEST).build();
+        // The first notification is in flight but has not started yet
+        CompletableFuture<DroppedMessage> first = droppedEvent.fireAsync(new DroppedMessage(), options).toCompletableFuture();
+        CompletableFuture<DroppedMessage> second = droppedEvent.fireAsync(new DroppedMessage(), options).toCompletableFuture();
+
+        Throwable failure = first.handle((ignoredResult, throwable) -> throwable).get(2, TimeUnit.SECONDS);
+        if (failure instanceof CompletionException) {
+            failure = failure.getCause();
+        }
+        assertTrue(failure instanceof CancellationException);
+        assertFalse(second.isDone());
+        AsyncNotificationLimiter limiter = getLimiter(DroppedMessage.class);
+        assertEquals(1, limiter.getDroppedCount());
+        assertEquals(1, limiter.getInFlightCount());
+        // The dropped notification no longer occupies the executor queue
+        assertEquals(1, executor.size());
+
+        executor.runQueued();
+        second.get(2, TimeUnit.SECONDS);
+        assertEquals(1, CountingObserver.DROPPED_MESSAGES.get());
+        assertEquals(0, limiter.getInFlightCount());
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testBlockPolicy() throws InterruptedException, ExecutionException, TimeoutException {
+        QueuedExecutor executor = new QueuedExecutor();
+        NotificationOptions options = NotificationOptions.builder().setExecutor(executor).set(BoundedNotificationOptions.MAX_IN_FLIGHT, 1)
+                .set(BoundedNotificationOptions.OVERFLOW_POLICY, OverflowPolicy.BLOCK).build();
+        CompletableFuture<BlockedMessage> first = blockedEvent.fireAsync(new BlockedMessage(), options).toCompletableFuture();
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<CompletableFuture<BlockedMessage>> second = CompletableFuture
+                    .supplyAsync(() -> blockedEvent.fireAsync(new BlockedMessage(), options).toCompletableFuture(), caller);
+            // The caller waits until the first notification completes
+            Thread.sleep(200);
+            assertFalse(second.isDone());
+            AsyncNotificationLimiter limiter = getLimiter(BlockedMessage.class);
+            assertEquals(1, limiter.getInFlightCount());
+
+            executor.runQueued();
+            first.get(2, TimeUnit.SECONDS);
+            CompletableFuture<BlockedMessage> secondNotification = second.get(2, TimeUnit.SECONDS);
+            executor.runQueued();
+            secondNotification.get(2, TimeUnit.SECONDS);
+            assertEquals(2, CountingObserver.BLOCKED_MESSAGES.get());
+            assertEquals(0, limiter.getInFlightCount());
+            assertEquals(0, limiter.getRejectedCount());
+            assertEquals(0, limiter.getDroppedCount());
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    private AsyncNotificationLimiter getLimiter(Class<?> eventType) {
+        return BeanManagerProxy.unwrap(beanManager).getGlobalLenientObserverNotifier().getEventTypeAsyncNotificationLimiters().get(eventType);
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.async.bounded;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.ObservesAsync;
+
+@ApplicationScoped
+public class CountingObserver {
+
+    static final AtomicInteger DROPPED_MESSAGES = new AtomicInteger();
+
+    static final AtomicInteger BLOCKED_MESSAGES = new AtomicInteger();
+
+    void observe(@ObservesAsync DroppedMessage message) {
+        DROPPED_MESSAGES.incrementAndGet();
+    }
+
+    void observe(@ObservesAsync BlockedMessage message) {
+        BLOCKED_MESSAGES.incrementAndGet();
+    }
+
+}
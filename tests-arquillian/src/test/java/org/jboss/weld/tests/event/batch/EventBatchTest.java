@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.batch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.event.EventImpl;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class EventBatchTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(EventBatchTest.class)).addPackage(EventBatchTest.class.getPackage())
+                .addAsServiceProvider(Extension.class, BatchObserverExtension.class);
+    }
+
+    @Inject
+    private Event<Ping> event;
+
+    private List<String> log;
+
+    @Before
+    public void reset() {
+        log = new CopyOnWriteArrayList<>();
+        BatchObserverExtension.BATCH_SIZES.clear();
+    }
+
+    @Test
+    public void testEachObserverNotifiedOfWholeBatch() {
+        batchEvent().fireAll(Arrays.asList(new Ping("a", log), new Ping("b", log)));
+        assertEquals(Arrays.asList("first:a", "first:b", "second:a", "second:b"), log);
+    }
+
+    @Test
+    public void testBatchesGroupedByRuntimeType() {
+        batchEvent().fireAll(Arrays.asList(new Ping("a", log), new SubPing("b", log), new Ping("c", log)));
+        assertEquals(Arrays.asList("first:a", "first:c", "second:a", "second:c", "first:b", "second:b"), log);
+    }
+
+    @Test
+    public void testAsyncBatchObserver() throws InterruptedException, ExecutionException, TimeoutException {
+        List<Ping> pings = Arrays.asList(new Ping("a", log), new SubPing("b", log), new Ping("c", log));
+        List<Ping> result = batchEvent().fireAsyncAll(pings).toCompletableFuture().get(2, TimeUnit.SECONDS);
+        assertEquals(pings, result);
+        assertEquals(3, log.size());
+        assertEquals(2, BatchObserverExtension.BATCH_SIZES.size());
+        assertEquals(3, BatchObserverExtension.BATCH_SIZES.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private EventImpl<Ping> batchEvent() {
+        return (EventImpl<Ping>) event;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.observers.ejb.direct;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.category.Integration;
+import org.jboss.weld.tests.util.PropertiesBuilder;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * The receiver of a session bean observer is an EJB proxy implementing the local business interface only, i.e. the observer method may not be invoked
+ * directly. Observers of managed beans are still invoked directly.
+ */
+@Category(Integration.class)
+@RunWith(Arquillian.class)
+public class DirectInvocationEjbObserverTest {
+
+    @Deployment
+    public static JavaArchive createTestArchive() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(DirectInvocationEjbObserverTest.class))
+                .addPackage(DirectInvocationEjbObserverTest.class.getPackage())
+                .addAsResource(PropertiesBuilder.newBuilder().set(ConfigurationKey.OBSERVER_DIRECT_INVOCATION.get(), "true").build(), "weld.properties");
+    }
+
+    @Inject
+    Counter counter;
+
+    @Test
+    public void testLocalEjbObserverNotified(BeanManager beanManager) {
+        counter.getAndReset();
+        beanManager.fireEvent(new Giraffe());
+        assertEquals(2, counter.getAndReset());
+        beanManager.fireEvent(new Giraffe());
+        assertEquals(2, counter.getAndReset());
+    }
+
+}